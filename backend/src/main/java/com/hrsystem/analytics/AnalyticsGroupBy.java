@@ -0,0 +1,11 @@
+package com.hrsystem.analytics;
+
+/** 評価分布の集計単位。 */
+public enum AnalyticsGroupBy {
+    NONE,
+    DEPARTMENT,
+    POSITION,
+    PERIOD,
+    FISCAL_YEAR,
+    STATUS
+}
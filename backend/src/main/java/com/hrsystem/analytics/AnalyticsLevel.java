@@ -0,0 +1,18 @@
+package com.hrsystem.analytics;
+
+/** 評価の段階（評価者 → 管理者 → 役員）。 */
+public enum AnalyticsLevel {
+    EVALUATOR("評価者"),
+    MANAGER("管理者"),
+    DIRECTOR("役員");
+
+    private final String label;
+
+    AnalyticsLevel(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,95 @@
+package com.hrsystem.analytics;
+
+import java.util.Arrays;
+
+/**
+ * 所要時間（分）の対数バケットのヒストグラム。
+ *
+ * <p>32 分未満は1分刻み、それ以上は2の冪ごとに32分割したバケットに数える（相対誤差は約3%以内）。
+ * バケットの境界は全インスタンスで共通のため、部署・評価者ごとのヒストグラムを {@link #merge} で
+ * 足し合わせるだけで上位の単位のパーセンタイルが求まる（元の値を保持しなくてよい）。</p>
+ *
+ * <p>スレッドセーフではない。呼び出し側で同期すること。</p>
+ */
+final class DurationHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private long[] counts = new long[0];
+    private long total;
+    private long max;
+
+    void record(long minutes) {
+        long v = Math.max(0, minutes);
+        int index = indexOf(v);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, index + 1);
+        }
+        counts[index]++;
+        total++;
+        max = Math.max(max, v);
+    }
+
+    void merge(DurationHistogram other) {
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    long total() {
+        return total;
+    }
+
+    long max() {
+        return max;
+    }
+
+    /** q（0〜1）のパーセンタイル。該当バケットの中央値を返す（記録された最大値を超えない）。空の場合は 0。 */
+    long percentile(double q) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, midpoint(i));
+            }
+        }
+        return max;
+    }
+
+    // ===== バケット =====
+
+    static int indexOf(long v) {
+        if (v < SUB_COUNT) {
+            return (int) v;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(v);
+        int shift = exp - SUB_BITS;
+        int sub = (int) (v >>> shift) - SUB_COUNT;
+        return SUB_COUNT + shift * SUB_COUNT + sub;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_COUNT) / SUB_COUNT;
+        int sub = (index - SUB_COUNT) % SUB_COUNT;
+        return (long) (SUB_COUNT + sub) << shift;
+    }
+
+    private static long midpoint(int index) {
+        long lower = lowerBound(index);
+        long width = index < SUB_COUNT ? 1 : 1L << ((index - SUB_COUNT) / SUB_COUNT);
+        return lower + (width - 1) / 2;
+    }
+}
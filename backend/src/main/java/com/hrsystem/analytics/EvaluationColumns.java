@@ -0,0 +1,133 @@
+package com.hrsystem.analytics;
+
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.Grade;
+
+import java.util.Arrays;
+
+/**
+ * 1テナント分の評価を列ごとのプリミティブ配列で持つスナップショット。
+ *
+ * <p>評価・期・ステータスは序数を byte で、部署・役職は ID を long で持つ（なしは {@link #NONE}/0）。
+ * 行は評価ID の昇順に並び、ID から行を二分探索で引ける。
+ * ワークフローの遷移はその行の評価・ステータスだけを書き換える。集計は配列を走査するだけで、
+ * 走査中の更新は次回の集計に反映される（ダッシュボード用途のため行単位の一貫性で十分）。</p>
+ */
+final class EvaluationColumns {
+
+    static final byte NONE = -1;
+    static final int LEVELS = AnalyticsLevel.values().length;
+
+    final int size;
+    final long[] ids;
+    final int[] years;
+    final byte[] periods;
+    final byte[] statuses;
+    final long[] departmentIds;
+    final long[] positionIds;
+    /** [段階][行] の評価の序数（未評価は NONE）。 */
+    final byte[][] grades;
+
+    private volatile boolean stale;
+
+    private EvaluationColumns(int size, long[] ids, int[] years, byte[] periods, byte[] statuses,
+                              long[] departmentIds, long[] positionIds, byte[][] grades) {
+        this.size = size;
+        this.ids = ids;
+        this.years = years;
+        this.periods = periods;
+        this.statuses = statuses;
+        this.departmentIds = departmentIds;
+        this.positionIds = positionIds;
+        this.grades = grades;
+    }
+
+    /** 一時的に行を溜めて、最後に必要な長さの配列に詰める。 */
+    static final class Builder {
+        private int size;
+        private long[] ids = new long[1024];
+        private int[] years = new int[1024];
+        private byte[] periods = new byte[1024];
+        private byte[] statuses = new byte[1024];
+        private long[] departmentIds = new long[1024];
+        private long[] positionIds = new long[1024];
+        private byte[][] grades = new byte[LEVELS][1024];
+        private long lastId = Long.MIN_VALUE;
+
+        /** 行を追加する。ID の昇順で渡すこと。 */
+        Builder add(long id, int year, EvaluationPeriod period, EvaluationStatus status,
+                    long departmentId, long positionId,
+                    Grade evaluatorGrade, Grade managerGrade, Grade directorGrade) {
+            if (id <= lastId) {
+                throw new IllegalArgumentException("評価IDの昇順で追加してください: " + id);
+            }
+            lastId = id;
+            if (size == ids.length) {
+                grow();
+            }
+            ids[size] = id;
+            years[size] = year;
+            periods[size] = (byte) period.ordinal();
+            statuses[size] = (byte) status.ordinal();
+            departmentIds[size] = departmentId;
+            positionIds[size] = positionId;
+            grades[AnalyticsLevel.EVALUATOR.ordinal()][size] = encode(evaluatorGrade);
+            grades[AnalyticsLevel.MANAGER.ordinal()][size] = encode(managerGrade);
+            grades[AnalyticsLevel.DIRECTOR.ordinal()][size] = encode(directorGrade);
+            size++;
+            return this;
+        }
+
+        EvaluationColumns build() {
+            byte[][] g = new byte[LEVELS][];
+            for (int l = 0; l < LEVELS; l++) {
+                g[l] = Arrays.copyOf(grades[l], size);
+            }
+            return new EvaluationColumns(size, Arrays.copyOf(ids, size), Arrays.copyOf(years, size),
+                    Arrays.copyOf(periods, size), Arrays.copyOf(statuses, size),
+                    Arrays.copyOf(departmentIds, size), Arrays.copyOf(positionIds, size), g);
+        }
+
+        private void grow() {
+            int n = ids.length * 2;
+            ids = Arrays.copyOf(ids, n);
+            years = Arrays.copyOf(years, n);
+            periods = Arrays.copyOf(periods, n);
+            statuses = Arrays.copyOf(statuses, n);
+            departmentIds = Arrays.copyOf(departmentIds, n);
+            positionIds = Arrays.copyOf(positionIds, n);
+            for (int l = 0; l < LEVELS; l++) {
+                grades[l] = Arrays.copyOf(grades[l], n);
+            }
+        }
+    }
+
+    static byte encode(Grade grade) {
+        return grade != null ? (byte) grade.ordinal() : NONE;
+    }
+
+    // ===== 差分反映 =====
+
+    /**
+     * 遷移後の評価・ステータスを該当行に反映する。
+     * スナップショットにない評価（読み込み後に作成されたもの）の場合は false を返し、再読み込みが必要になる。
+     */
+    synchronized boolean apply(long id, EvaluationStatus status,
+                               Grade evaluatorGrade, Grade managerGrade, Grade directorGrade) {
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        if (row < 0) {
+            stale = true;
+            return false;
+        }
+        statuses[row] = (byte) status.ordinal();
+        grades[AnalyticsLevel.EVALUATOR.ordinal()][row] = encode(evaluatorGrade);
+        grades[AnalyticsLevel.MANAGER.ordinal()][row] = encode(managerGrade);
+        grades[AnalyticsLevel.DIRECTOR.ordinal()][row] = encode(directorGrade);
+        return true;
+    }
+
+    boolean isStale() {
+        return stale;
+    }
+}
@@ -0,0 +1,17 @@
+package com.hrsystem.analytics;
+
+/**
+ * 評価一覧の絞り込みファセット。値のキーは以下のとおり。
+ * <ul>
+ *   <li>DEPARTMENT / POSITION: 部署・役職ID（なしは 0）</li>
+ *   <li>STATUS / PERIOD: {@code EvaluationStatus} / {@code EvaluationPeriod} の序数</li>
+ *   <li>GRADE: 最も進んだ段階の評価のコード（{@code Grade#getCode()}、未評価は 0）</li>
+ * </ul>
+ */
+public enum Facet {
+    DEPARTMENT,
+    POSITION,
+    STATUS,
+    PERIOD,
+    GRADE
+}
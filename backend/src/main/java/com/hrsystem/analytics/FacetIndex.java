@@ -0,0 +1,178 @@
+package com.hrsystem.analytics;
+
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.Grade;
+
+import java.util.*;
+
+/**
+ * 1テナント・1年度分の評価のファセット索引。
+ *
+ * <p>評価を年度内の連番（行番号）に振り直し、ファセットの値ごとに該当する行の {@link BitSet} を持つ。
+ * 行番号は 0 から詰めて振るため、1値あたりのビット列は「年度内の評価件数 / 8」バイトに収まる。
+ * 絞り込み・件数は BitSet の AND/OR とビット数の計算だけで求める。</p>
+ *
+ * <p>ワークフローの遷移で変わるのはステータスと評価のみのため、その2つのファセットだけを更新する。
+ * BitSet はスレッドセーフでないため、参照・更新ともにこのインスタンスで同期する（いずれもマイクロ秒単位）。</p>
+ */
+final class FacetIndex {
+
+    /** 評価ファセットで未評価を表すキー。 */
+    static final long NOT_GRADED = 0;
+
+    final EvaluationColumns source;
+    final int year;
+    private final long[] ids;
+    private final byte[] statusOf;
+    private final byte[] gradeOf;
+    private final BitSet all;
+    private final EnumMap<Facet, Map<Long, BitSet>> bitmaps = new EnumMap<>(Facet.class);
+
+    public record FacetCount(long key, int count) {}
+
+    public record Result(int total, Map<Facet, List<FacetCount>> counts, List<Long> evaluationIds) {}
+
+    private FacetIndex(EvaluationColumns source, int year, long[] ids, byte[] statusOf, byte[] gradeOf) {
+        this.source = source;
+        this.year = year;
+        this.ids = ids;
+        this.statusOf = statusOf;
+        this.gradeOf = gradeOf;
+        this.all = new BitSet(ids.length);
+        this.all.set(0, ids.length);
+        for (Facet f : Facet.values()) {
+            bitmaps.put(f, new HashMap<>());
+        }
+    }
+
+    /** 集計用スナップショットから、指定年度の行だけで索引を作る。 */
+    static FacetIndex build(EvaluationColumns c, int year) {
+        int n = 0;
+        for (int row = 0; row < c.size; row++) {
+            if (c.years[row] == year) n++;
+        }
+        long[] ids = new long[n];
+        byte[] statusOf = new byte[n];
+        byte[] gradeOf = new byte[n];
+        FacetIndex index = new FacetIndex(c, year, ids, statusOf, gradeOf);
+
+        int pos = 0;
+        for (int row = 0; row < c.size; row++) {
+            if (c.years[row] != year) continue;
+            ids[pos] = c.ids[row];
+            statusOf[pos] = c.statuses[row];
+            gradeOf[pos] = (byte) gradeCode(currentGrade(c, row));
+            index.bitmap(Facet.DEPARTMENT, c.departmentIds[row]).set(pos);
+            index.bitmap(Facet.POSITION, c.positionIds[row]).set(pos);
+            index.bitmap(Facet.PERIOD, c.periods[row]).set(pos);
+            index.bitmap(Facet.STATUS, statusOf[pos]).set(pos);
+            index.bitmap(Facet.GRADE, gradeOf[pos]).set(pos);
+            pos++;
+        }
+        return index;
+    }
+
+    // ===== 絞り込み =====
+
+    /**
+     * 選択条件で絞り込んだ評価ID（ID 昇順で offset から limit 件）と、各ファセットの値ごとの件数を返す。
+     * 同じファセット内の複数値は OR、ファセット間は AND。
+     * ファセットごとの件数は、そのファセット自身の選択を除いた条件で数える（選択肢を切り替えた場合の件数）。
+     */
+    synchronized Result query(Map<Facet, Set<Long>> selection, int offset, int limit) {
+        EnumMap<Facet, BitSet> unions = new EnumMap<>(Facet.class);
+        selection.forEach((facet, keys) -> {
+            if (keys != null && !keys.isEmpty()) {
+                BitSet u = new BitSet(ids.length);
+                Map<Long, BitSet> values = bitmaps.get(facet);
+                for (Long key : keys) {
+                    BitSet b = values.get(key);
+                    if (b != null) u.or(b);
+                }
+                unions.put(facet, u);
+            }
+        });
+
+        BitSet matched = (BitSet) all.clone();
+        unions.values().forEach(matched::and);
+
+        EnumMap<Facet, List<FacetCount>> counts = new EnumMap<>(Facet.class);
+        for (Facet facet : Facet.values()) {
+            BitSet base = matched;
+            if (unions.containsKey(facet)) {
+                base = (BitSet) all.clone();
+                for (Map.Entry<Facet, BitSet> e : unions.entrySet()) {
+                    if (e.getKey() != facet) base.and(e.getValue());
+                }
+            }
+            List<FacetCount> list = new ArrayList<>();
+            for (Map.Entry<Long, BitSet> e : bitmaps.get(facet).entrySet()) {
+                int count = intersectionCount(base, e.getValue());
+                if (count > 0) list.add(new FacetCount(e.getKey(), count));
+            }
+            list.sort(Comparator.comparingLong(FacetCount::key));
+            counts.put(facet, list);
+        }
+
+        List<Long> page = new ArrayList<>(Math.min(limit, 1000));
+        int skipped = 0;
+        for (int pos = matched.nextSetBit(0); pos >= 0 && page.size() < limit; pos = matched.nextSetBit(pos + 1)) {
+            if (skipped++ >= offset) page.add(ids[pos]);
+        }
+        return new Result(matched.cardinality(), counts, page);
+    }
+
+    // ===== 差分反映 =====
+
+    /** 遷移後のステータス・評価を反映する。この年度の索引にない評価の場合は false。 */
+    synchronized boolean apply(long id, EvaluationStatus status, Grade current) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos < 0) {
+            return false;
+        }
+        byte newStatus = (byte) status.ordinal();
+        if (statusOf[pos] != newStatus) {
+            bitmap(Facet.STATUS, statusOf[pos]).clear(pos);
+            bitmap(Facet.STATUS, newStatus).set(pos);
+            statusOf[pos] = newStatus;
+        }
+        byte newGrade = (byte) gradeCode(current);
+        if (gradeOf[pos] != newGrade) {
+            bitmap(Facet.GRADE, gradeOf[pos]).clear(pos);
+            bitmap(Facet.GRADE, newGrade).set(pos);
+            gradeOf[pos] = newGrade;
+        }
+        return true;
+    }
+
+    // ===== Private Helpers =====
+
+    private BitSet bitmap(Facet facet, long key) {
+        return bitmaps.get(facet).computeIfAbsent(key, k -> new BitSet(ids.length));
+    }
+
+    private static int intersectionCount(BitSet a, BitSet b) {
+        BitSet x = (BitSet) b.clone();
+        x.and(a);
+        return x.cardinality();
+    }
+
+    /** 最も進んだ段階の評価（役員 → 管理者 → 評価者）。 */
+    private static Grade currentGrade(EvaluationColumns c, int row) {
+        for (int level = EvaluationColumns.LEVELS - 1; level >= 0; level--) {
+            byte g = c.grades[level][row];
+            if (g != EvaluationColumns.NONE) {
+                return Grade.values()[g];
+            }
+        }
+        return null;
+    }
+
+    static int gradeCode(Grade grade) {
+        return grade != null ? grade.getCode() : (int) NOT_GRADED;
+    }
+
+    static Grade currentGrade(Grade evaluator, Grade manager, Grade director) {
+        return director != null ? director : manager != null ? manager : evaluator;
+    }
+}
@@ -0,0 +1,146 @@
+package com.hrsystem.analytics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.cache.TenantReferenceData;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.Grade;
+import com.hrsystem.service.EvaluationTransitionEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+/**
+ * 評価一覧（人事・役員の確認画面）のファセット絞り込み。
+ *
+ * <p>テナント・年度ごとの {@link FacetIndex} を {@link GradeAnalyticsService} のスナップショットから作り、
+ * 部署 × 役職 × ステータス × 期 × 評価の組み合わせを SQL を発行せずに BitSet の演算で絞り込む。
+ * 遷移はコミット後に索引へ反映し、元のスナップショットが読み直された場合は索引も作り直す。</p>
+ */
+@Service
+public class FacetIndexService {
+
+    private record Key(Long tenantId, int year) {}
+
+    private final GradeAnalyticsService analyticsService;
+    private final ReferenceDataCache referenceDataCache;
+    private final Cache<Key, FacetIndex> indexes;
+
+    public FacetIndexService(
+            GradeAnalyticsService analyticsService,
+            ReferenceDataCache referenceDataCache,
+            @Value("${app.analytics.max-tenants:200}") long maxTenants,
+            @Value("${app.analytics.ttl:30m}") Duration ttl) {
+        this.analyticsService = analyticsService;
+        this.referenceDataCache = referenceDataCache;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxTenants * 2)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public record Selection(
+            List<Long> departmentIds,
+            List<Long> positionIds,
+            List<EvaluationStatus> statuses,
+            List<EvaluationPeriod> periods,
+            List<Grade> grades
+    ) {}
+
+    public record FacetValue(String value, String label, int count) {}
+
+    public record FacetView(int year, int total, Map<Facet, List<FacetValue>> facets, List<Long> evaluationIds) {}
+
+    // ===== 絞り込み =====
+
+    public FacetView search(Long tenantId, int year, Selection selection, int offset, int limit) {
+        FacetIndex index = index(tenantId, year);
+
+        Map<Facet, Set<Long>> keys = new EnumMap<>(Facet.class);
+        keys.put(Facet.DEPARTMENT, toKeys(selection.departmentIds(), Long::longValue));
+        keys.put(Facet.POSITION, toKeys(selection.positionIds(), Long::longValue));
+        keys.put(Facet.STATUS, toKeys(selection.statuses(), s -> s.ordinal()));
+        keys.put(Facet.PERIOD, toKeys(selection.periods(), p -> p.ordinal()));
+        keys.put(Facet.GRADE, toKeys(selection.grades(), g -> g.getCode()));
+
+        FacetIndex.Result result = index.query(keys, offset, limit);
+
+        TenantReferenceData ref = referenceDataCache.get(tenantId);
+        Map<Facet, List<FacetValue>> facets = new EnumMap<>(Facet.class);
+        result.counts().forEach((facet, counts) -> facets.put(facet, counts.stream()
+                .map(c -> toValue(ref, facet, c))
+                .toList()));
+        return new FacetView(year, result.total(), facets, result.evaluationIds());
+    }
+
+    // ===== 差分反映 =====
+
+    /**
+     * 遷移を該当年度の索引に反映する。どの索引にもない評価（読み込み後に作成されたもの）の場合は
+     * {@link GradeAnalyticsService} 側でスナップショットが読み直され、次回の参照時に索引も作り直される。
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransition(EvaluationTransitionEvent event) {
+        Grade current = FacetIndex.currentGrade(event.evaluatorGrade(), event.managerGrade(), event.directorGrade());
+        for (Map.Entry<Key, FacetIndex> e : indexes.asMap().entrySet()) {
+            if (e.getKey().tenantId().equals(event.tenantId())
+                    && e.getValue().apply(event.evaluationId(), event.to(), current)) {
+                return;
+            }
+        }
+    }
+
+    // ===== Private Helpers =====
+
+    private FacetIndex index(Long tenantId, int year) {
+        EvaluationColumns columns = analyticsService.columns(tenantId);
+        Key key = new Key(tenantId, year);
+        FacetIndex index = indexes.get(key, k -> FacetIndex.build(columns, year));
+        if (index.source != columns) {
+            index = FacetIndex.build(columns, year);
+            indexes.put(key, index);
+        }
+        return index;
+    }
+
+    private static <T> Set<Long> toKeys(List<T> values, ToLongFunction<T> key) {
+        if (values == null || values.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> keys = new HashSet<>();
+        values.forEach(v -> keys.add(key.applyAsLong(v)));
+        return keys;
+    }
+
+    private static FacetValue toValue(TenantReferenceData ref, Facet facet, FacetIndex.FacetCount c) {
+        long key = c.key();
+        return switch (facet) {
+            case DEPARTMENT -> new FacetValue(String.valueOf(key), key == 0 ? "部署なし"
+                    : Optional.ofNullable(ref.departments().get(key)).map(TenantReferenceData.DepartmentRef::name).orElse(null),
+                    c.count());
+            case POSITION -> new FacetValue(String.valueOf(key), key == 0 ? "役職なし"
+                    : Optional.ofNullable(ref.positions().get(key)).map(TenantReferenceData.PositionRef::name).orElse(null),
+                    c.count());
+            case STATUS -> {
+                EvaluationStatus s = EvaluationStatus.values()[(int) key];
+                yield new FacetValue(s.name(), s.getLabel(), c.count());
+            }
+            case PERIOD -> {
+                EvaluationPeriod p = EvaluationPeriod.values()[(int) key];
+                yield new FacetValue(p.name(), p.getLabel(), c.count());
+            }
+            case GRADE -> {
+                Grade g = Grade.fromCode((int) key);
+                yield g != null ? new FacetValue(g.getDisplay(), g.getDisplay(), c.count())
+                        : new FacetValue("NONE", "未評価", c.count());
+            }
+        };
+    }
+}
@@ -0,0 +1,316 @@
+package com.hrsystem.analytics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.cache.TenantReferenceData;
+import com.hrsystem.cache.TenantScopedCache;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.Grade;
+import com.hrsystem.service.EvaluationTransitionEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * 評価分布の集計（役員向けダッシュボード用）。
+ *
+ * <p>テナントの評価を {@link EvaluationColumns}（列ごとのプリミティブ配列）としてメモリに読み込み、
+ * 部署・役職・期・年度ごとの評価分布と、段階間（評価者 → 管理者 → 役員）の評価の変化を
+ * 配列の走査で求める。行数が多い場合はチャンクに分けて並列に数え、結果を合算する。</p>
+ *
+ * <p>ワークフローの遷移はコミット後に該当行だけを書き換える。スナップショットにない評価
+ * （年度切り替え・取り込みで作成されたもの）を検知した場合と、一定時間経過後は全体を読み直す。
+ * 他ノードでの遷移も読み直しの時点で反映される。年度切り替えは {@link #NAME} で全ノードの集計データを破棄する。</p>
+ */
+@Slf4j
+@Service
+public class GradeAnalyticsService implements TenantScopedCache {
+
+    public static final String NAME = "grade-analytics";
+
+    private static final String SELECT_SQL = """
+            SELECT e.id, fy.year, e.period, e.status, e.department_id, e.position_id,
+                   e.evaluator_grade, e.manager_grade, e.director_grade
+            FROM evaluations e
+            JOIN fiscal_years fy ON fy.id = e.fiscal_year_id
+            WHERE e.tenant_id = ?
+            ORDER BY e.id
+            """;
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final int GRADES = Grade.values().length;
+    private static final List<String> GRADE_LABELS = Arrays.stream(Grade.values()).map(Grade::getDisplay).toList();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReferenceDataCache referenceDataCache;
+    private final Cache<Long, EvaluationColumns> snapshots;
+    private final int parallelThreshold;
+
+    public GradeAnalyticsService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ReferenceDataCache referenceDataCache,
+            @Value("${app.analytics.max-tenants:200}") long maxTenants,
+            @Value("${app.analytics.ttl:30m}") Duration ttl,
+            @Value("${app.analytics.parallel-threshold:50000}") int parallelThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.referenceDataCache = referenceDataCache;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxTenants)
+                .expireAfterWrite(ttl)
+                .build();
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public record Filter(
+            Integer year,
+            EvaluationPeriod period,
+            Long departmentId,
+            Long positionId,
+            EvaluationStatus status
+    ) {}
+
+    public record Bucket(Long key, String label, Map<String, Long> counts, long total) {}
+
+    public record Distribution(AnalyticsLevel level, AnalyticsGroupBy groupBy, List<Bucket> buckets) {}
+
+    /**
+     * 段階間の評価の変化。matrix[from の評価][to の評価] の件数（両段階とも評価済みの行のみ）。
+     * 評価の並びは {@link Grade} の順（SS が最上位）。
+     */
+    public record Shift(AnalyticsLevel from, AnalyticsLevel to, List<String> grades, long[][] matrix,
+                        long total, long raised, long lowered, long unchanged) {}
+
+    // ===== 集計 =====
+
+    public Distribution distribution(Long tenantId, Filter filter, AnalyticsLevel level, AnalyticsGroupBy groupBy) {
+        EvaluationColumns c = columns(tenantId);
+        RowFilter f = RowFilter.of(filter);
+        byte[] grades = c.grades[level.ordinal()];
+        IntToLongFunction keyOf = keyFunction(c, groupBy);
+
+        Map<Long, long[]> counts = chunks(c)
+                .mapToObj(from -> {
+                    Map<Long, long[]> part = new HashMap<>();
+                    int to = Math.min(from + CHUNK_SIZE, c.size);
+                    for (int row = from; row < to; row++) {
+                        byte g = grades[row];
+                        if (g != EvaluationColumns.NONE && f.matches(c, row)) {
+                            part.computeIfAbsent(keyOf.applyAsLong(row), k -> new long[GRADES])[g]++;
+                        }
+                    }
+                    return part;
+                })
+                .reduce(GradeAnalyticsService::merge)
+                .orElseGet(Map::of);
+
+        TenantReferenceData ref = referenceDataCache.get(tenantId);
+        List<Bucket> buckets = counts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> toBucket(e.getKey(), label(ref, groupBy, e.getKey()), e.getValue()))
+                .toList();
+        return new Distribution(level, groupBy, buckets);
+    }
+
+    public Shift shift(Long tenantId, Filter filter, AnalyticsLevel from, AnalyticsLevel to) {
+        EvaluationColumns c = columns(tenantId);
+        RowFilter f = RowFilter.of(filter);
+        byte[] fromGrades = c.grades[from.ordinal()];
+        byte[] toGrades = c.grades[to.ordinal()];
+
+        long[][] matrix = chunks(c)
+                .mapToObj(start -> {
+                    long[][] part = new long[GRADES][GRADES];
+                    int end = Math.min(start + CHUNK_SIZE, c.size);
+                    for (int row = start; row < end; row++) {
+                        byte a = fromGrades[row];
+                        byte b = toGrades[row];
+                        if (a != EvaluationColumns.NONE && b != EvaluationColumns.NONE && f.matches(c, row)) {
+                            part[a][b]++;
+                        }
+                    }
+                    return part;
+                })
+                .reduce((x, y) -> {
+                    for (int i = 0; i < GRADES; i++) {
+                        for (int j = 0; j < GRADES; j++) {
+                            x[i][j] += y[i][j];
+                        }
+                    }
+                    return x;
+                })
+                .orElseGet(() -> new long[GRADES][GRADES]);
+
+        long total = 0, raised = 0, lowered = 0, unchanged = 0;
+        for (int i = 0; i < GRADES; i++) {
+            for (int j = 0; j < GRADES; j++) {
+                long n = matrix[i][j];
+                total += n;
+                // 序数が小さいほど上位の評価
+                if (j < i) raised += n;
+                else if (j > i) lowered += n;
+                else unchanged += n;
+            }
+        }
+        return new Shift(from, to, GRADE_LABELS, matrix, total, raised, lowered, unchanged);
+    }
+
+    // ===== 差分反映 =====
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransition(EvaluationTransitionEvent event) {
+        EvaluationColumns c = snapshots.getIfPresent(event.tenantId());
+        if (c != null && !c.apply(event.evaluationId(), event.to(),
+                event.evaluatorGrade(), event.managerGrade(), event.directorGrade())) {
+            log.debug("テナント {} の集計データにない評価 {} を検知したため次回読み直します",
+                    event.tenantId(), event.evaluationId());
+        }
+    }
+
+    // ===== TenantScopedCache =====
+
+    @Override
+    public String cacheName() {
+        return NAME;
+    }
+
+    @Override
+    public void invalidateTenant(Long tenantId) {
+        snapshots.invalidate(tenantId);
+    }
+
+    @Override
+    public void invalidateAll() {
+        snapshots.invalidateAll();
+    }
+
+    // ===== Private Helpers =====
+
+    EvaluationColumns columns(Long tenantId) {
+        EvaluationColumns c = snapshots.get(tenantId, this::load);
+        if (c.isStale()) {
+            snapshots.asMap().remove(tenantId, c);
+            c = snapshots.get(tenantId, this::load);
+        }
+        return c;
+    }
+
+    private EvaluationColumns load(Long tenantId) {
+        long start = System.nanoTime();
+        EvaluationColumns.Builder builder = new EvaluationColumns.Builder();
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(5000);
+            ps.setLong(1, tenantId);
+            return ps;
+        }, rs -> {
+            builder.add(rs.getLong(1), rs.getInt(2),
+                    EvaluationPeriod.valueOf(rs.getString(3)), EvaluationStatus.valueOf(rs.getString(4)),
+                    rs.getLong(5), rs.getLong(6),
+                    Grade.fromCode(rs.getShort(7)), Grade.fromCode(rs.getShort(8)), Grade.fromCode(rs.getShort(9)));
+        }));
+        EvaluationColumns c = builder.build();
+        log.info("テナント {} の評価 {} 件を集計用に読み込みました（{} ms）",
+                tenantId, c.size, (System.nanoTime() - start) / 1_000_000);
+        return c;
+    }
+
+    /** チャンクの開始行。行数が閾値以上なら並列に処理する。 */
+    private IntStream chunks(EvaluationColumns c) {
+        IntStream starts = IntStream.iterate(0, i -> i < c.size, i -> i + CHUNK_SIZE);
+        return c.size >= parallelThreshold ? starts.parallel() : starts;
+    }
+
+    private static IntToLongFunction keyFunction(EvaluationColumns c, AnalyticsGroupBy groupBy) {
+        return switch (groupBy) {
+            case NONE -> row -> 0L;
+            case DEPARTMENT -> row -> c.departmentIds[row];
+            case POSITION -> row -> c.positionIds[row];
+            case PERIOD -> row -> c.periods[row];
+            case FISCAL_YEAR -> row -> c.years[row];
+            case STATUS -> row -> c.statuses[row];
+        };
+    }
+
+    private static Map<Long, long[]> merge(Map<Long, long[]> a, Map<Long, long[]> b) {
+        b.forEach((key, counts) -> {
+            long[] target = a.get(key);
+            if (target == null) {
+                a.put(key, counts);
+            } else {
+                for (int i = 0; i < GRADES; i++) {
+                    target[i] += counts[i];
+                }
+            }
+        });
+        return a;
+    }
+
+    private static Bucket toBucket(Long key, String label, long[] counts) {
+        Map<String, Long> byGrade = new LinkedHashMap<>();
+        long total = 0;
+        for (int i = 0; i < GRADES; i++) {
+            byGrade.put(GRADE_LABELS.get(i), counts[i]);
+            total += counts[i];
+        }
+        return new Bucket(key, label, byGrade, total);
+    }
+
+    private static String label(TenantReferenceData ref, AnalyticsGroupBy groupBy, long key) {
+        return switch (groupBy) {
+            case NONE -> "全体";
+            case DEPARTMENT -> key == 0 ? "部署なし" : Optional.ofNullable(ref.departments().get(key))
+                    .map(TenantReferenceData.DepartmentRef::name).orElse(null);
+            case POSITION -> key == 0 ? "役職なし" : Optional.ofNullable(ref.positions().get(key))
+                    .map(TenantReferenceData.PositionRef::name).orElse(null);
+            case PERIOD -> EvaluationPeriod.values()[(int) key].getLabel();
+            case FISCAL_YEAR -> key + "年度";
+            case STATUS -> EvaluationStatus.values()[(int) key].getLabel();
+        };
+    }
+
+    /** 条件をプリミティブに展開したもの（未指定の条件は判定しない）。 */
+    private record RowFilter(int year, byte period, long departmentId, long positionId, byte status) {
+
+        private static final int ANY_YEAR = Integer.MIN_VALUE;
+        private static final long ANY_ID = -1;
+
+        static RowFilter of(Filter f) {
+            if (f == null) {
+                return new RowFilter(ANY_YEAR, EvaluationColumns.NONE, ANY_ID, ANY_ID, EvaluationColumns.NONE);
+            }
+            return new RowFilter(
+                    f.year() != null ? f.year() : ANY_YEAR,
+                    f.period() != null ? (byte) f.period().ordinal() : EvaluationColumns.NONE,
+                    f.departmentId() != null ? f.departmentId() : ANY_ID,
+                    f.positionId() != null ? f.positionId() : ANY_ID,
+                    f.status() != null ? (byte) f.status().ordinal() : EvaluationColumns.NONE);
+        }
+
+        boolean matches(EvaluationColumns c, int row) {
+            return (year == ANY_YEAR || c.years[row] == year)
+                    && (period == EvaluationColumns.NONE || c.periods[row] == period)
+                    && (departmentId == ANY_ID || c.departmentIds[row] == departmentId)
+                    && (positionId == ANY_ID || c.positionIds[row] == positionId)
+                    && (status == EvaluationColumns.NONE || c.statuses[row] == status);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.hrsystem.analytics;
+
+/** ワークフロー所要時間の集計単位。 */
+public enum SlaGroupBy {
+    NONE,
+    DEPARTMENT,
+    EVALUATOR,
+    PERIOD,
+    FISCAL_YEAR
+}
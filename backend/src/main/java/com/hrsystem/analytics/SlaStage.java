@@ -0,0 +1,60 @@
+package com.hrsystem.analytics;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * ワークフローの所要時間を測る区間。各区間は評価の記録日時の差で求める
+ * （自己評価の提出日時は記録していないため、評価者評価までは作成日時から測る）。
+ */
+public enum SlaStage {
+    EVALUATOR("作成〜評価者評価"),
+    MANAGER("管理者確認待ち"),
+    DIRECTOR("役員評価待ち"),
+    FINALIZE("最終確定待ち"),
+    TOTAL("作成〜最終確定");
+
+    private final String label;
+
+    SlaStage(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /** 1件分の記録日時。 */
+    record Timestamps(LocalDateTime created, LocalDateTime evaluated, LocalDateTime managerApproved,
+                      LocalDateTime directorEvaluated, LocalDateTime finalized) {
+
+        LocalDateTime start(SlaStage stage) {
+            return switch (stage) {
+                case EVALUATOR, TOTAL -> created;
+                case MANAGER -> evaluated;
+                // 管理者確認を省略した場合は評価者評価から
+                case DIRECTOR -> managerApproved != null ? managerApproved : evaluated;
+                case FINALIZE -> directorEvaluated;
+            };
+        }
+
+        LocalDateTime end(SlaStage stage) {
+            return switch (stage) {
+                case EVALUATOR -> evaluated;
+                case MANAGER -> managerApproved;
+                case DIRECTOR -> directorEvaluated;
+                case FINALIZE, TOTAL -> finalized;
+            };
+        }
+
+        /** 区間の所要時間（分）。まだ終わっていない・省略された区間は -1。 */
+        long minutes(SlaStage stage) {
+            LocalDateTime s = start(stage);
+            LocalDateTime e = end(stage);
+            if (s == null || e == null) {
+                return -1;
+            }
+            return Math.max(0, Duration.between(s, e).toMinutes());
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.hrsystem.analytics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hrsystem.analytics.SlaStage.Timestamps;
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.cache.TenantReferenceData;
+import com.hrsystem.cache.TenantScopedCache;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.service.EvaluationTransitionEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * ワークフローの所要時間（ステータスごとの滞留時間）の集計。
+ *
+ * <p>テナントごとに 年度 × 期 × 部署 × 評価者 のセル単位で {@link SlaStage} ごとの
+ * {@link DurationHistogram} を持ち、要求された単位でヒストグラムを足し合わせて p50/p90/p99 を求める。
+ * 全件の読み込みはキャッシュにない場合と一定時間経過後のみで、リクエストごとにテーブルを走査しない。</p>
+ *
+ * <p>遷移はコミット後にキューへ積むだけにし、定期処理でまとめて対象の評価の記録日時を読み直す。
+ * 評価ごとに前回数えた区間を差し替える（差し戻しで消えた区間は外し、再承認で終わった区間は1件として数え直す）ため、
+ * 結果は全件を読み込み直した場合と同じになる。差し替えたセルのヒストグラムはそのセルの評価から作り直す。
+ * 他ノードでの遷移は次回の全件読み込みで反映される。遷移を伴わない評価者の付け替え（一括再割り当て）は
+ * {@link #NAME} で全ノードのキャッシュを破棄する。</p>
+ */
+@Slf4j
+@Service
+public class WorkflowSlaService implements TenantScopedCache {
+
+    public static final String NAME = "workflow-sla";
+
+    private static final String COLUMNS = """
+            SELECT fy.year, e.period, e.department_id, e.evaluator_id, ev.name AS evaluator_name,
+                   e.created_at, e.evaluated_at, e.manager_approved_at, e.director_evaluated_at, e.finalized_at,
+                   e.id
+            FROM evaluations e
+            JOIN fiscal_years fy ON fy.id = e.fiscal_year_id
+            LEFT JOIN users ev ON ev.id = e.evaluator_id
+            """;
+
+    // 評価者評価が済んでいない評価には終わった区間がない
+    private static final String SELECT_SQL = COLUMNS + "WHERE e.tenant_id = ? AND e.evaluated_at IS NOT NULL";
+
+    private static final String SELECT_BY_IDS_SQL = COLUMNS + "WHERE e.tenant_id = ? AND e.id = ANY (?)";
+
+    private static final int BATCH_SIZE = 500;
+    private static final SlaStage[] STAGES = SlaStage.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReferenceDataCache referenceDataCache;
+    private final Cache<Long, TenantSla> snapshots;
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+
+    public WorkflowSlaService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ReferenceDataCache referenceDataCache,
+            @Value("${app.analytics.max-tenants:200}") long maxTenants,
+            @Value("${app.analytics.ttl:30m}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.referenceDataCache = referenceDataCache;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxTenants)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public record Filter(Integer year, EvaluationPeriod period, Long departmentId, Long evaluatorId) {}
+
+    /** 所要時間はいずれも分。 */
+    public record StageStats(SlaStage stage, String label, long count,
+                             long p50Minutes, long p90Minutes, long p99Minutes, long maxMinutes) {}
+
+    public record SlaBucket(Long key, String label, List<StageStats> stages) {}
+
+    public record SlaReport(SlaGroupBy groupBy, List<SlaBucket> buckets) {}
+
+    private record CellKey(int year, EvaluationPeriod period, long departmentId, long evaluatorId) {}
+
+    private record Pending(Long tenantId, Long evaluationId) {}
+
+    // ===== 集計 =====
+
+    public SlaReport report(Long tenantId, Filter filter, SlaGroupBy groupBy) {
+        TenantSla sla = snapshots.get(tenantId, this::load);
+        Map<Long, DurationHistogram[]> groups = sla.merge(filter, groupBy);
+
+        TenantReferenceData ref = referenceDataCache.get(tenantId);
+        List<SlaBucket> buckets = groups.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> new SlaBucket(e.getKey(), label(ref, sla, groupBy, e.getKey()), stats(e.getValue())))
+                .toList();
+        return new SlaReport(groupBy, buckets);
+    }
+
+    // ===== 差分反映 =====
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransition(EvaluationTransitionEvent event) {
+        // 分布調整のようにステータスが変わらない遷移では記録日時も変わらない
+        if (event.from() == event.to() || snapshots.getIfPresent(event.tenantId()) == null) {
+            return;
+        }
+        pending.add(new Pending(event.tenantId(), event.evaluationId()));
+    }
+
+    /** 溜まった遷移の評価を読み直し、その評価の区間を差し替える。 */
+    @Scheduled(fixedDelayString = "${app.analytics.sla-drain-interval-ms:5000}")
+    public void drain() {
+        Map<Long, Set<Long>> byTenant = new HashMap<>();
+        for (Pending p; (p = pending.poll()) != null; ) {
+            byTenant.computeIfAbsent(p.tenantId(), k -> new HashSet<>()).add(p.evaluationId());
+        }
+        byTenant.forEach((tenantId, evaluationIds) -> {
+            TenantSla sla = snapshots.getIfPresent(tenantId);
+            if (sla == null) {
+                return;
+            }
+            List<Long> ids = new ArrayList<>(evaluationIds);
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                List<Long> chunkIds = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+                Long[] chunk = chunkIds.toArray(Long[]::new);
+                Set<Long> missing = new HashSet<>(chunkIds);
+                jdbcTemplate.query(SELECT_BY_IDS_SQL,
+                        ps -> {
+                            ps.setLong(1, tenantId);
+                            ps.setArray(2, ps.getConnection().createArrayOf("bigint", chunk));
+                        },
+                        rs -> {
+                            missing.remove(rs.getLong("id"));
+                            sla.put(rs);
+                        });
+                // 削除された評価は外す
+                missing.forEach(sla::remove);
+            }
+        });
+    }
+
+    // ===== TenantScopedCache =====
+
+    @Override
+    public String cacheName() {
+        return NAME;
+    }
+
+    @Override
+    public void invalidateTenant(Long tenantId) {
+        snapshots.invalidate(tenantId);
+    }
+
+    @Override
+    public void invalidateAll() {
+        snapshots.invalidateAll();
+    }
+
+    // ===== Private Helpers =====
+
+    private TenantSla load(Long tenantId) {
+        long start = System.nanoTime();
+        TenantSla sla = new TenantSla();
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(5000);
+            ps.setLong(1, tenantId);
+            return ps;
+        }, rs -> {
+            sla.put(rs);
+        }));
+        log.info("テナント {} のワークフロー所要時間を読み込みました（{} セル、{} ms）",
+                tenantId, sla.cells.size(), (System.nanoTime() - start) / 1_000_000);
+        return sla;
+    }
+
+    private static List<StageStats> stats(DurationHistogram[] histograms) {
+        List<StageStats> list = new ArrayList<>(STAGES.length);
+        for (SlaStage stage : STAGES) {
+            DurationHistogram h = histograms[stage.ordinal()];
+            list.add(new StageStats(stage, stage.getLabel(), h.total(),
+                    h.percentile(0.50), h.percentile(0.90), h.percentile(0.99), h.max()));
+        }
+        return list;
+    }
+
+    private static String label(TenantReferenceData ref, TenantSla sla, SlaGroupBy groupBy, long key) {
+        return switch (groupBy) {
+            case NONE -> "全体";
+            case DEPARTMENT -> key == 0 ? "部署なし" : Optional.ofNullable(ref.departments().get(key))
+                    .map(TenantReferenceData.DepartmentRef::name).orElse(null);
+            case EVALUATOR -> key == 0 ? "評価者なし" : sla.evaluatorName(key);
+            case PERIOD -> EvaluationPeriod.values()[(int) key].getLabel();
+            case FISCAL_YEAR -> key + "年度";
+        };
+    }
+
+    private static DurationHistogram[] newHistograms() {
+        DurationHistogram[] h = new DurationHistogram[STAGES.length];
+        for (int i = 0; i < h.length; i++) {
+            h[i] = new DurationHistogram();
+        }
+        return h;
+    }
+
+    private static LocalDateTime toLocal(Timestamp ts) {
+        return ts != null ? ts.toLocalDateTime() : null;
+    }
+
+    /** 1セル分。評価ごとの区間（分、無い区間は -1）と、それを数えたヒストグラム。 */
+    private static final class Cell {
+
+        final Map<Long, long[]> members = new HashMap<>();
+        DurationHistogram[] histograms = newHistograms();
+
+        void record(long[] minutes) {
+            for (int i = 0; i < minutes.length; i++) {
+                if (minutes[i] >= 0) {
+                    histograms[i].record(minutes[i]);
+                }
+            }
+        }
+
+        void rebuild() {
+            histograms = newHistograms();
+            members.values().forEach(this::record);
+        }
+    }
+
+    /** 1テナント分のセル。読み込み・差分反映・集計はこのインスタンスで同期する。 */
+    private static final class TenantSla {
+
+        final Map<CellKey, Cell> cells = new HashMap<>();
+        // 評価 → 数えているセル
+        private final Map<Long, CellKey> cellOf = new HashMap<>();
+        private final Map<Long, String> evaluatorNames = new HashMap<>();
+
+        /** 1行分の区間で、その評価について前回数えた区間を置き換える（初回は加えるだけ）。 */
+        synchronized void put(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            long evaluatorId = rs.getLong("evaluator_id");
+            if (evaluatorId != 0) {
+                evaluatorNames.putIfAbsent(evaluatorId, rs.getString("evaluator_name"));
+            }
+            CellKey key = new CellKey(rs.getInt("year"), EvaluationPeriod.valueOf(rs.getString("period")),
+                    rs.getLong("department_id"), evaluatorId);
+            Timestamps t = new Timestamps(
+                    toLocal(rs.getTimestamp("created_at")),
+                    toLocal(rs.getTimestamp("evaluated_at")),
+                    toLocal(rs.getTimestamp("manager_approved_at")),
+                    toLocal(rs.getTimestamp("director_evaluated_at")),
+                    toLocal(rs.getTimestamp("finalized_at")));
+
+            long[] minutes = new long[STAGES.length];
+            boolean any = false;
+            for (SlaStage stage : STAGES) {
+                minutes[stage.ordinal()] = t.minutes(stage);
+                any |= minutes[stage.ordinal()] >= 0;
+            }
+
+            remove(id);
+            if (!any) {
+                return;
+            }
+            cellOf.put(id, key);
+            Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+            cell.members.put(id, minutes);
+            cell.record(minutes);
+        }
+
+        /** 評価の区間を外し、そのセルのヒストグラムを作り直す。 */
+        synchronized void remove(long evaluationId) {
+            CellKey previous = cellOf.remove(evaluationId);
+            if (previous == null) {
+                return;
+            }
+            Cell cell = cells.get(previous);
+            cell.members.remove(evaluationId);
+            if (cell.members.isEmpty()) {
+                cells.remove(previous);
+            } else {
+                cell.rebuild();
+            }
+        }
+
+        /** 条件に合うセルを集計単位ごとに足し合わせる（結果は新しいヒストグラム）。 */
+        synchronized Map<Long, DurationHistogram[]> merge(Filter f, SlaGroupBy groupBy) {
+            Map<Long, DurationHistogram[]> groups = new HashMap<>();
+            cells.forEach((key, cell) -> {
+                DurationHistogram[] histograms = cell.histograms;
+                if (f != null && ((f.year() != null && key.year() != f.year())
+                        || (f.period() != null && key.period() != f.period())
+                        || (f.departmentId() != null && key.departmentId() != f.departmentId())
+                        || (f.evaluatorId() != null && key.evaluatorId() != f.evaluatorId()))) {
+                    return;
+                }
+                long group = switch (groupBy) {
+                    case NONE -> 0L;
+                    case DEPARTMENT -> key.departmentId();
+                    case EVALUATOR -> key.evaluatorId();
+                    case PERIOD -> key.period().ordinal();
+                    case FISCAL_YEAR -> key.year();
+                };
+                DurationHistogram[] target = groups.computeIfAbsent(group, k -> newHistograms());
+                for (int i = 0; i < target.length; i++) {
+                    target[i].merge(histograms[i]);
+                }
+            });
+            return groups;
+        }
+
+        synchronized String evaluatorName(long evaluatorId) {
+            return evaluatorNames.get(evaluatorId);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.hrsystem.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 複数ノード間でプロセス内キャッシュの無効化を伝える PostgreSQL LISTEN/NOTIFY バス。
+ *
+ * <p>変更したノードはコミット後に自身のキャッシュを無効化し、同じ内容を {@code pg_notify} で配信する。
+ * 配信は自動コミットの接続で1件ずつ直列に行い、ノードごとの連番が配信順と一致するようにする。
+ * 配信に失敗した場合も連番は消費するため、受信側は欠落として検知できる。</p>
+ *
+ * <p>受信側はコネクションプールとは別の専用接続で LISTEN し、切断時は再接続する。
+ * 切断中の通知は届かないため、再接続時と送信元ごとの連番の欠落を検知した時は
+ * 全キャッシュを破棄して読み直させる（resync）。</p>
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    static final String ALL_TENANTS = "*";
+
+    private final Map<String, TenantScopedCache> caches;
+    private final DataSource dataSource;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final boolean enabled;
+    private final String channel;
+    private final int pollTimeoutMillis;
+    private final long reconnectDelayMillis;
+
+    // 自ノードの識別子と送信連番（起動ごとに新しい識別子を使う）
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    // 送信元ノード → 最後に受信した連番
+    private final Map<String, Long> lastSeenSequence = new ConcurrentHashMap<>();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong resyncs = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile Connection listenerConnection;
+    private Thread listenerThread;
+
+    public record Stats(String nodeId, boolean enabled, boolean connected,
+                       long published, long received, long resyncs) {}
+
+    @Autowired
+    public CacheInvalidationBus(
+            List<TenantScopedCache> caches,
+            DataSource dataSource,
+            DataSourceProperties dataSourceProperties,
+            @Value("${app.cache.invalidation.enabled:true}") boolean enabled,
+            @Value("${app.cache.invalidation.channel:hr_cache_invalidation}") String channel,
+            @Value("${app.cache.invalidation.poll-timeout-ms:5000}") int pollTimeoutMillis,
+            @Value("${app.cache.invalidation.reconnect-delay-ms:2000}") long reconnectDelayMillis) {
+        this(caches, dataSource, dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(),
+                enabled, channel, pollTimeoutMillis, reconnectDelayMillis);
+    }
+
+    CacheInvalidationBus(List<TenantScopedCache> caches, DataSource dataSource,
+                         String url, String username, String password,
+                         boolean enabled, String channel, int pollTimeoutMillis, long reconnectDelayMillis) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("チャネル名が不正です: " + channel);
+        }
+        this.caches = caches.stream()
+                .collect(Collectors.toUnmodifiableMap(TenantScopedCache::cacheName, Function.identity()));
+        this.dataSource = dataSource;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.pollTimeoutMillis = pollTimeoutMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+    }
+
+    // ===== 配信 =====
+
+    /**
+     * テナントのキャッシュを全ノードで無効化する（tenantId が null なら全テナント）。
+     * トランザクション内ならコミット後に実行し、ロールバック時は何もしない。
+     */
+    public void invalidate(String cacheName, Long tenantId) {
+        Runnable local = () -> {
+            applyLocally(cacheName, tenantId);
+            publish(cacheName, tenantId != null ? tenantId.toString() : ALL_TENANTS);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    local.run();
+                }
+            });
+        } else {
+            local.run();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(nodeId, enabled, connected, published.get(), received.get(), resyncs.get());
+    }
+
+    private synchronized void publish(String cacheName, String tenant) {
+        if (!enabled) {
+            return;
+        }
+        String payload = nodeId + "|" + sequence.incrementAndGet() + "|" + cacheName + "|" + tenant;
+        // コミット後コールバックではトランザクションの接続がまだ束縛されているため、プールから直接取得する
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT pg_notify(?, ?)")) {
+            if (!conn.getAutoCommit()) {
+                conn.setAutoCommit(true);
+            }
+            ps.setString(1, channel);
+            ps.setString(2, payload);
+            ps.execute();
+            published.incrementAndGet();
+        } catch (SQLException e) {
+            // 配信できなくても他ノードは TTL で追いつく。変更処理自体は失敗させない
+            log.warn("キャッシュ無効化の配信に失敗しました: {}", payload, e);
+        }
+    }
+
+    // ===== 受信 =====
+
+    /** 1件の通知を処理する。不正なメッセージやキャッシュ側の例外で受信スレッドを止めない。 */
+    void dispatch(String payload) {
+        try {
+            handle(payload);
+        } catch (RuntimeException e) {
+            log.error("キャッシュ無効化メッセージの処理に失敗しました: {}", payload, e);
+        }
+    }
+
+    void handle(String payload) {
+        String[] parts = payload != null ? payload.split("\\|", 4) : new String[0];
+        if (parts.length != 4) {
+            log.warn("不正なキャッシュ無効化メッセージを無視します: {}", payload);
+            return;
+        }
+        String origin = parts[0];
+        if (origin.equals(nodeId)) {
+            return;
+        }
+        long seq;
+        Long tenantId;
+        try {
+            seq = Long.parseLong(parts[1]);
+            tenantId = ALL_TENANTS.equals(parts[3]) ? null : Long.valueOf(parts[3]);
+        } catch (NumberFormatException e) {
+            log.warn("不正なキャッシュ無効化メッセージを無視します: {}", payload);
+            return;
+        }
+        received.incrementAndGet();
+
+        Long previous = lastSeenSequence.get(origin);
+        if (previous != null && seq <= previous) {
+            // 重複・逆順は既に反映済み
+            return;
+        }
+        lastSeenSequence.put(origin, seq);
+        if (previous != null && seq != previous + 1) {
+            log.warn("ノード {} からの無効化メッセージが欠落しています（{} → {}）。全キャッシュを破棄します",
+                    origin, previous, seq);
+            resync();
+            return;
+        }
+        applyLocally(parts[2], tenantId);
+    }
+
+    private void applyLocally(String cacheName, Long tenantId) {
+        TenantScopedCache cache = caches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (tenantId == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidateTenant(tenantId);
+        }
+    }
+
+    void resync() {
+        resyncs.incrementAndGet();
+        for (TenantScopedCache cache : caches.values()) {
+            try {
+                cache.invalidateAll();
+            } catch (RuntimeException e) {
+                log.error("キャッシュ {} の破棄に失敗しました", cache.cacheName(), e);
+            }
+        }
+    }
+
+    private void listenLoop() {
+        boolean needsResync = false;
+        long delay = reconnectDelayMillis;
+        while (running) {
+            try (Connection conn = connect()) {
+                listenerConnection = conn;
+                try (Statement st = conn.createStatement()) {
+                    st.execute("LISTEN " + channel);
+                }
+                connected = true;
+                delay = reconnectDelayMillis;
+                if (needsResync) {
+                    // 切断中の通知は失われているため読み直させる
+                    log.info("キャッシュ無効化バスに再接続しました。全キャッシュを破棄します");
+                    lastSeenSequence.clear();
+                    resync();
+                }
+
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(pollTimeoutMillis);
+                    if (notifications == null || notifications.length == 0) {
+                        // 通知がない間も接続の生存を確認する
+                        try (Statement st = conn.createStatement()) {
+                            st.execute("SELECT 1");
+                        }
+                        continue;
+                    }
+                    for (PGNotification n : notifications) {
+                        dispatch(n.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("キャッシュ無効化バスの接続が切れました。{}ms 後に再接続します", delay, e);
+                needsResync = true;
+            } finally {
+                connected = false;
+                listenerConnection = null;
+            }
+            sleep(delay);
+            delay = Math.min(delay * 2, 60_000);
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties props = new Properties();
+        if (username != null) props.setProperty("user", username);
+        if (password != null) props.setProperty("password", password);
+        props.setProperty("ApplicationName", "hr-cache-invalidation");
+        return DriverManager.getConnection(url, props);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    // ===== ライフサイクル =====
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        listenerThread = Thread.ofPlatform().daemon().name("cache-invalidation-listener")
+                .start(this::listenLoop);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        Connection conn = listenerConnection;
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException ignored) {
+                // 停止時のクローズ失敗は無視する
+            }
+        }
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            listenerThread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    boolean isConnected() {
+        return connected;
+    }
+}
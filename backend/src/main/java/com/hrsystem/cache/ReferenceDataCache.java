@@ -0,0 +1,158 @@
+package com.hrsystem.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hrsystem.cache.TenantReferenceData.*;
+import com.hrsystem.domain.model.User;
+import com.hrsystem.domain.repository.DepartmentRepository;
+import com.hrsystem.domain.repository.FiscalYearRepository;
+import com.hrsystem.domain.repository.PositionRepository;
+import com.hrsystem.domain.repository.TenantRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * テナント参照データの読み込みキャッシュ。
+ * 役職・部署・テナント・現年度はほぼ全リクエストで参照される一方、更新は年に数回のため、
+ * テナント単位でまとめて読み込み、件数上限と TTL 付きで保持する。
+ * エンティティ更新時は {@link ReferenceDataEntityListener} がコミット後に無効化する。
+ */
+@Component
+public class ReferenceDataCache implements TenantScopedCache {
+
+    public static final String NAME = "reference-data";
+
+    private final TenantRepository tenantRepository;
+    private final PositionRepository positionRepository;
+    private final DepartmentRepository departmentRepository;
+    private final FiscalYearRepository fiscalYearRepository;
+    private final Cache<Long, TenantReferenceData> cache;
+
+    public ReferenceDataCache(
+            TenantRepository tenantRepository,
+            PositionRepository positionRepository,
+            DepartmentRepository departmentRepository,
+            FiscalYearRepository fiscalYearRepository,
+            @Value("${app.cache.reference-data.max-tenants:1000}") long maxTenants,
+            @Value("${app.cache.reference-data.ttl:10m}") Duration ttl) {
+        this.tenantRepository = tenantRepository;
+        this.positionRepository = positionRepository;
+        this.departmentRepository = departmentRepository;
+        this.fiscalYearRepository = fiscalYearRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxTenants)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // ===== 参照 =====
+
+    public TenantReferenceData get(Long tenantId) {
+        return cache.get(tenantId, this::load);
+    }
+
+    public TenantRef tenant(Long tenantId) {
+        return get(tenantId).tenant();
+    }
+
+    public Optional<PositionRef> position(Long tenantId, Long positionId) {
+        return Optional.ofNullable(positionId).map(id -> get(tenantId).positions().get(id));
+    }
+
+    public Optional<DepartmentRef> department(Long tenantId, Long departmentId) {
+        return Optional.ofNullable(departmentId).map(id -> get(tenantId).departments().get(id));
+    }
+
+    public Optional<FiscalYearRef> currentFiscalYear(Long tenantId) {
+        return Optional.ofNullable(get(tenantId).currentFiscalYear());
+    }
+
+    public Optional<OpenWindows> openWindows(Long tenantId) {
+        return Optional.ofNullable(get(tenantId).openWindows());
+    }
+
+    /** ユーザーの役職をキャッシュから引く（遅延ロードのプロキシは初期化しない）。 */
+    public Optional<PositionRef> positionOf(User user) {
+        if (user.getPosition() == null) {
+            return Optional.empty();
+        }
+        return position(user.getTenant().getId(), user.getPosition().getId());
+    }
+
+    // ===== 権限判定（User の同名メソッドのキャッシュ版） =====
+
+    public boolean canPerformEvaluation(User user) {
+        return positionOf(user).map(PositionRef::canEvaluate).orElse(false) || user.getCanEvaluate();
+    }
+
+    public boolean canViewAll(User user) {
+        return positionOf(user).map(PositionRef::canViewAll).orElse(false);
+    }
+
+    public boolean canFinalApprove(User user) {
+        return positionOf(user).map(PositionRef::canFinalApprove).orElse(false);
+    }
+
+    public boolean isManager(User user) {
+        return positionOf(user).map(PositionRef::isManager).orElse(false);
+    }
+
+    public boolean isDirectorOrAdmin(User user) {
+        return positionOf(user).map(p -> p.isDirector() || p.isSystemAdmin()).orElse(false);
+    }
+
+    public boolean isDirector(User user) {
+        return positionOf(user).map(PositionRef::isDirector).orElse(false);
+    }
+
+    public boolean isSystemAdmin(User user) {
+        return positionOf(user).map(PositionRef::isSystemAdmin).orElse(false);
+    }
+
+    public boolean isSeniorStaff(User user) {
+        return positionOf(user).map(PositionRef::isSeniorStaff).orElse(false);
+    }
+
+    // ===== 無効化 =====
+
+    @Override
+    public String cacheName() {
+        return NAME;
+    }
+
+    @Override
+    public void invalidateTenant(Long tenantId) {
+        cache.invalidate(tenantId);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private TenantReferenceData load(Long tenantId) {
+        TenantRef tenant = tenantRepository.findById(tenantId)
+                .map(TenantRef::of)
+                .orElseThrow(() -> new IllegalArgumentException("テナントが見つかりません: " + tenantId));
+
+        Map<Long, PositionRef> positions = positionRepository.findByTenantIdOrderBySortOrder(tenantId).stream()
+                .map(PositionRef::of)
+                .collect(Collectors.toUnmodifiableMap(PositionRef::id, Function.identity()));
+
+        Map<Long, DepartmentRef> departments = departmentRepository.findByTenantId(tenantId).stream()
+                .map(DepartmentRef::of)
+                .collect(Collectors.toUnmodifiableMap(DepartmentRef::id, Function.identity()));
+
+        FiscalYearRef currentFiscalYear = fiscalYearRepository.findByTenantIdAndIsCurrentTrue(tenantId)
+                .map(FiscalYearRef::of)
+                .orElse(null);
+
+        return new TenantReferenceData(tenant, positions, departments, currentFiscalYear);
+    }
+}
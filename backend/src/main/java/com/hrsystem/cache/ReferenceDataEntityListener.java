@@ -0,0 +1,61 @@
+package com.hrsystem.cache;
+
+import com.hrsystem.domain.model.Department;
+import com.hrsystem.domain.model.FiscalYear;
+import com.hrsystem.domain.model.Position;
+import com.hrsystem.domain.model.Tenant;
+import com.hrsystem.domain.model.User;
+import com.hrsystem.security.TenantResolver;
+import com.hrsystem.service.EvaluationWindowPublisher;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 参照データ・ユーザーのエンティティ変更を検知してキャッシュを無効化する JPA リスナー。
+ * ユーザーの変更は通知先ディレクトリのみ、役職の変更は両方のキャッシュを無効化する。
+ * テナントの変更はサブドメインの解決結果も無効化する。
+ * 年度の変更は受付期間の配信（{@link EvaluationWindowPublisher}）にも伝える。
+ * Spring Boot の Hibernate 設定により Spring Bean として生成される。
+ * 無効化は {@link CacheInvalidationBus} 経由で全ノードに伝え、自ノードではコミット後に行う
+ * （未コミットの値を他リクエストが読み戻して再キャッシュしないようにする）。
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataEntityListener {
+
+    private final CacheInvalidationBus invalidationBus;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        Long tenantId = tenantIdOf(entity);
+        if (tenantId == null) {
+            return;
+        }
+        if (!(entity instanceof User)) {
+            invalidationBus.invalidate(ReferenceDataCache.NAME, tenantId);
+        }
+        if (entity instanceof User || entity instanceof Position) {
+            invalidationBus.invalidate(RoleDirectoryCache.NAME, tenantId);
+        }
+        if (entity instanceof Tenant) {
+            invalidationBus.invalidate(TenantResolver.NAME, tenantId);
+        }
+        if (entity instanceof FiscalYear) {
+            invalidationBus.invalidate(EvaluationWindowPublisher.NAME, tenantId);
+        }
+    }
+
+    private Long tenantIdOf(Object entity) {
+        if (entity instanceof User u) return u.getTenant().getId();
+        if (entity instanceof Tenant t) return t.getId();
+        if (entity instanceof Position p) return p.getTenant().getId();
+        if (entity instanceof Department d) return d.getTenant().getId();
+        if (entity instanceof FiscalYear f) return f.getTenant().getId();
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.hrsystem.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * テナント単位の通知先ディレクトリ（役割 → ユーザーID、部署 → 管理者ID）の不変スナップショット。
+ * ワークフローの遷移ごとに通知先を検索しないよう {@link RoleDirectoryCache} で保持する。
+ */
+public record RoleDirectory(
+        Map<Role, List<Long>> usersByRole,
+        Map<Long, List<Long>> managersByDepartment
+) {
+
+    public enum Role {
+        SYSTEM_ADMIN,
+        DIRECTOR,
+        MANAGER
+    }
+
+    public static final RoleDirectory EMPTY = new RoleDirectory(Map.of(), Map.of());
+
+    public List<Long> usersIn(Role role) {
+        return usersByRole.getOrDefault(role, List.of());
+    }
+
+    /** 理事長（役員）とシステム管理者。 */
+    public List<Long> directorsAndAdmins() {
+        List<Long> admins = usersIn(Role.SYSTEM_ADMIN);
+        List<Long> directors = usersIn(Role.DIRECTOR);
+        if (admins.isEmpty()) return directors;
+        if (directors.isEmpty()) return admins;
+        return Stream.concat(admins.stream(), directors.stream()).toList();
+    }
+
+    public List<Long> managersOf(Long departmentId) {
+        return departmentId == null ? List.of() : managersByDepartment.getOrDefault(departmentId, List.of());
+    }
+}
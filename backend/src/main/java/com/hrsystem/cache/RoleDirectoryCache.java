@@ -0,0 +1,82 @@
+package com.hrsystem.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hrsystem.cache.RoleDirectory.Role;
+import com.hrsystem.domain.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 通知先ディレクトリのキャッシュ。
+ * テナント内の役員・システム管理者・部門長を1クエリで読み込み、ユーザー・役職の変更時に
+ * {@link ReferenceDataEntityListener} がコミット後に無効化する。
+ */
+@Component
+public class RoleDirectoryCache implements TenantScopedCache {
+
+    public static final String NAME = "role-directory";
+
+    private final UserRepository userRepository;
+    private final Cache<Long, RoleDirectory> cache;
+
+    public RoleDirectoryCache(
+            UserRepository userRepository,
+            @Value("${app.cache.role-directory.max-tenants:1000}") long maxTenants,
+            @Value("${app.cache.role-directory.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxTenants)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public RoleDirectory get(Long tenantId) {
+        return cache.get(tenantId, this::load);
+    }
+
+    @Override
+    public String cacheName() {
+        return NAME;
+    }
+
+    @Override
+    public void invalidateTenant(Long tenantId) {
+        cache.invalidate(tenantId);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private RoleDirectory load(Long tenantId) {
+        Map<Role, List<Long>> byRole = new EnumMap<>(Role.class);
+        Map<Long, List<Long>> managersByDepartment = new HashMap<>();
+
+        // row: [userId, departmentId, positionCode]
+        for (Object[] row : userRepository.findRoleEntries(tenantId)) {
+            Long userId = (Long) row[0];
+            Long departmentId = (Long) row[1];
+            int code = ((Number) row[2]).intValue();
+            Role role = switch (code) {
+                case 0 -> Role.SYSTEM_ADMIN;
+                case 1 -> Role.DIRECTOR;
+                default -> Role.MANAGER;
+            };
+            byRole.computeIfAbsent(role, k -> new ArrayList<>()).add(userId);
+            if (role == Role.MANAGER && departmentId != null) {
+                managersByDepartment.computeIfAbsent(departmentId, k -> new ArrayList<>()).add(userId);
+            }
+        }
+
+        Map<Role, List<Long>> roles = new EnumMap<>(Role.class);
+        byRole.forEach((role, ids) -> roles.put(role, List.copyOf(ids)));
+        Map<Long, List<Long>> managers = new HashMap<>();
+        managersByDepartment.forEach((dept, ids) -> managers.put(dept, List.copyOf(ids)));
+        return new RoleDirectory(Collections.unmodifiableMap(roles), Collections.unmodifiableMap(managers));
+    }
+}
@@ -0,0 +1,121 @@
+package com.hrsystem.cache;
+
+import com.hrsystem.domain.model.Department;
+import com.hrsystem.domain.model.FiscalYear;
+import com.hrsystem.domain.model.Position;
+import com.hrsystem.domain.model.Tenant;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.EvaluationWindow;
+import com.hrsystem.domain.model.enums.TenantPlan;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * テナント単位の参照データ（テナント・役職・部署・現年度）の不変スナップショット。
+ * エンティティを共有せず値だけを保持するため、スレッド間で安全に使い回せる。
+ * 現年度の受付中の期間（openWindows）は読み込み時に求めておき、ワークフローの確認では集合を引くだけにする。
+ */
+public record TenantReferenceData(
+        TenantRef tenant,
+        Map<Long, PositionRef> positions,
+        Map<Long, DepartmentRef> departments,
+        FiscalYearRef currentFiscalYear,
+        OpenWindows openWindows
+) {
+
+    public TenantReferenceData(TenantRef tenant, Map<Long, PositionRef> positions,
+                               Map<Long, DepartmentRef> departments, FiscalYearRef currentFiscalYear) {
+        this(tenant, positions, departments, currentFiscalYear, OpenWindows.of(currentFiscalYear));
+    }
+
+    public record TenantRef(Long id, String name, String subdomain, TenantPlan plan, boolean active) {
+
+        static TenantRef of(Tenant t) {
+            return new TenantRef(t.getId(), t.getName(), t.getSubdomain(), t.getPlan(), t.getIsActive());
+        }
+    }
+
+    public record PositionRef(Long id, int code, String name, int sortOrder,
+                              boolean canViewAll, boolean canEvaluate, boolean canFinalApprove) {
+
+        static PositionRef of(Position p) {
+            return new PositionRef(p.getId(), p.getCode(), p.getName(), p.getSortOrder(),
+                    p.getCanViewAll(), p.getCanEvaluate(), p.getCanFinalApprove());
+        }
+
+        // User の権限判定メソッドと同じ基準
+        public boolean isManager() {
+            return code == 2;
+        }
+
+        public boolean isDirector() {
+            return code == 1;
+        }
+
+        public boolean isSystemAdmin() {
+            return code == 0;
+        }
+
+        public boolean isSeniorStaff() {
+            return code <= 2;
+        }
+    }
+
+    public record DepartmentRef(Long id, String name, boolean active) {
+
+        static DepartmentRef of(Department d) {
+            return new DepartmentRef(d.getId(), d.getName(), d.getIsActive());
+        }
+    }
+
+    public record FiscalYearRef(Long id, int year, boolean goalSettingOpen,
+                                boolean summerSelfOpen, boolean summerEvalOpen,
+                                boolean winterSelfOpen, boolean winterEvalOpen,
+                                LocalDate summerEndDate, LocalDate winterEndDate) {
+
+        static FiscalYearRef of(FiscalYear f) {
+            return new FiscalYearRef(f.getId(), f.getYear(), f.getGoalSettingOpen(),
+                    f.getSummerSelfOpen(), f.getSummerEvalOpen(),
+                    f.getWinterSelfOpen(), f.getWinterEvalOpen(),
+                    f.getSummerEndDate(), f.getWinterEndDate());
+        }
+
+        public boolean isSelfEvaluationOpen(EvaluationPeriod period) {
+            return period == EvaluationPeriod.SUMMER ? summerSelfOpen : winterSelfOpen;
+        }
+
+        public boolean isEvaluationOpen(EvaluationPeriod period) {
+            return period == EvaluationPeriod.SUMMER ? summerEvalOpen : winterEvalOpen;
+        }
+    }
+
+    /** 現年度の受付中の期間。現年度が無いテナントでは null。 */
+    public record OpenWindows(Long fiscalYearId, int year, Set<EvaluationWindow> open) {
+
+        public OpenWindows {
+            open = Collections.unmodifiableSet(open.isEmpty()
+                    ? EnumSet.noneOf(EvaluationWindow.class) : EnumSet.copyOf(open));
+        }
+
+        static OpenWindows of(FiscalYearRef f) {
+            if (f == null) {
+                return null;
+            }
+            Set<EvaluationWindow> open = EnumSet.noneOf(EvaluationWindow.class);
+            if (f.goalSettingOpen()) open.add(EvaluationWindow.GOAL_SETTING);
+            if (f.summerSelfOpen()) open.add(EvaluationWindow.SUMMER_SELF);
+            if (f.summerEvalOpen()) open.add(EvaluationWindow.SUMMER_EVAL);
+            if (f.winterSelfOpen()) open.add(EvaluationWindow.WINTER_SELF);
+            if (f.winterEvalOpen()) open.add(EvaluationWindow.WINTER_EVAL);
+            return new OpenWindows(f.id(), f.year(), open);
+        }
+
+        public boolean isOpen(EvaluationWindow window) {
+            return open.contains(window);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.hrsystem.cache;
+
+/**
+ * テナント単位で無効化できるプロセス内キャッシュ。
+ * {@link CacheInvalidationBus} が名前で振り分けて無効化する。
+ */
+public interface TenantScopedCache {
+
+    String cacheName();
+
+    void invalidateTenant(Long tenantId);
+
+    void invalidateAll();
+}
@@ -1,6 +1,7 @@
 package com.hrsystem.config;
 
 import com.hrsystem.security.JwtAuthenticationFilter;
+import com.hrsystem.security.TenantRateLimitFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,6 +24,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final TenantRateLimitFilter tenantRateLimitFilter;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -47,7 +49,8 @@ public class SecurityConfig {
                 // 認証済みユーザー
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(tenantRateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
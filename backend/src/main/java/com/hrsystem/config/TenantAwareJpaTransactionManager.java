@@ -0,0 +1,38 @@
+package com.hrsystem.config;
+
+import com.hrsystem.domain.model.TenantFilter;
+import com.hrsystem.security.TenantContext;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * トランザクション開始時に現在のテナントで Hibernate の tenantFilter を有効化する。
+ * テナントコンテキストがない処理（バッチ・ログイン前の認証など）ではフィルタを有効化しない。
+ */
+public class TenantAwareJpaTransactionManager extends JpaTransactionManager {
+
+    public TenantAwareJpaTransactionManager(EntityManagerFactory emf) {
+        super(emf);
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+
+        Long tenantId = TenantContext.getTenantId();
+        if (tenantId == null) {
+            return;
+        }
+        EntityManagerHolder holder =
+                (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        if (holder != null) {
+            holder.getEntityManager().unwrap(Session.class)
+                    .enableFilter(TenantFilter.NAME)
+                    .setParameter(TenantFilter.PARAM, tenantId);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.hrsystem.controller;
+
+import com.hrsystem.analytics.AnalyticsGroupBy;
+import com.hrsystem.analytics.AnalyticsLevel;
+import com.hrsystem.analytics.GradeAnalyticsService;
+import com.hrsystem.analytics.GradeAnalyticsService.Distribution;
+import com.hrsystem.analytics.GradeAnalyticsService.Filter;
+import com.hrsystem.analytics.GradeAnalyticsService.Shift;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.security.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/analytics/grades")
+@RequiredArgsConstructor
+public class AdminAnalyticsController {
+
+    private final GradeAnalyticsService analyticsService;
+
+    // ===== 評価分布 =====
+
+    @GetMapping
+    public ResponseEntity<Distribution> distribution(
+            @RequestParam(defaultValue = "DIRECTOR") AnalyticsLevel level,
+            @RequestParam(defaultValue = "DEPARTMENT") AnalyticsGroupBy groupBy,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) EvaluationPeriod period,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long positionId,
+            @RequestParam(required = false) EvaluationStatus status) {
+        Long tenantId = TenantContext.getTenantId();
+        Filter filter = new Filter(year, period, departmentId, positionId, status);
+        return ResponseEntity.ok(analyticsService.distribution(tenantId, filter, level, groupBy));
+    }
+
+    // ===== 段階間の評価の変化 =====
+
+    @GetMapping("/shift")
+    public ResponseEntity<Shift> shift(
+            @RequestParam(defaultValue = "EVALUATOR") AnalyticsLevel from,
+            @RequestParam(defaultValue = "DIRECTOR") AnalyticsLevel to,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) EvaluationPeriod period,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long positionId) {
+        Long tenantId = TenantContext.getTenantId();
+        Filter filter = new Filter(year, period, departmentId, positionId, null);
+        return ResponseEntity.ok(analyticsService.shift(tenantId, filter, from, to));
+    }
+}
@@ -0,0 +1,42 @@
+package com.hrsystem.controller;
+
+import com.hrsystem.domain.model.User;
+import com.hrsystem.security.TenantContext;
+import com.hrsystem.service.CalibrationService;
+import com.hrsystem.service.CalibrationService.Adjustment;
+import com.hrsystem.service.CalibrationService.ApplyResult;
+import com.hrsystem.service.CalibrationService.Proposal;
+import com.hrsystem.service.CalibrationService.Target;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/calibration")
+@RequiredArgsConstructor
+public class AdminCalibrationController {
+
+    private final CalibrationService calibrationService;
+
+    /** target は調整案の計算に使った条件（反映時に同じ条件で再計算して照合する）。 */
+    public record ApplyRequest(Target target, List<Adjustment> adjustments) {}
+
+    // ===== 調整案の計算 =====
+
+    @PostMapping("/proposal")
+    public ResponseEntity<Proposal> propose(@RequestBody Target target) {
+        return ResponseEntity.ok(calibrationService.propose(TenantContext.getTenantId(), target));
+    }
+
+    // ===== 承認された調整の反映 =====
+
+    @PostMapping("/apply")
+    public ResponseEntity<ApplyResult> apply(@RequestBody ApplyRequest request,
+                                             @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(calibrationService.apply(
+                TenantContext.getTenantId(), user.getId(), request.target(), request.adjustments()));
+    }
+}
@@ -0,0 +1,130 @@
+package com.hrsystem.controller;
+
+import com.hrsystem.analytics.FacetIndexService;
+import com.hrsystem.analytics.FacetIndexService.FacetView;
+import com.hrsystem.analytics.FacetIndexService.Selection;
+import com.hrsystem.domain.model.Evaluation;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.Grade;
+import com.hrsystem.security.TenantContext;
+import com.hrsystem.service.EvaluationExportService;
+import com.hrsystem.service.EvaluationExportService.ExportFilter;
+import com.hrsystem.service.EvaluationQueryService;
+import com.hrsystem.service.EvaluationTimelineService;
+import com.hrsystem.service.EvaluationTimelineService.Timeline;
+import com.hrsystem.service.EvaluatorAssignmentService;
+import com.hrsystem.service.EvaluatorAssignmentService.AssignmentReport;
+import com.hrsystem.service.EvaluatorReassignmentService;
+import com.hrsystem.service.EvaluatorReassignmentService.ReassignmentReport;
+import com.hrsystem.service.EvaluatorReassignmentService.ReassignmentRules;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/admin/evaluations")
+@RequiredArgsConstructor
+public class AdminEvaluationController {
+
+    private final EvaluatorAssignmentService assignmentService;
+    private final EvaluatorReassignmentService reassignmentService;
+    private final EvaluationExportService exportService;
+    private final FacetIndexService facetIndexService;
+    private final EvaluationQueryService queryService;
+    private final EvaluationTimelineService timelineService;
+
+    // ===== 評価者の一括自動割り当て =====
+
+    @PostMapping("/assign-evaluators")
+    public ResponseEntity<AssignmentReport> assignEvaluators(
+            @RequestParam Long fiscalYearId,
+            @RequestParam EvaluationPeriod period,
+            @RequestParam(required = false) Integer maxPerEvaluator) {
+        Long tenantId = TenantContext.getTenantId();
+        return ResponseEntity.ok(
+                assignmentService.assignAll(tenantId, fiscalYearId, period, maxPerEvaluator));
+    }
+
+    // ===== 評価者不在の評価の一括再割り当て =====
+
+    @PostMapping("/reassign-evaluators")
+    public ResponseEntity<ReassignmentReport> reassignEvaluators(@RequestBody ReassignmentRules rules) {
+        Long tenantId = TenantContext.getTenantId();
+        return ResponseEntity.ok(reassignmentService.reassignOrphaned(tenantId, rules));
+    }
+
+    // ===== 評価一覧のファセット絞り込み =====
+
+    public record FacetSearchResponse(FacetView result, List<Evaluation> evaluations) {}
+
+    @GetMapping("/facets")
+    public ResponseEntity<FacetSearchResponse> facets(
+            @RequestParam int year,
+            @RequestParam(required = false) List<Long> departmentId,
+            @RequestParam(required = false) List<Long> positionId,
+            @RequestParam(required = false) List<EvaluationStatus> status,
+            @RequestParam(required = false) List<EvaluationPeriod> period,
+            @RequestParam(required = false) List<String> grade,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "50") int limit) {
+        Long tenantId = TenantContext.getTenantId();
+        Selection selection = new Selection(departmentId, positionId, status, period,
+                grade != null ? grade.stream().map(Grade::of).toList() : null);
+        FacetView result = facetIndexService.search(tenantId, year, selection,
+                Math.max(0, offset), Math.min(Math.max(1, limit), 200));
+        return ResponseEntity.ok(new FacetSearchResponse(result,
+                queryService.findByIds(tenantId, result.evaluationIds())));
+    }
+
+    // ===== 評価の遷移履歴（差し戻しで消えた評価値・コメントを含む） =====
+
+    @GetMapping("/{id}/timeline")
+    public ResponseEntity<Timeline> timeline(@PathVariable Long id) {
+        return ResponseEntity.ok(timelineService.timeline(TenantContext.getTenantId(), id));
+    }
+
+    // ===== 年度の評価一覧の CSV 出力 =====
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam Long fiscalYearId,
+            @RequestParam(required = false) EvaluationPeriod period,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) EvaluationStatus status,
+            @RequestParam(required = false) String minGrade,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        // 書き出しは別スレッドで行われるため、テナントはここで確定させる
+        Long tenantId = TenantContext.getTenantId();
+        int year = exportService.resolveYear(tenantId, fiscalYearId);
+        ExportFilter filter = new ExportFilter(fiscalYearId, period, departmentId, status,
+                minGrade != null ? Grade.of(minGrade) : null);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream gz = new GZIPOutputStream(out, 64 * 1024)) {
+                    exportService.writeCsv(tenantId, filter, gz);
+                }
+            } else {
+                exportService.writeCsv(tenantId, filter, out);
+            }
+        };
+
+        String filename = "evaluations_" + year + (period != null ? "_" + period.name().toLowerCase() : "")
+                + (gzip ? ".csv.gz" : ".csv");
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip")
+                        : new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
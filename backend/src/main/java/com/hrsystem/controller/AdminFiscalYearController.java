@@ -0,0 +1,30 @@
+package com.hrsystem.controller;
+
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.security.TenantContext;
+import com.hrsystem.service.FiscalYearRolloverService;
+import com.hrsystem.service.FiscalYearRolloverService.RolloverOptions;
+import com.hrsystem.service.FiscalYearRolloverService.RolloverReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/fiscal-years")
+@RequiredArgsConstructor
+public class AdminFiscalYearController {
+
+    private final FiscalYearRolloverService rolloverService;
+
+    // ===== 年度切り替え =====
+
+    @PostMapping("/rollover")
+    public ResponseEntity<RolloverReport> rollover(
+            @RequestParam(defaultValue = "true") boolean copyGoals,
+            @RequestParam(defaultValue = "SUMMER") EvaluationPeriod period,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        Long tenantId = TenantContext.getTenantId();
+        return ResponseEntity.ok(rolloverService.rollover(
+                tenantId, new RolloverOptions(copyGoals, period, dryRun)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.hrsystem.controller;
+
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.domain.model.enums.TenantPlan;
+import com.hrsystem.security.TenantContext;
+import com.hrsystem.security.TenantRateLimiter;
+import com.hrsystem.security.TenantRateLimiter.TenantStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/rate-limits")
+@RequiredArgsConstructor
+public class AdminRateLimitController {
+
+    private final TenantRateLimiter rateLimiter;
+    private final ReferenceDataCache referenceDataCache;
+
+    // ===== 自テナントの流量制限状況 =====
+
+    @GetMapping
+    public ResponseEntity<TenantStats> getStats() {
+        Long tenantId = TenantContext.getTenantId();
+        TenantStats stats = rateLimiter.stats(tenantId);
+        if (stats == null) {
+            TenantPlan plan = referenceDataCache.tenant(tenantId).plan();
+            stats = new TenantStats(tenantId, plan, plan.getRequestsPerSecond(), plan.getBurst(),
+                    plan.getMaxConcurrentRequests(), 0, 0, 0, 0);
+        }
+        return ResponseEntity.ok(stats);
+    }
+}
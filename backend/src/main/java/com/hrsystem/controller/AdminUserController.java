@@ -0,0 +1,60 @@
+package com.hrsystem.controller;
+
+import com.hrsystem.security.TenantContext;
+import com.hrsystem.service.ActiveUserQuota.Usage;
+import com.hrsystem.service.UserAdminService;
+import com.hrsystem.service.UserAdminService.NewUser;
+import com.hrsystem.service.UserAdminService.UserView;
+import com.hrsystem.service.UserImportService;
+import com.hrsystem.service.UserImportService.ImportReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private final UserAdminService userAdminService;
+    private final UserImportService userImportService;
+
+    // ===== ユーザー登録・有効化 =====
+
+    @PostMapping
+    public ResponseEntity<UserView> create(@RequestBody NewUser request) {
+        Long tenantId = TenantContext.getTenantId();
+        return ResponseEntity.ok(userAdminService.createUser(tenantId, request));
+    }
+
+    @PatchMapping("/{id}/active")
+    public ResponseEntity<UserView> setActive(@PathVariable Long id, @RequestBody ActiveRequest request) {
+        Long tenantId = TenantContext.getTenantId();
+        return ResponseEntity.ok(userAdminService.setActive(tenantId, id, request.active()));
+    }
+
+    // ===== CSV 一括取り込み =====
+
+    @PostMapping("/import")
+    public ResponseEntity<ImportReport> importCsv(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean dryRun) throws IOException {
+        Long tenantId = TenantContext.getTenantId();
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(userImportService.importCsv(tenantId, in, dryRun));
+        }
+    }
+
+    // ===== プラン上限に対する利用状況 =====
+
+    @GetMapping("/quota")
+    public ResponseEntity<Usage> quota() {
+        return ResponseEntity.ok(userAdminService.usage(TenantContext.getTenantId()));
+    }
+
+    public record ActiveRequest(boolean active) {}
+}
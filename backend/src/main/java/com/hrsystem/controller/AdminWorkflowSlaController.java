@@ -0,0 +1,33 @@
+package com.hrsystem.controller;
+
+import com.hrsystem.analytics.SlaGroupBy;
+import com.hrsystem.analytics.WorkflowSlaService;
+import com.hrsystem.analytics.WorkflowSlaService.Filter;
+import com.hrsystem.analytics.WorkflowSlaService.SlaReport;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.security.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/analytics/sla")
+@RequiredArgsConstructor
+public class AdminWorkflowSlaController {
+
+    private final WorkflowSlaService slaService;
+
+    // ===== ステータスごとの所要時間 =====
+
+    @GetMapping
+    public ResponseEntity<SlaReport> report(
+            @RequestParam(defaultValue = "DEPARTMENT") SlaGroupBy groupBy,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) EvaluationPeriod period,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long evaluatorId) {
+        Long tenantId = TenantContext.getTenantId();
+        Filter filter = new Filter(year, period, departmentId, evaluatorId);
+        return ResponseEntity.ok(slaService.report(tenantId, filter, groupBy));
+    }
+}
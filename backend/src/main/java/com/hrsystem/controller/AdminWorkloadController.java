@@ -0,0 +1,23 @@
+package com.hrsystem.controller;
+
+import com.hrsystem.security.TenantContext;
+import com.hrsystem.service.WorkloadMonitor;
+import com.hrsystem.service.WorkloadMonitor.WorkloadView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/workload")
+@RequiredArgsConstructor
+public class AdminWorkloadController {
+
+    private final WorkloadMonitor workloadMonitor;
+
+    // ===== 処理待ちの滞留状況 =====
+
+    @GetMapping
+    public ResponseEntity<WorkloadView> view(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(workloadMonitor.view(TenantContext.getTenantId(), Math.min(Math.max(1, limit), 200)));
+    }
+}
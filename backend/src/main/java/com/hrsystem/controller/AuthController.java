@@ -1,8 +1,11 @@
 package com.hrsystem.controller;
 
+import com.hrsystem.cache.ReferenceDataCache;
 import com.hrsystem.domain.model.User;
 import com.hrsystem.domain.repository.UserRepository;
 import com.hrsystem.security.JwtTokenProvider;
+import com.hrsystem.security.TenantResolver;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -13,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -22,6 +26,8 @@ public class AuthController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TenantResolver tenantResolver;
+    private final ReferenceDataCache referenceDataCache;
 
     public record LoginRequest(
             @NotBlank @Email String email,
@@ -46,9 +52,8 @@ public class AuthController {
     ) {}
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
-        User user = userRepository.findActiveByEmail(request.email())
-                .orElse(null);
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        User user = findLoginUser(request.email(), httpRequest).orElse(null);
 
         if (user == null || !passwordEncoder.matches(request.password(), user.getPassword())) {
             return ResponseEntity.status(401)
@@ -56,8 +61,7 @@ public class AuthController {
         }
 
         // 最終ログイン更新
-        user.setLastLoginAt(LocalDateTime.now());
-        userRepository.save(user);
+        userRepository.touchLastLogin(user.getId(), LocalDateTime.now());
 
         String accessToken = jwtTokenProvider.generateAccessToken(
                 user.getId(), user.getTenant().getId(), user.getEmail());
@@ -78,7 +82,7 @@ public class AuthController {
     }
 
     @PostMapping("/refresh")
-    public ResponseEntity<?> refresh(@RequestBody Map<String, String> request) {
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> request, HttpServletRequest httpRequest) {
         String refreshToken = request.get("refreshToken");
 
         if (refreshToken == null || !jwtTokenProvider.validateToken(refreshToken)) {
@@ -91,10 +95,31 @@ public class AuthController {
         if (user == null || !user.getIsActive()) {
             return ResponseEntity.status(401).body(Map.of("error", "ユーザーが無効です"));
         }
+        if (tenantResolver.isEnabled()
+                && !tenantResolver.resolve(httpRequest).map(user.getTenant().getId()::equals).orElse(false)) {
+            return ResponseEntity.status(401).body(Map.of("error", "ユーザーが無効です"));
+        }
 
         String newAccessToken = jwtTokenProvider.generateAccessToken(
                 user.getId(), user.getTenant().getId(), user.getEmail());
 
         return ResponseEntity.ok(Map.of("accessToken", newAccessToken));
     }
+
+    // ===== Private Helpers =====
+
+    /**
+     * ログイン対象のユーザーを検索する。
+     * サブドメインでテナントが決まる場合は (tenant_id, email) の一意インデックスで引き、
+     * テナント解決が無効な環境（ローカル開発など）のみメールアドレスで全テナントを検索する。
+     */
+    private Optional<User> findLoginUser(String email, HttpServletRequest httpRequest) {
+        if (!tenantResolver.isEnabled()) {
+            return userRepository.findActiveByEmail(email);
+        }
+        return tenantResolver.resolve(httpRequest)
+                .filter(tenantId -> referenceDataCache.tenant(tenantId).active())
+                .flatMap(tenantId -> userRepository.findByTenantIdAndEmail(tenantId, email))
+                .filter(User::getIsActive);
+    }
 }
@@ -0,0 +1,45 @@
+package com.hrsystem.controller;
+
+import com.hrsystem.domain.model.User;
+import com.hrsystem.security.TenantContext;
+import com.hrsystem.service.DraftService;
+import com.hrsystem.service.DraftService.DraftType;
+import com.hrsystem.service.DraftService.DraftView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/drafts")
+@RequiredArgsConstructor
+public class DraftController {
+
+    private final DraftService draftService;
+
+    // ===== DTOs =====
+
+    public record DraftRequest(String text) {}
+
+    // ===== 自分の未反映の下書き =====
+
+    @GetMapping
+    public ResponseEntity<List<DraftView>> list(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(draftService.list(user.getId()));
+    }
+
+    // ===== 自動保存（DB へは非同期にまとめて反映） =====
+
+    @PutMapping("/{type}/{targetId}")
+    public ResponseEntity<Void> save(
+            @PathVariable DraftType type,
+            @PathVariable Long targetId,
+            @RequestBody DraftRequest request,
+            @AuthenticationPrincipal User user) {
+        Long tenantId = TenantContext.getTenantId();
+        draftService.save(tenantId, user.getId(), type, targetId, request.text());
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -1,10 +1,11 @@
 package com.hrsystem.controller;
 
+import com.hrsystem.cache.ReferenceDataCache;
 import com.hrsystem.domain.model.Evaluation;
 import com.hrsystem.domain.model.User;
-import com.hrsystem.domain.model.enums.EvaluationStatus;
-import com.hrsystem.domain.repository.EvaluationRepository;
+import com.hrsystem.domain.model.enums.Grade;
 import com.hrsystem.security.TenantContext;
+import com.hrsystem.service.EvaluationQueryService;
 import com.hrsystem.service.EvaluationWorkflowService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -22,8 +23,9 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class EvaluationController {
 
-    private final EvaluationRepository evaluationRepository;
+    private final EvaluationQueryService queryService;
     private final EvaluationWorkflowService workflowService;
+    private final ReferenceDataCache referenceDataCache;
 
     // ===== DTOs =====
 
@@ -39,8 +41,7 @@ public class EvaluationController {
     @GetMapping("/mine")
     public ResponseEntity<List<Evaluation>> getMyEvaluations(@AuthenticationPrincipal User user) {
         Long tenantId = TenantContext.getTenantId();
-        return ResponseEntity.ok(
-                evaluationRepository.findByTenantIdAndUserIdOrderByFiscalYearDesc(tenantId, user.getId()));
+        return ResponseEntity.ok(queryService.findMine(tenantId, user.getId()));
     }
 
     // ===== 評価待ち一覧（評価者用） =====
@@ -49,9 +50,7 @@ public class EvaluationController {
     @PreAuthorize("hasAnyRole('EVALUATOR', 'ADMIN')")
     public ResponseEntity<List<Evaluation>> getPendingEvaluations(@AuthenticationPrincipal User user) {
         Long tenantId = TenantContext.getTenantId();
-        return ResponseEntity.ok(
-                evaluationRepository.findByTenantIdAndEvaluatorIdAndStatus(
-                        tenantId, user.getId(), EvaluationStatus.SELF_SUBMITTED));
+        return ResponseEntity.ok(queryService.findPendingForEvaluator(tenantId, user.getId()));
     }
 
     // ===== 自己評価提出 =====
@@ -72,7 +71,7 @@ public class EvaluationController {
             @Valid @RequestBody EvaluateRequest request,
             @AuthenticationPrincipal User user) {
         return ResponseEntity.ok(workflowService.submitEvaluatorEvaluation(
-                id, user.getId(), request.grade(), request.comment()));
+                id, user.getId(), Grade.of(request.grade()), request.comment()));
     }
 
     // ===== 管理者承認 =====
@@ -84,7 +83,7 @@ public class EvaluationController {
             @Valid @RequestBody EvaluateRequest request,
             @AuthenticationPrincipal User user) {
         return ResponseEntity.ok(workflowService.approveByManager(
-                id, user.getId(), request.grade(), request.comment()));
+                id, user.getId(), Grade.of(request.grade()), request.comment()));
     }
 
     // ===== 差し戻し =====
@@ -96,10 +95,10 @@ public class EvaluationController {
             @RequestBody RejectRequest request,
             @AuthenticationPrincipal User user) {
         // 管理者か役員かで差し戻し先が変わる
-        if (user.isDirector() || user.isSystemAdmin()) {
-            return ResponseEntity.ok(workflowService.rejectByDirector(id, request.reason()));
+        if (referenceDataCache.isDirectorOrAdmin(user)) {
+            return ResponseEntity.ok(workflowService.rejectByDirector(id, user.getId(), request.reason()));
         } else {
-            return ResponseEntity.ok(workflowService.rejectByManager(id, request.reason()));
+            return ResponseEntity.ok(workflowService.rejectByManager(id, user.getId(), request.reason()));
         }
     }
 
@@ -112,44 +111,21 @@ public class EvaluationController {
             @Valid @RequestBody EvaluateRequest request,
             @AuthenticationPrincipal User user) {
         return ResponseEntity.ok(workflowService.submitDirectorEvaluation(
-                id, user.getId(), request.grade(), request.comment()));
+                id, user.getId(), Grade.of(request.grade()), request.comment()));
     }
 
     // ===== 最終確定 =====
 
     @PostMapping("/{id}/finalize")
     @PreAuthorize("hasAnyRole('DIRECTOR', 'ADMIN')")
-    public ResponseEntity<Evaluation> finalize(@PathVariable Long id) {
-        return ResponseEntity.ok(workflowService.finalizeEvaluation(id));
+    public ResponseEntity<Evaluation> finalize(@PathVariable Long id, @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(workflowService.finalizeEvaluation(id, user.getId()));
     }
 
     // ===== ダッシュボード用カウント =====
 
     @GetMapping("/counts")
     public ResponseEntity<Map<String, Long>> getCounts(@AuthenticationPrincipal User user) {
-        Long tenantId = TenantContext.getTenantId();
-
-        long pendingEvaluations = user.canPerformEvaluation()
-                ? evaluationRepository.countPendingForEvaluator(tenantId, user.getId(), EvaluationStatus.SELF_SUBMITTED)
-                : 0;
-
-        long managerPending = user.isManager() && user.getDepartment() != null
-                ? evaluationRepository.countPendingForDepartment(tenantId, user.getDepartment().getId(), EvaluationStatus.EVALUATOR_SUBMITTED)
-                : 0;
-
-        long directorPending = user.isDirector() || user.isSystemAdmin()
-                ? evaluationRepository.countByTenantAndStatus(tenantId, EvaluationStatus.MANAGER_APPROVED)
-                : 0;
-
-        long finalizePending = user.isDirector() || user.isSystemAdmin()
-                ? evaluationRepository.countByTenantAndStatus(tenantId, EvaluationStatus.DIRECTOR_EVALUATED)
-                : 0;
-
-        return ResponseEntity.ok(Map.of(
-                "pendingEvaluations", pendingEvaluations,
-                "managerPending", managerPending,
-                "directorPending", directorPending,
-                "finalizePending", finalizePending
-        ));
+        return ResponseEntity.ok(queryService.counts(TenantContext.getTenantId(), user));
     }
 }
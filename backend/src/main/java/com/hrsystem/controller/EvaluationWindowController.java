@@ -0,0 +1,35 @@
+package com.hrsystem.controller;
+
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.cache.TenantReferenceData.OpenWindows;
+import com.hrsystem.security.TenantContext;
+import com.hrsystem.service.EvaluationWindowPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/evaluation-windows")
+@RequiredArgsConstructor
+public class EvaluationWindowController {
+
+    private final ReferenceDataCache referenceDataCache;
+    private final EvaluationWindowPublisher windowPublisher;
+
+    // ===== 現年度の受付期間 =====
+
+    @GetMapping
+    public ResponseEntity<OpenWindows> current() {
+        return ResponseEntity.ok(referenceDataCache.openWindows(TenantContext.getTenantId())
+                .orElse(EvaluationWindowPublisher.NONE));
+    }
+
+    // ===== 変更の購読（SSE） =====
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return windowPublisher.subscribe(TenantContext.getTenantId());
+    }
+}
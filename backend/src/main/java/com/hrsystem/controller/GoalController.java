@@ -0,0 +1,52 @@
+package com.hrsystem.controller;
+
+import com.hrsystem.domain.model.User;
+import com.hrsystem.security.TenantContext;
+import com.hrsystem.service.GoalService;
+import com.hrsystem.service.GoalService.GoalInput;
+import com.hrsystem.service.GoalService.GoalView;
+import com.hrsystem.service.GoalService.SaveResult;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/goals")
+@RequiredArgsConstructor
+public class GoalController {
+
+    private final GoalService goalService;
+
+    // ===== DTOs =====
+
+    public record SaveGoalsRequest(
+            @NotNull Long fiscalYearId,
+            @NotNull List<GoalInput> goals
+    ) {}
+
+    // ===== 自分の目標一覧 =====
+
+    @GetMapping
+    public ResponseEntity<List<GoalView>> list(
+            @RequestParam Long fiscalYearId,
+            @AuthenticationPrincipal User user) {
+        Long tenantId = TenantContext.getTenantId();
+        return ResponseEntity.ok(goalService.list(tenantId, user.getId(), fiscalYearId));
+    }
+
+    // ===== 目標の差分保存 =====
+
+    @PutMapping
+    public ResponseEntity<SaveResult> save(
+            @Valid @RequestBody SaveGoalsRequest request,
+            @AuthenticationPrincipal User user) {
+        Long tenantId = TenantContext.getTenantId();
+        return ResponseEntity.ok(goalService.saveGoals(
+                tenantId, user.getId(), request.fiscalYearId(), request.goals()));
+    }
+}
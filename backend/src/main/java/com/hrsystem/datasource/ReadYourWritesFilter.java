@@ -0,0 +1,79 @@
+package com.hrsystem.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Set;
+
+/**
+ * 更新系リクエストが成功したクライアントに {@link ReadYourWritesTracker} の Cookie を付与する。
+ *
+ * <p>付与はレスポンス本文の書き込み開始時（本文が無ければ処理の終了時）に行う。サービスのトランザクションは
+ * コントローラーが戻る前にコミットされるため、記録する日時はコミット後になり、
+ * かつクライアントがレスポンスを受け取る前に必ず Cookie が付く。</p>
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReadYourWritesTracker tracker;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return READ_METHODS.contains(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        MarkingResponse marking = new MarkingResponse(response);
+        filterChain.doFilter(request, marking);
+        if (!response.isCommitted()) {
+            marking.mark();
+        }
+    }
+
+    private class MarkingResponse extends HttpServletResponseWrapper {
+
+        private boolean marked;
+
+        MarkingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void mark() {
+            if (!marked && getStatus() < 400) {
+                marked = true;
+                tracker.markWrite(this);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            mark();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            mark();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            mark();
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.hrsystem.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * 更新直後のクライアントを一定時間プライマリに固定する（read-your-writes）。
+ * ワークフロー遷移の直後に一覧・件数を読み直した際、レプリカの遅延で古い状態が見えないようにする。
+ *
+ * <p>更新日時（エポックミリ秒）を Cookie でクライアントに持たせるため、次の読み取りが別ノードに届いても
+ * プライマリで読む。Cookie の付与は {@link ReadYourWritesFilter} がレスポンス確定前に行う。</p>
+ */
+public class ReadYourWritesTracker {
+
+    public static final String COOKIE_NAME = "rw_at";
+
+    private final Duration stickiness;
+    private final Clock clock;
+
+    public ReadYourWritesTracker(Duration stickiness) {
+        this(stickiness, Clock.systemUTC());
+    }
+
+    ReadYourWritesTracker(Duration stickiness, Clock clock) {
+        this.stickiness = stickiness;
+        this.clock = clock;
+    }
+
+    /** 更新日時を Cookie に記録する。 */
+    public void markWrite(HttpServletResponse response) {
+        Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(clock.millis()));
+        cookie.setPath("/api");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, stickiness.toSeconds()));
+        cookie.setAttribute("SameSite", "Lax");
+        response.addCookie(cookie);
+    }
+
+    public boolean isSticky(HttpServletRequest request) {
+        if (request == null || request.getCookies() == null) {
+            return false;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return isRecent(cookie.getValue());
+            }
+        }
+        return false;
+    }
+
+    /** 現在のリクエスト（リクエスト外のスレッドなら固定しない）が更新直後か。 */
+    public boolean isSticky() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet && isSticky(servlet.getRequest());
+    }
+
+    private boolean isRecent(String value) {
+        try {
+            // ノード間の時計のずれを考慮し、未来の日時も固定期間の範囲内なら有効とする
+            long elapsed = clock.millis() - Long.parseLong(value);
+            return Math.abs(elapsed) < stickiness.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.hrsystem.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * リードレプリカへの振り分け設定（app.datasource.replica.enabled=true の場合のみ有効）。
+ *
+ * <p>アプリが使う DataSource は {@link LazyConnectionDataSourceProxy} で、
+ * {@code @Transactional(readOnly = true)} の処理は {@link ReplicaRoutingDataSource} 経由でレプリカへ、
+ * それ以外はプライマリへ送る。接続は最初の SQL 実行時に取得されるため、
+ * トランザクションの readOnly 指定に従って振り分けられる。</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReplicaDataSourceConfig(
+            @Value("${app.datasource.replica.stickiness:5s}") Duration stickiness) {
+        this.tracker = new ReadYourWritesTracker(stickiness);
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primary");
+        return ds;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            @Value("${app.datasource.replica.urls}") String urls,
+            @Value("${app.datasource.replica.max-pool-size:10}") int maxPoolSize,
+            @Value("${app.datasource.replica.max-lag-ms:2000}") long maxLagMillis) {
+        List<DataSource> replicas = new ArrayList<>();
+        List<String> urlList = Arrays.stream(urls.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+        for (int i = 0; i < urlList.size(); i++) {
+            HikariDataSource ds = new HikariDataSource();
+            ds.setPoolName("replica-" + (i + 1));
+            ds.setJdbcUrl(urlList.get(i));
+            ds.setUsername(properties.determineUsername());
+            ds.setPassword(properties.determinePassword());
+            ds.setReadOnly(true);
+            ds.setMaximumPoolSize(maxPoolSize);
+            // レプリカ停止中でも起動できるよう、接続確認は遅延監視に任せる
+            ds.setInitializationFailTimeout(-1);
+            replicas.add(ds);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, tracker, maxLagMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaRoutingDataSource);
+        return proxy;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(tracker));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
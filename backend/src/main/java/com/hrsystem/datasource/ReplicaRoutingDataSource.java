@@ -0,0 +1,113 @@
+package com.hrsystem.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 読み取り専用トランザクション用のデータソース。
+ * 遅延が許容範囲内のレプリカをラウンドロビンで選び、該当がない場合や
+ * 直前に更新したクライアント（{@link ReadYourWritesTracker}）の場合はプライマリを返す。
+ * {@code LazyConnectionDataSourceProxy#setReadOnlyDataSource} に設定して使う。
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    /** ストリーミングレプリケーションの遅延（ミリ秒）。WAL を再生し切っていれば 0。 */
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM NOW() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean healthy;
+        volatile long lagMillis = -1;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    public record ReplicaStatus(String name, boolean healthy, long lagMillis) {}
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                    ReadYourWritesTracker tracker, long maxLagMillis) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>();
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            this.replicas.add(new Replica("replica-" + (i + 1), replicaDataSources.get(i)));
+        }
+        this.tracker = tracker;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return select().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return select().getConnection(username, password);
+    }
+
+    DataSource select() {
+        if (tracker.isSticky()) {
+            return primary;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica r = replicas.get((start + i) % size);
+            if (r.healthy) {
+                return r.dataSource;
+            }
+        }
+        // 全レプリカが遅延・停止中ならプライマリで読む
+        return primary;
+    }
+
+    public List<ReplicaStatus> status() {
+        return replicas.stream().map(r -> new ReplicaStatus(r.name, r.healthy, r.lagMillis)).toList();
+    }
+
+    // ===== 遅延監視 =====
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        for (Replica r : replicas) {
+            boolean wasHealthy = r.healthy;
+            try (Connection conn = r.dataSource.getConnection();
+                 Statement st = conn.createStatement();
+                 ResultSet rs = st.executeQuery(LAG_QUERY)) {
+                rs.next();
+                r.lagMillis = rs.getLong(1);
+                r.healthy = r.lagMillis <= maxLagMillis;
+            } catch (SQLException e) {
+                r.lagMillis = -1;
+                r.healthy = false;
+            }
+            if (wasHealthy != r.healthy) {
+                log.warn("{} を{}しました（遅延 {}ms）", r.name,
+                        r.healthy ? "読み取り先に復帰" : "読み取り先から除外", r.lagMillis);
+            }
+        }
+    }
+}
@@ -2,11 +2,16 @@ package com.hrsystem.domain.model;
 
 import com.hrsystem.domain.model.enums.EvaluationPeriod;
 import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.Grade;
+import com.hrsystem.domain.model.enums.GradeConverter;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.PartitionKey;
 import java.time.LocalDateTime;
 
 @Entity
+@Filter(name = TenantFilter.NAME)
 @Table(name = "evaluations", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"tenant_id", "user_id", "fiscal_year_id", "period"})
 })
@@ -23,6 +28,16 @@ public class Evaluation {
     @JoinColumn(name = "tenant_id", nullable = false)
     private Tenant tenant;
 
+    /**
+     * パーティションキー（V5 で tenant_id による LIST パーティション）。
+     * UPDATE / DELETE の WHERE に tenant_id を含め、対象パーティション以外を読まないようにする。
+     * 値は tenant から設定するため書き込みには使わない。
+     */
+    @PartitionKey
+    @Column(name = "tenant_id", insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private Long tenantId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -53,8 +68,9 @@ public class Evaluation {
     @JoinColumn(name = "evaluator_id")
     private User evaluator;
 
-    @Column(name = "evaluator_grade", length = 10)
-    private String evaluatorGrade;
+    @Convert(converter = GradeConverter.class)
+    @Column(name = "evaluator_grade")
+    private Grade evaluatorGrade;
 
     @Column(name = "evaluator_comment", columnDefinition = "TEXT")
     private String evaluatorComment;
@@ -67,8 +83,9 @@ public class Evaluation {
     @JoinColumn(name = "manager_id")
     private User manager;
 
-    @Column(name = "manager_grade", length = 10)
-    private String managerGrade;
+    @Convert(converter = GradeConverter.class)
+    @Column(name = "manager_grade")
+    private Grade managerGrade;
 
     @Column(name = "manager_comment", columnDefinition = "TEXT")
     private String managerComment;
@@ -81,8 +98,9 @@ public class Evaluation {
     @JoinColumn(name = "director_id")
     private User director;
 
-    @Column(name = "director_grade", length = 10)
-    private String directorGrade;
+    @Convert(converter = GradeConverter.class)
+    @Column(name = "director_grade")
+    private Grade directorGrade;
 
     @Column(name = "director_comment", columnDefinition = "TEXT")
     private String directorComment;
@@ -101,6 +119,12 @@ public class Evaluation {
     @Builder.Default
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    @PrePersist
+    protected void onCreate() {
+        // 同じセッション内で続けて更新する場合もパーティションキーを WHERE に含められるようにする
+        this.tenantId = tenant.getId();
+    }
+
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
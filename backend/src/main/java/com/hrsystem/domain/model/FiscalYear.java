@@ -1,11 +1,16 @@
 package com.hrsystem.domain.model;
 
+import com.hrsystem.cache.ReferenceDataEntityListener;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@Filter(name = TenantFilter.NAME)
+@EntityListeners(ReferenceDataEntityListener.class)
 @Table(name = "fiscal_years", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"tenant_id", "year"})
 })
@@ -61,6 +66,18 @@ public class FiscalYear {
     @Column(name = "winter_end_date")
     private LocalDate winterEndDate;
 
+    // 評価者以降の受付終了日（未設定なら各期の終了日）。window_auto の年度の自動開閉に使う
+    @Column(name = "summer_eval_end_date")
+    private LocalDate summerEvalEndDate;
+
+    @Column(name = "winter_eval_end_date")
+    private LocalDate winterEvalEndDate;
+
+    // true なら受付フラグを日付から自動で開閉する（EvaluationWindowScheduler）
+    @Column(name = "window_auto", nullable = false)
+    @Builder.Default
+    private Boolean windowAuto = false;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -74,11 +91,11 @@ public class FiscalYear {
         this.updatedAt = LocalDateTime.now();
     }
 
-    public boolean isSelfEvaluationOpen(String period) {
-        return "SUMMER".equalsIgnoreCase(period) ? summerSelfOpen : winterSelfOpen;
+    public boolean isSelfEvaluationOpen(EvaluationPeriod period) {
+        return period == EvaluationPeriod.SUMMER ? summerSelfOpen : winterSelfOpen;
     }
 
-    public boolean isEvaluationOpen(String period) {
-        return "SUMMER".equalsIgnoreCase(period) ? summerEvalOpen : winterEvalOpen;
+    public boolean isEvaluationOpen(EvaluationPeriod period) {
+        return period == EvaluationPeriod.SUMMER ? summerEvalOpen : winterEvalOpen;
     }
 }
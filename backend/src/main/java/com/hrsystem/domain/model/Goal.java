@@ -2,9 +2,14 @@ package com.hrsystem.domain.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDateTime;
 
+// 自己評価は下書きの書き出し（version を上げない JDBC 更新）でも変わるため、変更した列だけを UPDATE する
 @Entity
+@DynamicUpdate
+@Filter(name = TenantFilter.NAME)
 @Table(name = "goals")
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
@@ -40,6 +45,11 @@ public class Goal {
     @Builder.Default
     private Integer sortOrder = 0;
 
+    @Version
+    @Column(nullable = false)
+    @Builder.Default
+    private Long version = 0L;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -2,9 +2,11 @@ package com.hrsystem.domain.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDateTime;
 
 @Entity
+@Filter(name = TenantFilter.NAME)
 @Table(name = "notifications")
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
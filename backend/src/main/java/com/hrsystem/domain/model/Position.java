@@ -1,10 +1,14 @@
 package com.hrsystem.domain.model;
 
+import com.hrsystem.cache.ReferenceDataEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDateTime;
 
 @Entity
+@Filter(name = TenantFilter.NAME)
+@EntityListeners(ReferenceDataEntityListener.class)
 @Table(name = "positions", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"tenant_id", "code"})
 })
@@ -1,11 +1,13 @@
 package com.hrsystem.domain.model;
 
+import com.hrsystem.cache.ReferenceDataEntityListener;
 import com.hrsystem.domain.model.enums.TenantPlan;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ReferenceDataEntityListener.class)
 @Table(name = "tenants")
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
@@ -0,0 +1,13 @@
+package com.hrsystem.domain.model;
+
+/**
+ * テナント絞り込み用 Hibernate フィルタの名前とパラメータ名。
+ */
+public final class TenantFilter {
+
+    public static final String NAME = "tenantFilter";
+    public static final String PARAM = "tenantId";
+
+    private TenantFilter() {
+    }
+}
@@ -0,0 +1,30 @@
+package com.hrsystem.domain.model.enums;
+
+/**
+ * 年度ごとの受付期間（FiscalYear の *_open フラグに対応）。
+ */
+public enum EvaluationWindow {
+    GOAL_SETTING("目標設定"),
+    SUMMER_SELF("夏評価 自己評価"),
+    SUMMER_EVAL("夏評価 評価"),
+    WINTER_SELF("冬評価 自己評価"),
+    WINTER_EVAL("冬評価 評価");
+
+    private final String label;
+
+    EvaluationWindow(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static EvaluationWindow self(EvaluationPeriod period) {
+        return period == EvaluationPeriod.SUMMER ? SUMMER_SELF : WINTER_SELF;
+    }
+
+    public static EvaluationWindow evaluation(EvaluationPeriod period) {
+        return period == EvaluationPeriod.SUMMER ? SUMMER_EVAL : WINTER_EVAL;
+    }
+}
@@ -1,19 +1,76 @@
 package com.hrsystem.domain.model.enums;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * 評価（SS〜D）。
+ * DB には SMALLINT のコードで保存する（大きいほど上位。「A 以上」は {@code code >= A.code}）。
+ * JSON では表示名（"A+"）でやり取りする。
+ */
 public enum Grade {
-    SS, S, A_PLUS("A+"), A, B, C, D;
+    SS(7), S(6), A_PLUS(5, "A+"), A(4), B(3), C(2), D(1);
 
+    private final int code;
     private final String display;
 
-    Grade() {
+    Grade(int code) {
+        this.code = code;
         this.display = name();
     }
 
-    Grade(String display) {
+    Grade(int code, String display) {
+        this.code = code;
         this.display = display;
     }
 
+    public int getCode() {
+        return code;
+    }
+
+    @JsonValue
     public String getDisplay() {
         return display;
     }
+
+    public boolean isAtLeast(Grade other) {
+        return code >= other.code;
+    }
+
+    /** 表示名（"A+"）または定数名（"A_PLUS"）から変換する。該当しない・空の場合は null。 */
+    public static Grade parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String v = value.trim();
+        for (Grade g : values()) {
+            if (g.display.equals(v) || g.name().equals(v)) {
+                return g;
+            }
+        }
+        return null;
+    }
+
+    /** 入力値からの変換。該当しない場合は IllegalStateException。 */
+    @JsonCreator
+    public static Grade of(String value) {
+        Grade g = parse(value);
+        if (g == null) {
+            throw new IllegalStateException("評価の値が正しくありません: " + value);
+        }
+        return g;
+    }
+
+    /** DB のコードから変換する。0（NULL を getShort で読んだ場合）は null。 */
+    public static Grade fromCode(int code) {
+        if (code == 0) {
+            return null;
+        }
+        for (Grade g : values()) {
+            if (g.code == code) {
+                return g;
+            }
+        }
+        throw new IllegalArgumentException("不明な評価コード: " + code);
+    }
 }
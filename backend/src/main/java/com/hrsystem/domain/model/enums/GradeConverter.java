@@ -0,0 +1,19 @@
+package com.hrsystem.domain.model.enums;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/** {@link Grade} と SMALLINT のコードの変換。 */
+@Converter(autoApply = true)
+public class GradeConverter implements AttributeConverter<Grade, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Grade grade) {
+        return grade != null ? (short) grade.getCode() : null;
+    }
+
+    @Override
+    public Grade convertToEntityAttribute(Short code) {
+        return code != null ? Grade.fromCode(code) : null;
+    }
+}
@@ -1,18 +1,37 @@
 package com.hrsystem.domain.model.enums;
 
 public enum TenantPlan {
-    FREE(10),
-    STARTER(50),
-    PROFESSIONAL(200),
-    ENTERPRISE(Integer.MAX_VALUE);
+    // 最大ユーザー数, 秒間リクエスト数, バースト, 同時実行数
+    FREE(10, 5, 20, 4),
+    STARTER(50, 20, 60, 8),
+    PROFESSIONAL(200, 50, 150, 16),
+    ENTERPRISE(Integer.MAX_VALUE, 200, 400, 48);
 
     private final int maxUsers;
+    private final int requestsPerSecond;
+    private final int burst;
+    private final int maxConcurrentRequests;
 
-    TenantPlan(int maxUsers) {
+    TenantPlan(int maxUsers, int requestsPerSecond, int burst, int maxConcurrentRequests) {
         this.maxUsers = maxUsers;
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.maxConcurrentRequests = maxConcurrentRequests;
     }
 
     public int getMaxUsers() {
         return maxUsers;
     }
+
+    public int getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
 }
@@ -0,0 +1,16 @@
+/**
+ * ドメインモデル（JPA エンティティ）。
+ *
+ * <p>テナントに属するエンティティには {@code tenantFilter} を付け、トランザクション開始時に
+ * 現在のテナントで有効化する（{@link com.hrsystem.config.TenantAwareJpaTransactionManager}）。
+ * JPQL・Criteria の検索と関連コレクションの読み込みに tenant_id 条件が自動で付く。
+ * 主キーによる読み込み（{@code findById}）にはフィルタが効かないため、
+ * テナントに属するエンティティは {@code findByIdAndTenantId} で取得する。</p>
+ */
+@FilterDef(name = TenantFilter.NAME,
+        parameters = @ParamDef(name = TenantFilter.PARAM, type = Long.class),
+        defaultCondition = "tenant_id = :" + TenantFilter.PARAM)
+package com.hrsystem.domain.model;
+
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
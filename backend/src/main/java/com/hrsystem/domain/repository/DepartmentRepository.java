@@ -0,0 +1,10 @@
+package com.hrsystem.domain.repository;
+
+import com.hrsystem.domain.model.Department;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface DepartmentRepository extends JpaRepository<Department, Long> {
+
+    List<Department> findByTenantId(Long tenantId);
+}
@@ -0,0 +1,199 @@
+package com.hrsystem.domain.repository;
+
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.Grade;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 評価の遷移履歴（evaluation_events）とスナップショット（evaluation_timeline_snapshots）の読み書き。
+ * 履歴は追記のみで、遷移のトランザクション内でまとめて（JDBC バッチで）登録する。テナント条件は明示的に付ける。
+ */
+@Repository
+@RequiredArgsConstructor
+public class EvaluationEventRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO evaluation_events (tenant_id, evaluation_id, from_status, to_status, actor_id, " +
+            "evaluator_grade, manager_grade, director_grade, comment, reason, occurred_at) " +
+            "VALUES (?, ?, CAST(? AS evaluation_status), CAST(? AS evaluation_status), ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SQL =
+            "SELECT id, from_status, to_status, actor_id, evaluator_grade, manager_grade, director_grade, " +
+            "comment, reason, occurred_at FROM evaluation_events " +
+            "WHERE tenant_id = ? AND evaluation_id = ? AND id > ? ";
+
+    private static final String ORDER_BY = "ORDER BY occurred_at, id";
+
+    private static final String SELECT_SNAPSHOT_SQL =
+            "SELECT last_event_id, event_count, entries FROM evaluation_timeline_snapshots " +
+            "WHERE tenant_id = ? AND evaluation_id = ?";
+
+    // 古い（last_event_id の小さい）スナップショットで上書きしない
+    private static final String UPSERT_SNAPSHOT_SQL =
+            "INSERT INTO evaluation_timeline_snapshots (tenant_id, evaluation_id, last_event_id, event_count, entries) " +
+            "VALUES (?, ?, ?, ?, CAST(? AS jsonb)) " +
+            "ON CONFLICT (tenant_id, evaluation_id) DO UPDATE SET last_event_id = EXCLUDED.last_event_id, " +
+            "event_count = EXCLUDED.event_count, entries = EXCLUDED.entries, created_at = NOW() " +
+            "WHERE evaluation_timeline_snapshots.last_event_id < EXCLUDED.last_event_id";
+
+    // スナップショット以降に追記された件数が閾値以上の評価。
+    // 追記中のトランザクションを取りこぼさないよう、登録から一定時間経った行だけを数える
+    private static final String CANDIDATES_SQL = """
+            SELECT k.tenant_id, k.evaluation_id
+            FROM unnest(?::bigint[], ?::bigint[]) AS k(tenant_id, evaluation_id)
+            LEFT JOIN evaluation_timeline_snapshots s
+                   ON s.tenant_id = k.tenant_id AND s.evaluation_id = k.evaluation_id
+            JOIN LATERAL (
+                SELECT COUNT(*) AS tail FROM evaluation_events e
+                WHERE e.tenant_id = k.tenant_id AND e.evaluation_id = k.evaluation_id
+                  AND e.id > COALESCE(s.last_event_id, 0) AND e.recorded_at < NOW() - ? * INTERVAL '1 second'
+            ) t ON t.tail >= ?
+            """;
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record NewEvent(
+            Long tenantId,
+            Long evaluationId,
+            EvaluationStatus from,
+            EvaluationStatus to,
+            Long actorId,
+            Grade evaluatorGrade,
+            Grade managerGrade,
+            Grade directorGrade,
+            String comment,
+            String reason,
+            LocalDateTime occurredAt
+    ) {}
+
+    public record StoredEvent(
+            long id,
+            EvaluationStatus from,
+            EvaluationStatus to,
+            Long actorId,
+            Grade evaluatorGrade,
+            Grade managerGrade,
+            Grade directorGrade,
+            String comment,
+            String reason,
+            LocalDateTime occurredAt
+    ) {}
+
+    public record Snapshot(long lastEventId, int eventCount, String entriesJson) {}
+
+    public record EvaluationKey(Long tenantId, Long evaluationId) {}
+
+    // ===== 追記 =====
+
+    public void insertAll(List<NewEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, BATCH_SIZE, (ps, e) -> {
+            ps.setLong(1, e.tenantId());
+            ps.setLong(2, e.evaluationId());
+            ps.setString(3, e.from().name());
+            ps.setString(4, e.to().name());
+            setLong(ps, 5, e.actorId());
+            setGrade(ps, 6, e.evaluatorGrade());
+            setGrade(ps, 7, e.managerGrade());
+            setGrade(ps, 8, e.directorGrade());
+            ps.setString(9, e.comment());
+            ps.setString(10, e.reason());
+            ps.setTimestamp(11, Timestamp.valueOf(e.occurredAt()));
+        });
+    }
+
+    // ===== 読み込み =====
+
+    /** afterId より後に登録された履歴を発生順に返す。 */
+    public List<StoredEvent> findAfter(Long tenantId, Long evaluationId, long afterId) {
+        return jdbcTemplate.query(SELECT_SQL + ORDER_BY, (rs, rowNum) -> toStored(rs),
+                tenantId, evaluationId, afterId);
+    }
+
+    /** {@link #findAfter} のうち登録から settle 以上経ったもの（スナップショットの作成用）。 */
+    public List<StoredEvent> findSettledAfter(Long tenantId, Long evaluationId, long afterId, Duration settle) {
+        return jdbcTemplate.query(SELECT_SQL + "AND recorded_at < NOW() - ? * INTERVAL '1 second' " + ORDER_BY,
+                (rs, rowNum) -> toStored(rs), tenantId, evaluationId, afterId, settle.toSeconds());
+    }
+
+    public Optional<Snapshot> findSnapshot(Long tenantId, Long evaluationId) {
+        return jdbcTemplate.query(SELECT_SNAPSHOT_SQL,
+                (rs, rowNum) -> new Snapshot(rs.getLong("last_event_id"), rs.getInt("event_count"),
+                        rs.getString("entries")),
+                tenantId, evaluationId).stream().findFirst();
+    }
+
+    // ===== スナップショット =====
+
+    /** 指定の評価のうち、スナップショット以降の（登録から settle 以上経った）履歴が minTail 件以上あるものを返す。 */
+    public List<EvaluationKey> findCompactionCandidates(List<EvaluationKey> keys, int minTail, Duration settle) {
+        List<EvaluationKey> result = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += BATCH_SIZE) {
+            List<EvaluationKey> chunk = keys.subList(from, Math.min(from + BATCH_SIZE, keys.size()));
+            Long[] tenantIds = chunk.stream().map(EvaluationKey::tenantId).toArray(Long[]::new);
+            Long[] evaluationIds = chunk.stream().map(EvaluationKey::evaluationId).toArray(Long[]::new);
+            result.addAll(jdbcTemplate.query(CANDIDATES_SQL,
+                    ps -> {
+                        ps.setArray(1, ps.getConnection().createArrayOf("bigint", tenantIds));
+                        ps.setArray(2, ps.getConnection().createArrayOf("bigint", evaluationIds));
+                        ps.setLong(3, settle.toSeconds());
+                        ps.setInt(4, minTail);
+                    },
+                    (rs, rowNum) -> new EvaluationKey(rs.getLong(1), rs.getLong(2))));
+        }
+        return result;
+    }
+
+    public void saveSnapshot(Long tenantId, Long evaluationId, long lastEventId, int eventCount, String entriesJson) {
+        jdbcTemplate.update(UPSERT_SNAPSHOT_SQL, tenantId, evaluationId, lastEventId, eventCount, entriesJson);
+    }
+
+    // ===== Private Helpers =====
+
+    private static StoredEvent toStored(ResultSet rs) throws SQLException {
+        return new StoredEvent(
+                rs.getLong("id"),
+                EvaluationStatus.valueOf(rs.getString("from_status")),
+                EvaluationStatus.valueOf(rs.getString("to_status")),
+                rs.getObject("actor_id", Long.class),
+                Grade.fromCode(rs.getShort("evaluator_grade")),
+                Grade.fromCode(rs.getShort("manager_grade")),
+                Grade.fromCode(rs.getShort("director_grade")),
+                rs.getString("comment"),
+                rs.getString("reason"),
+                rs.getTimestamp("occurred_at").toLocalDateTime());
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static void setGrade(PreparedStatement ps, int index, Grade grade) throws SQLException {
+        if (grade != null) {
+            ps.setShort(index, (short) grade.getCode());
+        } else {
+            ps.setNull(index, Types.SMALLINT);
+        }
+    }
+}
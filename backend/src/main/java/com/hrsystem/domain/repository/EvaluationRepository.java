@@ -4,13 +4,20 @@ import com.hrsystem.domain.model.Evaluation;
 import com.hrsystem.domain.model.enums.EvaluationPeriod;
 import com.hrsystem.domain.model.enums.EvaluationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface EvaluationRepository extends JpaRepository<Evaluation, Long> {
 
+    // 主キー検索もテナント条件付きで行う（主キー (tenant_id, id) のインデックスを使う）
+    Optional<Evaluation> findByIdAndTenantId(Long id, Long tenantId);
+
+    List<Evaluation> findByTenantIdAndIdIn(Long tenantId, Collection<Long> ids);
+
     Optional<Evaluation> findByTenantIdAndUserIdAndFiscalYearIdAndPeriod(
             Long tenantId, Long userId, Long fiscalYearId, EvaluationPeriod period);
 
@@ -44,4 +51,70 @@ public interface EvaluationRepository extends JpaRepository<Evaluation, Long> {
     @Query("SELECT COUNT(e) FROM Evaluation e WHERE e.tenant.id = :tenantId AND e.status = :status")
     long countByTenantAndStatus(@Param("tenantId") Long tenantId,
                                 @Param("status") EvaluationStatus status);
+
+    // ===== 評価者自動割り当て =====
+
+    @Query("SELECT e FROM Evaluation e LEFT JOIN FETCH e.position " +
+           "WHERE e.tenant.id = :tenantId AND e.fiscalYear.id = :fiscalYearId " +
+           "AND e.period = :period AND e.evaluator IS NULL AND e.status <> :excluded " +
+           "ORDER BY e.id")
+    List<Evaluation> findUnassigned(@Param("tenantId") Long tenantId,
+                                    @Param("fiscalYearId") Long fiscalYearId,
+                                    @Param("period") EvaluationPeriod period,
+                                    @Param("excluded") EvaluationStatus excluded);
+
+    // 評価者ごとの割り当て件数 [evaluatorId, count]
+    @Query("SELECT e.evaluator.id, COUNT(e) FROM Evaluation e " +
+           "WHERE e.tenant.id = :tenantId AND e.fiscalYear.id = :fiscalYearId " +
+           "AND e.period = :period AND e.evaluator IS NOT NULL " +
+           "GROUP BY e.evaluator.id")
+    List<Object[]> countAssignedByEvaluator(@Param("tenantId") Long tenantId,
+                                            @Param("fiscalYearId") Long fiscalYearId,
+                                            @Param("period") EvaluationPeriod period);
+
+    // 未割り当ての評価にのみ評価者を設定（同時に手動設定されたものは上書きしない）
+    @Modifying
+    @Query(value = "UPDATE evaluations SET evaluator_id = :evaluatorId, updated_at = NOW() " +
+                   "WHERE tenant_id = :tenantId AND id IN (:ids) AND evaluator_id IS NULL",
+           nativeQuery = true)
+    int assignEvaluator(@Param("tenantId") Long tenantId,
+                        @Param("evaluatorId") Long evaluatorId,
+                        @Param("ids") List<Long> ids);
+
+    // ===== 評価者の再割り当て =====
+
+    // 評価者が未設定・無効化済み（・部署異動済み）の評価を1クエリで抽出
+    @Query("SELECT e FROM Evaluation e LEFT JOIN FETCH e.position " +
+           "LEFT JOIN e.evaluator ev LEFT JOIN ev.position evp " +
+           "WHERE e.tenant.id = :tenantId AND e.status IN :statuses " +
+           "AND (ev IS NULL OR ev.isActive = false " +
+           "     OR (:includeMoved = true AND e.department IS NOT NULL AND evp.code > 1 " +
+           "         AND (ev.department IS NULL OR ev.department <> e.department))) " +
+           "ORDER BY e.id")
+    List<Evaluation> findWithOrphanedEvaluator(@Param("tenantId") Long tenantId,
+                                               @Param("statuses") Collection<EvaluationStatus> statuses,
+                                               @Param("includeMoved") boolean includeMoved);
+
+    @Query("SELECT e.evaluator.id, COUNT(e) FROM Evaluation e " +
+           "WHERE e.tenant.id = :tenantId AND e.status IN :statuses AND e.evaluator IS NOT NULL " +
+           "GROUP BY e.evaluator.id")
+    List<Object[]> countOpenByEvaluator(@Param("tenantId") Long tenantId,
+                                        @Param("statuses") Collection<EvaluationStatus> statuses);
+
+    // 抽出後に評価者が手動設定された・ステータスが進んだ評価は上書きしない（抽出条件を更新時に再確認する）
+    @Modifying
+    @Query(value = "UPDATE evaluations e SET evaluator_id = :evaluatorId, updated_at = NOW() " +
+                   "WHERE e.tenant_id = :tenantId AND e.id IN (:ids) " +
+                   "AND CAST(e.status AS text) IN (:statuses) " +
+                   "AND (e.evaluator_id IS NULL OR NOT EXISTS (" +
+                   "       SELECT 1 FROM users ev LEFT JOIN positions evp ON evp.id = ev.position_id " +
+                   "       WHERE ev.id = e.evaluator_id AND ev.is_active " +
+                   "         AND NOT COALESCE(:includeMoved AND e.department_id IS NOT NULL AND evp.code > 1 " +
+                   "                  AND (ev.department_id IS NULL OR ev.department_id <> e.department_id), FALSE)))",
+           nativeQuery = true)
+    int reassignEvaluator(@Param("tenantId") Long tenantId,
+                          @Param("evaluatorId") Long evaluatorId,
+                          @Param("ids") List<Long> ids,
+                          @Param("statuses") Collection<String> statuses,
+                          @Param("includeMoved") boolean includeMoved);
 }
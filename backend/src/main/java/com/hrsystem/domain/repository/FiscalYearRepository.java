@@ -0,0 +1,12 @@
+package com.hrsystem.domain.repository;
+
+import com.hrsystem.domain.model.FiscalYear;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Optional;
+
+public interface FiscalYearRepository extends JpaRepository<FiscalYear, Long> {
+
+    Optional<FiscalYear> findByIdAndTenantId(Long id, Long tenantId);
+
+    Optional<FiscalYear> findByTenantIdAndIsCurrentTrue(Long tenantId);
+}
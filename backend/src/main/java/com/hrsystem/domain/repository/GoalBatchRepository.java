@@ -0,0 +1,47 @@
+package com.hrsystem.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 目標の一括登録。
+ * IDENTITY 採番のエンティティは Hibernate ではバッチ INSERT されないため、
+ * 目標の保存で追加される行は JDBC バッチで登録する。version は列の既定値（0）になる。
+ */
+@Repository
+@RequiredArgsConstructor
+public class GoalBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO goals (tenant_id, user_id, fiscal_year_id, goal_text, sort_order) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record NewGoal(
+            Long tenantId,
+            Long userId,
+            Long fiscalYearId,
+            String goalText,
+            int sortOrder
+    ) {}
+
+    public int insertAll(List<NewGoal> goals) {
+        if (goals.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, goals, BATCH_SIZE, (ps, g) -> {
+            ps.setLong(1, g.tenantId());
+            ps.setLong(2, g.userId());
+            ps.setLong(3, g.fiscalYearId());
+            ps.setString(4, g.goalText());
+            ps.setInt(5, g.sortOrder());
+        });
+        return goals.size();
+    }
+}
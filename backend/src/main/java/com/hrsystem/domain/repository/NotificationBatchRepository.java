@@ -0,0 +1,49 @@
+package com.hrsystem.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 通知の一括登録。
+ * IDENTITY 採番のエンティティは Hibernate ではバッチ INSERT されないため、
+ * 大量の通知を作る処理（再割り当て・リマインド等）は JDBC バッチで登録する。
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (tenant_id, user_id, type, title, message, link) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record NewNotification(
+            Long tenantId,
+            Long userId,
+            String type,
+            String title,
+            String message,
+            String link
+    ) {}
+
+    public int insertAll(List<NewNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, notifications, BATCH_SIZE, (ps, n) -> {
+            ps.setLong(1, n.tenantId());
+            ps.setLong(2, n.userId());
+            ps.setString(3, n.type());
+            ps.setString(4, n.title());
+            ps.setString(5, n.message());
+            ps.setString(6, n.link());
+        });
+        return notifications.size();
+    }
+}
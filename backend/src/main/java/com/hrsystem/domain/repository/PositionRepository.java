@@ -0,0 +1,10 @@
+package com.hrsystem.domain.repository;
+
+import com.hrsystem.domain.model.Position;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface PositionRepository extends JpaRepository<Position, Long> {
+
+    List<Position> findByTenantIdOrderBySortOrder(Long tenantId);
+}
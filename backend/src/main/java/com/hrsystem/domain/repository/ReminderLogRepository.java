@@ -0,0 +1,54 @@
+package com.hrsystem.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 締切リマインドの送信記録（ユーザー・日ごとに1回）。
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReminderLogRepository {
+
+    // 既に記録があるユーザーは返らないため、戻り値がその日に初めて送るユーザーになる
+    private static final String CLAIM_SQL =
+            "INSERT INTO reminder_log (tenant_id, user_id, reminder_date) " +
+            "SELECT ?, u, ? FROM unnest(?::bigint[]) AS u " +
+            "ON CONFLICT (tenant_id, user_id, reminder_date) DO NOTHING RETURNING user_id";
+
+    private static final String PURGE_SQL = "DELETE FROM reminder_log WHERE reminder_date < ?";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 指定日の送信記録を登録し、登録できた（その日まだ送っていない）ユーザーIDを返す。 */
+    public Set<Long> claim(Long tenantId, LocalDate date, Collection<Long> userIds) {
+        Set<Long> claimed = new HashSet<>();
+        List<Long> all = new ArrayList<>(userIds);
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            Long[] chunk = all.subList(from, Math.min(from + BATCH_SIZE, all.size())).toArray(Long[]::new);
+            claimed.addAll(jdbcTemplate.query(CLAIM_SQL,
+                    ps -> {
+                        ps.setLong(1, tenantId);
+                        ps.setDate(2, Date.valueOf(date));
+                        ps.setArray(3, ps.getConnection().createArrayOf("bigint", chunk));
+                    },
+                    (rs, rowNum) -> rs.getLong(1)));
+        }
+        return claimed;
+    }
+
+    public int purgeBefore(LocalDate date) {
+        return jdbcTemplate.update(PURGE_SQL, Date.valueOf(date));
+    }
+}
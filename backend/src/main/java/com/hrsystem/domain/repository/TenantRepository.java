@@ -0,0 +1,16 @@
+package com.hrsystem.domain.repository;
+
+import com.hrsystem.domain.model.Tenant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TenantRepository extends JpaRepository<Tenant, Long> {
+
+    Optional<Tenant> findBySubdomain(String subdomain);
+
+    @Query("SELECT t.id FROM Tenant t WHERE t.isActive = true ORDER BY t.id")
+    List<Long> findActiveIds();
+}
@@ -0,0 +1,97 @@
+package com.hrsystem.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ユーザーの一括登録（CSV 取り込み用）。
+ * IDENTITY 採番のエンティティは Hibernate ではバッチ INSERT されないため JDBC バッチで登録する。
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBatchRepository {
+
+    // 事前チェック後に別リクエストで同じメールアドレスが登録された場合は登録せずに件数0を返す
+    private static final String INSERT_SQL =
+            "INSERT INTO users (tenant_id, department_id, position_id, name, name_kana, email, password, can_evaluate) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (tenant_id, email) DO NOTHING";
+
+    private static final String EXISTING_EMAILS_SQL =
+            "SELECT email FROM users WHERE tenant_id = ? AND email = ANY (?)";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record NewUser(
+            Long tenantId,
+            Long departmentId,
+            Long positionId,
+            String name,
+            String nameKana,
+            String email,
+            String passwordHash,
+            boolean canEvaluate
+    ) {}
+
+    /** 登録済みのメールアドレスを返す（(tenant_id, email) の一意インデックスで引く）。 */
+    public Set<String> findExistingEmails(Long tenantId, Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        List<String> all = new ArrayList<>(emails);
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            String[] chunk = all.subList(from, Math.min(from + BATCH_SIZE, all.size())).toArray(String[]::new);
+            existing.addAll(jdbcTemplate.query(EXISTING_EMAILS_SQL,
+                    ps -> {
+                        ps.setLong(1, tenantId);
+                        ps.setArray(2, ps.getConnection().createArrayOf("varchar", chunk));
+                    },
+                    (rs, rowNum) -> rs.getString(1)));
+        }
+        return existing;
+    }
+
+    /** 登録した行ごとに true（一意制約の競合で登録しなかった行は false）を返す。 */
+    public boolean[] insertAll(List<NewUser> users) {
+        boolean[] inserted = new boolean[users.size()];
+        if (users.isEmpty()) {
+            return inserted;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, users, BATCH_SIZE, (ps, u) -> {
+            ps.setLong(1, u.tenantId());
+            setNullableLong(ps, 2, u.departmentId());
+            setNullableLong(ps, 3, u.positionId());
+            ps.setString(4, u.name());
+            ps.setString(5, u.nameKana());
+            ps.setString(6, u.email());
+            ps.setString(7, u.passwordHash());
+            ps.setBoolean(8, u.canEvaluate());
+        });
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // ドライバが件数を返さない場合（SUCCESS_NO_INFO）は登録できたものとみなす
+                inserted[i++] = count != 0;
+            }
+        }
+        return inserted;
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value)
+            throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
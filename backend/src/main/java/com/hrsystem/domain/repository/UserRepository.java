@@ -2,13 +2,18 @@ package com.hrsystem.domain.repository;
 
 import com.hrsystem.domain.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    Optional<User> findByIdAndTenantId(Long id, Long tenantId);
+
     Optional<User> findByTenantIdAndEmail(Long tenantId, String email);
 
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.position LEFT JOIN FETCH u.department LEFT JOIN FETCH u.tenant WHERE u.email = :email AND u.isActive = true")
@@ -30,7 +35,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findEvaluatorCandidates(@Param("tenantId") Long tenantId,
                                        @Param("departmentId") Long departmentId);
 
+    // 自動割り当て用: テナント内の評価可能ユーザーを一括取得
+    @Query("SELECT u FROM User u JOIN FETCH u.position p " +
+           "WHERE u.tenant.id = :tenantId " +
+           "AND u.isActive = true AND (p.canEvaluate = true OR u.canEvaluate = true) " +
+           "ORDER BY p.sortOrder, u.name")
+    List<User> findAllEvaluatorCandidates(@Param("tenantId") Long tenantId);
+
     @Query("SELECT u FROM User u JOIN u.position p " +
            "WHERE u.tenant.id = :tenantId AND p.code IN (0, 1) AND u.isActive = true")
     List<User> findDirectorsAndAdmins(@Param("tenantId") Long tenantId);
+
+    // 通知先ディレクトリ用: [userId, departmentId, positionCode]
+    // 部門長は従来どおり評価可能なユーザーに限る
+    @Query("SELECT u.id, d.id, p.code FROM User u JOIN u.position p LEFT JOIN u.department d " +
+           "WHERE u.tenant.id = :tenantId AND u.isActive = true " +
+           "AND (p.code IN (0, 1) OR (p.code = 2 AND (p.canEvaluate = true OR u.canEvaluate = true))) " +
+           "ORDER BY p.sortOrder, u.name")
+    List<Object[]> findRoleEntries(@Param("tenantId") Long tenantId);
+
+    // 最終ログイン日時のみ更新する（エンティティ更新イベントを発生させない）
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.lastLoginAt = :at WHERE u.id = :userId")
+    int touchLastLogin(@Param("userId") Long userId, @Param("at") LocalDateTime at);
 }
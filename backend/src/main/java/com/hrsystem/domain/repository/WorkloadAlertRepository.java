@@ -0,0 +1,60 @@
+package com.hrsystem.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 処理待ちの滞留通知の記録（閾値を超えた待ち行列ごとに1行）。
+ */
+@Repository
+@RequiredArgsConstructor
+public class WorkloadAlertRepository {
+
+    // 既に記録がある待ち行列は返らないため、戻り値が今回初めて閾値を超えた待ち行列になる
+    private static final String CLAIM_SQL =
+            "INSERT INTO workload_alerts (tenant_id, queue_type, owner_id) " +
+            "SELECT ?, k.queue_type, k.owner_id FROM unnest(?::varchar[], ?::bigint[]) AS k(queue_type, owner_id) " +
+            "ON CONFLICT (tenant_id, queue_type, owner_id) DO NOTHING RETURNING queue_type, owner_id";
+
+    private static final String CLEAR_SQL =
+            "DELETE FROM workload_alerts w WHERE w.tenant_id = ? AND NOT EXISTS (" +
+            "  SELECT 1 FROM unnest(?::varchar[], ?::bigint[]) AS k(queue_type, owner_id) " +
+            "  WHERE k.queue_type = w.queue_type AND k.owner_id = w.owner_id)";
+
+    /** 待ち行列の種類（WorkloadMonitor.QueueType の名前）と評価者ID・部署ID。 */
+    public record AlertKey(String queueType, long ownerId) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 通知済みとして記録し、記録できた（まだ通知していない）待ち行列を返す。 */
+    public Set<AlertKey> claim(Long tenantId, Collection<AlertKey> keys) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        String[] types = keys.stream().map(AlertKey::queueType).toArray(String[]::new);
+        Long[] owners = keys.stream().map(AlertKey::ownerId).toArray(Long[]::new);
+        return new HashSet<>(jdbcTemplate.query(CLAIM_SQL,
+                ps -> {
+                    ps.setLong(1, tenantId);
+                    ps.setArray(2, ps.getConnection().createArrayOf("varchar", types));
+                    ps.setArray(3, ps.getConnection().createArrayOf("bigint", owners));
+                },
+                (rs, rowNum) -> new AlertKey(rs.getString(1), rs.getLong(2))));
+    }
+
+    /** keep に含まれない（閾値を下回った）待ち行列の記録を消す。 */
+    public int clearExcept(Long tenantId, Collection<AlertKey> keep) {
+        String[] types = keep.stream().map(AlertKey::queueType).toArray(String[]::new);
+        Long[] owners = keep.stream().map(AlertKey::ownerId).toArray(Long[]::new);
+        return jdbcTemplate.update(CLEAR_SQL, ps -> {
+            ps.setLong(1, tenantId);
+            ps.setArray(2, ps.getConnection().createArrayOf("varchar", types));
+            ps.setArray(3, ps.getConnection().createArrayOf("bigint", owners));
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.hrsystem.security;
 
+import com.hrsystem.cache.ReferenceDataCache;
 import com.hrsystem.domain.model.User;
 import com.hrsystem.domain.repository.UserRepository;
 import jakarta.servlet.FilterChain;
@@ -24,6 +25,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserRepository userRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final TenantResolver tenantResolver;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -38,7 +41,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 User user = userRepository.findById(userId).orElse(null);
 
-                if (user != null && user.getIsActive()) {
+                if (user != null && user.getIsActive()
+                        && user.getTenant().getId().equals(tenantId)
+                        && matchesHostTenant(request, tenantId)
+                        && referenceDataCache.tenant(tenantId).active()) {
                     // テナントコンテキスト設定
                     TenantContext.setTenantId(tenantId);
 
@@ -61,6 +67,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    /** サブドメインで解決したテナントとトークンのテナントが一致するか（解決無効時は常に一致）。 */
+    private boolean matchesHostTenant(HttpServletRequest request, Long tenantId) {
+        if (!tenantResolver.isEnabled()) {
+            return true;
+        }
+        return tenantResolver.resolve(request).map(tenantId::equals).orElse(false);
+    }
+
     private String extractToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -73,19 +87,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         List<SimpleGrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
 
-        if (user.canPerformEvaluation()) {
+        // 役職はキャッシュから判定する（遅延ロードの役職プロキシを初期化しない）
+        if (referenceDataCache.canPerformEvaluation(user)) {
             authorities.add(new SimpleGrantedAuthority("ROLE_EVALUATOR"));
         }
-        if (user.isManager()) {
+        if (referenceDataCache.isManager(user)) {
             authorities.add(new SimpleGrantedAuthority("ROLE_MANAGER"));
         }
-        if (user.isDirector()) {
+        if (referenceDataCache.isDirector(user)) {
             authorities.add(new SimpleGrantedAuthority("ROLE_DIRECTOR"));
         }
-        if (user.isSystemAdmin()) {
+        if (referenceDataCache.isSystemAdmin(user)) {
             authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
         }
-        if (user.canViewAll()) {
+        if (referenceDataCache.canViewAll(user)) {
             authorities.add(new SimpleGrantedAuthority("ROLE_VIEWER"));
         }
 
@@ -0,0 +1,69 @@
+package com.hrsystem.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.exception.GlobalExceptionHandler.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * テナント単位の流量・同時実行数制限フィルタ。JWT 認証の後に実行する。
+ * 上限を超えた場合は 429 と Retry-After（秒）を返す。
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantRateLimitFilter extends OncePerRequestFilter {
+
+    private final TenantRateLimiter rateLimiter;
+    private final ReferenceDataCache referenceDataCache;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Long tenantId = TenantContext.getTenantId();
+        if (tenantId == null) {
+            // 未認証のリクエストはテナントが決まらないため対象外
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TenantRateLimiter.Permit permit =
+                rateLimiter.tryAcquire(tenantId, referenceDataCache.tenant(tenantId).plan());
+        if (!permit.allowed()) {
+            reject(response, permit);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permit.release().run();
+        }
+    }
+
+    private void reject(HttpServletResponse response, TenantRateLimiter.Permit permit) throws IOException {
+        long retryAfterSeconds = Math.max(1, (permit.retryAfterMillis() + 999) / 1000);
+        String message = permit.decision() == TenantRateLimiter.Decision.RATE_LIMITED
+                ? "リクエストが多すぎます。しばらくしてから再試行してください"
+                : "同時に実行できるリクエスト数の上限に達しました。しばらくしてから再試行してください";
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(),
+                new ErrorResponse(429, "Too Many Requests", message, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,150 @@
+package com.hrsystem.security;
+
+import com.hrsystem.domain.model.enums.TenantPlan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * テナント単位のリクエスト流量制限（トークンバケット）と同時実行数制限。
+ * 上限は {@link TenantPlan} から決まる。
+ *
+ * <p>トークンバケットは GCRA（次に許可される理論到着時刻を1つの AtomicLong で持つ方式）で実装し、
+ * 同時実行数は AtomicInteger の CAS で数える。どちらもロックを取らない。</p>
+ */
+@Component
+public class TenantRateLimiter {
+
+    public enum Decision { ALLOWED, RATE_LIMITED, CONCURRENCY_LIMITED }
+
+    public record Permit(Decision decision, long retryAfterMillis, Runnable release) {
+
+        public boolean allowed() {
+            return decision == Decision.ALLOWED;
+        }
+    }
+
+    public record TenantStats(Long tenantId, TenantPlan plan, int requestsPerSecond, int burst,
+                              int maxConcurrentRequests, int inFlight,
+                              long allowed, long rateLimited, long concurrencyLimited) {}
+
+    private static final Runnable NOOP = () -> {};
+
+    private final boolean enabled;
+    private final LongSupplier clock;
+    private final Map<Long, TenantLimits> limits = new ConcurrentHashMap<>();
+
+    public TenantRateLimiter(@Value("${app.rate-limit.enabled:true}") boolean enabled) {
+        this(enabled, System::nanoTime);
+    }
+
+    TenantRateLimiter(boolean enabled, LongSupplier clock) {
+        this.enabled = enabled;
+        this.clock = clock;
+    }
+
+    /** リクエスト開始時に呼ぶ。許可された場合は処理終了時に release を必ず実行する。 */
+    public Permit tryAcquire(Long tenantId, TenantPlan plan) {
+        if (!enabled || tenantId == null || plan == null) {
+            return new Permit(Decision.ALLOWED, 0, NOOP);
+        }
+        TenantLimits l = limitsFor(tenantId, plan);
+
+        long wait = l.takeToken(clock.getAsLong());
+        if (wait > 0) {
+            l.rateLimited.increment();
+            return new Permit(Decision.RATE_LIMITED, TimeUnit.NANOSECONDS.toMillis(wait), NOOP);
+        }
+        if (!l.enter()) {
+            l.concurrencyLimited.increment();
+            // 同時実行数の超過はすぐ空く見込みのため1秒後の再試行を促す
+            return new Permit(Decision.CONCURRENCY_LIMITED, 1000, NOOP);
+        }
+        l.allowed.increment();
+        return new Permit(Decision.ALLOWED, 0, l.inFlight::decrementAndGet);
+    }
+
+    public TenantStats stats(Long tenantId) {
+        TenantLimits l = limits.get(tenantId);
+        if (l == null) {
+            return null;
+        }
+        return new TenantStats(tenantId, l.plan, l.plan.getRequestsPerSecond(), l.plan.getBurst(),
+                l.plan.getMaxConcurrentRequests(), l.inFlight.get(),
+                l.allowed.sum(), l.rateLimited.sum(), l.concurrencyLimited.sum());
+    }
+
+    public List<TenantStats> allStats() {
+        return limits.keySet().stream().map(this::stats).toList();
+    }
+
+    private TenantLimits limitsFor(Long tenantId, TenantPlan plan) {
+        TenantLimits l = limits.get(tenantId);
+        if (l != null && l.plan == plan) {
+            return l;
+        }
+        // プラン変更時は新しい上限で作り直す（実行中の件数は引き継ぐ）
+        return limits.compute(tenantId, (k, current) ->
+                current != null && current.plan == plan ? current : new TenantLimits(plan, current));
+    }
+
+    static final class TenantLimits {
+        final TenantPlan plan;
+        // 1リクエストあたりの間隔と、バースト分として前借りできる時間（ナノ秒）
+        final long emissionInterval;
+        final long tolerance;
+        // 次のリクエストの理論到着時刻（GCRA の TAT）
+        final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+        final AtomicInteger inFlight;
+        final LongAdder allowed;
+        final LongAdder rateLimited;
+        final LongAdder concurrencyLimited;
+
+        TenantLimits(TenantPlan plan, TenantLimits previous) {
+            this.plan = plan;
+            this.emissionInterval = TimeUnit.SECONDS.toNanos(1) / plan.getRequestsPerSecond();
+            this.tolerance = emissionInterval * (plan.getBurst() - 1);
+            this.inFlight = previous != null ? previous.inFlight : new AtomicInteger();
+            this.allowed = previous != null ? previous.allowed : new LongAdder();
+            this.rateLimited = previous != null ? previous.rateLimited : new LongAdder();
+            this.concurrencyLimited = previous != null ? previous.concurrencyLimited : new LongAdder();
+        }
+
+        /** トークンを1つ取る。取れた場合は 0、取れない場合は待つべきナノ秒を返す。 */
+        long takeToken(long now) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long base = tat == Long.MIN_VALUE ? now : Math.max(tat, now);
+                long next = base + emissionInterval;
+                long allowAt = next - emissionInterval - tolerance;
+                if (now < allowAt) {
+                    return allowAt - now;
+                }
+                if (theoreticalArrival.compareAndSet(tat, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean enter() {
+            int max = plan.getMaxConcurrentRequests();
+            while (true) {
+                int current = inFlight.get();
+                if (current >= max) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.hrsystem.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hrsystem.cache.TenantScopedCache;
+import com.hrsystem.domain.model.Tenant;
+import com.hrsystem.domain.repository.TenantRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * リクエストのホスト名（{サブドメイン}.{app.tenant.base-domain}）からテナントを解決する。
+ *
+ * <p>サブドメイン → テナントID の対応はプロセス内にキャッシュし、テナントの変更時に
+ * {@link com.hrsystem.cache.CacheInvalidationBus} 経由で全ノードのキャッシュを無効化する。
+ * 存在しないサブドメインも空の結果としてキャッシュする（不正なホストで DB に問い合わせ続けない）。</p>
+ *
+ * <p>base-domain が未設定の場合（ローカル開発など）は解決を行わず、
+ * ログインは従来どおりメールアドレスのみで検索する。</p>
+ */
+@Component
+public class TenantResolver implements TenantScopedCache {
+
+    public static final String NAME = "tenant-subdomain";
+
+    private final TenantRepository tenantRepository;
+    private final String baseDomain;
+    private final Cache<String, Optional<Long>> cache;
+
+    public TenantResolver(
+            TenantRepository tenantRepository,
+            @Value("${app.tenant.base-domain:}") String baseDomain,
+            @Value("${app.cache.tenant-subdomain.max-entries:10000}") long maxEntries,
+            @Value("${app.cache.tenant-subdomain.ttl:10m}") Duration ttl) {
+        this.tenantRepository = tenantRepository;
+        this.baseDomain = baseDomain.trim().toLowerCase(Locale.ROOT);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /** サブドメインによるテナント解決が有効か（base-domain が設定されているか）。 */
+    public boolean isEnabled() {
+        return !baseDomain.isEmpty();
+    }
+
+    /** リクエストのホスト名からサブドメインを取り出す。base-domain 配下でなければ空。 */
+    public Optional<String> subdomainOf(HttpServletRequest request) {
+        return subdomainOf(request.getServerName());
+    }
+
+    Optional<String> subdomainOf(String host) {
+        if (!isEnabled() || !StringUtils.hasText(host)) {
+            return Optional.empty();
+        }
+        String h = host.toLowerCase(Locale.ROOT);
+        String suffix = "." + baseDomain;
+        if (!h.endsWith(suffix)) {
+            return Optional.empty();
+        }
+        String label = h.substring(0, h.length() - suffix.length());
+        if (label.isEmpty() || label.contains(".")) {
+            return Optional.empty();
+        }
+        return Optional.of(label);
+    }
+
+    /** リクエストのホスト名に対応するテナントID。 */
+    public Optional<Long> resolve(HttpServletRequest request) {
+        return subdomainOf(request).flatMap(this::resolve);
+    }
+
+    public Optional<Long> resolve(String subdomain) {
+        return cache.get(subdomain, s -> tenantRepository.findBySubdomain(s).map(Tenant::getId));
+    }
+
+    // ===== キャッシュ無効化 =====
+
+    @Override
+    public String cacheName() {
+        return NAME;
+    }
+
+    /** キーがサブドメインのため、テナント単位の無効化でも全件を捨てる（テナントの変更は稀）。 */
+    @Override
+    public void invalidateTenant(Long tenantId) {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
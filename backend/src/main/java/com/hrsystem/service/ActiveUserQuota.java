@@ -0,0 +1,116 @@
+package com.hrsystem.service;
+
+import com.hrsystem.domain.model.enums.TenantPlan;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * テナントごとの有効ユーザー数カウンタ（tenants.active_users）によるプラン上限チェック。
+ *
+ * <p>予約は {@code active_users + n <= maxUsers} の場合だけ加算する条件付き UPDATE で行う（COUNT クエリ不要）。
+ * 呼び出し元のトランザクション内で実行するため、テナント行のロックで全ノードの予約が直列化され、
+ * ロールバックすれば加算も取り消される。無効化の減算も同じトランザクションで行う。</p>
+ *
+ * <p>カウンタは定期的に users の件数と突き合わせる。テナント行をロックしてから数えるため、
+ * 処理中の予約はコミットかロールバックを待ってから数える。</p>
+ */
+@Slf4j
+@Component
+public class ActiveUserQuota {
+
+    private static final String RESERVE_SQL =
+            "UPDATE tenants SET active_users = active_users + ? WHERE id = ? AND active_users + ? <= ?";
+
+    private static final String RELEASE_SQL =
+            "UPDATE tenants SET active_users = GREATEST(active_users - ?, 0) WHERE id = ?";
+
+    private static final String ACTIVE_USERS_SQL = "SELECT active_users FROM tenants WHERE id = ?";
+
+    public record Usage(int activeUsers, int maxUsers) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerLeader schedulerLeader;
+    private final TransactionTemplate transactionTemplate;
+
+    public ActiveUserQuota(JdbcTemplate jdbcTemplate,
+                           SchedulerLeader schedulerLeader,
+                           PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.schedulerLeader = schedulerLeader;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ===== 予約 =====
+
+    /**
+     * n 名分の有効化を予約する。上限を超える場合は IllegalStateException。
+     * 呼び出し元のトランザクションで加算するため、ロールバック時は取り消される。
+     */
+    public void reserve(Long tenantId, TenantPlan plan, int n) {
+        if (n <= 0) {
+            return;
+        }
+        int max = plan.getMaxUsers();
+        if (jdbcTemplate.update(RESERVE_SQL, n, tenantId, n, max) == 0) {
+            throw new IllegalStateException("ご契約プラン(" + plan + ")のユーザー数上限(" + max + "名)を超えます"
+                    + "（現在 " + activeUsers(tenantId) + "名、追加 " + n + "名）");
+        }
+    }
+
+    /** n 名分の無効化を呼び出し元のトランザクションで反映する。 */
+    public void released(Long tenantId, int n) {
+        if (n <= 0) {
+            return;
+        }
+        jdbcTemplate.update(RELEASE_SQL, n, tenantId);
+    }
+
+    public Usage usage(Long tenantId, TenantPlan plan) {
+        return new Usage(activeUsers(tenantId), plan.getMaxUsers());
+    }
+
+    // ===== 突き合わせ =====
+
+    @Scheduled(fixedDelayString = "${app.quota.reconcile-interval-ms:300000}", initialDelay = 60_000)
+    public void reconcile() {
+        if (!schedulerLeader.isLeader()) {
+            return;
+        }
+        for (Long tenantId : jdbcTemplate.queryForList("SELECT id FROM tenants", Long.class)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> reconcile(tenantId));
+            } catch (RuntimeException e) {
+                log.warn("テナント {} の有効ユーザー数の突き合わせに失敗しました", tenantId, e);
+            }
+        }
+    }
+
+    void reconcile(Long tenantId) {
+        // 行ロックで処理中の予約の完了を待ち、その後の文で確定済みの件数を数える
+        List<Integer> counter = jdbcTemplate.queryForList(
+                "SELECT active_users FROM tenants WHERE id = ? FOR UPDATE", Integer.class, tenantId);
+        if (counter.isEmpty()) {
+            return;
+        }
+        Integer actual = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE tenant_id = ? AND is_active = TRUE", Integer.class, tenantId);
+        int dbCount = actual != null ? actual : 0;
+        if (counter.get(0) != dbCount) {
+            jdbcTemplate.update("UPDATE tenants SET active_users = ? WHERE id = ?", dbCount, tenantId);
+            log.info("テナント {} の有効ユーザー数を補正しました: {} → {}", tenantId, counter.get(0), dbCount);
+        }
+    }
+
+    // ===== Private Helpers =====
+
+    private int activeUsers(Long tenantId) {
+        List<Integer> rows = jdbcTemplate.queryForList(ACTIVE_USERS_SQL, Integer.class, tenantId);
+        return rows.isEmpty() || rows.get(0) == null ? 0 : rows.get(0);
+    }
+}
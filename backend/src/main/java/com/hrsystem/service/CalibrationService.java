@@ -0,0 +1,353 @@
+package com.hrsystem.service;
+
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.cache.TenantReferenceData;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.Grade;
+import com.hrsystem.domain.repository.FiscalYearRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 相対評価の分布調整（キャリブレーション）。
+ *
+ * <p>役員評価済み（{@link EvaluationStatus#DIRECTOR_EVALUATED}）の評価を対象に、評価ごとの上限割合
+ * （例: S は 10% まで）を超えた分を1段階ずつ下の評価へ送る調整案を作る。
+ * 上限はテナント全体または部署ごとに適用し、部署ごとの場合は部署単位で並列に計算する。
+ * 計算は役員評価の値と ID だけをメモリに読み込んで行うため、数万件のテナントでも画面から実行できる。</p>
+ *
+ * <p>承認された調整案は1トランザクションで一括反映する。反映時に対象行をロックしたうえで同じ条件で再計算し、
+ * 調整が再計算の結果と一致しない（役員評価より上げる・計算後に評価が変わった等）場合は
+ * 全体を反映せずにエラーとし、再計算を求める。</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CalibrationService {
+
+    private static final String SELECT_SQL = """
+            SELECT id, department_id, evaluator_grade, manager_grade, director_grade
+            FROM evaluations
+            WHERE tenant_id = ? AND fiscal_year_id = ? AND status = 'DIRECTOR_EVALUATED'
+              AND director_grade IS NOT NULL
+            """;
+
+    private static final String LOCK_SQL = """
+            SELECT id, status, evaluator_id, department_id, evaluator_grade, manager_grade, director_grade
+            FROM evaluations
+            WHERE tenant_id = ? AND id = ANY (?)
+            FOR UPDATE
+            """;
+
+    private static final String UPDATE_SQL =
+            "UPDATE evaluations SET director_grade = ?, updated_at = now() WHERE tenant_id = ? AND id = ?";
+
+    private static final int BATCH_SIZE = 500;
+    // 履歴に残す差し戻し理由欄の値（ステータスは変わらないため理由で区別する）
+    static final String CALIBRATION_REASON = "分布調整";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FiscalYearRepository fiscalYearRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public enum Scope { TENANT, DEPARTMENT }
+
+    /** 評価ごとの上限割合（%）。指定のない評価は上限なし。 */
+    public record GradeLimit(Grade grade, int maxPercent) {}
+
+    /** 部署ごとの上限（scope が DEPARTMENT のとき、指定した部署はテナントの上限の代わりにこれを使う）。 */
+    public record DepartmentTarget(Long departmentId, List<GradeLimit> limits) {}
+
+    public record Target(
+            Long fiscalYearId,
+            EvaluationPeriod period,
+            Scope scope,
+            List<GradeLimit> limits,
+            List<DepartmentTarget> departments
+    ) {}
+
+    public record Violation(Grade grade, int count, int limit) {}
+
+    public record Adjustment(Long evaluationId, Grade from, Grade to) {}
+
+    /** departmentId は scope が TENANT の場合 null、部署なしは 0。 */
+    public record GroupResult(Long departmentId, String departmentName, int size,
+                              Map<Grade, Integer> before, Map<Grade, Integer> after,
+                              List<Violation> violations, List<Adjustment> adjustments) {}
+
+    public record Proposal(Scope scope, int total, int adjustmentCount, List<GroupResult> groups) {}
+
+    public record ApplyResult(int applied) {}
+
+    /** 計算用の1件分（部署なしは departmentId = 0）。 */
+    record Row(long id, long departmentId, Grade evaluatorGrade, Grade managerGrade, Grade directorGrade) {}
+
+    /** 反映時にロックして読み直した現在値。 */
+    private record Current(EvaluationStatus status, Long evaluatorId, Long departmentId,
+                           Grade evaluatorGrade, Grade managerGrade, Grade directorGrade) {}
+
+    /** 残す順（上位から）: 役員評価、管理者評価、評価者評価の高い順、同じなら ID 順。 */
+    private static final Comparator<Row> RANK = Comparator
+            .comparingInt((Row r) -> code(r.directorGrade())).reversed()
+            .thenComparing(Comparator.comparingInt((Row r) -> code(r.managerGrade())).reversed())
+            .thenComparing(Comparator.comparingInt((Row r) -> code(r.evaluatorGrade())).reversed())
+            .thenComparingLong(Row::id);
+
+    // ===== 調整案の計算 =====
+
+    @Transactional(readOnly = true)
+    public Proposal propose(Long tenantId, Target target) {
+        return compute(tenantId, target);
+    }
+
+    // ===== 調整案の反映 =====
+
+    /**
+     * 承認された調整を一括反映する。調整案の一部だけを承認してもよい。
+     * 調整が役員評価より下げるものでない場合、対象が役員評価済みでない・役員評価が計算時から変わっている場合、
+     * 同じ条件で再計算した調整案と一致しない場合は IllegalStateException で全体をロールバックする。
+     */
+    @Transactional
+    public ApplyResult apply(Long tenantId, Long actorId, Target target, List<Adjustment> adjustments) {
+        if (adjustments == null || adjustments.isEmpty()) {
+            return new ApplyResult(0);
+        }
+        if (target == null) {
+            throw new IllegalStateException("調整案の計算条件を指定してください");
+        }
+        Map<Long, Adjustment> byId = new LinkedHashMap<>();
+        for (Adjustment a : adjustments) {
+            if (a.evaluationId() == null || a.from() == null || a.to() == null) {
+                throw new IllegalStateException("調整内容が正しくありません: " + a);
+            }
+            if (a.to().getCode() >= a.from().getCode()) {
+                throw new IllegalStateException("調整は役員評価より下げる場合のみ指定できます: " + a);
+            }
+            if (byId.put(a.evaluationId(), a) != null) {
+                throw new IllegalStateException("同じ評価の調整が重複しています: " + a.evaluationId());
+            }
+        }
+
+        // 反映までの間に変更されないよう対象行をロックしてから検証する
+        Map<Long, Current> current = lock(tenantId, byId.keySet());
+        List<String> conflicts = new ArrayList<>();
+        for (Adjustment a : byId.values()) {
+            Current row = current.get(a.evaluationId());
+            if (row == null) {
+                throw new IllegalArgumentException("評価が見つかりません: " + a.evaluationId());
+            }
+            if (row.status() != EvaluationStatus.DIRECTOR_EVALUATED || row.directorGrade() != a.from()) {
+                conflicts.add(String.valueOf(a.evaluationId()));
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            throw new IllegalStateException("調整案の作成後に変更された評価があります。再計算してください（評価ID: "
+                    + ids(conflicts) + "）");
+        }
+
+        // 承認された調整が、ロック後の現在値で計算し直した調整案に含まれることを確かめる
+        Map<Long, Grade> proposed = new HashMap<>();
+        for (GroupResult g : compute(tenantId, target).groups()) {
+            g.adjustments().forEach(a -> proposed.put(a.evaluationId(), a.to()));
+        }
+        List<String> mismatches = new ArrayList<>();
+        for (Adjustment a : byId.values()) {
+            if (proposed.get(a.evaluationId()) != a.to()) {
+                mismatches.add(String.valueOf(a.evaluationId()));
+            }
+        }
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("調整案と一致しない調整があります。再計算してください（評価ID: "
+                    + ids(mismatches) + "）");
+        }
+
+        List<Adjustment> list = List.copyOf(byId.values());
+        jdbcTemplate.batchUpdate(UPDATE_SQL, list, BATCH_SIZE, (ps, a) -> {
+            ps.setShort(1, (short) a.to().getCode());
+            ps.setLong(2, tenantId);
+            ps.setLong(3, a.evaluationId());
+        });
+
+        // ステータスは変わらないが、集計・絞り込みの索引と履歴に役員評価の変更を反映させる
+        LocalDateTime now = LocalDateTime.now();
+        for (Adjustment a : list) {
+            Current row = current.get(a.evaluationId());
+            eventPublisher.publishEvent(new EvaluationTransitionEvent(tenantId, a.evaluationId(),
+                    EvaluationStatus.DIRECTOR_EVALUATED, EvaluationStatus.DIRECTOR_EVALUATED,
+                    row.evaluatorGrade(), row.managerGrade(), a.to(), row.evaluatorId(), row.departmentId(),
+                    actorId, null, CALIBRATION_REASON, now));
+        }
+        return new ApplyResult(list.size());
+    }
+
+    // ===== 計算 =====
+
+    /**
+     * 1グループ分の調整案。上位の評価から順に、上限（件数 × 割合 の切り捨て）を超えた分を
+     * 1段階下へ送る。送られた評価は送り先の評価の中で上位として扱い、送り先でも超えた場合はさらに下へ送る。
+     * 同じ評価の中では、管理者評価・評価者評価が低いものから先に下げる。
+     */
+    static GroupResult calibrate(Long departmentId, String departmentName, List<Row> rows,
+                                 Map<Grade, Integer> limits) {
+        int n = rows.size();
+        EnumMap<Grade, List<Row>> byGrade = new EnumMap<>(Grade.class);
+        for (Row row : rows) {
+            byGrade.computeIfAbsent(row.directorGrade(), g -> new ArrayList<>()).add(row);
+        }
+
+        Map<Grade, Integer> before = new EnumMap<>(Grade.class);
+        Map<Grade, Integer> after = new EnumMap<>(Grade.class);
+        List<Violation> violations = new ArrayList<>();
+        List<Adjustment> adjustments = new ArrayList<>();
+        List<Row> carried = List.of();
+
+        Grade[] grades = Grade.values();
+        for (int i = 0; i < grades.length; i++) {
+            Grade grade = grades[i];
+            List<Row> natives = byGrade.getOrDefault(grade, List.of());
+            before.put(grade, natives.size());
+
+            List<Row> members = new ArrayList<>(carried.size() + natives.size());
+            members.addAll(carried);
+            members.addAll(natives);
+
+            Integer percent = limits.get(grade);
+            int limit = percent != null ? (int) ((long) n * percent / 100) : Integer.MAX_VALUE;
+            boolean last = i == grades.length - 1;
+            if (natives.size() > limit) {
+                violations.add(new Violation(grade, natives.size(), limit));
+            }
+            if (members.size() > limit && !last) {
+                members.sort(RANK);
+                carried = new ArrayList<>(members.subList(limit, members.size()));
+                members = members.subList(0, limit);
+            } else {
+                carried = List.of();
+            }
+
+            after.put(grade, members.size());
+            for (Row row : members) {
+                if (row.directorGrade() != grade) {
+                    adjustments.add(new Adjustment(row.id(), row.directorGrade(), grade));
+                }
+            }
+        }
+        adjustments.sort(Comparator.comparing(Adjustment::evaluationId));
+        return new GroupResult(departmentId, departmentName, n, before, after, violations, adjustments);
+    }
+
+    // ===== Private Helpers =====
+
+    private Proposal compute(Long tenantId, Target target) {
+        if (target.fiscalYearId() == null) {
+            throw new IllegalStateException("年度を指定してください");
+        }
+        fiscalYearRepository.findByIdAndTenantId(target.fiscalYearId(), tenantId)
+                .orElseThrow(() -> new IllegalArgumentException("年度が見つかりません: " + target.fiscalYearId()));
+        Scope scope = target.scope() != null ? target.scope() : Scope.TENANT;
+        Map<Grade, Integer> tenantLimits = toLimits(target.limits());
+        Map<Long, Map<Grade, Integer>> departmentLimits = new HashMap<>();
+        if (target.departments() != null) {
+            target.departments().forEach(d -> departmentLimits.put(
+                    d.departmentId() != null ? d.departmentId() : 0L, toLimits(d.limits())));
+        }
+
+        List<Row> rows = load(tenantId, target.fiscalYearId(), target.period());
+
+        List<GroupResult> groups;
+        if (scope == Scope.TENANT) {
+            groups = List.of(calibrate(null, null, rows, tenantLimits));
+        } else {
+            TenantReferenceData ref = referenceDataCache.get(tenantId);
+            Map<Long, List<Row>> byDepartment = rows.stream()
+                    .collect(Collectors.groupingBy(Row::departmentId, TreeMap::new, Collectors.toList()));
+            groups = byDepartment.entrySet().parallelStream()
+                    .map(e -> calibrate(e.getKey(), departmentName(ref, e.getKey()), e.getValue(),
+                            departmentLimits.getOrDefault(e.getKey(), tenantLimits)))
+                    .toList();
+        }
+        int adjustments = groups.stream().mapToInt(g -> g.adjustments().size()).sum();
+        return new Proposal(scope, rows.size(), adjustments, groups);
+    }
+
+    private List<Row> load(Long tenantId, Long fiscalYearId, EvaluationPeriod period) {
+        String sql = SELECT_SQL + (period != null ? " AND period = CAST(? AS evaluation_period)" : "") + " ORDER BY id";
+        Object[] params = period != null
+                ? new Object[]{tenantId, fiscalYearId, period.name()}
+                : new Object[]{tenantId, fiscalYearId};
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new Row(
+                rs.getLong("id"),
+                rs.getLong("department_id"),
+                grade(rs, "evaluator_grade"),
+                grade(rs, "manager_grade"),
+                grade(rs, "director_grade")), params);
+    }
+
+    private Map<Long, Current> lock(Long tenantId, Collection<Long> ids) {
+        Map<Long, Current> rows = new HashMap<>();
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            Long[] chunk = all.subList(from, Math.min(from + BATCH_SIZE, all.size())).toArray(Long[]::new);
+            jdbcTemplate.query(LOCK_SQL,
+                    ps -> {
+                        ps.setLong(1, tenantId);
+                        ps.setArray(2, ps.getConnection().createArrayOf("bigint", chunk));
+                    },
+                    rs -> {
+                        rows.put(rs.getLong("id"), new Current(
+                                EvaluationStatus.valueOf(rs.getString("status")),
+                                rs.getObject("evaluator_id", Long.class),
+                                rs.getObject("department_id", Long.class),
+                                grade(rs, "evaluator_grade"),
+                                grade(rs, "manager_grade"),
+                                grade(rs, "director_grade")));
+                    });
+        }
+        return rows;
+    }
+
+    private static Map<Grade, Integer> toLimits(List<GradeLimit> limits) {
+        Map<Grade, Integer> map = new EnumMap<>(Grade.class);
+        if (limits == null) {
+            return map;
+        }
+        for (GradeLimit l : limits) {
+            if (l.grade() == null || l.maxPercent() < 0 || l.maxPercent() > 100) {
+                throw new IllegalStateException("上限割合は0〜100%で指定してください: " + l);
+            }
+            map.put(l.grade(), l.maxPercent());
+        }
+        return map;
+    }
+
+    private static String ids(List<String> ids) {
+        return String.join(", ", ids.subList(0, Math.min(10, ids.size())))
+                + (ids.size() > 10 ? " ほか" + (ids.size() - 10) + "件" : "");
+    }
+
+    private static String departmentName(TenantReferenceData ref, long departmentId) {
+        if (departmentId == 0) {
+            return "部署なし";
+        }
+        TenantReferenceData.DepartmentRef d = ref.departments().get(departmentId);
+        return d != null ? d.name() : null;
+    }
+
+    private static Grade grade(ResultSet rs, String column) throws SQLException {
+        return Grade.fromCode(rs.getShort(column));
+    }
+
+    private static int code(Grade grade) {
+        return grade != null ? grade.getCode() : 0;
+    }
+}
@@ -0,0 +1,298 @@
+package com.hrsystem.service;
+
+import com.hrsystem.cache.RoleDirectory;
+import com.hrsystem.cache.RoleDirectoryCache;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.repository.NotificationBatchRepository;
+import com.hrsystem.domain.repository.NotificationBatchRepository.NewNotification;
+import com.hrsystem.domain.repository.ReminderLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * 評価期限（年度の夏季・冬季の終了日）前のリマインド。
+ *
+ * <p>毎日1回、終了日が近い（または過ぎて間もない）現年度を全テナントから1クエリで引き、
+ * テナントごとに未確定の評価を部分インデックス（idx_evaluations_tenant_year_period_open）で1クエリで読む。
+ * 評価のステータスから次に対応すべき人を決めてユーザーごとに件数をまとめ、1ユーザー1通にする。</p>
+ *
+ * <ul>
+ *   <li>NOT_STARTED: 本人（自己評価の受付中のみ）</li>
+ *   <li>SELF_SUBMITTED: 評価者</li>
+ *   <li>EVALUATOR_SUBMITTED: 部署の管理者</li>
+ *   <li>MANAGER_APPROVED / DIRECTOR_EVALUATED: 役員・システム管理者</li>
+ * </ul>
+ *
+ * <p>送信先は {@link ReminderLogRepository#claim} で確定し、同じユーザーには同じ日に2回送らない
+ * （再実行やリーダー交代で二重に動いても重複しない）。送信記録と通知はテナントごとに同じトランザクションで登録する。
+ * 複数ノード構成では {@link SchedulerLeader} のリーダーだけが実行する。</p>
+ */
+@Slf4j
+@Service
+public class DeadlineReminderService {
+
+    static final String NOTIFICATION_TYPE = "deadline_reminder";
+
+    private static final String DUE_YEARS_SQL = """
+            SELECT f.tenant_id, f.id, f.summer_end_date, f.winter_end_date,
+                   f.summer_self_open, f.summer_eval_open, f.winter_self_open, f.winter_eval_open
+            FROM fiscal_years f
+            JOIN tenants t ON t.id = f.tenant_id
+            WHERE f.is_current AND t.is_active
+              AND (f.summer_end_date BETWEEN ? AND ? OR f.winter_end_date BETWEEN ? AND ?)
+            ORDER BY f.tenant_id
+            """;
+
+    private static final String PENDING_SQL = """
+            SELECT period, status, user_id, evaluator_id, department_id
+            FROM evaluations
+            WHERE tenant_id = ? AND fiscal_year_id = ?
+              AND period = ANY (CAST(? AS evaluation_period[]))
+              AND status <> 'FINALIZED'
+            """;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("M月d日");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RoleDirectoryCache roleDirectoryCache;
+    private final ReminderLogRepository reminderLogRepository;
+    private final NotificationBatchRepository notificationBatchRepository;
+    private final SchedulerLeader schedulerLeader;
+    private final TransactionTemplate transactionTemplate;
+    private final int leadDays;
+    private final int overdueDays;
+    private final int retentionDays;
+    private final ZoneId zone;
+
+    public DeadlineReminderService(
+            JdbcTemplate jdbcTemplate,
+            RoleDirectoryCache roleDirectoryCache,
+            ReminderLogRepository reminderLogRepository,
+            NotificationBatchRepository notificationBatchRepository,
+            SchedulerLeader schedulerLeader,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.reminder.lead-days:7}") int leadDays,
+            @Value("${app.reminder.overdue-days:3}") int overdueDays,
+            @Value("${app.reminder.retention-days:90}") int retentionDays,
+            @Value("${app.reminder.zone:Asia/Tokyo}") String zone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.roleDirectoryCache = roleDirectoryCache;
+        this.reminderLogRepository = reminderLogRepository;
+        this.notificationBatchRepository = notificationBatchRepository;
+        this.schedulerLeader = schedulerLeader;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leadDays = leadDays;
+        this.overdueDays = overdueDays;
+        this.retentionDays = retentionDays;
+        this.zone = ZoneId.of(zone);
+    }
+
+    /** 次に対応すべき作業。リマインドの文面でユーザーごとに件数をまとめる単位。 */
+    enum Action {
+        SELF("自己評価"),
+        EVALUATE("評価者評価"),
+        APPROVE("管理者確認"),
+        DIRECT("役員評価・最終確定");
+
+        private final String label;
+
+        Action(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /** 期限が近い現年度。期限の近い期だけを持つ。 */
+    record DueYear(Long tenantId, Long fiscalYearId, Map<EvaluationPeriod, LocalDate> deadlines,
+                   Set<EvaluationPeriod> selfOpen, Set<EvaluationPeriod> evalOpen) {
+    }
+
+    record PendingRow(EvaluationPeriod period, EvaluationStatus status,
+                      Long userId, Long evaluatorId, Long departmentId) {
+    }
+
+    /** ユーザーごとの未対応件数と、その中で最も早い期限。 */
+    static final class Reminder {
+        private final EnumMap<Action, Integer> counts = new EnumMap<>(Action.class);
+        private LocalDate deadline;
+
+        void add(Action action, LocalDate due) {
+            counts.merge(action, 1, Integer::sum);
+            if (deadline == null || due.isBefore(deadline)) {
+                deadline = due;
+            }
+        }
+
+        Map<Action, Integer> counts() {
+            return counts;
+        }
+
+        LocalDate deadline() {
+            return deadline;
+        }
+    }
+
+    // ===== 定期実行 =====
+
+    @Scheduled(cron = "${app.reminder.cron:0 0 9 * * *}", zone = "${app.reminder.zone:Asia/Tokyo}")
+    public void run() {
+        if (!schedulerLeader.isLeader()) {
+            return;
+        }
+        LocalDate today = LocalDate.now(zone);
+        int sent = 0;
+        for (DueYear year : findDueYears(today)) {
+            try {
+                sent += remind(year, today);
+            } catch (RuntimeException e) {
+                log.warn("テナント {} の期限リマインドに失敗しました", year.tenantId(), e);
+            }
+        }
+        int purged = reminderLogRepository.purgeBefore(today.minusDays(retentionDays));
+        log.info("期限リマインドを {} 件送信しました（送信記録の削除 {} 件）", sent, purged);
+    }
+
+    /** 1テナント分のリマインドを登録し、送信件数を返す。 */
+    int remind(DueYear year, LocalDate today) {
+        List<PendingRow> rows = jdbcTemplate.query(PENDING_SQL,
+                ps -> {
+                    ps.setLong(1, year.tenantId());
+                    ps.setLong(2, year.fiscalYearId());
+                    ps.setArray(3, ps.getConnection().createArrayOf("varchar",
+                            year.deadlines().keySet().stream().map(Enum::name).toArray()));
+                },
+                (rs, rowNum) -> new PendingRow(
+                        EvaluationPeriod.valueOf(rs.getString("period")),
+                        EvaluationStatus.valueOf(rs.getString("status")),
+                        rs.getLong("user_id"),
+                        rs.getObject("evaluator_id", Long.class),
+                        rs.getObject("department_id", Long.class)));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Reminder> reminders = collect(year, rows, roleDirectoryCache.get(year.tenantId()));
+        if (reminders.isEmpty()) {
+            return 0;
+        }
+
+        Integer sent = transactionTemplate.execute(status -> {
+            Set<Long> claimed = reminderLogRepository.claim(year.tenantId(), today, reminders.keySet());
+            List<NewNotification> notifications = new ArrayList<>(claimed.size());
+            for (Long userId : claimed) {
+                Reminder r = reminders.get(userId);
+                notifications.add(new NewNotification(year.tenantId(), userId, NOTIFICATION_TYPE,
+                        title(r.deadline(), today), message(r), "/evaluations"));
+            }
+            return notificationBatchRepository.insertAll(notifications);
+        });
+        return sent != null ? sent : 0;
+    }
+
+    // ===== 送信先の決定 =====
+
+    /** 評価ごとに次に対応すべき人を決め、ユーザーごとにまとめる。受付が閉じている段階は送らない。 */
+    static Map<Long, Reminder> collect(DueYear year, List<PendingRow> rows, RoleDirectory directory) {
+        Map<Long, Reminder> reminders = new HashMap<>();
+        for (PendingRow row : rows) {
+            LocalDate due = year.deadlines().get(row.period());
+            if (due == null) {
+                continue;
+            }
+            boolean evalOpen = year.evalOpen().contains(row.period());
+            switch (row.status()) {
+                case NOT_STARTED -> {
+                    if (year.selfOpen().contains(row.period())) {
+                        add(reminders, List.of(row.userId()), Action.SELF, due);
+                    }
+                }
+                case SELF_SUBMITTED -> {
+                    if (evalOpen && row.evaluatorId() != null) {
+                        add(reminders, List.of(row.evaluatorId()), Action.EVALUATE, due);
+                    }
+                }
+                case EVALUATOR_SUBMITTED -> {
+                    if (evalOpen) {
+                        add(reminders, directory.managersOf(row.departmentId()), Action.APPROVE, due);
+                    }
+                }
+                case MANAGER_APPROVED, DIRECTOR_EVALUATED -> {
+                    if (evalOpen) {
+                        add(reminders, directory.directorsAndAdmins(), Action.DIRECT, due);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return reminders;
+    }
+
+    private static void add(Map<Long, Reminder> reminders, List<Long> userIds, Action action, LocalDate due) {
+        for (Long userId : userIds) {
+            reminders.computeIfAbsent(userId, k -> new Reminder()).add(action, due);
+        }
+    }
+
+    static String title(LocalDate deadline, LocalDate today) {
+        long days = deadline.toEpochDay() - today.toEpochDay();
+        if (days < 0) {
+            return "評価期限（" + deadline.format(DATE_FORMAT) + "）を過ぎています";
+        }
+        return days == 0
+                ? "本日が評価期限です"
+                : "評価期限（" + deadline.format(DATE_FORMAT) + "）まであと" + days + "日です";
+    }
+
+    static String message(Reminder r) {
+        StringJoiner joiner = new StringJoiner("、", "未対応の評価があります: ", "");
+        r.counts().forEach((action, count) -> joiner.add(action.getLabel() + " " + count + "件"));
+        return joiner.toString();
+    }
+
+    // ===== Private Helpers =====
+
+    private List<DueYear> findDueYears(LocalDate today) {
+        LocalDate fromDate = today.minusDays(overdueDays);
+        LocalDate toDate = today.plusDays(leadDays);
+        Date from = Date.valueOf(fromDate);
+        Date to = Date.valueOf(toDate);
+        return jdbcTemplate.query(DUE_YEARS_SQL, (rs, rowNum) -> {
+            Map<EvaluationPeriod, LocalDate> deadlines = new EnumMap<>(EvaluationPeriod.class);
+            Set<EvaluationPeriod> selfOpen = EnumSet.noneOf(EvaluationPeriod.class);
+            Set<EvaluationPeriod> evalOpen = EnumSet.noneOf(EvaluationPeriod.class);
+            putIfDue(deadlines, EvaluationPeriod.SUMMER, rs.getDate("summer_end_date"), fromDate, toDate);
+            putIfDue(deadlines, EvaluationPeriod.WINTER, rs.getDate("winter_end_date"), fromDate, toDate);
+            if (rs.getBoolean("summer_self_open")) selfOpen.add(EvaluationPeriod.SUMMER);
+            if (rs.getBoolean("summer_eval_open")) evalOpen.add(EvaluationPeriod.SUMMER);
+            if (rs.getBoolean("winter_self_open")) selfOpen.add(EvaluationPeriod.WINTER);
+            if (rs.getBoolean("winter_eval_open")) evalOpen.add(EvaluationPeriod.WINTER);
+            return new DueYear(rs.getLong("tenant_id"), rs.getLong("id"), deadlines, selfOpen, evalOpen);
+        }, from, to, from, to);
+    }
+
+    private static void putIfDue(Map<EvaluationPeriod, LocalDate> deadlines, EvaluationPeriod period,
+                                 Date endDate, LocalDate from, LocalDate to) {
+        if (endDate == null) {
+            return;
+        }
+        LocalDate date = endDate.toLocalDate();
+        if (!date.isBefore(from) && !date.isAfter(to)) {
+            deadlines.put(period, date);
+        }
+    }
+}
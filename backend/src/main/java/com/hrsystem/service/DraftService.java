@@ -0,0 +1,209 @@
+package com.hrsystem.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 自己評価・評価者コメントの下書き（自動保存）バッファ。
+ * 入力途中の保存はメモリ上でユーザーごとに上書き（合体）し、DB へは
+ * 一定間隔・提出時・シャットダウン時にまとめて JDBC バッチで書き込む。
+ * ユーザーあたり・全体の件数と文字数に上限を設け、超えた場合はその場で書き出す。
+ * 書き出しの UPDATE は提出済み・受付期間外の対象には何もしない（その下書きは破棄する）。
+ */
+@Slf4j
+@Service
+public class DraftService {
+
+    public enum DraftType {
+        SUMMER_SELF_ASSESSMENT,
+        WINTER_SELF_ASSESSMENT,
+        EVALUATOR_COMMENT
+    }
+
+    public record DraftKey(DraftType type, Long targetId) {}
+
+    public record Draft(Long tenantId, String text, LocalDateTime savedAt) {}
+
+    public record DraftView(DraftType type, Long targetId, String text, LocalDateTime savedAt) {}
+
+    // 自己評価は本人かつ、その期の評価が未提出（NOT_STARTED）で自己評価の受付中の間だけ書き込める。
+    // 目標の保存（楽観ロック）と衝突させないよう version は上げない
+    private static final String UPDATE_SUMMER = """
+            UPDATE goals g SET summer_self_assessment = ?, updated_at = NOW()
+            WHERE g.id = ? AND g.tenant_id = ? AND g.user_id = ?
+              AND EXISTS (SELECT 1 FROM evaluations e JOIN fiscal_years f ON f.id = e.fiscal_year_id
+                          WHERE e.tenant_id = g.tenant_id AND e.user_id = g.user_id
+                            AND e.fiscal_year_id = g.fiscal_year_id AND e.period = 'SUMMER'
+                            AND e.status = 'NOT_STARTED' AND f.summer_self_open)
+            """;
+    private static final String UPDATE_WINTER = """
+            UPDATE goals g SET winter_self_assessment = ?, updated_at = NOW()
+            WHERE g.id = ? AND g.tenant_id = ? AND g.user_id = ?
+              AND EXISTS (SELECT 1 FROM evaluations e JOIN fiscal_years f ON f.id = e.fiscal_year_id
+                          WHERE e.tenant_id = g.tenant_id AND e.user_id = g.user_id
+                            AND e.fiscal_year_id = g.fiscal_year_id AND e.period = 'WINTER'
+                            AND e.status = 'NOT_STARTED' AND f.winter_self_open)
+            """;
+    // 評価者本人かつ評価待ちで、評価の受付中の間だけ書き込める
+    private static final String UPDATE_EVALUATOR_COMMENT = """
+            UPDATE evaluations e SET evaluator_comment = ?, updated_at = NOW()
+            WHERE e.id = ? AND e.tenant_id = ? AND e.evaluator_id = ? AND e.status = 'SELF_SUBMITTED'
+              AND EXISTS (SELECT 1 FROM fiscal_years f
+                          WHERE f.id = e.fiscal_year_id
+                            AND CASE e.period WHEN 'SUMMER' THEN f.summer_eval_open ELSE f.winter_eval_open END)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxDraftsPerUser;
+    private final int maxTotalDrafts;
+    private final int maxTextLength;
+
+    // userId → (対象 → 下書き)
+    private final Map<Long, Map<DraftKey, Draft>> drafts = new ConcurrentHashMap<>();
+    private final AtomicInteger totalDrafts = new AtomicInteger();
+
+    public DraftService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.drafts.max-per-user:20}") int maxDraftsPerUser,
+            @Value("${app.drafts.max-total:20000}") int maxTotalDrafts,
+            @Value("${app.drafts.max-text-length:20000}") int maxTextLength) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxDraftsPerUser = maxDraftsPerUser;
+        this.maxTotalDrafts = maxTotalDrafts;
+        this.maxTextLength = maxTextLength;
+    }
+
+    // ===== 下書き保存（メモリのみ） =====
+
+    public void save(Long tenantId, Long userId, DraftType type, Long targetId, String text) {
+        if (text != null && text.length() > maxTextLength) {
+            throw new IllegalStateException("入力できる文字数の上限(" + maxTextLength + "文字)を超えています");
+        }
+        DraftKey key = new DraftKey(type, targetId);
+        Map<DraftKey, Draft> current = drafts.get(userId);
+        if (current != null && !current.containsKey(key) && current.size() >= maxDraftsPerUser) {
+            flushUser(userId);
+        }
+
+        Draft draft = new Draft(tenantId, text, LocalDateTime.now());
+        boolean[] added = new boolean[1];
+        drafts.compute(userId, (k, userDrafts) -> {
+            Map<DraftKey, Draft> map = userDrafts != null ? userDrafts : new ConcurrentHashMap<>();
+            added[0] = map.put(key, draft) == null;
+            return map;
+        });
+        if (added[0] && totalDrafts.incrementAndGet() > maxTotalDrafts) {
+            flushAll();
+        }
+    }
+
+    public List<DraftView> list(Long userId) {
+        Map<DraftKey, Draft> userDrafts = drafts.getOrDefault(userId, Map.of());
+        return userDrafts.entrySet().stream()
+                .map(e -> new DraftView(e.getKey().type(), e.getKey().targetId(),
+                        e.getValue().text(), e.getValue().savedAt()))
+                .toList();
+    }
+
+    /** 提出内容で上書きされる下書きを書き出さずに破棄する。 */
+    public void discard(Long userId, DraftType type, Long targetId) {
+        Map<DraftKey, Draft> userDrafts = drafts.get(userId);
+        if (userDrafts != null && userDrafts.remove(new DraftKey(type, targetId)) != null) {
+            totalDrafts.decrementAndGet();
+        }
+    }
+
+    // ===== DB への書き出し =====
+
+    /** 提出時に呼び出し元のトランザクション内でそのユーザーの下書きを書き出す。 */
+    public void flushUser(Long userId) {
+        Map<DraftKey, Draft> userDrafts = drafts.get(userId);
+        if (userDrafts == null || userDrafts.isEmpty()) {
+            return;
+        }
+        write(Map.of(userId, userDrafts));
+    }
+
+    @Scheduled(fixedDelayString = "${app.drafts.flush-interval-ms:30000}")
+    public void flushAll() {
+        if (totalDrafts.get() > 0) {
+            write(drafts);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("シャットダウン前に下書き {} 件を書き出します", totalDrafts.get());
+        flushAll();
+    }
+
+    private void write(Map<Long, Map<DraftKey, Draft>> source) {
+        Map<String, List<Object[]>> batches = new HashMap<>();
+        List<Runnable> removals = new ArrayList<>();
+
+        source.forEach((userId, userDrafts) -> userDrafts.forEach((key, draft) -> {
+            batches.computeIfAbsent(sqlFor(key.type()), k -> new ArrayList<>())
+                    .add(new Object[]{draft.text(), key.targetId(), draft.tenantId(), userId});
+            // 書き出し中に更新された下書きは消さずに次回へ回す
+            removals.add(() -> {
+                if (userDrafts.remove(key, draft)) {
+                    totalDrafts.decrementAndGet();
+                }
+            });
+        }));
+
+        int skipped = 0;
+        try {
+            for (Map.Entry<String, List<Object[]>> batch : batches.entrySet()) {
+                for (int count : jdbcTemplate.batchUpdate(batch.getKey(), batch.getValue())) {
+                    if (count == 0) {
+                        skipped++;
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            log.error("下書きの書き出しに失敗しました（次回再試行）", e);
+            return;
+        }
+        if (skipped > 0) {
+            log.debug("提出済み・受付期間外のため下書き {} 件を破棄しました", skipped);
+        }
+
+        Set<Long> userIds = new HashSet<>(source.keySet());
+        Runnable cleanup = () -> {
+            removals.forEach(Runnable::run);
+            userIds.forEach(id -> drafts.computeIfPresent(id, (k, m) -> m.isEmpty() ? null : m));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 提出処理のトランザクション内ではコミット後に破棄する（ロールバック時は下書きを残す）
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cleanup.run();
+                }
+            });
+        } else {
+            cleanup.run();
+        }
+    }
+
+    private String sqlFor(DraftType type) {
+        return switch (type) {
+            case SUMMER_SELF_ASSESSMENT -> UPDATE_SUMMER;
+            case WINTER_SELF_ASSESSMENT -> UPDATE_WINTER;
+            case EVALUATOR_COMMENT -> UPDATE_EVALUATOR_COMMENT;
+        };
+    }
+}
@@ -0,0 +1,216 @@
+package com.hrsystem.service;
+
+import com.hrsystem.domain.model.FiscalYear;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.Grade;
+import com.hrsystem.domain.repository.FiscalYearRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 年度の評価一覧の CSV 出力。
+ *
+ * <p>エンティティを経由せず JDBC でサーバーサイドカーソル（読み取り専用トランザクション内で
+ * fetchSize を指定）から1行ずつ読み、そのまま出力ストリームへ書き出す。
+ * 保持するのは1行分のみのため、テナントの規模に関係なくメモリ使用量は一定。</p>
+ *
+ * <p>Hibernate のテナントフィルタは効かないため、SQL で tenant_id を明示的に条件に含める
+ * （パーティションの絞り込みと tenant_id 先頭のインデックスもこれで効く）。</p>
+ */
+@Service
+public class EvaluationExportService {
+
+    private static final String SELECT_SQL = """
+            SELECT e.id, u.id AS user_id, u.name AS user_name, d.name AS department_name,
+                   p.name AS position_name, e.period, e.status,
+                   ev.name AS evaluator_name, e.evaluator_grade, e.evaluator_comment, e.evaluated_at,
+                   mg.name AS manager_name, e.manager_grade, e.manager_comment, e.manager_approved_at,
+                   dr.name AS director_name, e.director_grade, e.director_comment, e.director_evaluated_at,
+                   e.finalized_at
+            FROM evaluations e
+            JOIN users u ON u.id = e.user_id
+            LEFT JOIN departments d ON d.id = e.department_id
+            LEFT JOIN positions p ON p.id = e.position_id
+            LEFT JOIN users ev ON ev.id = e.evaluator_id
+            LEFT JOIN users mg ON mg.id = e.manager_id
+            LEFT JOIN users dr ON dr.id = e.director_id
+            WHERE e.tenant_id = ? AND e.fiscal_year_id = ?
+            """;
+
+    private static final List<String> HEADER = List.of(
+            "評価ID", "社員ID", "氏名", "部署", "役職", "期", "ステータス",
+            "評価者", "評価者評価", "評価者コメント", "評価者評価日時",
+            "管理者", "管理者評価", "管理者コメント", "管理者確認日時",
+            "役員", "役員評価", "役員コメント", "役員評価日時",
+            "最終確定日時");
+
+    // 評価段階ごとの列名の接頭辞と日時列
+    private static final String[][] LEVELS = {
+            {"evaluator", "evaluated_at"},
+            {"manager", "manager_approved_at"},
+            {"director", "director_evaluated_at"},
+    };
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final FiscalYearRepository fiscalYearRepository;
+    private final int fetchSize;
+
+    public EvaluationExportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            FiscalYearRepository fiscalYearRepository,
+            @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        // カーソルで読むにはトランザクション内（autocommit 無効）である必要がある
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fiscalYearRepository = fiscalYearRepository;
+        this.fetchSize = fetchSize;
+    }
+
+    public record ExportFilter(
+            Long fiscalYearId,
+            EvaluationPeriod period,
+            Long departmentId,
+            EvaluationStatus status,
+            Grade minGrade
+    ) {}
+
+    /** 出力対象の年度を確認し、年（ファイル名用）を返す。レスポンス開始前に呼ぶ。 */
+    public int resolveYear(Long tenantId, Long fiscalYearId) {
+        return fiscalYearRepository.findByIdAndTenantId(fiscalYearId, tenantId)
+                .map(FiscalYear::getYear)
+                .orElseThrow(() -> new IllegalArgumentException("年度が見つかりません: " + fiscalYearId));
+    }
+
+    /**
+     * 評価一覧を CSV（UTF-8 BOM 付き、Excel で開ける形式）で書き出す。
+     * 出力ストリームは閉じない（gzip 等のラップ・クローズは呼び出し側で行う）。
+     *
+     * @return 出力した行数（ヘッダを除く）
+     */
+    public long writeCsv(Long tenantId, ExportFilter filter, OutputStream out) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> params = new ArrayList<>(List.of(tenantId, filter.fiscalYearId()));
+        if (filter.period() != null) {
+            sql.append(" AND e.period = CAST(? AS evaluation_period)");
+            params.add(filter.period().name());
+        }
+        if (filter.departmentId() != null) {
+            sql.append(" AND e.department_id = ?");
+            params.add(filter.departmentId());
+        }
+        if (filter.status() != null) {
+            sql.append(" AND e.status = CAST(? AS evaluation_status)");
+            params.add(filter.status().name());
+        }
+        if (filter.minGrade() != null) {
+            // 役員評価（最終評価）が指定以上。評価はコードの大小で比較できる
+            sql.append(" AND e.director_grade >= ?");
+            params.add((short) filter.minGrade().getCode());
+        }
+        sql.append(" ORDER BY e.department_id NULLS LAST, e.user_id, e.period");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        long[] rows = {0};
+        try {
+            writer.write('\uFEFF');
+            writeRecord(writer, HEADER);
+
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                for (int i = 0; i < params.size(); i++) {
+                    ps.setObject(i + 1, params.get(i));
+                }
+                return ps;
+            }, rs -> {
+                writeRow(writer, rs);
+                rows[0]++;
+            }));
+
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows[0];
+    }
+
+    // ===== Private Helpers =====
+
+    private void writeRow(Writer writer, ResultSet rs) throws SQLException {
+        List<String> fields = new ArrayList<>(HEADER.size());
+        fields.add(rs.getString("id"));
+        fields.add(rs.getString("user_id"));
+        fields.add(rs.getString("user_name"));
+        fields.add(rs.getString("department_name"));
+        fields.add(rs.getString("position_name"));
+        fields.add(EvaluationPeriod.valueOf(rs.getString("period")).getLabel());
+        fields.add(EvaluationStatus.valueOf(rs.getString("status")).getLabel());
+        for (String[] level : LEVELS) {
+            fields.add(rs.getString(level[0] + "_name"));
+            Grade grade = Grade.fromCode(rs.getShort(level[0] + "_grade"));
+            fields.add(grade != null ? grade.getDisplay() : null);
+            fields.add(rs.getString(level[0] + "_comment"));
+            fields.add(format(rs.getTimestamp(level[1])));
+        }
+        fields.add(format(rs.getTimestamp("finalized_at")));
+        try {
+            writeRecord(writer, fields);
+        } catch (IOException e) {
+            // クライアント切断時はここで中断し、カーソルとトランザクションを閉じる
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void writeRecord(Writer writer, List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(fields.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    /** RFC 4180 のクォートに加え、表計算ソフトで数式として解釈される値は先頭に ' を付ける。 */
+    static String escape(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String v = value;
+        char first = v.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            v = "'" + v;
+        }
+        boolean quote = v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0;
+        return quote ? '"' + v.replace("\"", "\"\"") + '"' : v;
+    }
+
+    private static String format(Timestamp ts) {
+        return ts != null ? ts.toLocalDateTime().format(DATE_TIME) : null;
+    }
+}
@@ -0,0 +1,73 @@
+package com.hrsystem.service;
+
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.domain.model.Evaluation;
+import com.hrsystem.domain.model.User;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.repository.EvaluationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 評価の参照系（一覧・ダッシュボード件数）。
+ * 読み取り専用トランザクションで実行し、レプリカ構成時はリードレプリカから読む。
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EvaluationQueryService {
+
+    private final EvaluationRepository evaluationRepository;
+    private final ReferenceDataCache referenceDataCache;
+
+    public List<Evaluation> findMine(Long tenantId, Long userId) {
+        return evaluationRepository.findByTenantIdAndUserIdOrderByFiscalYearDesc(tenantId, userId);
+    }
+
+    public List<Evaluation> findPendingForEvaluator(Long tenantId, Long evaluatorId) {
+        return evaluationRepository.findByTenantIdAndEvaluatorIdAndStatus(
+                tenantId, evaluatorId, EvaluationStatus.SELF_SUBMITTED);
+    }
+
+    /** 指定IDの評価を、渡された順で返す（ファセット絞り込みの1ページ分）。 */
+    public List<Evaluation> findByIds(Long tenantId, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Evaluation> byId = new HashMap<>();
+        evaluationRepository.findByTenantIdAndIdIn(tenantId, ids).forEach(e -> byId.put(e.getId(), e));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /** ダッシュボード用の件数。4件のカウントを1つの接続で取得する。 */
+    public Map<String, Long> counts(Long tenantId, User user) {
+        long pendingEvaluations = referenceDataCache.canPerformEvaluation(user)
+                ? evaluationRepository.countPendingForEvaluator(tenantId, user.getId(), EvaluationStatus.SELF_SUBMITTED)
+                : 0;
+
+        long managerPending = referenceDataCache.isManager(user) && user.getDepartment() != null
+                ? evaluationRepository.countPendingForDepartment(tenantId, user.getDepartment().getId(), EvaluationStatus.EVALUATOR_SUBMITTED)
+                : 0;
+
+        long directorPending = referenceDataCache.isDirectorOrAdmin(user)
+                ? evaluationRepository.countByTenantAndStatus(tenantId, EvaluationStatus.MANAGER_APPROVED)
+                : 0;
+
+        long finalizePending = referenceDataCache.isDirectorOrAdmin(user)
+                ? evaluationRepository.countByTenantAndStatus(tenantId, EvaluationStatus.DIRECTOR_EVALUATED)
+                : 0;
+
+        return Map.of(
+                "pendingEvaluations", pendingEvaluations,
+                "managerPending", managerPending,
+                "directorPending", directorPending,
+                "finalizePending", finalizePending
+        );
+    }
+}
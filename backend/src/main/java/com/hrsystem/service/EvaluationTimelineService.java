@@ -0,0 +1,260 @@
+package com.hrsystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.Grade;
+import com.hrsystem.domain.repository.EvaluationEventRepository;
+import com.hrsystem.domain.repository.EvaluationEventRepository.EvaluationKey;
+import com.hrsystem.domain.repository.EvaluationEventRepository.NewEvent;
+import com.hrsystem.domain.repository.EvaluationEventRepository.Snapshot;
+import com.hrsystem.domain.repository.EvaluationEventRepository.StoredEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 評価のステータス遷移の履歴（追記のみ）。
+ *
+ * <p>差し戻しで評価値・コメントが消えても経過を再現できるよう、遷移ごとに操作者・遷移前後のステータス・
+ * 遷移後の評価値・入力されたコメント・差し戻し理由を1件として残す。</p>
+ *
+ * <p>履歴はトランザクションごとに溜め、コミット直前に1回の JDBC バッチで登録する（一括調整のように
+ * 1トランザクションで多数の遷移が起きても INSERT の往復は1回）。遷移がコミットされれば履歴も必ず残り、
+ * 履歴を登録できない場合は遷移ごとロールバックする。履歴の並びは発生日時（遷移時刻）順とする。</p>
+ *
+ * <p>追記した評価は一定時間後に、スナップショット以降の件数が閾値以上ならスナップショットを作り直す。
+ * 読み込みはスナップショット1行とそれ以降の履歴だけを読む。スナップショットは登録から一定時間経った履歴だけで作り、
+ * 書き込み中のトランザクションの行を飛ばさないようにする。</p>
+ */
+@Slf4j
+@Service
+public class EvaluationTimelineService {
+
+    private static final String USER_NAMES_SQL = "SELECT id, name FROM users WHERE tenant_id = ? AND id = ANY (?)";
+
+    private static final String EVALUATION_EXISTS_SQL =
+            "SELECT COUNT(*) FROM evaluations WHERE tenant_id = ? AND id = ?";
+
+    private static final TypeReference<List<TimelineEntry>> ENTRIES_TYPE = new TypeReference<>() {};
+
+    private static final Comparator<TimelineEntry> ORDER =
+            Comparator.comparing(TimelineEntry::occurredAt).thenComparingLong(TimelineEntry::eventId);
+
+    private final EvaluationEventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int snapshotThreshold;
+    private final Duration settle;
+
+    // 追記した評価 → 最後にコミットした日時（settle 経過後にスナップショットの要否を確認する）
+    private final Map<EvaluationKey, LocalDateTime> appended = new ConcurrentHashMap<>();
+
+    public EvaluationTimelineService(
+            EvaluationEventRepository eventRepository,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.timeline.snapshot-threshold:4}") int snapshotThreshold,
+            @Value("${app.timeline.settle:1m}") Duration settle) {
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.snapshotThreshold = snapshotThreshold;
+        this.settle = settle;
+    }
+
+    /** 履歴の1件。actorName は読み込み時に付ける（スナップショットには持たない）。 */
+    public record TimelineEntry(
+            long eventId,
+            LocalDateTime occurredAt,
+            EvaluationStatus from,
+            EvaluationStatus to,
+            Long actorId,
+            String actorName,
+            Grade evaluatorGrade,
+            Grade managerGrade,
+            Grade directorGrade,
+            String comment,
+            String reason
+    ) {
+
+        static TimelineEntry of(StoredEvent e) {
+            return new TimelineEntry(e.id(), e.occurredAt(), e.from(), e.to(), e.actorId(), null,
+                    e.evaluatorGrade(), e.managerGrade(), e.directorGrade(), e.comment(), e.reason());
+        }
+
+        TimelineEntry withActorName(String name) {
+            return new TimelineEntry(eventId, occurredAt, from, to, actorId, name,
+                    evaluatorGrade, managerGrade, directorGrade, comment, reason);
+        }
+    }
+
+    public record Timeline(Long evaluationId, List<TimelineEntry> entries) {}
+
+    // ===== 追記 =====
+
+    /**
+     * 遷移の履歴をトランザクションに溜め、コミット直前にまとめて登録する。
+     * 登録に失敗した場合は遷移ごとロールバックされる。トランザクション外の遷移はその場で登録する。
+     */
+    @EventListener
+    public void onTransition(EvaluationTransitionEvent event) {
+        NewEvent row = new NewEvent(event.tenantId(), event.evaluationId(), event.from(), event.to(),
+                event.actorId(), event.evaluatorGrade(), event.managerGrade(), event.directorGrade(),
+                event.comment(), event.reason(),
+                event.occurredAt() != null ? event.occurredAt() : LocalDateTime.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventRepository.insertAll(List.of(row));
+            markAppended(List.of(row));
+            return;
+        }
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.rows.add(row);
+    }
+
+    /** トランザクションに溜めた履歴。コミット直前に登録し、完了時にトランザクションから外す。 */
+    private class PendingEvents implements TransactionSynchronization {
+
+        private final List<NewEvent> rows = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            eventRepository.insertAll(rows);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EvaluationTimelineService.this);
+            if (status == STATUS_COMMITTED) {
+                markAppended(rows);
+            }
+        }
+    }
+
+    // ===== 読み込み =====
+
+    /** 評価の全履歴を発生順に返す。履歴が無く、このテナントの評価でもない場合は IllegalArgumentException。 */
+    public Timeline timeline(Long tenantId, Long evaluationId) {
+        Optional<Snapshot> snapshot = eventRepository.findSnapshot(tenantId, evaluationId);
+        List<TimelineEntry> entries = new ArrayList<>(snapshot.map(s -> parse(s.entriesJson())).orElse(List.of()));
+        long lastEventId = snapshot.map(Snapshot::lastEventId).orElse(0L);
+        eventRepository.findAfter(tenantId, evaluationId, lastEventId).forEach(e -> entries.add(TimelineEntry.of(e)));
+        // 評価が削除されても履歴は返すため、存在確認は履歴が無い場合だけ行う
+        if (entries.isEmpty() && !evaluationExists(tenantId, evaluationId)) {
+            throw new IllegalArgumentException("評価が見つかりません: " + evaluationId);
+        }
+        entries.sort(ORDER);
+        return new Timeline(evaluationId, withActorNames(tenantId, entries));
+    }
+
+    // ===== スナップショット =====
+
+    /** 追記から settle 経った評価のうち、スナップショット以降の履歴が閾値以上のものを作り直す。 */
+    @Scheduled(fixedDelayString = "${app.timeline.compact-interval-ms:60000}")
+    public void compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(settle);
+        List<EvaluationKey> due = new ArrayList<>();
+        appended.forEach((key, at) -> {
+            if (at.isBefore(cutoff) && appended.remove(key, at)) {
+                due.add(key);
+            }
+        });
+        if (due.isEmpty()) {
+            return;
+        }
+        int compacted = 0;
+        for (EvaluationKey key : eventRepository.findCompactionCandidates(due, snapshotThreshold, settle)) {
+            try {
+                if (compactOne(key)) {
+                    compacted++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("評価 {} の履歴のスナップショット作成に失敗しました", key.evaluationId(), e);
+            }
+        }
+        if (compacted > 0) {
+            log.debug("評価履歴のスナップショットを {} 件作成しました", compacted);
+        }
+    }
+
+    boolean compactOne(EvaluationKey key) {
+        Optional<Snapshot> snapshot = eventRepository.findSnapshot(key.tenantId(), key.evaluationId());
+        long lastEventId = snapshot.map(Snapshot::lastEventId).orElse(0L);
+        List<StoredEvent> tail = eventRepository.findSettledAfter(key.tenantId(), key.evaluationId(), lastEventId, settle);
+        if (tail.isEmpty()) {
+            return false;
+        }
+        List<TimelineEntry> entries = new ArrayList<>(snapshot.map(s -> parse(s.entriesJson())).orElse(List.of()));
+        for (StoredEvent e : tail) {
+            entries.add(TimelineEntry.of(e));
+            lastEventId = Math.max(lastEventId, e.id());
+        }
+        entries.sort(ORDER);
+        eventRepository.saveSnapshot(key.tenantId(), key.evaluationId(), lastEventId, entries.size(), toJson(entries));
+        return true;
+    }
+
+    // ===== Private Helpers =====
+
+    private void markAppended(List<NewEvent> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        rows.forEach(r -> appended.put(new EvaluationKey(r.tenantId(), r.evaluationId()), now));
+    }
+
+    private boolean evaluationExists(Long tenantId, Long evaluationId) {
+        Integer count = jdbcTemplate.queryForObject(EVALUATION_EXISTS_SQL, Integer.class, tenantId, evaluationId);
+        return count != null && count > 0;
+    }
+
+    private List<TimelineEntry> withActorNames(Long tenantId, List<TimelineEntry> entries) {
+        Long[] actorIds = entries.stream().map(TimelineEntry::actorId).filter(Objects::nonNull)
+                .distinct().toArray(Long[]::new);
+        if (actorIds.length == 0) {
+            return entries;
+        }
+        Map<Long, String> names = new HashMap<>();
+        jdbcTemplate.query(USER_NAMES_SQL,
+                ps -> {
+                    ps.setLong(1, tenantId);
+                    ps.setArray(2, ps.getConnection().createArrayOf("bigint", actorIds));
+                },
+                rs -> {
+                    names.put(rs.getLong("id"), rs.getString("name"));
+                });
+        return entries.stream()
+                .map(e -> e.actorId() != null ? e.withActorName(names.get(e.actorId())) : e)
+                .toList();
+    }
+
+    private List<TimelineEntry> parse(String json) {
+        try {
+            return objectMapper.readValue(json, ENTRIES_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("評価履歴のスナップショットを読み込めません", e);
+        }
+    }
+
+    private String toJson(List<TimelineEntry> entries) {
+        try {
+            return objectMapper.writeValueAsString(entries);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("評価履歴のスナップショットを作成できません", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.hrsystem.service;
+
+import com.hrsystem.domain.model.Evaluation;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.Grade;
+
+import java.time.LocalDateTime;
+
+/**
+ * 評価のステータス遷移（差し戻しを含む）。遷移後の評価値・評価者・部署を持つため、受け取り側は DB を読み直さずに反映できる。
+ * {@link EvaluationWorkflowService} が遷移ごとに発行する。
+ * 操作者・この遷移で入力されたコメント・差し戻し理由は履歴（{@link EvaluationTimelineService}）に残す。
+ */
+public record EvaluationTransitionEvent(
+        Long tenantId,
+        Long evaluationId,
+        EvaluationStatus from,
+        EvaluationStatus to,
+        Grade evaluatorGrade,
+        Grade managerGrade,
+        Grade directorGrade,
+        Long evaluatorId,
+        Long departmentId,
+        Long actorId,
+        String comment,
+        String reason,
+        LocalDateTime occurredAt
+) {
+
+    static EvaluationTransitionEvent of(Long tenantId, Evaluation eval, EvaluationStatus from,
+                                        Long actorId, String comment, String reason) {
+        return new EvaluationTransitionEvent(tenantId, eval.getId(), from, eval.getStatus(),
+                eval.getEvaluatorGrade(), eval.getManagerGrade(), eval.getDirectorGrade(),
+                eval.getEvaluator() != null ? eval.getEvaluator().getId() : null,
+                eval.getDepartment() != null ? eval.getDepartment().getId() : null,
+                actorId, comment, reason, LocalDateTime.now());
+    }
+}
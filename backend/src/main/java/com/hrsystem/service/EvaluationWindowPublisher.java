@@ -0,0 +1,149 @@
+package com.hrsystem.service;
+
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.cache.TenantReferenceData.OpenWindows;
+import com.hrsystem.cache.TenantScopedCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 受付期間の変更を接続中のクライアントへ SSE で配信する。
+ *
+ * <p>受付期間のスナップショットは {@link ReferenceDataCache} が持つため、ここでは接続とテナントごとの最終配信値だけを持つ。
+ * {@link com.hrsystem.cache.CacheInvalidationBus} の無効化を受けたら現在の値を読み直し、変わっていれば配信する。
+ * 無効化は変更したノードから全ノードに届くため、どのノードに接続しているクライアントにも配信される。</p>
+ *
+ * <p>参照データの無効化より後に同じノードから送るため、受信側では無効化済みの参照データを読み直す。
+ * 配信は専用の1スレッドで行い、遅いクライアントが無効化の受信を止めないようにする。</p>
+ */
+@Slf4j
+@Component
+public class EvaluationWindowPublisher implements TenantScopedCache {
+
+    public static final String NAME = "evaluation-windows";
+
+    static final String EVENT_NAME = "windows";
+
+    /** 現年度が無いテナントに送る値（受付中の期間なし）。 */
+    public static final OpenWindows NONE = new OpenWindows(null, 0, Set.of());
+
+    private final ReferenceDataCache referenceDataCache;
+    private final long timeoutMillis;
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    // テナント → 最後に配信した受付期間（現年度が無い場合は Optional.empty()）
+    private final Map<Long, Optional<OpenWindows>> lastSent = new ConcurrentHashMap<>();
+    private final ExecutorService pushExecutor;
+
+    public EvaluationWindowPublisher(
+            ReferenceDataCache referenceDataCache,
+            @Value("${app.windows.sse-timeout:30m}") Duration timeout) {
+        this.referenceDataCache = referenceDataCache;
+        this.timeoutMillis = timeout.toMillis();
+        this.pushExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "evaluation-window-push");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pushExecutor.shutdownNow();
+        emitters.values().forEach(set -> set.forEach(SseEmitter::complete));
+    }
+
+    // ===== 購読 =====
+
+    /** 購読を登録し、最初に現在の受付期間を送る。タイムアウト後はクライアントが再接続する。 */
+    public SseEmitter subscribe(Long tenantId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Set<SseEmitter> set = emitters.computeIfAbsent(tenantId, k -> ConcurrentHashMap.newKeySet());
+        set.add(emitter);
+        Runnable remove = () -> remove(tenantId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        Optional<OpenWindows> current = referenceDataCache.openWindows(tenantId);
+        lastSent.putIfAbsent(tenantId, current);
+        send(tenantId, emitter, current);
+        return emitter;
+    }
+
+    // ===== TenantScopedCache =====
+
+    @Override
+    public String cacheName() {
+        return NAME;
+    }
+
+    @Override
+    public void invalidateTenant(Long tenantId) {
+        if (emitters.containsKey(tenantId)) {
+            pushExecutor.execute(() -> pushIfChanged(tenantId));
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (Long tenantId : emitters.keySet()) {
+            invalidateTenant(tenantId);
+        }
+    }
+
+    // ===== Private Helpers =====
+
+    void pushIfChanged(Long tenantId) {
+        Set<SseEmitter> set = emitters.get(tenantId);
+        if (set == null || set.isEmpty()) {
+            return;
+        }
+        Optional<OpenWindows> current;
+        try {
+            current = referenceDataCache.openWindows(tenantId);
+        } catch (RuntimeException e) {
+            log.warn("テナント {} の受付期間を読み込めませんでした", tenantId, e);
+            return;
+        }
+        if (Objects.equals(lastSent.put(tenantId, current), current)) {
+            return;
+        }
+        for (SseEmitter emitter : set) {
+            send(tenantId, emitter, current);
+        }
+        log.debug("テナント {} の受付期間の変更を {} 件の接続に配信しました", tenantId, set.size());
+    }
+
+    private void send(Long tenantId, SseEmitter emitter, Optional<OpenWindows> windows) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(windows.orElse(NONE)));
+        } catch (IOException | IllegalStateException e) {
+            // 切断済みの接続。onError/onCompletion でも外れるが、ここでも外しておく
+            remove(tenantId, emitter);
+        }
+    }
+
+    private void remove(Long tenantId, SseEmitter emitter) {
+        emitters.computeIfPresent(tenantId, (k, set) -> {
+            set.remove(emitter);
+            if (set.isEmpty()) {
+                lastSent.remove(tenantId);
+                return null;
+            }
+            return set;
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package com.hrsystem.service;
+
+import com.hrsystem.cache.CacheInvalidationBus;
+import com.hrsystem.cache.ReferenceDataCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 受付期間（夏季・冬季の自己評価／評価の *_open フラグ）の日付による自動開閉。
+ *
+ * <p>window_auto の現年度を全テナント分まとめて1回の UPDATE で更新し、値が変わった年度だけを RETURNING で受け取る。
+ * JDBC で更新するためエンティティリスナーは動かない。変わったテナントは {@link CacheInvalidationBus} で
+ * 参照データ（受付期間のスナップショットを含む）を無効化し、続けて {@link EvaluationWindowPublisher} に配信させる。</p>
+ *
+ * <ul>
+ *   <li>自己評価: 各期の開始日〜終了日</li>
+ *   <li>評価（評価者・管理者）: 各期の開始日〜評価の終了日（未設定なら各期の終了日）</li>
+ * </ul>
+ *
+ * <p>開始日・終了日が未設定の期は閉じる。更新は冪等のため、停止中に日付をまたいでも次回の実行で追いつく。
+ * 複数ノード構成では {@link SchedulerLeader} のリーダーだけが実行する。</p>
+ */
+@Slf4j
+@Service
+public class EvaluationWindowScheduler {
+
+    private static final String UPDATE_SQL = """
+            WITH target AS (
+                SELECT f.id,
+                       COALESCE(d.today BETWEEN f.summer_start_date AND f.summer_end_date, FALSE) AS summer_self,
+                       COALESCE(d.today BETWEEN f.summer_start_date
+                                AND COALESCE(f.summer_eval_end_date, f.summer_end_date), FALSE) AS summer_eval,
+                       COALESCE(d.today BETWEEN f.winter_start_date AND f.winter_end_date, FALSE) AS winter_self,
+                       COALESCE(d.today BETWEEN f.winter_start_date
+                                AND COALESCE(f.winter_eval_end_date, f.winter_end_date), FALSE) AS winter_eval
+                FROM fiscal_years f
+                JOIN tenants t ON t.id = f.tenant_id
+                CROSS JOIN (SELECT CAST(? AS DATE) AS today) d
+                WHERE f.is_current AND f.window_auto AND t.is_active
+            )
+            UPDATE fiscal_years f
+            SET summer_self_open = t.summer_self,
+                summer_eval_open = t.summer_eval,
+                winter_self_open = t.winter_self,
+                winter_eval_open = t.winter_eval,
+                updated_at = NOW()
+            FROM target t
+            WHERE f.id = t.id
+              AND (f.summer_self_open, f.summer_eval_open, f.winter_self_open, f.winter_eval_open)
+                  IS DISTINCT FROM (t.summer_self, t.summer_eval, t.winter_self, t.winter_eval)
+            RETURNING f.tenant_id, f.year, f.summer_self_open, f.summer_eval_open, f.winter_self_open, f.winter_eval_open
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationBus invalidationBus;
+    private final SchedulerLeader schedulerLeader;
+    private final ZoneId zone;
+
+    public EvaluationWindowScheduler(
+            JdbcTemplate jdbcTemplate,
+            CacheInvalidationBus invalidationBus,
+            SchedulerLeader schedulerLeader,
+            @Value("${app.windows.zone:Asia/Tokyo}") String zone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.invalidationBus = invalidationBus;
+        this.schedulerLeader = schedulerLeader;
+        this.zone = ZoneId.of(zone);
+    }
+
+    record Change(Long tenantId, int year, boolean summerSelfOpen, boolean summerEvalOpen,
+                  boolean winterSelfOpen, boolean winterEvalOpen) {
+    }
+
+    // ===== 定期実行 =====
+
+    @Scheduled(cron = "${app.windows.cron:0 1 * * * *}", zone = "${app.windows.zone:Asia/Tokyo}")
+    public void run() {
+        if (!schedulerLeader.isLeader()) {
+            return;
+        }
+        List<Change> changes = apply(LocalDate.now(zone));
+        if (!changes.isEmpty()) {
+            log.info("受付期間を {} テナントで自動更新しました", changes.size());
+        }
+    }
+
+    /** 指定日の受付期間に揃え、値が変わった年度を返す。 */
+    List<Change> apply(LocalDate today) {
+        List<Change> changes = jdbcTemplate.query(UPDATE_SQL, (rs, rowNum) -> new Change(
+                rs.getLong("tenant_id"), rs.getInt("year"),
+                rs.getBoolean("summer_self_open"), rs.getBoolean("summer_eval_open"),
+                rs.getBoolean("winter_self_open"), rs.getBoolean("winter_eval_open")), Date.valueOf(today));
+        for (Change c : changes) {
+            log.debug("テナント {} の {} 年度の受付期間: 夏 自己評価={} 評価={} / 冬 自己評価={} 評価={}",
+                    c.tenantId(), c.year(), c.summerSelfOpen(), c.summerEvalOpen(),
+                    c.winterSelfOpen(), c.winterEvalOpen());
+            // 配信側が読み直す前に参照データを無効化する（同じノードからの配信は順序どおりに届く）
+            invalidationBus.invalidate(ReferenceDataCache.NAME, c.tenantId());
+            invalidationBus.invalidate(EvaluationWindowPublisher.NAME, c.tenantId());
+        }
+        return changes;
+    }
+}
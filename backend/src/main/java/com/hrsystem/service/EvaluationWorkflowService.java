@@ -1,10 +1,16 @@
 package com.hrsystem.service;
 
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.cache.RoleDirectoryCache;
+import com.hrsystem.cache.TenantReferenceData.OpenWindows;
 import com.hrsystem.domain.model.*;
 import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.EvaluationWindow;
+import com.hrsystem.domain.model.enums.Grade;
 import com.hrsystem.domain.repository.*;
 import com.hrsystem.security.TenantContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +28,12 @@ import java.util.List;
  * スキップ条件:
  * - 評価者が理事長/管理者 → EVALUATOR_SUBMITTED をスキップし DIRECTOR_EVALUATED へ
  * - 被評価者が上位職(code<=2) → EVALUATOR_SUBMITTED をスキップし MANAGER_APPROVED へ
+ *
+ * 受付期間:
+ * - 自己評価の提出は自己評価の受付中のみ
+ * - 評価者の評価・管理者の承認は評価の受付中のみ（役員評価・最終確定は期間外も可）
+ *
+ * 遷移ごとに {@link EvaluationTransitionEvent} を発行する。
  */
 @Service
 @RequiredArgsConstructor
@@ -31,6 +43,10 @@ public class EvaluationWorkflowService {
     private final EvaluationRepository evaluationRepository;
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final DraftService draftService;
+    private final ReferenceDataCache referenceDataCache;
+    private final RoleDirectoryCache roleDirectoryCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ===== 自己評価提出 =====
 
@@ -40,15 +56,27 @@ public class EvaluationWorkflowService {
         if (!eval.canSelfEvaluate()) {
             throw new IllegalStateException("自己評価を提出できるステータスではありません");
         }
+        verifyWindowOpen(eval, EvaluationWindow.self(eval.getPeriod()));
+
+        // 自動保存中の自己評価を提出と同じトランザクションで確定させる
+        draftService.flushUser(userId);
 
+        EvaluationStatus from = eval.getStatus();
         eval.setStatus(EvaluationStatus.SELF_SUBMITTED);
         evaluationRepository.save(eval);
+        publishTransition(eval, from, userId, null, null);
 
-        if (eval.getEvaluator() != null) {
+        if (eval.getEvaluator() != null && eval.getEvaluator().getIsActive()) {
             notify(eval.getEvaluator(), "self_submitted",
                     "自己評価が提出されました",
                     eval.getUser().getName() + "さんが自己評価を提出しました。",
                     "/evaluator/evaluate/" + eval.getId());
+        } else {
+            // 評価者不在のまま埋もれないよう、役員・管理者に再割り当てを促す
+            List<Long> directors = roleDirectoryCache.get(TenantContext.getTenantId()).directorsAndAdmins();
+            notifyUsers(eval.getTenant(), directors, "evaluator_missing", "評価者の割り当てが必要です",
+                    eval.getUser().getName() + "さんが自己評価を提出しましたが、評価者が不在です。",
+                    "/admin/users");
         }
 
         return eval;
@@ -57,7 +85,7 @@ public class EvaluationWorkflowService {
     // ===== 評価者による評価送信 =====
 
     public Evaluation submitEvaluatorEvaluation(Long evaluationId, Long evaluatorId,
-                                                 String grade, String comment) {
+                                                 Grade grade, String comment) {
         Long tenantId = TenantContext.getTenantId();
         Evaluation eval = findById(evaluationId);
         verifyEvaluator(eval, evaluatorId);
@@ -65,14 +93,19 @@ public class EvaluationWorkflowService {
         if (!eval.canEvaluatorSubmit()) {
             throw new IllegalStateException("評価を送信できるステータスではありません");
         }
+        verifyWindowOpen(eval, EvaluationWindow.evaluation(eval.getPeriod()));
 
+        // 送信されたコメントが正となるため、このコメントの下書きは書き出さずに破棄する
+        draftService.discard(evaluatorId, DraftService.DraftType.EVALUATOR_COMMENT, evaluationId);
+
+        EvaluationStatus from = eval.getStatus();
         eval.setEvaluatorGrade(grade);
         eval.setEvaluatorComment(comment);
         eval.setEvaluatedAt(LocalDateTime.now());
 
         User evaluator = findUser(evaluatorId);
 
-        if (evaluator.isDirector() || evaluator.isSystemAdmin()) {
+        if (referenceDataCache.isDirectorOrAdmin(evaluator)) {
             // 理事長が評価者 → 施設長確認スキップ、直接 DIRECTOR_EVALUATED
             eval.setDirectorGrade(grade);
             eval.setDirectorComment(comment);
@@ -83,7 +116,7 @@ public class EvaluationWorkflowService {
                     eval.getUser().getName() + "さんの評価を最終確認してください。",
                     "/director/finalize/" + eval.getId());
 
-        } else if (eval.getUser().isSeniorStaff()) {
+        } else if (referenceDataCache.isSeniorStaff(eval.getUser())) {
             // 被評価者が上位職 → 施設長確認スキップして理事長評価へ
             eval.setStatus(EvaluationStatus.MANAGER_APPROVED);
             notifyDirectors(tenantId, eval);
@@ -94,26 +127,31 @@ public class EvaluationWorkflowService {
             notifyManagers(eval);
         }
 
-        return evaluationRepository.save(eval);
+        Evaluation saved = evaluationRepository.save(eval);
+        publishTransition(eval, from, evaluatorId, comment, null);
+        return saved;
     }
 
     // ===== 管理者（施設長）承認 =====
 
     public Evaluation approveByManager(Long evaluationId, Long managerId,
-                                        String grade, String comment) {
+                                        Grade grade, String comment) {
         Long tenantId = TenantContext.getTenantId();
         Evaluation eval = findById(evaluationId);
 
         if (!eval.canManagerApprove()) {
             throw new IllegalStateException("管理者確認できるステータスではありません");
         }
+        verifyWindowOpen(eval, EvaluationWindow.evaluation(eval.getPeriod()));
 
+        EvaluationStatus from = eval.getStatus();
         eval.setManager(findUser(managerId));
         eval.setManagerGrade(grade);
         eval.setManagerComment(comment);
         eval.setManagerApprovedAt(LocalDateTime.now());
         eval.setStatus(EvaluationStatus.MANAGER_APPROVED);
         evaluationRepository.save(eval);
+        publishTransition(eval, from, managerId, comment, null);
 
         notifyDirectors(tenantId, eval);
         return eval;
@@ -121,12 +159,14 @@ public class EvaluationWorkflowService {
 
     // ===== 管理者差し戻し =====
 
-    public Evaluation rejectByManager(Long evaluationId, String reason) {
+    public Evaluation rejectByManager(Long evaluationId, Long managerId, String reason) {
         Evaluation eval = findById(evaluationId);
 
+        EvaluationStatus from = eval.getStatus();
         eval.setStatus(EvaluationStatus.SELF_SUBMITTED);
         clearManagerFields(eval);
         evaluationRepository.save(eval);
+        publishTransition(eval, from, managerId, null, reason);
 
         if (eval.getEvaluator() != null) {
             notify(eval.getEvaluator(), "evaluation_rejected", "評価が差し戻されました",
@@ -141,13 +181,14 @@ public class EvaluationWorkflowService {
     // ===== 役員（理事長）評価 =====
 
     public Evaluation submitDirectorEvaluation(Long evaluationId, Long directorId,
-                                                String grade, String comment) {
+                                                Grade grade, String comment) {
         Evaluation eval = findById(evaluationId);
 
         if (!eval.canDirectorEvaluate()) {
             throw new IllegalStateException("役員評価できるステータスではありません");
         }
 
+        EvaluationStatus from = eval.getStatus();
         User director = findUser(directorId);
         eval.setDirector(director);
         eval.setDirectorGrade(grade);
@@ -155,6 +196,7 @@ public class EvaluationWorkflowService {
         eval.setDirectorEvaluatedAt(LocalDateTime.now());
         eval.setStatus(EvaluationStatus.DIRECTOR_EVALUATED);
         evaluationRepository.save(eval);
+        publishTransition(eval, from, directorId, comment, null);
 
         notify(director, "director_evaluated", "最終確認が必要です",
                 eval.getUser().getName() + "さんの評価を最終確認してください。",
@@ -165,10 +207,12 @@ public class EvaluationWorkflowService {
 
     // ===== 役員差し戻し =====
 
-    public Evaluation rejectByDirector(Long evaluationId, String reason) {
+    public Evaluation rejectByDirector(Long evaluationId, Long directorId, String reason) {
         Evaluation eval = findById(evaluationId);
 
-        if (eval.getUser().isSeniorStaff()) {
+        EvaluationStatus from = eval.getStatus();
+
+        if (referenceDataCache.isSeniorStaff(eval.getUser())) {
             // 上位職 → 評価者に直接差し戻し
             eval.setStatus(EvaluationStatus.SELF_SUBMITTED);
             clearDirectorFields(eval);
@@ -188,21 +232,25 @@ public class EvaluationWorkflowService {
             notifyManagers(eval);
         }
 
-        return evaluationRepository.save(eval);
+        Evaluation saved = evaluationRepository.save(eval);
+        publishTransition(eval, from, directorId, null, reason);
+        return saved;
     }
 
     // ===== 最終確定 =====
 
-    public Evaluation finalizeEvaluation(Long evaluationId) {
+    public Evaluation finalizeEvaluation(Long evaluationId, Long directorId) {
         Evaluation eval = findById(evaluationId);
 
         if (!eval.canFinalize()) {
             throw new IllegalStateException("最終確定できるステータスではありません");
         }
 
+        EvaluationStatus from = eval.getStatus();
         eval.setFinalizedAt(LocalDateTime.now());
         eval.setStatus(EvaluationStatus.FINALIZED);
         evaluationRepository.save(eval);
+        publishTransition(eval, from, directorId, null, null);
 
         notify(eval.getUser(), "evaluation_finalized", "評価が確定しました",
                 eval.getFiscalYear().getYear() + "年度"
@@ -215,7 +263,7 @@ public class EvaluationWorkflowService {
     // ===== Private Helpers =====
 
     private Evaluation findById(Long id) {
-        return evaluationRepository.findById(id)
+        return evaluationRepository.findByIdAndTenantId(id, TenantContext.getTenantId())
                 .orElseThrow(() -> new IllegalArgumentException("評価が見つかりません: " + id));
     }
 
@@ -228,16 +276,48 @@ public class EvaluationWorkflowService {
     }
 
     private void verifyEvaluator(Evaluation eval, Long evaluatorId) {
+        if (eval.getEvaluator() == null) {
+            throw new IllegalStateException("評価者が割り当てられていません");
+        }
         if (!eval.getEvaluator().getId().equals(evaluatorId)) {
             throw new SecurityException("この評価の評価者ではありません");
         }
     }
 
+    /**
+     * 受付期間の確認。現年度の評価はキャッシュ済みのスナップショットで判定し、
+     * 過年度の評価は年度のフラグで判定する。現年度が未設定のテナントは制限しない。
+     */
+    private void verifyWindowOpen(Evaluation eval, EvaluationWindow window) {
+        OpenWindows windows = referenceDataCache.openWindows(TenantContext.getTenantId()).orElse(null);
+        if (windows == null) {
+            return;
+        }
+        FiscalYear fiscalYear = eval.getFiscalYear();
+        boolean open;
+        if (windows.fiscalYearId().equals(fiscalYear.getId())) {
+            open = windows.isOpen(window);
+        } else {
+            open = window == EvaluationWindow.self(eval.getPeriod())
+                    ? fiscalYear.isSelfEvaluationOpen(eval.getPeriod())
+                    : fiscalYear.isEvaluationOpen(eval.getPeriod());
+        }
+        if (!open) {
+            throw new IllegalStateException(window.getLabel() + "の受付期間外です");
+        }
+    }
+
     private User findUser(Long userId) {
-        return userRepository.findById(userId)
+        return userRepository.findByIdAndTenantId(userId, TenantContext.getTenantId())
                 .orElseThrow(() -> new IllegalArgumentException("ユーザーが見つかりません: " + userId));
     }
 
+    private void publishTransition(Evaluation eval, EvaluationStatus from,
+                                   Long actorId, String comment, String reason) {
+        eventPublisher.publishEvent(EvaluationTransitionEvent.of(
+                TenantContext.getTenantId(), eval, from, actorId, comment, reason));
+    }
+
     private void notify(User recipient, String type, String title, String message, String link) {
         notificationRepository.save(Notification.builder()
                 .tenant(recipient.getTenant())
@@ -249,25 +329,35 @@ public class EvaluationWorkflowService {
                 .build());
     }
 
-    private void notifyDirectors(Long tenantId, Evaluation eval) {
-        List<User> directors = userRepository.findDirectorsAndAdmins(tenantId);
-        for (User d : directors) {
-            notify(d, "manager_approved", "理事長評価が必要です",
-                    eval.getUser().getName() + "さんの評価が承認されました。",
-                    "/director/evaluate/" + eval.getId());
+    /** 通知先をIDで受け取り、ユーザーを読み込まずに参照だけで通知を作成する。 */
+    private void notifyUsers(Tenant tenant, List<Long> recipientIds, String type,
+                           String title, String message, String link) {
+        for (Long id : recipientIds) {
+            notificationRepository.save(Notification.builder()
+                    .tenant(tenant)
+                    .user(userRepository.getReferenceById(id))
+                    .type(type)
+                    .title(title)
+                    .message(message)
+                    .link(link)
+                    .build());
         }
     }
 
+    private void notifyDirectors(Long tenantId, Evaluation eval) {
+        notifyUsers(eval.getTenant(), roleDirectoryCache.get(tenantId).directorsAndAdmins(),
+                "manager_approved", "理事長評価が必要です",
+                eval.getUser().getName() + "さんの評価が承認されました。",
+                "/director/evaluate/" + eval.getId());
+    }
+
     private void notifyManagers(Evaluation eval) {
         if (eval.getDepartment() == null) return;
         Long tenantId = TenantContext.getTenantId();
-        List<User> candidates = userRepository.findEvaluatorCandidates(
-                tenantId, eval.getDepartment().getId());
-        candidates.stream()
-                .filter(User::isManager)
-                .forEach(m -> notify(m, "evaluator_completed", "評価が完了しました",
-                        eval.getUser().getName() + "さんの評価が完了しました。",
-                        "/manager/review/" + eval.getId()));
+        notifyUsers(eval.getTenant(), roleDirectoryCache.get(tenantId).managersOf(eval.getDepartment().getId()),
+                "evaluator_completed", "評価が完了しました",
+                eval.getUser().getName() + "さんの評価が完了しました。",
+                "/manager/review/" + eval.getId());
     }
 
     private void clearEvaluatorFields(Evaluation eval) {
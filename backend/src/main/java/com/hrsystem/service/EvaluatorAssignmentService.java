@@ -0,0 +1,107 @@
+package com.hrsystem.service;
+
+import com.hrsystem.cache.CacheInvalidationBus;
+import com.hrsystem.domain.model.Evaluation;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.repository.EvaluationRepository;
+import com.hrsystem.domain.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * 評価者の一括自動割り当て。
+ * 評価者候補とその現在の負荷を1回ずつ読み込み、未割り当ての評価を1パスで振り分ける。
+ * 更新は評価者ごとにまとめて発行する。
+ */
+@Service
+@Transactional
+public class EvaluatorAssignmentService {
+
+    private final EvaluationRepository evaluationRepository;
+    private final UserRepository userRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final int defaultMaxPerEvaluator;
+
+    public EvaluatorAssignmentService(
+            EvaluationRepository evaluationRepository,
+            UserRepository userRepository,
+            CacheInvalidationBus invalidationBus,
+            @Value("${app.assignment.max-per-evaluator:15}") int defaultMaxPerEvaluator) {
+        this.evaluationRepository = evaluationRepository;
+        this.userRepository = userRepository;
+        this.invalidationBus = invalidationBus;
+        this.defaultMaxPerEvaluator = defaultMaxPerEvaluator;
+    }
+
+    public record UnassignedItem(Long evaluationId, Long userId, Long departmentId, String reason) {}
+
+    public record AssignmentReport(
+            int targetCount,
+            int assignedCount,
+            int maxPerEvaluator,
+            Map<Long, Integer> assignedByEvaluator,
+            Map<Long, Integer> loadByEvaluator,
+            List<UnassignedItem> unassigned,
+            long elapsedMillis
+    ) {}
+
+    public AssignmentReport assignAll(Long tenantId, Long fiscalYearId, EvaluationPeriod period,
+                                      Integer maxPerEvaluator) {
+        long start = System.currentTimeMillis();
+        int cap = maxPerEvaluator != null ? maxPerEvaluator : defaultMaxPerEvaluator;
+        if (cap <= 0) {
+            throw new IllegalStateException("評価者あたりの上限件数は1以上を指定してください");
+        }
+
+        EvaluatorIndex index = new EvaluatorIndex(
+                userRepository.findAllEvaluatorCandidates(tenantId),
+                loadCurrentAssignments(tenantId, fiscalYearId, period),
+                cap);
+
+        List<Evaluation> targets = evaluationRepository.findUnassigned(
+                tenantId, fiscalYearId, period, EvaluationStatus.FINALIZED);
+
+        // 評価者ID → 割り当てる評価ID
+        Map<Long, List<Long>> plan = new LinkedHashMap<>();
+        List<UnassignedItem> unassigned = new ArrayList<>();
+
+        for (Evaluation e : targets) {
+            Long departmentId = e.getDepartment() != null ? e.getDepartment().getId() : null;
+            int sortOrder = e.getPosition() != null ? e.getPosition().getSortOrder() : Integer.MAX_VALUE;
+            Long userId = e.getUser().getId();
+
+            index.assign(departmentId, sortOrder, userId).ifPresentOrElse(
+                    c -> plan.computeIfAbsent(c.userId(), k -> new ArrayList<>()).add(e.getId()),
+                    () -> unassigned.add(new UnassignedItem(e.getId(), userId, departmentId,
+                            "上位の評価者候補がいないか、全員が上限件数に達しています")));
+        }
+
+        Map<Long, Integer> assignedByEvaluator = new LinkedHashMap<>();
+        int assigned = 0;
+        for (Map.Entry<Long, List<Long>> entry : plan.entrySet()) {
+            int updated = evaluationRepository.assignEvaluator(tenantId, entry.getKey(), entry.getValue());
+            assignedByEvaluator.put(entry.getKey(), updated);
+            assigned += updated;
+        }
+        if (assigned > 0) {
+            // 評価者評価待ちの評価者が変わるため、処理待ちの監視を読み直させる
+            invalidationBus.invalidate(WorkloadMonitor.NAME, tenantId);
+        }
+
+        return new AssignmentReport(targets.size(), assigned, cap, assignedByEvaluator,
+                index.getLoad(), unassigned, System.currentTimeMillis() - start);
+    }
+
+    private Map<Long, Integer> loadCurrentAssignments(Long tenantId, Long fiscalYearId,
+                                                      EvaluationPeriod period) {
+        Map<Long, Integer> load = new HashMap<>();
+        for (Object[] row : evaluationRepository.countAssignedByEvaluator(tenantId, fiscalYearId, period)) {
+            load.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+        return load;
+    }
+}
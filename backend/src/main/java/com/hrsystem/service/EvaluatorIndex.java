@@ -0,0 +1,107 @@
+package com.hrsystem.service;
+
+import com.hrsystem.domain.model.User;
+
+import java.util.*;
+
+/**
+ * 評価者候補のインメモリインデックス。
+ * テナントの評価可能ユーザーを一度だけ読み込み、部署 → 役職順でひける形に保持する。
+ * 評価者ごとの割り当て件数を持ち、上限に達した候補は選ばない。
+ */
+class EvaluatorIndex {
+
+    record Candidate(Long userId, Long departmentId, int sortOrder, int positionCode, String name) {
+
+        boolean isDirectorOrAdmin() {
+            return positionCode <= 1;
+        }
+    }
+
+    // 部署ID → 候補（sortOrder 昇順 = 上位職が先頭）
+    private final Map<Long, List<Candidate>> byDepartment = new HashMap<>();
+    // 部署に依らない最終評価者（役員・システム管理者）
+    private final List<Candidate> directors = new ArrayList<>();
+    private final Map<Long, Integer> load = new HashMap<>();
+    private final int maxPerEvaluator;
+
+    EvaluatorIndex(List<User> evaluators, Map<Long, Integer> currentLoad, int maxPerEvaluator) {
+        this.maxPerEvaluator = maxPerEvaluator;
+        this.load.putAll(currentLoad);
+
+        for (User u : evaluators) {
+            Long departmentId = u.getDepartment() != null ? u.getDepartment().getId() : null;
+            Candidate c = new Candidate(u.getId(), departmentId,
+                    u.getPosition().getSortOrder(), u.getPosition().getCode(), u.getName());
+            if (departmentId != null) {
+                byDepartment.computeIfAbsent(departmentId, k -> new ArrayList<>()).add(c);
+            }
+            if (c.isDirectorOrAdmin()) {
+                directors.add(c);
+            }
+        }
+        Comparator<Candidate> order = Comparator.comparingInt(Candidate::sortOrder)
+                .thenComparing(Candidate::name);
+        byDepartment.values().forEach(list -> list.sort(order));
+        directors.sort(order);
+    }
+
+    /**
+     * 被評価者より上位の候補のうち、最も近い役職層から負荷の低い者を選ぶ。
+     * 部署内に該当者がいなければ役員・管理者から選ぶ。
+     * 選んだ時点で負荷を1加算する。
+     */
+    Optional<Candidate> assign(Long departmentId, int evaluateeSortOrder, Long evaluateeId) {
+        List<Candidate> inDepartment = departmentId != null
+                ? byDepartment.getOrDefault(departmentId, List.of())
+                : List.of();
+
+        Optional<Candidate> picked = pickClosestSuperior(inDepartment, evaluateeSortOrder, evaluateeId);
+        if (picked.isEmpty()) {
+            picked = pickLeastLoaded(directors, evaluateeId);
+        }
+        picked.ifPresent(c -> load.merge(c.userId(), 1, Integer::sum));
+        return picked;
+    }
+
+    Map<Long, Integer> getLoad() {
+        return Collections.unmodifiableMap(load);
+    }
+
+    private Optional<Candidate> pickClosestSuperior(List<Candidate> candidates,
+                                                    int evaluateeSortOrder, Long evaluateeId) {
+        // sortOrder 昇順なので末尾から見れば被評価者に近い上位職から順に並ぶ
+        Candidate best = null;
+        for (int i = candidates.size() - 1; i >= 0; i--) {
+            Candidate c = candidates.get(i);
+            if (c.sortOrder() >= evaluateeSortOrder || c.userId().equals(evaluateeId)) {
+                continue;
+            }
+            if (best != null && c.sortOrder() != best.sortOrder()) {
+                break;
+            }
+            if (!hasCapacity(c)) {
+                continue;
+            }
+            if (best == null || currentLoad(c) < currentLoad(best)) {
+                best = c;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private Optional<Candidate> pickLeastLoaded(List<Candidate> candidates, Long evaluateeId) {
+        return candidates.stream()
+                .filter(c -> !c.userId().equals(evaluateeId))
+                .filter(this::hasCapacity)
+                .min(Comparator.comparingInt(this::currentLoad));
+    }
+
+    private boolean hasCapacity(Candidate c) {
+        return currentLoad(c) < maxPerEvaluator;
+    }
+
+    private int currentLoad(Candidate c) {
+        return load.getOrDefault(c.userId(), 0);
+    }
+}
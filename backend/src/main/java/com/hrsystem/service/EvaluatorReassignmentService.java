@@ -0,0 +1,160 @@
+package com.hrsystem.service;
+
+import com.hrsystem.analytics.WorkflowSlaService;
+import com.hrsystem.cache.CacheInvalidationBus;
+import com.hrsystem.domain.model.Evaluation;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.repository.EvaluationRepository;
+import com.hrsystem.domain.repository.NotificationBatchRepository;
+import com.hrsystem.domain.repository.NotificationBatchRepository.NewNotification;
+import com.hrsystem.domain.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * 退職・無効化・異動で評価者が不在になった評価の一括再割り当て。
+ * 対象はテナント単位の1クエリで抽出し、{@link EvaluatorIndex} で新しい評価者を選んで
+ * 評価者ごとにまとめて更新する。通知も評価者ごとに1件へ集約してバッチ登録する。
+ */
+@Service
+@Transactional
+public class EvaluatorReassignmentService {
+
+    private static final Set<EvaluationStatus> DEFAULT_STATUSES =
+            EnumSet.of(EvaluationStatus.NOT_STARTED, EvaluationStatus.SELF_SUBMITTED);
+
+    private final EvaluationRepository evaluationRepository;
+    private final UserRepository userRepository;
+    private final NotificationBatchRepository notificationBatchRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final int defaultMaxPerEvaluator;
+
+    public EvaluatorReassignmentService(
+            EvaluationRepository evaluationRepository,
+            UserRepository userRepository,
+            NotificationBatchRepository notificationBatchRepository,
+            CacheInvalidationBus invalidationBus,
+            @Value("${app.assignment.max-per-evaluator:15}") int defaultMaxPerEvaluator) {
+        this.evaluationRepository = evaluationRepository;
+        this.userRepository = userRepository;
+        this.notificationBatchRepository = notificationBatchRepository;
+        this.invalidationBus = invalidationBus;
+        this.defaultMaxPerEvaluator = defaultMaxPerEvaluator;
+    }
+
+    /**
+     * 再割り当てルール。
+     *
+     * @param statuses               対象ステータス（未指定時は NOT_STARTED / SELF_SUBMITTED）
+     * @param includeMovedEvaluators 評価者が別部署へ異動済みの評価も対象にする
+     * @param maxPerEvaluator        評価者1人あたりの上限件数（未指定時は設定値）
+     * @param notifyEvaluators       新しい評価者へ通知する
+     * @param dryRun                 割り当て案の算出のみ行い更新しない
+     */
+    public record ReassignmentRules(
+            Set<EvaluationStatus> statuses,
+            boolean includeMovedEvaluators,
+            Integer maxPerEvaluator,
+            boolean notifyEvaluators,
+            boolean dryRun
+    ) {}
+
+    public record Reassignment(Long evaluationId, Long previousEvaluatorId, Long newEvaluatorId) {}
+
+    public record ReassignmentReport(
+            int targetCount,
+            int reassignedCount,
+            int notificationCount,
+            boolean dryRun,
+            List<Reassignment> reassignments,
+            List<Long> unresolvedEvaluationIds,
+            long elapsedMillis
+    ) {}
+
+    public ReassignmentReport reassignOrphaned(Long tenantId, ReassignmentRules rules) {
+        long start = System.currentTimeMillis();
+        Set<EvaluationStatus> statuses = rules.statuses() == null || rules.statuses().isEmpty()
+                ? DEFAULT_STATUSES : rules.statuses();
+        if (statuses.contains(EvaluationStatus.FINALIZED)) {
+            throw new IllegalStateException("確定済みの評価は再割り当てできません");
+        }
+        int cap = rules.maxPerEvaluator() != null ? rules.maxPerEvaluator() : defaultMaxPerEvaluator;
+        if (cap <= 0) {
+            throw new IllegalStateException("評価者あたりの上限件数は1以上を指定してください");
+        }
+
+        List<Evaluation> targets = evaluationRepository.findWithOrphanedEvaluator(
+                tenantId, statuses, rules.includeMovedEvaluators());
+
+        EvaluatorIndex index = new EvaluatorIndex(
+                userRepository.findAllEvaluatorCandidates(tenantId),
+                loadOpenAssignments(tenantId, statuses),
+                cap);
+
+        Map<Long, List<Long>> plan = new LinkedHashMap<>();
+        List<Reassignment> reassignments = new ArrayList<>();
+        List<Long> unresolved = new ArrayList<>();
+
+        for (Evaluation e : targets) {
+            Long departmentId = e.getDepartment() != null ? e.getDepartment().getId() : null;
+            int sortOrder = e.getPosition() != null ? e.getPosition().getSortOrder() : Integer.MAX_VALUE;
+            Long previous = e.getEvaluator() != null ? e.getEvaluator().getId() : null;
+
+            Optional<EvaluatorIndex.Candidate> picked = index.assign(departmentId, sortOrder, e.getUser().getId());
+            if (picked.isEmpty()) {
+                unresolved.add(e.getId());
+                continue;
+            }
+            Long next = picked.get().userId();
+            plan.computeIfAbsent(next, k -> new ArrayList<>()).add(e.getId());
+            reassignments.add(new Reassignment(e.getId(), previous, next));
+        }
+
+        int reassigned = 0;
+        int notified = 0;
+        if (!rules.dryRun()) {
+            List<String> statusNames = statuses.stream().map(Enum::name).toList();
+            for (Map.Entry<Long, List<Long>> entry : plan.entrySet()) {
+                reassigned += evaluationRepository.reassignEvaluator(tenantId, entry.getKey(), entry.getValue(),
+                        statusNames, rules.includeMovedEvaluators());
+            }
+            if (reassigned > 0) {
+                // 遷移イベントを伴わない評価者の付け替えのため、評価者単位の集計を破棄する
+                invalidationBus.invalidate(WorkloadMonitor.NAME, tenantId);
+                invalidationBus.invalidate(WorkflowSlaService.NAME, tenantId);
+            }
+            if (rules.notifyEvaluators()) {
+                notified = notificationBatchRepository.insertAll(buildNotifications(tenantId, plan));
+            }
+        }
+
+        return new ReassignmentReport(targets.size(), rules.dryRun() ? reassignments.size() : reassigned,
+                notified, rules.dryRun(), reassignments, unresolved, System.currentTimeMillis() - start);
+    }
+
+    private Map<Long, Integer> loadOpenAssignments(Long tenantId, Set<EvaluationStatus> statuses) {
+        Map<Long, Integer> load = new HashMap<>();
+        for (Object[] row : evaluationRepository.countOpenByEvaluator(tenantId, statuses)) {
+            load.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+        return load;
+    }
+
+    private List<NewNotification> buildNotifications(Long tenantId, Map<Long, List<Long>> plan) {
+        List<NewNotification> notifications = new ArrayList<>(plan.size());
+        plan.forEach((evaluatorId, evaluationIds) -> {
+            // 1件だけなら評価画面へ、複数件なら評価待ち一覧へ誘導する
+            String link = evaluationIds.size() == 1
+                    ? "/evaluator/evaluate/" + evaluationIds.get(0)
+                    : "/evaluator";
+            notifications.add(new NewNotification(tenantId, evaluatorId, "evaluator_reassigned",
+                    "評価者に割り当てられました",
+                    evaluationIds.size() + "件の評価の評価者に割り当てられました。",
+                    link));
+        });
+        return notifications;
+    }
+}
@@ -0,0 +1,270 @@
+package com.hrsystem.service;
+
+import com.hrsystem.analytics.GradeAnalyticsService;
+import com.hrsystem.cache.CacheInvalidationBus;
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * 年度切り替え（ロールオーバー）。
+ * 翌年度を作成し、目標の引き継ぎと翌期の評価レコード作成を INSERT ... SELECT でユーザーID範囲ごとに行った後、
+ * is_current を切り替える。データは JVM に読み込まず DB 内でコピーする。
+ *
+ * <p>範囲ごとに別トランザクションでコミットし、ロックと WAL を範囲単位に抑える。範囲の INSERT と同じ
+ * トランザクションで fiscal_year_rollovers の処理済みユーザーID（カーソル）を進めるため、途中で失敗しても
+ * 再実行すると続きから再開する（再開時は開始時の引数を使う）。is_current は全範囲の処理後に切り替えるので、
+ * 途中の状態では現年度は変わらない。</p>
+ *
+ * <p>dryRun 指定時は全体を1トランザクションで実行した上でロールバックし、件数と所要時間だけを返す。</p>
+ */
+@Service
+public class FiscalYearRolloverService {
+
+    private static final String RUNNING_SQL =
+            "SELECT r.id, r.from_fiscal_year_id, fy.year AS from_year, r.to_fiscal_year_id, ty.year AS to_year, " +
+            "  r.period, r.copy_goals, r.goals_cursor, r.evaluations_cursor " +
+            "FROM fiscal_year_rollovers r " +
+            "JOIN fiscal_years fy ON fy.id = r.from_fiscal_year_id " +
+            "JOIN fiscal_years ty ON ty.id = r.to_fiscal_year_id " +
+            "WHERE r.tenant_id = ? AND r.completed_at IS NULL";
+
+    // 別の実行が先にカーソルを進めていたら0件になり、その範囲はロールバックする
+    private static final String ADVANCE_GOALS_SQL =
+            "UPDATE fiscal_year_rollovers SET goals_cursor = ? " +
+            "WHERE id = ? AND goals_cursor = ? AND completed_at IS NULL";
+
+    private static final String ADVANCE_EVALUATIONS_SQL =
+            "UPDATE fiscal_year_rollovers SET evaluations_cursor = ? " +
+            "WHERE id = ? AND evaluations_cursor = ? AND completed_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationBus invalidationBus;
+    private final int chunkSize;
+
+    public FiscalYearRolloverService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            CacheInvalidationBus invalidationBus,
+            @Value("${app.rollover.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.invalidationBus = invalidationBus;
+        this.chunkSize = chunkSize;
+    }
+
+    public record RolloverOptions(boolean copyGoals, EvaluationPeriod period, boolean dryRun) {}
+
+    public record StepTiming(String step, int rows, int chunks, long elapsedMillis) {}
+
+    public record RolloverReport(
+            Long previousFiscalYearId,
+            Integer previousYear,
+            Long newFiscalYearId,
+            Integer newYear,
+            boolean dryRun,
+            boolean resumed,
+            List<StepTiming> steps,
+            long totalMillis
+    ) {}
+
+    private record CurrentYear(Long id, Integer year) {}
+
+    private record Rollover(Long id, Long fromId, Integer fromYear, Long toId, Integer toYear,
+                            EvaluationPeriod period, boolean copyGoals,
+                            long goalsCursor, long evaluationsCursor, boolean resumed) {}
+
+    private record Chunk(long upper, int rows) {}
+
+    public RolloverReport rollover(Long tenantId, RolloverOptions options) {
+        EvaluationPeriod period = options.period() != null ? options.period() : EvaluationPeriod.SUMMER;
+
+        if (options.dryRun()) {
+            // 各範囲のトランザクションは外側に参加するため、まとめてロールバックされる
+            return transactionTemplate.execute(status -> {
+                status.setRollbackOnly();
+                return run(tenantId, options.copyGoals(), period, true);
+            });
+        }
+
+        RolloverReport report = run(tenantId, options.copyGoals(), period, false);
+        // JDBC で直接更新しているためエンティティリスナーも遷移イベントも動かない。
+        // 現年度のキャッシュと、新しい評価レコードを含まない集計データを明示的に破棄する
+        invalidationBus.invalidate(ReferenceDataCache.NAME, tenantId);
+        invalidationBus.invalidate(GradeAnalyticsService.NAME, tenantId);
+        return report;
+    }
+
+    // ===== Private Helpers =====
+
+    private RolloverReport run(Long tenantId, boolean copyGoals, EvaluationPeriod period, boolean dryRun) {
+        long start = System.currentTimeMillis();
+        List<StepTiming> steps = new ArrayList<>();
+
+        long t = System.currentTimeMillis();
+        Rollover r = transactionTemplate.execute(status -> begin(tenantId, copyGoals, period, dryRun));
+        steps.add(new StepTiming("create_fiscal_year", r.resumed() ? 0 : 1, 1, System.currentTimeMillis() - t));
+
+        if (r.copyGoals()) {
+            steps.add(inChunks("copy_goals", r.goalsCursor(), lower -> copyGoalsChunk(tenantId, r, lower)));
+        }
+        steps.add(inChunks("create_evaluations", r.evaluationsCursor(),
+                lower -> createEvaluationsChunk(tenantId, r, lower)));
+
+        t = System.currentTimeMillis();
+        int flipped = transactionTemplate.execute(status -> complete(tenantId, r));
+        steps.add(new StepTiming("switch_current_year", flipped, 1, System.currentTimeMillis() - t));
+
+        return new RolloverReport(r.fromId(), r.fromYear(), dryRun ? null : r.toId(), r.toYear(),
+                dryRun, r.resumed(), steps, System.currentTimeMillis() - start);
+    }
+
+    /** 現年度をロックし、未完了の切り替えがあればそれを、無ければ翌年度と進捗行を作成して返す。 */
+    private Rollover begin(Long tenantId, boolean copyGoals, EvaluationPeriod period, boolean dryRun) {
+        CurrentYear current = lockCurrentYear(tenantId);
+
+        List<Rollover> running = jdbcTemplate.query(RUNNING_SQL, (rs, i) -> new Rollover(
+                rs.getLong("id"), rs.getLong("from_fiscal_year_id"), rs.getInt("from_year"),
+                rs.getLong("to_fiscal_year_id"), rs.getInt("to_year"),
+                EvaluationPeriod.valueOf(rs.getString("period")), rs.getBoolean("copy_goals"),
+                rs.getLong("goals_cursor"), rs.getLong("evaluations_cursor"), true), tenantId);
+        if (!running.isEmpty()) {
+            if (dryRun) {
+                throw new IllegalStateException("中断した年度切り替えがあります。dryRun を指定せずに再実行して完了させてください");
+            }
+            return running.get(0);
+        }
+
+        int nextYear = current.year() + 1;
+        Long newId = createNextYear(tenantId, current.id(), nextYear);
+        Long id = jdbcTemplate.queryForObject(
+                "INSERT INTO fiscal_year_rollovers (tenant_id, from_fiscal_year_id, to_fiscal_year_id, " +
+                "  period, copy_goals) " +
+                "VALUES (?, ?, ?, CAST(? AS evaluation_period), ?) RETURNING id",
+                Long.class, tenantId, current.id(), newId, period.name(), copyGoals);
+        return new Rollover(id, current.id(), current.year(), newId, nextYear, period, copyGoals, 0, 0, false);
+    }
+
+    /** カーソルの続きから1範囲ずつ、それぞれ別トランザクションで処理する。 */
+    private StepTiming inChunks(String step, long cursor, LongFunction<Chunk> chunk) {
+        long t = System.currentTimeMillis();
+        int rows = 0;
+        int chunks = 0;
+        long lower = cursor;
+
+        while (true) {
+            long from = lower;
+            Chunk done = transactionTemplate.execute(status -> chunk.apply(from));
+            if (done == null) break;
+            rows += done.rows();
+            chunks++;
+            lower = done.upper();
+        }
+        return new StepTiming(step, rows, chunks, System.currentTimeMillis() - t);
+    }
+
+    private CurrentYear lockCurrentYear(Long tenantId) {
+        try {
+            // 同時実行で二重に切り替わらないよう現年度の行をロックする
+            return jdbcTemplate.queryForObject(
+                    "SELECT id, year FROM fiscal_years WHERE tenant_id = ? AND is_current = TRUE FOR UPDATE",
+                    (rs, i) -> new CurrentYear(rs.getLong("id"), rs.getInt("year")),
+                    tenantId);
+        } catch (EmptyResultDataAccessException e) {
+            throw new IllegalStateException("現在の年度が設定されていません");
+        }
+    }
+
+    private Long createNextYear(Long tenantId, Long currentId, int nextYear) {
+        Integer exists = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM fiscal_years WHERE tenant_id = ? AND year = ?",
+                Integer.class, tenantId, nextYear);
+        if (exists != null && exists > 0) {
+            throw new IllegalStateException(nextYear + "年度は既に作成されています");
+        }
+
+        // 期間設定は1年後ろにずらして引き継ぎ、受付フラグは目標設定のみ開く
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO fiscal_years (tenant_id, year, is_current, goal_setting_open, " +
+                "  summer_self_open, summer_eval_open, winter_self_open, winter_eval_open, " +
+                "  summer_start_date, summer_end_date, winter_start_date, winter_end_date) " +
+                "SELECT tenant_id, ?, FALSE, TRUE, FALSE, FALSE, FALSE, FALSE, " +
+                "  (summer_start_date + INTERVAL '1 year')::date, (summer_end_date + INTERVAL '1 year')::date, " +
+                "  (winter_start_date + INTERVAL '1 year')::date, (winter_end_date + INTERVAL '1 year')::date " +
+                "FROM fiscal_years WHERE id = ? " +
+                "RETURNING id",
+                Long.class, nextYear, currentId);
+    }
+
+    private Chunk copyGoalsChunk(Long tenantId, Rollover r, long lower) {
+        Long upper = jdbcTemplate.queryForObject(
+                "SELECT MAX(user_id) FROM (SELECT user_id FROM goals " +
+                "  WHERE tenant_id = ? AND fiscal_year_id = ? AND user_id > ? " +
+                "  GROUP BY user_id ORDER BY user_id LIMIT ?) c",
+                Long.class, tenantId, r.fromId(), lower, chunkSize);
+        if (upper == null) return null;
+
+        // 自己評価は引き継がず、目標本文と並び順のみコピーする
+        int rows = jdbcTemplate.update(
+                "INSERT INTO goals (tenant_id, user_id, fiscal_year_id, goal_text, sort_order) " +
+                "SELECT g.tenant_id, g.user_id, ?, g.goal_text, g.sort_order " +
+                "FROM goals g JOIN users u ON u.id = g.user_id AND u.is_active = TRUE " +
+                "WHERE g.tenant_id = ? AND g.fiscal_year_id = ? AND g.user_id > ? AND g.user_id <= ?",
+                r.toId(), tenantId, r.fromId(), lower, upper);
+        advance(ADVANCE_GOALS_SQL, r.id(), lower, upper);
+        return new Chunk(upper, rows);
+    }
+
+    private Chunk createEvaluationsChunk(Long tenantId, Rollover r, long lower) {
+        Long upper = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM (SELECT id FROM users " +
+                "  WHERE tenant_id = ? AND is_active = TRUE AND id > ? ORDER BY id LIMIT ?) c",
+                Long.class, tenantId, lower, chunkSize);
+        if (upper == null) return null;
+
+        // 前年度冬評価の評価者がまだ有効なら引き継ぐ
+        int rows = jdbcTemplate.update(
+                "INSERT INTO evaluations (tenant_id, user_id, fiscal_year_id, period, " +
+                "  department_id, position_id, evaluator_id) " +
+                "SELECT u.tenant_id, u.id, ?, CAST(? AS evaluation_period), " +
+                "  u.department_id, u.position_id, ev.id " +
+                "FROM users u " +
+                "LEFT JOIN evaluations prev ON prev.tenant_id = u.tenant_id AND prev.user_id = u.id " +
+                "  AND prev.fiscal_year_id = ? AND prev.period = 'WINTER' " +
+                "LEFT JOIN users ev ON ev.id = prev.evaluator_id AND ev.is_active = TRUE " +
+                "WHERE u.tenant_id = ? AND u.is_active = TRUE AND u.id > ? AND u.id <= ? " +
+                "ON CONFLICT (tenant_id, user_id, fiscal_year_id, period) DO NOTHING",
+                r.toId(), r.period().name(), r.fromId(), tenantId, lower, upper);
+        advance(ADVANCE_EVALUATIONS_SQL, r.id(), lower, upper);
+        return new Chunk(upper, rows);
+    }
+
+    private void advance(String sql, Long rolloverId, long lower, long upper) {
+        if (jdbcTemplate.update(sql, upper, rolloverId, lower) == 0) {
+            throw new IllegalStateException("年度切り替えが別の処理で実行されています");
+        }
+    }
+
+    /** 全範囲の処理後に is_current を翌年度へ切り替え、切り替えを完了にする。 */
+    private int complete(Long tenantId, Rollover r) {
+        CurrentYear current = lockCurrentYear(tenantId);
+        if (!current.id().equals(r.fromId())) {
+            throw new IllegalStateException("年度切り替えが別の処理で完了しています");
+        }
+        int flipped = jdbcTemplate.update(
+                "UPDATE fiscal_years SET is_current = (id = ?), updated_at = NOW() " +
+                "WHERE tenant_id = ? AND (is_current = TRUE OR id = ?)",
+                r.toId(), tenantId, r.toId());
+        jdbcTemplate.update("UPDATE fiscal_year_rollovers SET completed_at = NOW() WHERE id = ?", r.id());
+        return flipped;
+    }
+}
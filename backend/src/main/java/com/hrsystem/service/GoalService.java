@@ -0,0 +1,163 @@
+package com.hrsystem.service;
+
+import com.hrsystem.domain.model.FiscalYear;
+import com.hrsystem.domain.model.Goal;
+import com.hrsystem.domain.repository.FiscalYearRepository;
+import com.hrsystem.domain.repository.GoalBatchRepository;
+import com.hrsystem.domain.repository.GoalBatchRepository.NewGoal;
+import com.hrsystem.domain.repository.GoalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * 目標の保存。
+ * 送信された目標リストを保存済みの目標と id・sortOrder で突き合わせ、
+ * 変更のあった行だけを INSERT / UPDATE / DELETE する（全削除→再登録はしない）。
+ * 更新・削除は version による楽観ロックで、他の画面からの変更と衝突した場合は 409 を返す。
+ * 保存済みの目標（id あり）には読み込み時の version の送信を必須とする。
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class GoalService {
+
+    private final GoalRepository goalRepository;
+    private final GoalBatchRepository goalBatchRepository;
+    private final FiscalYearRepository fiscalYearRepository;
+
+    public record GoalInput(Long id, Long version, String goalText, Integer sortOrder) {}
+
+    public record GoalView(
+            Long id,
+            Long userId,
+            Long fiscalYearId,
+            Long version,
+            String goalText,
+            String summerSelfAssessment,
+            String winterSelfAssessment,
+            Integer sortOrder
+    ) {}
+
+    public record SaveResult(int inserted, int updated, int deleted, int unchanged, List<GoalView> goals) {}
+
+    @Transactional(readOnly = true)
+    public List<GoalView> list(Long tenantId, Long userId, Long fiscalYearId) {
+        return goalRepository.findByTenantIdAndUserIdAndFiscalYearIdOrderBySortOrder(tenantId, userId, fiscalYearId)
+                .stream().map(g -> toView(g, userId, fiscalYearId)).toList();
+    }
+
+    public SaveResult saveGoals(Long tenantId, Long userId, Long fiscalYearId, List<GoalInput> inputs) {
+        FiscalYear fiscalYear = fiscalYearRepository.findByIdAndTenantId(fiscalYearId, tenantId)
+                .orElseThrow(() -> new IllegalArgumentException("年度が見つかりません: " + fiscalYearId));
+        if (!fiscalYear.getGoalSettingOpen()) {
+            throw new IllegalStateException("目標設定の受付期間外です");
+        }
+
+        List<Goal> stored = goalRepository.findByTenantIdAndUserIdAndFiscalYearIdOrderBySortOrder(
+                tenantId, userId, fiscalYearId);
+        Map<Long, Goal> storedById = new HashMap<>();
+        stored.forEach(g -> storedById.put(g.getId(), g));
+
+        List<NewGoal> toInsert = new ArrayList<>();
+        List<GoalInput> withoutId = new ArrayList<>();
+        Set<Long> kept = new HashSet<>();
+        int updated = 0;
+        int unchanged = 0;
+
+        for (int i = 0; i < inputs.size(); i++) {
+            GoalInput in = inputs.get(i);
+            if (in.goalText() == null || in.goalText().isBlank()) {
+                throw new IllegalStateException("目標が入力されていません");
+            }
+            int sortOrder = in.sortOrder() != null ? in.sortOrder() : i;
+
+            if (in.id() == null) {
+                withoutId.add(new GoalInput(null, null, in.goalText(), sortOrder));
+                continue;
+            }
+            if (in.version() == null) {
+                throw new IllegalStateException("保存済みの目標には version を指定してください: " + in.id());
+            }
+            Goal goal = storedById.get(in.id());
+            if (goal == null || !in.version().equals(goal.getVersion())) {
+                // 他の画面で削除・更新済み
+                throw new ObjectOptimisticLockingFailureException(Goal.class, in.id());
+            }
+            if (!kept.add(goal.getId())) {
+                throw new IllegalStateException("同じ目標が重複しています: " + in.id());
+            }
+            if (apply(goal, in.goalText(), sortOrder)) {
+                updated++;
+            } else {
+                unchanged++;
+            }
+        }
+
+        // id の無い新規行は、削除予定の行と sortOrder が一致すればその行を再利用する。
+        // 再利用した行は別の目標になるため、元の目標の自己評価は消す
+        Map<Integer, Goal> leftoverBySortOrder = new HashMap<>();
+        for (Goal g : stored) {
+            if (!kept.contains(g.getId())) {
+                leftoverBySortOrder.putIfAbsent(g.getSortOrder(), g);
+            }
+        }
+        for (GoalInput in : withoutId) {
+            Goal reuse = leftoverBySortOrder.remove(in.sortOrder());
+            if (reuse != null) {
+                kept.add(reuse.getId());
+                boolean changed = apply(reuse, in.goalText(), in.sortOrder());
+                if (clearSelfAssessments(reuse) || changed) {
+                    updated++;
+                } else {
+                    unchanged++;
+                }
+            } else {
+                toInsert.add(new NewGoal(tenantId, userId, fiscalYearId, in.goalText(), in.sortOrder()));
+            }
+        }
+
+        List<Goal> toDelete = stored.stream().filter(g -> !kept.contains(g.getId())).toList();
+
+        // 変更行は dirty checking によりフラッシュ時にバッチ UPDATE される。
+        // 新規行は削除・更新をフラッシュしてから JDBC バッチで INSERT する
+        goalRepository.deleteAll(toDelete);
+        goalRepository.flush();
+        goalBatchRepository.insertAll(toInsert);
+
+        List<GoalView> result = goalRepository
+                .findByTenantIdAndUserIdAndFiscalYearIdOrderBySortOrder(tenantId, userId, fiscalYearId)
+                .stream().map(g -> toView(g, userId, fiscalYearId)).toList();
+        return new SaveResult(toInsert.size(), updated, toDelete.size(), unchanged, result);
+    }
+
+    // ===== Private Helpers =====
+
+    private boolean apply(Goal goal, String goalText, int sortOrder) {
+        boolean changed = false;
+        if (!Objects.equals(goal.getGoalText(), goalText)) {
+            goal.setGoalText(goalText);
+            changed = true;
+        }
+        if (!Objects.equals(goal.getSortOrder(), sortOrder)) {
+            goal.setSortOrder(sortOrder);
+            changed = true;
+        }
+        return changed;
+    }
+
+    private boolean clearSelfAssessments(Goal goal) {
+        boolean changed = goal.getSummerSelfAssessment() != null || goal.getWinterSelfAssessment() != null;
+        goal.setSummerSelfAssessment(null);
+        goal.setWinterSelfAssessment(null);
+        return changed;
+    }
+
+    private GoalView toView(Goal g, Long userId, Long fiscalYearId) {
+        return new GoalView(g.getId(), userId, fiscalYearId, g.getVersion(), g.getGoalText(),
+                g.getSummerSelfAssessment(), g.getWinterSelfAssessment(), g.getSortOrder());
+    }
+}
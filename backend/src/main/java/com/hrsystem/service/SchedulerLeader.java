@@ -0,0 +1,141 @@
+package com.hrsystem.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * 複数ノード構成で定期処理を1ノードだけで実行するためのリーダー選出。
+ *
+ * <p>PostgreSQL のセッション単位のアドバイザリロック（{@code pg_try_advisory_lock}）を
+ * コネクションプールとは別の専用接続で取得し、接続を保持している間リーダーとなる。
+ * ノードが停止・切断するとロックはサーバー側で解放され、次に確認したノードがリーダーになる。</p>
+ *
+ * <p>定期処理は実行のたびに {@link #isLeader()} を確認し、false なら何もしない。
+ * 無効（単一ノード構成）の場合は常にリーダーとして扱う。</p>
+ */
+@Slf4j
+@Component
+public class SchedulerLeader implements SmartLifecycle {
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final boolean enabled;
+    private final long lockKey;
+
+    private Connection lockConnection;
+    private volatile boolean running;
+
+    public SchedulerLeader(
+            DataSourceProperties dataSourceProperties,
+            @Value("${app.scheduler.leader-election.enabled:true}") boolean enabled,
+            @Value("${app.scheduler.leader-election.lock-key:727001}") long lockKey) {
+        this.url = dataSourceProperties.determineUrl();
+        this.username = dataSourceProperties.determineUsername();
+        this.password = dataSourceProperties.determinePassword();
+        this.enabled = enabled;
+        this.lockKey = lockKey;
+    }
+
+    // ===== リーダー判定 =====
+
+    /** このノードがリーダーか。リーダーでなければロックの取得を試みる。 */
+    public synchronized boolean isLeader() {
+        if (!enabled) {
+            return true;
+        }
+        if (!running) {
+            return false;
+        }
+        if (lockConnection != null) {
+            if (isValid(lockConnection)) {
+                return true;
+            }
+            log.warn("リーダーロックの接続が切れました。再取得を試みます");
+            release();
+        }
+        return tryAcquire();
+    }
+
+    private boolean tryAcquire() {
+        Connection conn = null;
+        try {
+            conn = connect();
+            try (PreparedStatement ps = conn.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                ps.setLong(1, lockKey);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next() && rs.getBoolean(1)) {
+                        lockConnection = conn;
+                        log.info("定期処理のリーダーになりました（ロックキー {}）", lockKey);
+                        return true;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("リーダーロックの取得に失敗しました", e);
+        }
+        closeQuietly(conn);
+        return false;
+    }
+
+    private static boolean isValid(Connection conn) {
+        try {
+            return conn.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release() {
+        closeQuietly(lockConnection);
+        lockConnection = null;
+    }
+
+    private Connection connect() throws SQLException {
+        Properties props = new Properties();
+        if (username != null) props.setProperty("user", username);
+        if (password != null) props.setProperty("password", password);
+        props.setProperty("ApplicationName", "hr-scheduler-leader");
+        return DriverManager.getConnection(url, props);
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+            // 接続を閉じればロックは解放される。失敗しても切断時に解放される
+        }
+    }
+
+    // ===== ライフサイクル =====
+
+    @Override
+    public synchronized void start() {
+        running = true;
+    }
+
+    /** 停止時は接続を閉じてロックを手放し、他ノードが引き継げるようにする。 */
+    @Override
+    public synchronized void stop() {
+        running = false;
+        release();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
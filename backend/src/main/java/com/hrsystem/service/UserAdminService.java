@@ -0,0 +1,116 @@
+package com.hrsystem.service;
+
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.domain.model.User;
+import com.hrsystem.domain.model.enums.TenantPlan;
+import com.hrsystem.domain.repository.DepartmentRepository;
+import com.hrsystem.domain.repository.PositionRepository;
+import com.hrsystem.domain.repository.TenantRepository;
+import com.hrsystem.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * ユーザーの登録・有効化・無効化（管理者用）。
+ * 有効ユーザー数はプラン上限を {@link ActiveUserQuota} のテナント単位のカウンタで確認する。
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class UserAdminService {
+
+    private final UserRepository userRepository;
+    private final TenantRepository tenantRepository;
+    private final DepartmentRepository departmentRepository;
+    private final PositionRepository positionRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ActiveUserQuota activeUserQuota;
+    private final PasswordEncoder passwordEncoder;
+
+    public record NewUser(
+            String name,
+            String nameKana,
+            String email,
+            String password,
+            Long departmentId,
+            Long positionId,
+            boolean canEvaluate
+    ) {}
+
+    public record UserView(
+            Long id,
+            String name,
+            String email,
+            Long departmentId,
+            Long positionId,
+            boolean active,
+            boolean canEvaluate
+    ) {}
+
+    // ===== 登録 =====
+
+    public UserView createUser(Long tenantId, NewUser request) {
+        if (userRepository.findByTenantIdAndEmail(tenantId, request.email()).isPresent()) {
+            throw new IllegalStateException("このメールアドレスは既に登録されています: " + request.email());
+        }
+        if (request.departmentId() != null && referenceDataCache.department(tenantId, request.departmentId()).isEmpty()) {
+            throw new IllegalArgumentException("部署が見つかりません: " + request.departmentId());
+        }
+        if (request.positionId() != null && referenceDataCache.position(tenantId, request.positionId()).isEmpty()) {
+            throw new IllegalArgumentException("役職が見つかりません: " + request.positionId());
+        }
+
+        activeUserQuota.reserve(tenantId, plan(tenantId), 1);
+
+        User user = userRepository.save(User.builder()
+                .tenant(tenantRepository.getReferenceById(tenantId))
+                .department(request.departmentId() != null
+                        ? departmentRepository.getReferenceById(request.departmentId()) : null)
+                .position(request.positionId() != null
+                        ? positionRepository.getReferenceById(request.positionId()) : null)
+                .name(request.name())
+                .nameKana(request.nameKana())
+                .email(request.email())
+                .password(passwordEncoder.encode(request.password()))
+                .canEvaluate(request.canEvaluate())
+                .build());
+        return toView(user, request.departmentId(), request.positionId());
+    }
+
+    // ===== 有効化・無効化 =====
+
+    public UserView setActive(Long tenantId, Long userId, boolean active) {
+        User user = userRepository.findByIdAndTenantId(userId, tenantId)
+                .orElseThrow(() -> new IllegalArgumentException("ユーザーが見つかりません: " + userId));
+
+        if (user.getIsActive() != active) {
+            if (active) {
+                activeUserQuota.reserve(tenantId, plan(tenantId), 1);
+            } else {
+                activeUserQuota.released(tenantId, 1);
+            }
+            user.setIsActive(active);
+        }
+        return toView(user,
+                user.getDepartment() != null ? user.getDepartment().getId() : null,
+                user.getPosition() != null ? user.getPosition().getId() : null);
+    }
+
+    @Transactional(readOnly = true)
+    public ActiveUserQuota.Usage usage(Long tenantId) {
+        return activeUserQuota.usage(tenantId, plan(tenantId));
+    }
+
+    // ===== Private Helpers =====
+
+    private TenantPlan plan(Long tenantId) {
+        return referenceDataCache.tenant(tenantId).plan();
+    }
+
+    private UserView toView(User user, Long departmentId, Long positionId) {
+        return new UserView(user.getId(), user.getName(), user.getEmail(),
+                departmentId, positionId, user.getIsActive(), user.getCanEvaluate());
+    }
+}
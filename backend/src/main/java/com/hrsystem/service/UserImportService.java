@@ -0,0 +1,291 @@
+package com.hrsystem.service;
+
+import com.hrsystem.cache.CacheInvalidationBus;
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.cache.RoleDirectoryCache;
+import com.hrsystem.cache.TenantReferenceData;
+import com.hrsystem.domain.model.enums.TenantPlan;
+import com.hrsystem.domain.repository.UserBatchRepository;
+import com.hrsystem.domain.repository.UserBatchRepository.NewUser;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * ユーザーの CSV 一括取り込み。
+ *
+ * <p>処理の流れ:</p>
+ * <ol>
+ *   <li>CSV を1レコードずつ読みながら検証する（部署・役職名は参照データキャッシュから作ったマップで解決）</li>
+ *   <li>ファイル内の重複と登録済みのメールアドレスを (tenant_id, email) の一意インデックスで一括確認する</li>
+ *   <li>パスワードを専用スレッドプールで並列にハッシュ化する（BCrypt は1件数十ミリ秒かかるため）</li>
+ *   <li>短いトランザクションで上限数を予約し、JDBC バッチで登録する</li>
+ * </ol>
+ *
+ * <p>不正な行はエラーとして報告し、残りの行は取り込む。プランのユーザー数上限を超える場合のみ全体を取り込まない。</p>
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    static final String COL_NAME = "氏名";
+    static final String COL_NAME_KANA = "フリガナ";
+    static final String COL_EMAIL = "メールアドレス";
+    static final String COL_PASSWORD = "パスワード";
+    static final String COL_DEPARTMENT = "部署";
+    static final String COL_POSITION = "役職";
+    static final String COL_CAN_EVALUATE = "評価者";
+
+    private static final List<String> REQUIRED_COLUMNS = List.of(COL_NAME, COL_EMAIL, COL_PASSWORD);
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Set<String> TRUE_VALUES = Set.of("1", "true", "yes", "○", "はい");
+    private static final Set<String> FALSE_VALUES = Set.of("", "0", "false", "no", "×", "いいえ");
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final UserBatchRepository userBatchRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ActiveUserQuota activeUserQuota;
+    private final CacheInvalidationBus invalidationBus;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService hashExecutor;
+    private final int maxRows;
+
+    public UserImportService(
+            UserBatchRepository userBatchRepository,
+            ReferenceDataCache referenceDataCache,
+            ActiveUserQuota activeUserQuota,
+            CacheInvalidationBus invalidationBus,
+            PasswordEncoder passwordEncoder,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.user-import.hash-threads:0}") int hashThreads,
+            @Value("${app.user-import.max-rows:10000}") int maxRows) {
+        this.userBatchRepository = userBatchRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.activeUserQuota = activeUserQuota;
+        this.invalidationBus = invalidationBus;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxRows = maxRows;
+
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.hashExecutor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "user-import-hash-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    public record RowError(int line, String email, String message) {}
+
+    public record ImportReport(
+            int totalRows,
+            int imported,
+            int errorCount,
+            List<RowError> errors,
+            boolean dryRun
+    ) {}
+
+    /** 検証済みの行（パスワードはハッシュ化まで平文で保持する）。 */
+    record ValidRow(int line, String name, String nameKana, String email, String password,
+                    Long departmentId, Long positionId, boolean canEvaluate) {}
+
+    // ===== 取り込み =====
+
+    public ImportReport importCsv(Long tenantId, InputStream in, boolean dryRun) throws IOException {
+        TenantReferenceData ref = referenceDataCache.get(tenantId);
+        Map<String, Long> departments = new HashMap<>();
+        ref.departments().values().stream()
+                .filter(TenantReferenceData.DepartmentRef::active)
+                .forEach(d -> departments.put(d.name(), d.id()));
+        Map<String, Long> positions = new HashMap<>();
+        ref.positions().values().forEach(p -> positions.put(p.name(), p.id()));
+
+        Errors errors = new Errors();
+        List<ValidRow> rows = new ArrayList<>();
+        int total = parse(in, departments, positions, rows, errors);
+
+        // 登録済みのメールアドレスを一括確認
+        if (!rows.isEmpty()) {
+            Set<String> existing = userBatchRepository.findExistingEmails(tenantId,
+                    rows.stream().map(ValidRow::email).toList());
+            if (!existing.isEmpty()) {
+                rows.removeIf(r -> {
+                    if (existing.contains(r.email())) {
+                        errors.add(r.line(), r.email(), "このメールアドレスは既に登録されています");
+                        return true;
+                    }
+                    return false;
+                });
+            }
+        }
+
+        TenantPlan plan = ref.tenant().plan();
+        ActiveUserQuota.Usage usage = activeUserQuota.usage(tenantId, plan);
+        if ((long) usage.activeUsers() + rows.size() > plan.getMaxUsers()) {
+            throw new IllegalStateException("ご契約プラン(" + plan + ")のユーザー数上限(" + plan.getMaxUsers()
+                    + "名)を超えるため取り込めません（現在 " + usage.activeUsers() + "名、取り込み " + rows.size() + "名）");
+        }
+        if (dryRun || rows.isEmpty()) {
+            return errors.report(total, dryRun ? rows.size() : 0, dryRun);
+        }
+
+        List<NewUser> users = hashPasswords(tenantId, rows);
+
+        int imported = transactionTemplate.execute(status -> {
+            activeUserQuota.reserve(tenantId, plan, users.size());
+            boolean[] inserted = userBatchRepository.insertAll(users);
+            int count = 0;
+            for (int i = 0; i < inserted.length; i++) {
+                if (inserted[i]) {
+                    count++;
+                } else {
+                    errors.add(rows.get(i).line(), rows.get(i).email(), "このメールアドレスは既に登録されています");
+                }
+            }
+            // 競合で登録しなかった分の予約を戻す
+            activeUserQuota.released(tenantId, users.size() - count);
+            invalidationBus.invalidate(RoleDirectoryCache.NAME, tenantId);
+            return count;
+        });
+
+        log.info("テナント {} にユーザーを {} 件取り込みました（エラー {} 件）", tenantId, imported, errors.count);
+        return errors.report(total, imported, false);
+    }
+
+    // ===== Private Helpers =====
+
+    private int parse(InputStream in, Map<String, Long> departments, Map<String, Long> positions,
+                      List<ValidRow> rows, Errors errors) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalStateException("CSV が空です");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalStateException("必須の列がありません: " + required);
+            }
+        }
+
+        Set<String> seenEmails = new HashSet<>();
+        int total = 0;
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            if (++total > maxRows) {
+                throw new IllegalStateException("1回に取り込めるのは " + maxRows + " 行までです");
+            }
+            ValidRow row = validate(reader.recordLine(), record, columns, departments, positions, seenEmails, errors);
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+        return total;
+    }
+
+    ValidRow validate(int line, List<String> record, Map<String, Integer> columns,
+                      Map<String, Long> departments, Map<String, Long> positions,
+                      Set<String> seenEmails, Errors errors) {
+        String name = field(record, columns, COL_NAME);
+        String nameKana = field(record, columns, COL_NAME_KANA);
+        String email = field(record, columns, COL_EMAIL);
+        String password = field(record, columns, COL_PASSWORD);
+        String departmentName = field(record, columns, COL_DEPARTMENT);
+        String positionName = field(record, columns, COL_POSITION);
+        String canEvaluate = field(record, columns, COL_CAN_EVALUATE).toLowerCase(Locale.ROOT);
+
+        String error = null;
+        if (name.isEmpty() || name.length() > 100) {
+            error = "氏名は1〜100文字で入力してください";
+        } else if (nameKana.length() > 100) {
+            error = "フリガナは100文字以内で入力してください";
+        } else if (email.length() > 255 || !EMAIL.matcher(email).matches()) {
+            error = "メールアドレスの形式が正しくありません";
+        } else if (password.length() < 8 || password.getBytes(StandardCharsets.UTF_8).length > 72) {
+            // BCrypt は72バイトを超える部分を無視するため上限を設ける
+            error = "パスワードは8文字以上・72バイト以内で入力してください";
+        } else if (!departmentName.isEmpty() && !departments.containsKey(departmentName)) {
+            error = "部署が見つかりません: " + departmentName;
+        } else if (!positionName.isEmpty() && !positions.containsKey(positionName)) {
+            error = "役職が見つかりません: " + positionName;
+        } else if (!TRUE_VALUES.contains(canEvaluate) && !FALSE_VALUES.contains(canEvaluate)) {
+            error = "評価者の値が正しくありません: " + canEvaluate;
+        } else if (!seenEmails.add(email)) {
+            error = "ファイル内でメールアドレスが重複しています";
+        }
+        if (error != null) {
+            errors.add(line, email, error);
+            return null;
+        }
+        return new ValidRow(line, name, nameKana.isEmpty() ? null : nameKana, email, password,
+                departments.get(departmentName), positions.get(positionName), TRUE_VALUES.contains(canEvaluate));
+    }
+
+    private List<NewUser> hashPasswords(Long tenantId, List<ValidRow> rows) {
+        List<CompletableFuture<String>> hashes = rows.stream()
+                .map(r -> CompletableFuture.supplyAsync(() -> passwordEncoder.encode(r.password()), hashExecutor))
+                .toList();
+        List<NewUser> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ValidRow r = rows.get(i);
+            users.add(new NewUser(tenantId, r.departmentId(), r.positionId(), r.name(), r.nameKana(),
+                    r.email(), hashes.get(i).join(), r.canEvaluate()));
+        }
+        return users;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index != null && index < record.size() ? record.get(index).trim() : "";
+    }
+
+    /** エラーの集計（報告する件数には上限を設ける）。 */
+    static final class Errors {
+        private final List<RowError> reported = new ArrayList<>();
+        private int count;
+
+        void add(int line, String email, String message) {
+            count++;
+            if (reported.size() < MAX_REPORTED_ERRORS) {
+                reported.add(new RowError(line, email, message));
+            }
+        }
+
+        ImportReport report(int total, int imported, boolean dryRun) {
+            List<RowError> sorted = new ArrayList<>(reported);
+            sorted.sort(Comparator.comparingInt(RowError::line));
+            return new ImportReport(total, imported, count, sorted, dryRun);
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package com.hrsystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.cache.RoleDirectoryCache;
+import com.hrsystem.cache.TenantReferenceData;
+import com.hrsystem.cache.TenantScopedCache;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.repository.NotificationBatchRepository;
+import com.hrsystem.domain.repository.NotificationBatchRepository.NewNotification;
+import com.hrsystem.domain.repository.TenantRepository;
+import com.hrsystem.domain.repository.WorkloadAlertRepository;
+import com.hrsystem.domain.repository.WorkloadAlertRepository.AlertKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 評価者・部署ごとの処理待ち件数と最古の滞留時間の監視。
+ *
+ * <p>処理待ちの評価をテナントごとにメモリに持ち、ワークフローの遷移をコミット後に反映する。
+ * 各待ち行列は（滞留開始日時, 評価ID）順の TreeSet のため、件数と最古の項目は参照のたびに数え直さない。
+ * 滞留開始日時は現在のステータスに遷移した日時とし、下書きの保存などステータスを変えない更新では変わらない。
+ * 読み込み時は評価履歴（evaluation_events）の最後の遷移日時、履歴が無い評価はステータスごとの記録日時
+ * （evaluated_at など）を使う。どちらも無い履歴導入前の自己評価提出済みに限り updated_at で代用する。</p>
+ *
+ * <ul>
+ *   <li>評価者評価待ち（SELF_SUBMITTED）: 評価者ごと（未割り当ては 0）</li>
+ *   <li>管理者確認待ち（EVALUATOR_SUBMITTED）: 部署ごと</li>
+ *   <li>役員評価待ち（MANAGER_APPROVED）・最終確定待ち（DIRECTOR_EVALUATED）: テナントで1つ</li>
+ * </ul>
+ *
+ * <p>閾値超過の通知済みの記録は DB（{@link WorkloadAlertRepository}）に持ち、リーダーのノードが替わっても再通知しない。</p>
+ *
+ * <p>評価者の割り当て・再割り当ては遷移を伴わないため、{@link com.hrsystem.cache.CacheInvalidationBus} 経由で無効化して読み直す。
+ * 他ノードでの遷移は一定時間ごとの読み直しで反映される。</p>
+ */
+@Slf4j
+@Component
+public class WorkloadMonitor implements TenantScopedCache {
+
+    public static final String NAME = "evaluation-workload";
+
+    private static final String SELECT_SQL = """
+            SELECT e.id, e.status, e.evaluator_id, e.department_id, ev.name AS evaluator_name,
+                   COALESCE(moved.occurred_at,
+                            CASE e.status
+                                WHEN 'EVALUATOR_SUBMITTED' THEN e.evaluated_at
+                                WHEN 'MANAGER_APPROVED' THEN e.manager_approved_at
+                                WHEN 'DIRECTOR_EVALUATED' THEN e.director_evaluated_at
+                            END,
+                            e.updated_at) AS waiting_since
+            FROM evaluations e
+            LEFT JOIN users ev ON ev.id = e.evaluator_id
+            LEFT JOIN LATERAL (
+                SELECT MAX(x.occurred_at) AS occurred_at
+                FROM evaluation_events x
+                WHERE x.tenant_id = e.tenant_id AND x.evaluation_id = e.id
+                  AND x.to_status = e.status AND x.from_status <> x.to_status
+            ) moved ON TRUE
+            WHERE e.tenant_id = ?
+              AND e.status IN ('SELF_SUBMITTED', 'EVALUATOR_SUBMITTED', 'MANAGER_APPROVED', 'DIRECTOR_EVALUATED')
+            """;
+
+    private static final String USER_NAMES_SQL = "SELECT id, name FROM users WHERE tenant_id = ? AND id = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantRepository tenantRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final RoleDirectoryCache roleDirectoryCache;
+    private final NotificationBatchRepository notificationBatchRepository;
+    private final SchedulerLeader schedulerLeader;
+    private final WorkloadAlertRepository workloadAlertRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<Long, TenantWorkload> workloads;
+    private final int maxQueueDepth;
+    private final Duration maxAge;
+    private final boolean alertsEnabled;
+
+    public WorkloadMonitor(
+            JdbcTemplate jdbcTemplate,
+            TenantRepository tenantRepository,
+            ReferenceDataCache referenceDataCache,
+            RoleDirectoryCache roleDirectoryCache,
+            NotificationBatchRepository notificationBatchRepository,
+            SchedulerLeader schedulerLeader,
+            WorkloadAlertRepository workloadAlertRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.workload.max-tenants:1000}") long maxTenants,
+            @Value("${app.workload.ttl:10m}") Duration ttl,
+            @Value("${app.workload.max-queue-depth:30}") int maxQueueDepth,
+            @Value("${app.workload.max-age:14d}") Duration maxAge,
+            @Value("${app.workload.alerts-enabled:true}") boolean alertsEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tenantRepository = tenantRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.roleDirectoryCache = roleDirectoryCache;
+        this.notificationBatchRepository = notificationBatchRepository;
+        this.schedulerLeader = schedulerLeader;
+        this.workloadAlertRepository = workloadAlertRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workloads = Caffeine.newBuilder()
+                .maximumSize(maxTenants)
+                .expireAfterWrite(ttl)
+                .build();
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxAge = maxAge;
+        this.alertsEnabled = alertsEnabled;
+    }
+
+    public enum QueueType {
+        EVALUATOR("評価者評価待ち"),
+        MANAGER("管理者確認待ち"),
+        DIRECTOR("役員評価待ち"),
+        FINALIZE("最終確定待ち");
+
+        private final String label;
+
+        QueueType(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * 待ち行列1つ分。ownerId は評価者ID（EVALUATOR）・部署ID（MANAGER）、それ以外は 0。
+     * ratioToMedian は同じ種類の待ち行列の件数の中央値に対する倍率。
+     */
+    public record QueueStats(QueueType type, long ownerId, String label, int depth,
+                             LocalDateTime oldestSince, long oldestAgeHours,
+                             double ratioToMedian, boolean alert) {}
+
+    /** 部署ごとの処理待ち（種類を問わない合計）。 */
+    public record DepartmentStats(long departmentId, String label, int depth,
+                                  LocalDateTime oldestSince, long oldestAgeHours) {}
+
+    public record WorkloadView(int maxQueueDepth, long maxAgeHours, int totalPending,
+                               List<QueueStats> bottlenecks, List<DepartmentStats> departments,
+                               List<QueueStats> alerts) {}
+
+    record QueueKey(QueueType type, long ownerId) {}
+
+    private record Item(LocalDateTime since, long evaluationId) implements Comparable<Item> {
+        @Override
+        public int compareTo(Item o) {
+            int c = since.compareTo(o.since);
+            return c != 0 ? c : Long.compare(evaluationId, o.evaluationId);
+        }
+    }
+
+    private record Placement(QueueKey key, long departmentId, Item item) {}
+
+    // ===== 参照 =====
+
+    /** 件数の多い順（同数なら滞留の長い順）に並べた待ち行列と、部署ごとの合計・閾値超過。 */
+    public WorkloadView view(Long tenantId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        TenantWorkload w = workloads.get(tenantId, this::load);
+        List<QueueStats> queues = stats(tenantId, w, now);
+        List<QueueStats> alerts = queues.stream().filter(QueueStats::alert).toList();
+
+        TenantReferenceData ref = referenceDataCache.get(tenantId);
+        List<DepartmentStats> departments = w.departmentSnapshot().stream()
+                .map(d -> new DepartmentStats(d.ownerId(), departmentLabel(ref, d.ownerId()), d.depth(),
+                        d.oldest(), ageHours(d.oldest(), now)))
+                .sorted(Comparator.comparingInt(DepartmentStats::depth).reversed()
+                        .thenComparing(DepartmentStats::oldestSince))
+                .toList();
+
+        return new WorkloadView(maxQueueDepth, maxAge.toHours(), w.size(),
+                queues.subList(0, Math.min(limit, queues.size())), departments, alerts);
+    }
+
+    // ===== 差分反映 =====
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransition(EvaluationTransitionEvent event) {
+        TenantWorkload w = workloads.getIfPresent(event.tenantId());
+        if (w == null || event.from() == event.to()) {
+            return;
+        }
+        w.move(event.evaluationId(), queueKey(event.to(), event.evaluatorId(), event.departmentId()),
+                event.departmentId() != null ? event.departmentId() : 0,
+                event.occurredAt() != null ? event.occurredAt() : LocalDateTime.now());
+    }
+
+    // ===== 閾値の監視 =====
+
+    /**
+     * 閾値（件数・最古の滞留時間）を超えた待ち行列を役員・管理者に通知する。
+     * 同じ待ち行列は閾値を下回るまで再通知しない。複数ノード構成では {@link SchedulerLeader} のリーダーだけが確認し、
+     * 通知済みの記録は DB に持つためリーダーが替わっても引き継がれる。
+     */
+    @Scheduled(fixedDelayString = "${app.workload.check-interval-ms:900000}", initialDelay = 120_000)
+    public void checkThresholds() {
+        if (!alertsEnabled || !schedulerLeader.isLeader()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Long tenantId : tenantRepository.findActiveIds()) {
+            try {
+                checkTenant(tenantId, now);
+            } catch (RuntimeException e) {
+                log.warn("テナント {} の処理待ち件数の確認に失敗しました", tenantId, e);
+            }
+        }
+    }
+
+    private void checkTenant(Long tenantId, LocalDateTime now) {
+        TenantWorkload w = workloads.get(tenantId, this::load);
+        List<QueueStats> alerts = stats(tenantId, w, now).stream().filter(QueueStats::alert).toList();
+
+        Map<AlertKey, QueueStats> current = new LinkedHashMap<>();
+        alerts.forEach(q -> current.put(new AlertKey(q.type().name(), q.ownerId()), q));
+
+        List<QueueStats> fresh = transactionTemplate.execute(status -> {
+            // 閾値を下回った待ち行列の記録を消し（再び超えたら通知する）、初めて超えた待ち行列だけを通知する
+            workloadAlertRepository.clearExcept(tenantId, current.keySet());
+            Set<AlertKey> claimed = workloadAlertRepository.claim(tenantId, current.keySet());
+            List<QueueStats> claimedQueues = current.entrySet().stream()
+                    .filter(e -> claimed.contains(e.getKey()))
+                    .map(Map.Entry::getValue)
+                    .toList();
+            if (!claimedQueues.isEmpty()) {
+                notificationBatchRepository.insertAll(notifications(tenantId, claimedQueues));
+            }
+            return claimedQueues;
+        });
+        if (fresh.isEmpty()) {
+            return;
+        }
+        log.info("テナント {} の滞留 {} 件を通知しました", tenantId, fresh.size());
+    }
+
+    private List<NewNotification> notifications(Long tenantId, List<QueueStats> queues) {
+        List<Long> recipients = roleDirectoryCache.get(tenantId).directorsAndAdmins();
+        List<NewNotification> notifications = new ArrayList<>();
+        for (QueueStats q : queues) {
+            String message = (q.label() != null ? q.label() + "の" : "") + q.type().getLabel() + "が "
+                    + q.depth() + "件、最古 " + (q.oldestAgeHours() / 24) + "日滞留しています。";
+            for (Long userId : recipients) {
+                notifications.add(new NewNotification(tenantId, userId, "workload_alert",
+                        "処理待ちが滞留しています", message, "/admin/workload"));
+            }
+        }
+        return notifications;
+    }
+
+    // ===== TenantScopedCache =====
+
+    @Override
+    public String cacheName() {
+        return NAME;
+    }
+
+    @Override
+    public void invalidateTenant(Long tenantId) {
+        workloads.invalidate(tenantId);
+    }
+
+    @Override
+    public void invalidateAll() {
+        workloads.invalidateAll();
+    }
+
+    // ===== Private Helpers =====
+
+    private TenantWorkload load(Long tenantId) {
+        TenantWorkload w = new TenantWorkload();
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            long evaluatorId = rs.getLong("evaluator_id");
+            long departmentId = rs.getLong("department_id");
+            if (evaluatorId != 0) {
+                w.putName(evaluatorId, rs.getString("evaluator_name"));
+            }
+            w.move(rs.getLong("id"),
+                    queueKey(EvaluationStatus.valueOf(rs.getString("status")), evaluatorId, departmentId),
+                    departmentId, rs.getTimestamp("waiting_since").toLocalDateTime());
+        }, tenantId);
+        return w;
+    }
+
+    private List<QueueStats> stats(Long tenantId, TenantWorkload w, LocalDateTime now) {
+        List<TenantWorkload.QueueSnapshot> snapshot = w.queueSnapshot();
+        resolveMissingNames(tenantId, w, snapshot);
+        TenantReferenceData ref = referenceDataCache.get(tenantId);
+
+        Map<QueueType, Double> medians = new EnumMap<>(QueueType.class);
+        for (QueueType type : QueueType.values()) {
+            int[] depths = snapshot.stream().filter(q -> q.key().type() == type)
+                    .mapToInt(TenantWorkload.QueueSnapshot::depth).sorted().toArray();
+            if (depths.length > 0) {
+                int mid = depths.length / 2;
+                medians.put(type, depths.length % 2 == 1 ? depths[mid] : (depths[mid - 1] + depths[mid]) / 2.0);
+            }
+        }
+
+        return snapshot.stream()
+                .map(q -> {
+                    long age = ageHours(q.oldest(), now);
+                    double median = medians.getOrDefault(q.key().type(), 0.0);
+                    boolean alert = q.depth() >= maxQueueDepth || age >= maxAge.toHours();
+                    return new QueueStats(q.key().type(), q.key().ownerId(), queueLabel(ref, w, q.key()),
+                            q.depth(), q.oldest(), age,
+                            median > 0 ? Math.round(q.depth() / median * 10) / 10.0 : 0, alert);
+                })
+                .sorted(Comparator.comparingInt(QueueStats::depth).reversed()
+                        .thenComparing(QueueStats::oldestSince))
+                .toList();
+    }
+
+    /** 読み込み後に割り当てられた評価者の名前を補う。 */
+    private void resolveMissingNames(Long tenantId, TenantWorkload w, List<TenantWorkload.QueueSnapshot> snapshot) {
+        Long[] missing = snapshot.stream()
+                .map(TenantWorkload.QueueSnapshot::key)
+                .filter(k -> k.type() == QueueType.EVALUATOR && k.ownerId() != 0 && w.name(k.ownerId()) == null)
+                .map(QueueKey::ownerId)
+                .toArray(Long[]::new);
+        if (missing.length == 0) {
+            return;
+        }
+        jdbcTemplate.query(USER_NAMES_SQL,
+                ps -> {
+                    ps.setLong(1, tenantId);
+                    ps.setArray(2, ps.getConnection().createArrayOf("bigint", missing));
+                },
+                rs -> {
+                    w.putName(rs.getLong("id"), rs.getString("name"));
+                });
+    }
+
+    static QueueKey queueKey(EvaluationStatus status, Long evaluatorId, Long departmentId) {
+        return switch (status) {
+            case SELF_SUBMITTED -> new QueueKey(QueueType.EVALUATOR, evaluatorId != null ? evaluatorId : 0);
+            case EVALUATOR_SUBMITTED -> new QueueKey(QueueType.MANAGER, departmentId != null ? departmentId : 0);
+            case MANAGER_APPROVED -> new QueueKey(QueueType.DIRECTOR, 0);
+            case DIRECTOR_EVALUATED -> new QueueKey(QueueType.FINALIZE, 0);
+            case NOT_STARTED, FINALIZED -> null;
+        };
+    }
+
+    private static String queueLabel(TenantReferenceData ref, TenantWorkload w, QueueKey key) {
+        return switch (key.type()) {
+            case EVALUATOR -> key.ownerId() == 0 ? "評価者未割り当て" : w.name(key.ownerId());
+            case MANAGER -> departmentLabel(ref, key.ownerId());
+            case DIRECTOR, FINALIZE -> null;
+        };
+    }
+
+    private static String departmentLabel(TenantReferenceData ref, long departmentId) {
+        return departmentId == 0 ? "部署なし" : Optional.ofNullable(ref.departments().get(departmentId))
+                .map(TenantReferenceData.DepartmentRef::name).orElse(null);
+    }
+
+    private static long ageHours(LocalDateTime since, LocalDateTime now) {
+        return since != null ? Math.max(0, Duration.between(since, now).toHours()) : 0;
+    }
+
+    /** 1テナント分の待ち行列。更新・参照はこのインスタンスで同期する。 */
+    static final class TenantWorkload {
+
+        record QueueSnapshot(QueueKey key, int depth, LocalDateTime oldest) {}
+
+        record DepartmentSnapshot(long ownerId, int depth, LocalDateTime oldest) {}
+
+        private final Map<Long, Placement> byEvaluation = new HashMap<>();
+        private final Map<QueueKey, TreeSet<Item>> queues = new HashMap<>();
+        private final Map<Long, TreeSet<Item>> departments = new HashMap<>();
+        private final Map<Long, String> names = new HashMap<>();
+
+        /** 評価を待ち行列 key へ移す（key が null なら処理待ちから外す）。 */
+        synchronized void move(long evaluationId, QueueKey key, long departmentId, LocalDateTime since) {
+            Placement old = byEvaluation.remove(evaluationId);
+            if (old != null) {
+                remove(queues, old.key(), old.item());
+                remove(departments, old.departmentId(), old.item());
+            }
+            if (key == null) {
+                return;
+            }
+            Item item = new Item(since, evaluationId);
+            byEvaluation.put(evaluationId, new Placement(key, departmentId, item));
+            queues.computeIfAbsent(key, k -> new TreeSet<>()).add(item);
+            departments.computeIfAbsent(departmentId, k -> new TreeSet<>()).add(item);
+        }
+
+        synchronized int size() {
+            return byEvaluation.size();
+        }
+
+        synchronized List<QueueSnapshot> queueSnapshot() {
+            List<QueueSnapshot> list = new ArrayList<>(queues.size());
+            queues.forEach((key, items) -> list.add(new QueueSnapshot(key, items.size(), items.first().since())));
+            return list;
+        }
+
+        synchronized List<DepartmentSnapshot> departmentSnapshot() {
+            List<DepartmentSnapshot> list = new ArrayList<>(departments.size());
+            departments.forEach((id, items) -> list.add(new DepartmentSnapshot(id, items.size(), items.first().since())));
+            return list;
+        }
+
+        synchronized String name(long userId) {
+            return names.get(userId);
+        }
+
+        synchronized void putName(long userId, String name) {
+            names.put(userId, name);
+        }
+
+        private static <K> void remove(Map<K, TreeSet<Item>> map, K key, Item item) {
+            TreeSet<Item> items = map.get(key);
+            if (items != null && items.remove(item) && items.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+-- V10__fiscal_year_rollover.sql
+-- 年度切り替えの進捗
+--
+-- 年度切り替えはユーザーID範囲ごとに別トランザクションでコミットする。途中で失敗・中断しても
+-- 再実行で続きから再開できるよう、範囲ごとの処理済みユーザーID（カーソル）をその範囲の INSERT と
+-- 同じトランザクションで進める。is_current の切り替えは全範囲の処理後に行い、completed_at を記録する。
+-- アプリ側の対応は FiscalYearRolloverService。
+
+-- ============================================================
+-- 年度切り替えの進捗
+-- ============================================================
+CREATE TABLE fiscal_year_rollovers (
+    id                  BIGSERIAL PRIMARY KEY,
+    tenant_id           BIGINT NOT NULL REFERENCES tenants(id) ON DELETE CASCADE,
+    from_fiscal_year_id BIGINT NOT NULL REFERENCES fiscal_years(id) ON DELETE CASCADE,
+    to_fiscal_year_id   BIGINT NOT NULL REFERENCES fiscal_years(id) ON DELETE CASCADE,
+    period              evaluation_period NOT NULL,
+    copy_goals          BOOLEAN NOT NULL,
+    goals_cursor        BIGINT NOT NULL DEFAULT 0,    -- 目標をコピー済みのユーザーIDの上限
+    evaluations_cursor  BIGINT NOT NULL DEFAULT 0,    -- 評価レコードを作成済みのユーザーIDの上限
+    started_at          TIMESTAMP NOT NULL DEFAULT NOW(),
+    completed_at        TIMESTAMP
+);
+
+-- 未完了の切り替えはテナントあたり1件
+CREATE UNIQUE INDEX uq_fiscal_year_rollovers_running
+    ON fiscal_year_rollovers(tenant_id) WHERE completed_at IS NULL;
@@ -0,0 +1,12 @@
+-- V11__tenant_active_users.sql
+-- テナントの有効ユーザー数カウンタ
+--
+-- プラン上限の確認は ActiveUserQuota が条件付き UPDATE（active_users + n <= 上限 の場合だけ加算）で行う。
+-- 行ロックで同じテナントの予約が全ノードで直列化され、ロールバックすれば加算も取り消される。
+-- カウンタは定期的に users の件数と突き合わせる。
+
+ALTER TABLE tenants
+    ADD COLUMN active_users INT NOT NULL DEFAULT 0;
+
+UPDATE tenants t
+SET active_users = (SELECT COUNT(*) FROM users u WHERE u.tenant_id = t.id AND u.is_active = TRUE);
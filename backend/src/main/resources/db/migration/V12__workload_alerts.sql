@@ -0,0 +1,18 @@
+-- V12__workload_alerts.sql
+-- 処理待ちの滞留通知の記録
+--
+-- 閾値を超えた待ち行列（種類と評価者ID・部署ID）ごとに1行。INSERT ... ON CONFLICT DO NOTHING RETURNING で
+-- 初めて超えた待ち行列を確定して通知し、閾値を下回ったら行を消す（再び超えたら通知する）。
+-- DB に持つため、閾値を確認するリーダーのノードが替わっても同じ滞留を再通知しない。
+-- アプリ側の対応は WorkloadMonitor / WorkloadAlertRepository。
+
+-- ============================================================
+-- 通知済みの待ち行列
+-- ============================================================
+CREATE TABLE workload_alerts (
+    tenant_id       BIGINT NOT NULL REFERENCES tenants(id) ON DELETE CASCADE,
+    queue_type      VARCHAR(20) NOT NULL,     -- EVALUATOR / MANAGER / DIRECTOR / FINALIZE
+    owner_id        BIGINT NOT NULL,          -- 評価者ID（EVALUATOR）・部署ID（MANAGER）、それ以外は 0
+    alerted_at      TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (tenant_id, queue_type, owner_id)
+);
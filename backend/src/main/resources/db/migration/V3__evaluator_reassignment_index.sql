@@ -0,0 +1,6 @@
+-- V3__evaluator_reassignment_index.sql
+-- 評価者の再割り当て対象（未着手・自己評価提出済）をテナント単位で引くためのインデックス
+
+CREATE INDEX idx_evaluations_tenant_status_evaluator
+    ON evaluations(tenant_id, status, evaluator_id)
+    WHERE status IN ('NOT_STARTED', 'SELF_SUBMITTED');
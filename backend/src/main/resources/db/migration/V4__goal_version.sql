@@ -0,0 +1,6 @@
+-- V4__goal_version.sql
+-- 目標の差分保存に伴う楽観ロック用バージョン列
+
+ALTER TABLE goals ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_goals_tenant_user_year ON goals(tenant_id, user_id, fiscal_year_id, sort_order);
@@ -0,0 +1,120 @@
+-- V5__partition_evaluations.sql
+-- 評価テーブルをテナント単位でパーティション分割する
+--
+-- 構成:
+--   evaluations                 … tenant_id の LIST パーティション親
+--     evaluations_t{tenant_id}  … 大規模テナント専用パーティション（isolate_evaluation_tenant で作成）
+--     evaluations_shared        … その他のテナント（DEFAULT）。tenant_id の HASH で16分割
+--
+-- 大規模テナントの行は専用パーティションに分離されるため、小規模テナントの検索・VACUUM に影響しない。
+-- 主キー・一意制約はパーティションキー（tenant_id）を含む必要があるため (tenant_id, id) とする。
+-- id は従来どおりシーケンスで全体一意に採番する。
+-- 既存データは同一トランザクション内で新テーブルへコピーしてから入れ替える（移行中は評価テーブルへの書き込み不可）。
+
+-- ============================================================
+-- 新テーブル
+-- ============================================================
+ALTER SEQUENCE evaluations_id_seq OWNED BY NONE;
+
+CREATE TABLE evaluations_new (
+    id                      BIGINT NOT NULL DEFAULT nextval('evaluations_id_seq'),
+    tenant_id               BIGINT NOT NULL REFERENCES tenants(id) ON DELETE CASCADE,
+    user_id                 BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    fiscal_year_id          BIGINT NOT NULL REFERENCES fiscal_years(id) ON DELETE CASCADE,
+    period                  evaluation_period NOT NULL,
+    department_id           BIGINT REFERENCES departments(id) ON DELETE SET NULL,
+    position_id             BIGINT REFERENCES positions(id) ON DELETE SET NULL,
+    status                  evaluation_status NOT NULL DEFAULT 'NOT_STARTED',
+
+    -- 評価者
+    evaluator_id            BIGINT REFERENCES users(id) ON DELETE SET NULL,
+    evaluator_grade         VARCHAR(10),
+    evaluator_comment       TEXT,
+    evaluated_at            TIMESTAMP,
+
+    -- 管理者（施設長相当）
+    manager_id              BIGINT REFERENCES users(id) ON DELETE SET NULL,
+    manager_grade           VARCHAR(10),
+    manager_comment         TEXT,
+    manager_approved_at     TIMESTAMP,
+
+    -- 役員（理事長相当）
+    director_id             BIGINT REFERENCES users(id) ON DELETE SET NULL,
+    director_grade          VARCHAR(10),
+    director_comment        TEXT,
+    director_evaluated_at   TIMESTAMP,
+
+    finalized_at            TIMESTAMP,
+    created_at              TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at              TIMESTAMP NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT pk_evaluations PRIMARY KEY (tenant_id, id),
+    CONSTRAINT uq_evaluations_user_period UNIQUE (tenant_id, user_id, fiscal_year_id, period)
+) PARTITION BY LIST (tenant_id);
+
+CREATE TABLE evaluations_shared PARTITION OF evaluations_new DEFAULT
+    PARTITION BY HASH (tenant_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE evaluations_shared_p%s PARTITION OF evaluations_shared ' ||
+            'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', lpad(i::text, 2, '0'), i);
+    END LOOP;
+END $$;
+
+-- ============================================================
+-- 既存データの移行と入れ替え
+-- ============================================================
+INSERT INTO evaluations_new SELECT * FROM evaluations;
+
+DROP TABLE evaluations;
+ALTER TABLE evaluations_new RENAME TO evaluations;
+ALTER SEQUENCE evaluations_id_seq OWNED BY evaluations.id;
+
+-- ============================================================
+-- インデックス（すべて tenant_id 先頭。リポジトリの検索条件に合わせる）
+-- 自分の評価一覧 (tenant_id, user_id, fiscal_year_id) は uq_evaluations_user_period で賄う
+-- ============================================================
+-- 評価者の評価待ち一覧・件数、評価者ごとの割り当て件数
+CREATE INDEX idx_evaluations_tenant_evaluator_status ON evaluations(tenant_id, evaluator_id, status);
+-- 部署ごとの管理者確認待ち
+CREATE INDEX idx_evaluations_tenant_department_status ON evaluations(tenant_id, department_id, status);
+-- 役員評価待ち・最終確定待ち
+CREATE INDEX idx_evaluations_tenant_status ON evaluations(tenant_id, status);
+-- 評価者の自動割り当て（未割り当ての抽出）
+CREATE INDEX idx_evaluations_tenant_unassigned ON evaluations(tenant_id, fiscal_year_id, period)
+    WHERE evaluator_id IS NULL;
+-- 評価者の再割り当て（V3 の部分インデックスを再作成）
+CREATE INDEX idx_evaluations_tenant_status_evaluator
+    ON evaluations(tenant_id, status, evaluator_id)
+    WHERE status IN ('NOT_STARTED', 'SELF_SUBMITTED');
+
+-- ============================================================
+-- 大規模テナントの専用パーティションへの分離
+-- 共有パーティションから該当テナントの行を移し、専用パーティションとして接続する。
+-- 冪等（作成済みなら何もしない）。運用中に実行する場合は評価テーブルが短時間ロックされる。
+-- ============================================================
+CREATE OR REPLACE FUNCTION isolate_evaluation_tenant(p_tenant_id BIGINT) RETURNS BOOLEAN AS $$
+DECLARE
+    part TEXT := 'evaluations_t' || p_tenant_id;
+BEGIN
+    IF to_regclass(part) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE evaluations INCLUDING DEFAULTS)', part);
+    -- 接続時の全件検証を省くため先に CHECK 制約を付ける
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I CHECK (tenant_id = %s)',
+                   part, part || '_tenant_check', p_tenant_id);
+    EXECUTE format('WITH moved AS (DELETE FROM evaluations_shared WHERE tenant_id = %s RETURNING *) ' ||
+                   'INSERT INTO %I SELECT * FROM moved', p_tenant_id, part);
+    EXECUTE format('ALTER TABLE evaluations ATTACH PARTITION %I FOR VALUES IN (%s)', part, p_tenant_id);
+    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', part, part || '_tenant_check');
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 既存の ENTERPRISE テナントは専用パーティションに分離する
+SELECT isolate_evaluation_tenant(id) FROM tenants WHERE plan = 'ENTERPRISE';
@@ -0,0 +1,68 @@
+-- V6__grade_codes.sql
+-- 評価（SS〜D）を文字列から SMALLINT のコードに変更する
+--
+-- コード: D=1, C=2, B=3, A=4, A+=5, S=6, SS=7（大きいほど上位。「A 以上」は >= 4 で比較できる）
+-- アプリ側の対応は Grade / GradeConverter。
+-- 変換できない値（自由入力時代の "B+" など）は evaluation_grade_migration_issues に退避して NULL にする。
+
+-- ============================================================
+-- 変換関数（移行後に削除）
+-- ============================================================
+CREATE FUNCTION migrate_grade_code(v TEXT) RETURNS SMALLINT AS $$
+    SELECT CASE upper(btrim(v))
+        WHEN 'SS' THEN 7
+        WHEN 'S'  THEN 6
+        WHEN 'A+' THEN 5
+        WHEN 'A_PLUS' THEN 5
+        WHEN 'A'  THEN 4
+        WHEN 'B'  THEN 3
+        WHEN 'C'  THEN 2
+        WHEN 'D'  THEN 1
+    END::SMALLINT
+$$ LANGUAGE sql IMMUTABLE;
+
+-- ============================================================
+-- 変換できない値の退避
+-- ============================================================
+CREATE TABLE evaluation_grade_migration_issues (
+    tenant_id       BIGINT NOT NULL,
+    evaluation_id   BIGINT NOT NULL,
+    column_name     VARCHAR(30) NOT NULL,
+    original_value  VARCHAR(10) NOT NULL,
+    migrated_at     TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+INSERT INTO evaluation_grade_migration_issues (tenant_id, evaluation_id, column_name, original_value)
+SELECT tenant_id, id, 'evaluator_grade', evaluator_grade FROM evaluations
+    WHERE btrim(evaluator_grade) <> '' AND migrate_grade_code(evaluator_grade) IS NULL
+UNION ALL
+SELECT tenant_id, id, 'manager_grade', manager_grade FROM evaluations
+    WHERE btrim(manager_grade) <> '' AND migrate_grade_code(manager_grade) IS NULL
+UNION ALL
+SELECT tenant_id, id, 'director_grade', director_grade FROM evaluations
+    WHERE btrim(director_grade) <> '' AND migrate_grade_code(director_grade) IS NULL;
+
+-- ============================================================
+-- 型変更（1回の書き換えで3列とも変換。パーティションにも伝播する）
+-- ============================================================
+ALTER TABLE evaluations
+    ALTER COLUMN evaluator_grade TYPE SMALLINT USING migrate_grade_code(evaluator_grade),
+    ALTER COLUMN manager_grade   TYPE SMALLINT USING migrate_grade_code(manager_grade),
+    ALTER COLUMN director_grade  TYPE SMALLINT USING migrate_grade_code(director_grade),
+    ADD CONSTRAINT chk_evaluations_evaluator_grade CHECK (evaluator_grade BETWEEN 1 AND 7),
+    ADD CONSTRAINT chk_evaluations_manager_grade   CHECK (manager_grade BETWEEN 1 AND 7),
+    ADD CONSTRAINT chk_evaluations_director_grade  CHECK (director_grade BETWEEN 1 AND 7);
+
+DROP FUNCTION migrate_grade_code(TEXT);
+
+-- ============================================================
+-- インデックス（年度内の評価の範囲検索・集計用）
+-- ============================================================
+-- 最終評価（役員評価）での絞り込み: 「A 以上」= director_grade >= 4
+CREATE INDEX idx_evaluations_tenant_year_director_grade
+    ON evaluations(tenant_id, fiscal_year_id, director_grade)
+    WHERE director_grade IS NOT NULL;
+-- 評価者評価での絞り込み
+CREATE INDEX idx_evaluations_tenant_year_evaluator_grade
+    ON evaluations(tenant_id, fiscal_year_id, evaluator_grade)
+    WHERE evaluator_grade IS NOT NULL;
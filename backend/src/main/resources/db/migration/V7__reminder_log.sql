@@ -0,0 +1,27 @@
+-- V7__reminder_log.sql
+-- 評価期限のリマインド
+--
+-- reminder_log はユーザー・日ごとの送信記録。(tenant_id, user_id, reminder_date) の主キーで
+-- 同じ日に同じユーザーへ2回送らない（INSERT ... ON CONFLICT DO NOTHING RETURNING で送信先を確定する）。
+-- アプリ側の対応は DeadlineReminderService / ReminderLogRepository。
+
+-- ============================================================
+-- 送信記録
+-- ============================================================
+CREATE TABLE reminder_log (
+    tenant_id       BIGINT NOT NULL REFERENCES tenants(id) ON DELETE CASCADE,
+    user_id         BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    reminder_date   DATE NOT NULL,
+    created_at      TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (tenant_id, user_id, reminder_date)
+);
+
+-- 保持期間を過ぎた記録の削除用
+CREATE INDEX idx_reminder_log_date ON reminder_log(reminder_date);
+
+-- ============================================================
+-- 期限前の未確定の評価をテナント・年度・期で引くためのインデックス
+-- ============================================================
+CREATE INDEX idx_evaluations_tenant_year_period_open
+    ON evaluations(tenant_id, fiscal_year_id, period, status)
+    WHERE status <> 'FINALIZED';
@@ -0,0 +1,15 @@
+-- V8__evaluation_window_auto.sql
+-- 受付期間（*_open フラグ）の日付による自動開閉
+--
+-- window_auto = TRUE の現年度は EvaluationWindowScheduler が日付から4つのフラグを一括で更新する。
+--   自己評価: 各期の開始日〜終了日
+--   評価（評価者・管理者）: 各期の開始日〜評価の終了日（未設定なら各期の終了日）
+-- 既存の年度は FALSE のまま（従来どおり手動で開閉する）。
+
+ALTER TABLE fiscal_years
+    ADD COLUMN window_auto          BOOLEAN NOT NULL DEFAULT FALSE,
+    ADD COLUMN summer_eval_end_date DATE,
+    ADD COLUMN winter_eval_end_date DATE;
+
+-- 自動開閉の対象（現年度かつ window_auto）だけを引くための部分インデックス
+CREATE INDEX idx_fiscal_years_window_auto ON fiscal_years(tenant_id) WHERE is_current AND window_auto;
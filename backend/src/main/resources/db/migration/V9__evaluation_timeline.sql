@@ -0,0 +1,55 @@
+-- V9__evaluation_timeline.sql
+-- 評価のステータス遷移の履歴（追記のみ）とスナップショット
+--
+-- 差し戻しで評価値・コメントが消えても履歴から経過を再現できるよう、遷移ごとに1行追記する。
+-- 評価値は遷移後の3段階分を V6 と同じ SMALLINT コードで持つ。comment はその遷移で入力されたコメント、
+-- reason は差し戻し理由（分布調整の場合はその旨）。
+-- アプリ側の対応は EvaluationTimelineService / EvaluationEventRepository。
+--
+-- evaluations の主キーは (tenant_id, id) で、評価が削除されても履歴は残すため外部キーは張らない。
+-- 操作者（actor_id）も同じ理由で users を参照しない。
+
+-- ============================================================
+-- 遷移の履歴
+-- ============================================================
+CREATE TABLE evaluation_events (
+    id              BIGSERIAL,
+    tenant_id       BIGINT NOT NULL REFERENCES tenants(id) ON DELETE CASCADE,
+    evaluation_id   BIGINT NOT NULL,
+    from_status     evaluation_status NOT NULL,
+    to_status       evaluation_status NOT NULL,
+    actor_id        BIGINT,
+    evaluator_grade SMALLINT,
+    manager_grade   SMALLINT,
+    director_grade  SMALLINT,
+    comment         TEXT,
+    reason          TEXT,
+    occurred_at     TIMESTAMP NOT NULL,
+    recorded_at     TIMESTAMP NOT NULL DEFAULT NOW(),
+    -- 評価ごとの履歴をインデックスの範囲読みで引けるようにする
+    PRIMARY KEY (tenant_id, evaluation_id, id)
+);
+
+-- 更新は禁止する（削除はテナント削除の連鎖のみを想定）
+CREATE FUNCTION evaluation_events_immutable() RETURNS trigger AS $$
+BEGIN
+    RAISE EXCEPTION 'evaluation_events は追記のみです';
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_evaluation_events_immutable
+    BEFORE UPDATE ON evaluation_events
+    FOR EACH ROW EXECUTE FUNCTION evaluation_events_immutable();
+
+-- ============================================================
+-- スナップショット（last_event_id までの履歴を整形済みで保持）
+-- ============================================================
+CREATE TABLE evaluation_timeline_snapshots (
+    tenant_id       BIGINT NOT NULL REFERENCES tenants(id) ON DELETE CASCADE,
+    evaluation_id   BIGINT NOT NULL,
+    last_event_id   BIGINT NOT NULL,
+    event_count     INT NOT NULL,
+    entries         JSONB NOT NULL,
+    created_at      TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (tenant_id, evaluation_id)
+);
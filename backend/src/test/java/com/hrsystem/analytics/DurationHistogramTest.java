@@ -0,0 +1,84 @@
+package com.hrsystem.analytics;
+
+import com.hrsystem.analytics.SlaStage.Timestamps;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * DurationHistogram と SlaStage の単体テスト。
+ * パーセンタイルの誤差範囲、ヒストグラムの合算、記録日時からの区間の所要時間を検証する。
+ */
+class DurationHistogramTest {
+
+    @Test
+    @DisplayName("パーセンタイルはバケット幅（約3%）の誤差で求まる")
+    void percentiles() {
+        DurationHistogram h = new DurationHistogram();
+        for (long m = 1; m <= 10_000; m++) {
+            h.record(m);
+        }
+
+        assertThat(h.total()).isEqualTo(10_000);
+        assertThat(h.percentile(0.50)).isCloseTo(5_000, withinPercentage(3));
+        assertThat(h.percentile(0.90)).isCloseTo(9_000, withinPercentage(3));
+        assertThat(h.percentile(0.99)).isCloseTo(9_900, withinPercentage(3));
+        assertThat(h.percentile(1.0)).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("32分未満は1分刻みで正確に数える")
+    void smallValuesAreExact() {
+        DurationHistogram h = new DurationHistogram();
+        h.record(3);
+        h.record(5);
+        h.record(7);
+
+        assertThat(h.percentile(0.5)).isEqualTo(5);
+        assertThat(h.max()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("合算したヒストグラムは全件を1つに記録した場合と同じ結果になる")
+    void mergeMatchesCombined() {
+        DurationHistogram a = new DurationHistogram();
+        DurationHistogram b = new DurationHistogram();
+        DurationHistogram all = new DurationHistogram();
+        for (long m = 0; m < 5_000; m++) {
+            (m % 3 == 0 ? a : b).record(m * 7);
+            all.record(m * 7);
+        }
+
+        a.merge(b);
+
+        assertThat(a.total()).isEqualTo(all.total());
+        for (double q : new double[]{0.5, 0.9, 0.99}) {
+            assertThat(a.percentile(q)).isEqualTo(all.percentile(q));
+        }
+    }
+
+    @Test
+    @DisplayName("バケットの番号と下限は相互に対応する")
+    void bucketBounds() {
+        for (long v : new long[]{0, 31, 32, 33, 63, 64, 1_000, 525_600}) {
+            int index = DurationHistogram.indexOf(v);
+            assertThat(DurationHistogram.lowerBound(index)).isLessThanOrEqualTo(v);
+            assertThat(DurationHistogram.lowerBound(index + 1)).isGreaterThan(v);
+        }
+    }
+
+    @Test
+    @DisplayName("管理者確認を省略した評価は、役員評価待ちを評価者評価から測る")
+    void directorStageWithoutManager() {
+        LocalDateTime created = LocalDateTime.of(2025, 6, 1, 9, 0);
+        Timestamps t = new Timestamps(created, created.plusDays(2), null, created.plusDays(5), null);
+
+        assertThat(t.minutes(SlaStage.EVALUATOR)).isEqualTo(2 * 24 * 60);
+        assertThat(t.minutes(SlaStage.MANAGER)).isEqualTo(-1);
+        assertThat(t.minutes(SlaStage.DIRECTOR)).isEqualTo(3 * 24 * 60);
+        assertThat(t.minutes(SlaStage.TOTAL)).isEqualTo(-1);
+    }
+}
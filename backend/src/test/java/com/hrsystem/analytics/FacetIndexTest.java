@@ -0,0 +1,120 @@
+package com.hrsystem.analytics;
+
+import com.hrsystem.analytics.FacetIndex.FacetCount;
+import com.hrsystem.analytics.FacetIndex.Result;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.Grade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * FacetIndex の単体テスト。
+ * 年度での切り出し、ファセット内 OR・ファセット間 AND の絞り込み、
+ * 自身の選択を除いたファセット件数、遷移の差分反映を検証する。
+ */
+class FacetIndexTest {
+
+    private FacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        EvaluationColumns columns = new EvaluationColumns.Builder()
+                .add(1, 2025, EvaluationPeriod.SUMMER, EvaluationStatus.FINALIZED, 10, 20, Grade.A, Grade.A, Grade.S)
+                .add(2, 2025, EvaluationPeriod.SUMMER, EvaluationStatus.FINALIZED, 10, 21, Grade.B, Grade.B, Grade.B)
+                .add(3, 2025, EvaluationPeriod.SUMMER, EvaluationStatus.MANAGER_APPROVED, 11, 20, Grade.A, Grade.A_PLUS, null)
+                .add(4, 2025, EvaluationPeriod.WINTER, EvaluationStatus.SELF_SUBMITTED, 11, 20, null, null, null)
+                .add(5, 2024, EvaluationPeriod.WINTER, EvaluationStatus.FINALIZED, 10, 20, Grade.C, Grade.C, Grade.C)
+                .build();
+        index = FacetIndex.build(columns, 2025);
+    }
+
+    @Test
+    @DisplayName("選択なしでは年度内の全件が対象になる")
+    void noSelection() {
+        Result result = index.query(Map.of(), 0, 50);
+
+        assertThat(result.total()).isEqualTo(4);
+        assertThat(result.evaluationIds()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(result.counts().get(Facet.DEPARTMENT))
+                .containsExactly(new FacetCount(10, 2), new FacetCount(11, 2));
+    }
+
+    @Test
+    @DisplayName("評価は最も進んだ段階の値で、未評価は0で数える")
+    void gradeFacetUsesLatestLevel() {
+        Result result = index.query(Map.of(), 0, 50);
+
+        assertThat(result.counts().get(Facet.GRADE)).containsExactly(
+                new FacetCount(FacetIndex.NOT_GRADED, 1),
+                new FacetCount(Grade.B.getCode(), 1),
+                new FacetCount(Grade.A_PLUS.getCode(), 1),
+                new FacetCount(Grade.S.getCode(), 1));
+    }
+
+    @Test
+    @DisplayName("同じファセット内は OR、ファセット間は AND で絞り込む")
+    void orWithinAndAcross() {
+        Map<Facet, Set<Long>> selection = new EnumMap<>(Facet.class);
+        selection.put(Facet.DEPARTMENT, Set.of(10L, 11L));
+        selection.put(Facet.POSITION, Set.of(20L));
+        selection.put(Facet.PERIOD, Set.of((long) EvaluationPeriod.SUMMER.ordinal()));
+
+        Result result = index.query(selection, 0, 50);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.evaluationIds()).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("選択中のファセットの件数は、そのファセット自身の選択を除いて数える")
+    void disjunctiveCounts() {
+        Result result = index.query(Map.of(Facet.DEPARTMENT, Set.of(10L)), 0, 50);
+
+        assertThat(result.total()).isEqualTo(2);
+        // 部署は他の選択肢に切り替えた場合の件数も返す
+        assertThat(result.counts().get(Facet.DEPARTMENT))
+                .containsExactly(new FacetCount(10, 2), new FacetCount(11, 2));
+        // 他のファセットは絞り込み後の件数
+        assertThat(result.counts().get(Facet.POSITION))
+                .containsExactly(new FacetCount(20, 1), new FacetCount(21, 1));
+    }
+
+    @Test
+    @DisplayName("offset と limit で1ページ分の ID を返し、総件数は全体を数える")
+    void paging() {
+        Result result = index.query(Map.of(), 1, 2);
+
+        assertThat(result.total()).isEqualTo(4);
+        assertThat(result.evaluationIds()).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("遷移を反映するとステータス・評価のファセットが更新される")
+    void applyTransition() {
+        boolean applied = index.apply(3, EvaluationStatus.FINALIZED, Grade.A);
+
+        assertThat(applied).isTrue();
+        Result result = index.query(
+                Map.of(Facet.STATUS, Set.of((long) EvaluationStatus.FINALIZED.ordinal())), 0, 50);
+        assertThat(result.evaluationIds()).containsExactly(1L, 2L, 3L);
+        assertThat(result.counts().get(Facet.GRADE)).containsExactly(
+                new FacetCount(Grade.B.getCode(), 1),
+                new FacetCount(Grade.A.getCode(), 1),
+                new FacetCount(Grade.S.getCode(), 1));
+    }
+
+    @Test
+    @DisplayName("他の年度の評価は反映しない")
+    void applyIgnoresOtherYear() {
+        assertThat(index.apply(5, EvaluationStatus.FINALIZED, Grade.D)).isFalse();
+        assertThat(index.query(Map.of(), 0, 50).evaluationIds()).doesNotContain(5L);
+    }
+}
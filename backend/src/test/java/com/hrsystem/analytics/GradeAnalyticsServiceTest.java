@@ -0,0 +1,167 @@
+package com.hrsystem.analytics;
+
+import com.hrsystem.analytics.GradeAnalyticsService.Bucket;
+import com.hrsystem.analytics.GradeAnalyticsService.Distribution;
+import com.hrsystem.analytics.GradeAnalyticsService.Filter;
+import com.hrsystem.analytics.GradeAnalyticsService.Shift;
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.cache.TenantReferenceData;
+import com.hrsystem.cache.TenantReferenceData.DepartmentRef;
+import com.hrsystem.cache.TenantReferenceData.TenantRef;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.Grade;
+import com.hrsystem.domain.model.enums.TenantPlan;
+import com.hrsystem.service.EvaluationTransitionEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * GradeAnalyticsService の単体テスト。
+ * 読み込みを JDBC のモックで置き換え、分布・段階間の変化・遷移の差分反映を検証する。
+ * 並列集計の閾値を1にして、チャンクの合算も通す。
+ */
+@ExtendWith(MockitoExtension.class)
+class GradeAnalyticsServiceTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private ReferenceDataCache referenceDataCache;
+
+    private GradeAnalyticsService service;
+
+    // [id, year, period, status, departmentId, positionId, evaluatorGrade, managerGrade, directorGrade]
+    private final List<Object[]> rows = List.of(
+            new Object[]{1L, 2025, "SUMMER", "FINALIZED", 10L, 20L, "A", "A", "S"},
+            new Object[]{2L, 2025, "SUMMER", "FINALIZED", 10L, 20L, "B", "B", "B"},
+            new Object[]{3L, 2025, "SUMMER", "FINALIZED", 11L, 20L, "A+", "A", "A"},
+            new Object[]{4L, 2025, "WINTER", "SELF_SUBMITTED", 11L, 20L, null, null, null},
+            new Object[]{5L, 2024, "WINTER", "FINALIZED", 10L, 20L, "C", "C", "C"});
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new GradeAnalyticsService(jdbcTemplate, transactionManager, referenceDataCache,
+                10, Duration.ofMinutes(30), 1);
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            for (Object[] r : rows) {
+                handler.processRow(resultSet(r));
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("部署ごとの役員評価の分布（未評価は数えない）")
+    void distribution_byDepartment() {
+        stubReferenceData();
+
+        Distribution d = service.distribution(1L, new Filter(2025, null, null, null, null),
+                AnalyticsLevel.DIRECTOR, AnalyticsGroupBy.DEPARTMENT);
+
+        assertThat(d.buckets()).extracting(Bucket::label).containsExactly("介護部", "看護部");
+        Bucket care = d.buckets().get(0);
+        assertThat(care.total()).isEqualTo(2);
+        assertThat(care.counts()).containsEntry("S", 1L).containsEntry("B", 1L).containsEntry("A", 0L);
+        assertThat(d.buckets().get(1).counts()).containsEntry("A", 1L);
+    }
+
+    @Test
+    @DisplayName("評価者 → 役員の評価の変化を上げ・下げ・据え置きで数える")
+    void shift_evaluatorToDirector() {
+        Shift s = service.shift(1L, null, AnalyticsLevel.EVALUATOR, AnalyticsLevel.DIRECTOR);
+
+        // 1: A→S(上げ), 2: B→B, 3: A+→A(下げ), 5: C→C
+        assertThat(s.total()).isEqualTo(4);
+        assertThat(s.raised()).isEqualTo(1);
+        assertThat(s.lowered()).isEqualTo(1);
+        assertThat(s.unchanged()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("遷移をコミット後に該当行へ反映し、DB は読み直さない")
+    void onTransition_updatesRow() {
+        service.shift(1L, null, AnalyticsLevel.EVALUATOR, AnalyticsLevel.MANAGER);
+
+        service.onTransition(new EvaluationTransitionEvent(1L, 4L,
+                EvaluationStatus.SELF_SUBMITTED, EvaluationStatus.EVALUATOR_SUBMITTED, Grade.A, null, null,
+                20L, 11L, null, null, null, null));
+        Distribution d = service.distribution(1L, new Filter(null, EvaluationPeriod.WINTER, null, null, null),
+                AnalyticsLevel.EVALUATOR, AnalyticsGroupBy.NONE);
+
+        assertThat(d.buckets()).singleElement().satisfies(b -> {
+            assertThat(b.counts()).containsEntry("A", 1L).containsEntry("C", 1L);
+            assertThat(b.total()).isEqualTo(2);
+        });
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("読み込み後に作成された評価の遷移を受けたら次回は読み直す")
+    void onTransition_unknownEvaluationReloads() {
+        service.shift(1L, null, AnalyticsLevel.EVALUATOR, AnalyticsLevel.MANAGER);
+
+        service.onTransition(new EvaluationTransitionEvent(1L, 99L,
+                EvaluationStatus.NOT_STARTED, EvaluationStatus.SELF_SUBMITTED, null, null, null,
+                20L, 10L, null, null, null, null));
+        service.shift(1L, null, AnalyticsLevel.EVALUATOR, AnalyticsLevel.MANAGER);
+
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("テナント単位の無効化（年度切り替え）を受けたら次回は読み直す")
+    void invalidateTenant_reloads() {
+        service.shift(1L, null, AnalyticsLevel.EVALUATOR, AnalyticsLevel.MANAGER);
+
+        service.invalidateTenant(1L);
+        service.shift(1L, null, AnalyticsLevel.EVALUATOR, AnalyticsLevel.MANAGER);
+
+        assertThat(service.cacheName()).isEqualTo(GradeAnalyticsService.NAME);
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private void stubReferenceData() {
+        when(referenceDataCache.get(1L)).thenReturn(new TenantReferenceData(
+                new TenantRef(1L, "テスト法人", "test", TenantPlan.STARTER, true),
+                Map.of(),
+                Map.of(10L, new DepartmentRef(10L, "介護部", true), 11L, new DepartmentRef(11L, "看護部", true)),
+                null));
+    }
+
+    /** DB と同じく未評価（NULL）は getShort で 0 になる。 */
+    private static short code(Object grade) {
+        return grade != null ? (short) Grade.of((String) grade).getCode() : 0;
+    }
+
+    private static ResultSet resultSet(Object[] r) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        lenient().when(rs.getLong(1)).thenReturn((Long) r[0]);
+        lenient().when(rs.getInt(2)).thenReturn((Integer) r[1]);
+        lenient().when(rs.getString(3)).thenReturn((String) r[2]);
+        lenient().when(rs.getString(4)).thenReturn((String) r[3]);
+        lenient().when(rs.getLong(5)).thenReturn((Long) r[4]);
+        lenient().when(rs.getLong(6)).thenReturn((Long) r[5]);
+        lenient().when(rs.getShort(7)).thenReturn(code(r[6]));
+        lenient().when(rs.getShort(8)).thenReturn(code(r[7]));
+        lenient().when(rs.getShort(9)).thenReturn(code(r[8]));
+        return rs;
+    }
+}
@@ -0,0 +1,155 @@
+package com.hrsystem.analytics;
+
+import com.hrsystem.analytics.WorkflowSlaService.SlaReport;
+import com.hrsystem.analytics.WorkflowSlaService.StageStats;
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.service.EvaluationTransitionEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * WorkflowSlaService の単体テスト。
+ * 差し戻し・再承認を差分反映した結果が、全件を読み込み直した結果と一致することを検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class WorkflowSlaServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 7, 1, 9, 0);
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private ReferenceDataCache referenceDataCache;
+
+    @Test
+    @DisplayName("差し戻し後に再承認された区間は差し替えて1件として数え、全件読み込みと同じ結果になる")
+    void drain_rejectAndReapproveMatchesReload() throws Exception {
+        // 読み込み時点: 評価者評価 60分、管理者確認 60分
+        WorkflowSlaService service = newService();
+        stubLoad(row(1L, T0.plusMinutes(60), T0.plusMinutes(120)), row(2L, T0.plusMinutes(30), null));
+        service.report(1L, null, SlaGroupBy.NONE);
+
+        // 役員が評価者へ差し戻し、評価者が 300分、管理者が 360分の時点で再承認
+        ResultSet current = row(1L, T0.plusMinutes(300), T0.plusMinutes(360));
+        service.onTransition(event(EvaluationStatus.MANAGER_APPROVED, EvaluationStatus.SELF_SUBMITTED));
+        service.onTransition(event(EvaluationStatus.SELF_SUBMITTED, EvaluationStatus.EVALUATOR_SUBMITTED));
+        service.onTransition(event(EvaluationStatus.EVALUATOR_SUBMITTED, EvaluationStatus.MANAGER_APPROVED));
+        doAnswer(inv -> {
+            inv.getArgument(2, RowCallbackHandler.class).processRow(current);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+        service.drain();
+
+        StageStats evaluator = stage(service.report(1L, null, SlaGroupBy.NONE), SlaStage.EVALUATOR);
+        StageStats manager = stage(service.report(1L, null, SlaGroupBy.NONE), SlaStage.MANAGER);
+        assertThat(evaluator.count()).isEqualTo(2);
+        assertThat(evaluator.maxMinutes()).isEqualTo(300);
+        assertThat(manager.count()).isEqualTo(1);
+        assertThat(manager.maxMinutes()).isEqualTo(60);
+
+        // 再起動後の全件読み込みと一致する
+        WorkflowSlaService reloaded = newService();
+        stubLoad(current, row(2L, T0.plusMinutes(30), null));
+        SlaReport expected = reloaded.report(1L, null, SlaGroupBy.NONE);
+        assertThat(service.report(1L, null, SlaGroupBy.NONE)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("差し戻しで記録日時が消えた区間は外し、削除された評価も外す")
+    void drain_removesClearedStagesAndDeletedEvaluations() throws Exception {
+        WorkflowSlaService service = newService();
+        stubLoad(row(1L, T0.plusMinutes(60), T0.plusMinutes(120)), row(2L, T0.plusMinutes(30), null));
+        service.report(1L, null, SlaGroupBy.NONE);
+
+        // 1: 管理者確認が差し戻されて管理者の記録日時が消えた。2: 削除された（行が返らない）
+        ResultSet rejected = row(1L, T0.plusMinutes(60), null);
+        service.onTransition(event(EvaluationStatus.MANAGER_APPROVED, EvaluationStatus.SELF_SUBMITTED));
+        service.onTransition(new EvaluationTransitionEvent(1L, 2L, EvaluationStatus.EVALUATOR_SUBMITTED,
+                EvaluationStatus.SELF_SUBMITTED, null, null, null, 2L, 10L, 3L, null, null, T0));
+        doAnswer(inv -> {
+            inv.getArgument(2, RowCallbackHandler.class).processRow(rejected);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+        service.drain();
+
+        SlaReport report = service.report(1L, null, SlaGroupBy.NONE);
+        assertThat(stage(report, SlaStage.EVALUATOR).count()).isEqualTo(1);
+        assertThat(stage(report, SlaStage.MANAGER).count()).isZero();
+    }
+
+    @Test
+    @DisplayName("ステータスが変わらない遷移（分布調整）は読み直さない")
+    void onTransition_ignoresSameStatus() {
+        WorkflowSlaService service = newService();
+        stubLoad();
+        service.report(1L, null, SlaGroupBy.NONE);
+
+        service.onTransition(event(EvaluationStatus.DIRECTOR_EVALUATED, EvaluationStatus.DIRECTOR_EVALUATED));
+        service.drain();
+
+        verify(jdbcTemplate, never()).query(anyString(), any(PreparedStatementSetter.class),
+                any(RowCallbackHandler.class));
+    }
+
+    // ===== Helpers =====
+
+    private WorkflowSlaService newService() {
+        return new WorkflowSlaService(jdbcTemplate, transactionManager, referenceDataCache, 10, Duration.ofHours(1));
+    }
+
+    private void stubLoad(ResultSet... rows) {
+        doAnswer(inv -> {
+            for (ResultSet rs : rows) {
+                inv.getArgument(1, RowCallbackHandler.class).processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private static StageStats stage(SlaReport report, SlaStage stage) {
+        return report.buckets().get(0).stages().get(stage.ordinal());
+    }
+
+    private static EvaluationTransitionEvent event(EvaluationStatus from, EvaluationStatus to) {
+        return new EvaluationTransitionEvent(1L, 1L, from, to, null, null, null, 2L, 10L, 3L, null, null, T0);
+    }
+
+    private static ResultSet row(long id, LocalDateTime evaluated, LocalDateTime managerApproved)
+            throws SQLException {
+        ResultSet rs = mock(ResultSet.class, withSettings().strictness(Strictness.LENIENT));
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getLong("evaluator_id")).thenReturn(2L);
+        when(rs.getString("evaluator_name")).thenReturn("評価者");
+        when(rs.getInt("year")).thenReturn(2026);
+        when(rs.getString("period")).thenReturn("SUMMER");
+        when(rs.getLong("department_id")).thenReturn(10L);
+        when(rs.getTimestamp("created_at")).thenReturn(Timestamp.valueOf(T0));
+        when(rs.getTimestamp("evaluated_at")).thenReturn(ts(evaluated));
+        when(rs.getTimestamp("manager_approved_at")).thenReturn(ts(managerApproved));
+        return rs;
+    }
+
+    private static Timestamp ts(LocalDateTime t) {
+        return t != null ? Timestamp.valueOf(t) : null;
+    }
+}
@@ -0,0 +1,125 @@
+package com.hrsystem.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * CacheInvalidationBus の結合テスト。
+ * ローカルの PostgreSQL（Testcontainers）に2ノード分のバスを接続し、
+ * 無効化の伝搬と切断後の再接続・resync を検証する。Docker がない環境ではスキップする。
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class CacheInvalidationBusIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final List<CacheInvalidationBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        buses.forEach(CacheInvalidationBus::stop);
+    }
+
+    @Test
+    @DisplayName("ノードAの無効化がノードBのキャッシュに伝わる")
+    void invalidate_propagatesToOtherNode() {
+        RecordingCache cacheA = new RecordingCache();
+        RecordingCache cacheB = new RecordingCache();
+        CacheInvalidationBus nodeA = startBus(cacheA);
+        CacheInvalidationBus nodeB = startBus(cacheB);
+        awaitConnected(nodeA, nodeB);
+
+        nodeA.invalidate("reference-data", 42L);
+
+        assertThat(cacheA.tenants).containsExactly(42L);
+        awaitUntil(() -> cacheB.tenants.contains(42L));
+        assertThat(nodeB.stats().received()).isEqualTo(1);
+        assertThat(nodeA.stats().received()).isZero();
+    }
+
+    @Test
+    @DisplayName("受信接続が切断されたら再接続して全キャッシュを破棄する")
+    void listener_reconnectsAndResyncs() {
+        RecordingCache cacheB = new RecordingCache();
+        CacheInvalidationBus nodeB = startBus(cacheB);
+        awaitConnected(nodeB);
+
+        new JdbcTemplate(dataSource()).execute(
+                "SELECT pg_terminate_backend(pid) FROM pg_stat_activity " +
+                "WHERE application_name = 'hr-cache-invalidation'");
+
+        awaitUntil(() -> nodeB.stats().resyncs() == 1 && nodeB.isConnected());
+        assertThat(cacheB.allInvalidations).isEqualTo(1);
+    }
+
+    // ===== ヘルパー =====
+
+    private CacheInvalidationBus startBus(RecordingCache cache) {
+        CacheInvalidationBus bus = new CacheInvalidationBus(List.of(cache), dataSource(),
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword(),
+                true, "hr_cache_invalidation", 200, 100);
+        bus.start();
+        buses.add(bus);
+        return bus;
+    }
+
+    private DriverManagerDataSource dataSource() {
+        return new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    private void awaitConnected(CacheInvalidationBus... nodes) {
+        awaitUntil(() -> Arrays.stream(nodes).allMatch(CacheInvalidationBus::isConnected));
+    }
+
+    private void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("条件が時間内に満たされませんでした");
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("待機中に割り込まれました");
+            }
+        }
+    }
+
+    private static class RecordingCache implements TenantScopedCache {
+        final Set<Long> tenants = ConcurrentHashMap.newKeySet();
+        volatile int allInvalidations;
+
+        @Override
+        public String cacheName() {
+            return "reference-data";
+        }
+
+        @Override
+        public void invalidateTenant(Long tenantId) {
+            tenants.add(tenantId);
+        }
+
+        @Override
+        public void invalidateAll() {
+            allInvalidations++;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.hrsystem.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * CacheInvalidationBus の受信処理の単体テスト。
+ * 連番の欠落・重複の扱いと、不正なメッセージ・キャッシュ側の例外で受信が止まらないことを
+ * DB なしで検証する（LISTEN/NOTIFY 経由の検証は結合テストで行う）。
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private TenantScopedCache referenceData;
+
+    @Mock
+    private TenantScopedCache roleDirectory;
+
+    @Mock
+    private DataSource dataSource;
+
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        when(referenceData.cacheName()).thenReturn("reference-data");
+        when(roleDirectory.cacheName()).thenReturn("role-directory");
+        bus = new CacheInvalidationBus(List.of(referenceData, roleDirectory), dataSource,
+                "jdbc:postgresql://localhost/test", "u", "p", false, "hr_cache_invalidation", 100, 100);
+    }
+
+    @Test
+    @DisplayName("受信: 連番どおりなら該当キャッシュのテナントだけ無効化")
+    void handle_inOrder() {
+        bus.handle("node-a|1|reference-data|10");
+        bus.handle("node-a|2|role-directory|*");
+
+        verify(referenceData).invalidateTenant(10L);
+        verify(roleDirectory).invalidateAll();
+        verify(referenceData, never()).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("受信: 連番の欠落を検知したら全キャッシュを破棄")
+    void handle_gapTriggersResync() {
+        bus.handle("node-a|1|reference-data|10");
+        bus.handle("node-a|3|reference-data|11");
+
+        verify(referenceData).invalidateAll();
+        verify(roleDirectory).invalidateAll();
+        verify(referenceData, never()).invalidateTenant(11L);
+    }
+
+    @Test
+    @DisplayName("受信: 重複は無視し、ノードごとに連番を管理する")
+    void handle_duplicatesAndMultipleNodes() {
+        bus.handle("node-a|1|reference-data|10");
+        bus.handle("node-a|1|reference-data|10");
+        bus.handle("node-b|7|reference-data|20");
+
+        verify(referenceData, times(1)).invalidateTenant(10L);
+        verify(referenceData).invalidateTenant(20L);
+        verify(referenceData, never()).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("受信: 数値でない連番・テナントのメッセージは無視し、以降の受信を続ける")
+    void dispatch_ignoresMalformedPayload() {
+        bus.dispatch("node-a|x|reference-data|10");
+        bus.dispatch("node-a|1|reference-data|abc");
+        bus.dispatch("node-a|1|reference-data|10");
+
+        verify(referenceData).invalidateTenant(10L);
+        verify(referenceData, never()).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("受信: キャッシュ側で例外が出ても以降の受信を続ける")
+    void dispatch_survivesCacheFailure() {
+        doThrow(new IllegalStateException("boom")).when(referenceData).invalidateTenant(10L);
+
+        bus.dispatch("node-a|1|reference-data|10");
+        bus.dispatch("node-a|2|role-directory|20");
+
+        verify(roleDirectory).invalidateTenant(20L);
+    }
+}
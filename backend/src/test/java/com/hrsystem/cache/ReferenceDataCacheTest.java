@@ -0,0 +1,123 @@
+package com.hrsystem.cache;
+
+import com.hrsystem.domain.model.Department;
+import com.hrsystem.domain.model.FiscalYear;
+import com.hrsystem.domain.model.Position;
+import com.hrsystem.domain.model.Tenant;
+import com.hrsystem.domain.model.User;
+import com.hrsystem.domain.model.enums.EvaluationWindow;
+import com.hrsystem.domain.model.enums.TenantPlan;
+import com.hrsystem.domain.repository.DepartmentRepository;
+import com.hrsystem.domain.repository.FiscalYearRepository;
+import com.hrsystem.domain.repository.PositionRepository;
+import com.hrsystem.domain.repository.TenantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ReferenceDataCache の単体テスト。
+ * テナント単位でまとめて読み込んでキャッシュし、無効化後に読み直すことを検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheTest {
+
+    @Mock private TenantRepository tenantRepository;
+    @Mock private PositionRepository positionRepository;
+    @Mock private DepartmentRepository departmentRepository;
+    @Mock private FiscalYearRepository fiscalYearRepository;
+
+    private final Tenant tenant = Tenant.builder().id(1L).name("テナント").subdomain("t1").plan(TenantPlan.STARTER).build();
+
+    private ReferenceDataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReferenceDataCache(tenantRepository, positionRepository, departmentRepository,
+                fiscalYearRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("初回はテナント・役職・部署・現年度をまとめて読み込み、2回目以降は再クエリしない")
+    void get_loadsOnceAndCaches() {
+        stubTenant(1L);
+
+        assertThat(cache.tenant(1L).plan()).isEqualTo(TenantPlan.STARTER);
+        assertThat(cache.position(1L, 100L)).hasValueSatisfying(p -> assertThat(p.isManager()).isTrue());
+        assertThat(cache.department(1L, 200L)).hasValueSatisfying(d -> assertThat(d.name()).isEqualTo("開発部"));
+        assertThat(cache.currentFiscalYear(1L)).hasValueSatisfying(f -> assertThat(f.year()).isEqualTo(2026));
+        assertThat(cache.openWindows(1L)).hasValueSatisfying(
+                w -> assertThat(w.open()).containsExactly(EvaluationWindow.SUMMER_SELF));
+        assertThat(cache.position(1L, 999L)).isEmpty();
+        assertThat(cache.position(1L, null)).isEmpty();
+
+        verify(tenantRepository, times(1)).findById(1L);
+        verify(positionRepository, times(1)).findByTenantIdOrderBySortOrder(1L);
+        verify(departmentRepository, times(1)).findByTenantId(1L);
+        verify(fiscalYearRepository, times(1)).findByTenantIdAndIsCurrentTrue(1L);
+    }
+
+    @Test
+    @DisplayName("テナント単位の無効化後は読み直し、全件の無効化でもすべて読み直す")
+    void get_reloadsAfterInvalidation() {
+        stubTenant(1L);
+
+        cache.get(1L);
+        cache.invalidateTenant(1L);
+        cache.get(1L);
+        verify(tenantRepository, times(2)).findById(1L);
+
+        cache.invalidateAll();
+        cache.get(1L);
+        verify(tenantRepository, times(3)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("存在しないテナントは IllegalArgumentException で、キャッシュしない")
+    void get_unknownTenantIsNotCached() {
+        when(tenantRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> cache.get(9L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("テナントが見つかりません");
+        assertThatThrownBy(() -> cache.get(9L)).isInstanceOf(IllegalArgumentException.class);
+        verify(tenantRepository, times(2)).findById(9L);
+    }
+
+    @Test
+    @DisplayName("権限判定はキャッシュした役職と本人の評価者フラグから求める")
+    void permissions_useCachedPosition() {
+        stubTenant(1L);
+        Position manager = Position.builder().id(100L).build();
+
+        User withPosition = User.builder().id(1L).tenant(tenant).position(manager).build();
+        User flagged = User.builder().id(2L).tenant(tenant).canEvaluate(true).build();
+        User plain = User.builder().id(3L).tenant(tenant).build();
+
+        assertThat(cache.isManager(withPosition)).isTrue();
+        assertThat(cache.canPerformEvaluation(withPosition)).isTrue();
+        assertThat(cache.canPerformEvaluation(flagged)).isTrue();
+        assertThat(cache.canPerformEvaluation(plain)).isFalse();
+        assertThat(cache.isDirectorOrAdmin(withPosition)).isFalse();
+    }
+
+    private void stubTenant(Long tenantId) {
+        when(tenantRepository.findById(tenantId)).thenReturn(Optional.of(tenant));
+        when(positionRepository.findByTenantIdOrderBySortOrder(tenantId)).thenReturn(List.of(
+                Position.builder().id(100L).tenant(tenant).code(2).name("部門長").canEvaluate(true).build()));
+        when(departmentRepository.findByTenantId(tenantId)).thenReturn(List.of(
+                Department.builder().id(200L).tenant(tenant).name("開発部").build()));
+        when(fiscalYearRepository.findByTenantIdAndIsCurrentTrue(tenantId)).thenReturn(Optional.of(
+                FiscalYear.builder().id(300L).tenant(tenant).year(2026).isCurrent(true).summerSelfOpen(true).build()));
+    }
+}
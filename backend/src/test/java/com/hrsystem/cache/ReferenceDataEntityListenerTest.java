@@ -0,0 +1,88 @@
+package com.hrsystem.cache;
+
+import com.hrsystem.domain.model.Department;
+import com.hrsystem.domain.model.FiscalYear;
+import com.hrsystem.domain.model.Goal;
+import com.hrsystem.domain.model.Position;
+import com.hrsystem.domain.model.Tenant;
+import com.hrsystem.domain.model.User;
+import com.hrsystem.security.TenantResolver;
+import com.hrsystem.service.EvaluationWindowPublisher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * ReferenceDataEntityListener の単体テスト。
+ * 変更されたエンティティの種類ごとに、対応するキャッシュだけをテナント単位で無効化することを検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataEntityListenerTest {
+
+    @Mock private CacheInvalidationBus invalidationBus;
+
+    @InjectMocks private ReferenceDataEntityListener listener;
+
+    private final Tenant tenant = Tenant.builder().id(1L).build();
+
+    @Test
+    @DisplayName("役職の変更は参照データと通知先ディレクトリを無効化する")
+    void position_invalidatesReferenceDataAndRoleDirectory() {
+        listener.onChange(Position.builder().id(10L).tenant(tenant).build());
+
+        verify(invalidationBus).invalidate(ReferenceDataCache.NAME, 1L);
+        verify(invalidationBus).invalidate(RoleDirectoryCache.NAME, 1L);
+        verifyNoMoreInteractions(invalidationBus);
+    }
+
+    @Test
+    @DisplayName("ユーザーの変更は通知先ディレクトリだけを無効化する")
+    void user_invalidatesRoleDirectoryOnly() {
+        listener.onChange(User.builder().id(20L).tenant(tenant).build());
+
+        verify(invalidationBus).invalidate(RoleDirectoryCache.NAME, 1L);
+        verifyNoMoreInteractions(invalidationBus);
+    }
+
+    @Test
+    @DisplayName("部署の変更は参照データだけを無効化する")
+    void department_invalidatesReferenceDataOnly() {
+        listener.onChange(Department.builder().id(30L).tenant(tenant).build());
+
+        verify(invalidationBus).invalidate(ReferenceDataCache.NAME, 1L);
+        verifyNoMoreInteractions(invalidationBus);
+    }
+
+    @Test
+    @DisplayName("テナントの変更はサブドメインの解決結果も無効化する")
+    void tenant_invalidatesSubdomainResolution() {
+        listener.onChange(tenant);
+
+        verify(invalidationBus).invalidate(ReferenceDataCache.NAME, 1L);
+        verify(invalidationBus).invalidate(TenantResolver.NAME, 1L);
+        verifyNoMoreInteractions(invalidationBus);
+    }
+
+    @Test
+    @DisplayName("年度の変更は受付期間の配信にも伝える")
+    void fiscalYear_notifiesWindowPublisher() {
+        listener.onChange(FiscalYear.builder().id(40L).tenant(tenant).build());
+
+        verify(invalidationBus).invalidate(ReferenceDataCache.NAME, 1L);
+        verify(invalidationBus).invalidate(EvaluationWindowPublisher.NAME, 1L);
+        verifyNoMoreInteractions(invalidationBus);
+    }
+
+    @Test
+    @DisplayName("対象外のエンティティは何も無効化しない")
+    void otherEntity_ignored() {
+        listener.onChange(Goal.builder().id(50L).build());
+
+        verifyNoInteractions(invalidationBus);
+    }
+}
@@ -0,0 +1,67 @@
+package com.hrsystem.cache;
+
+import com.hrsystem.cache.RoleDirectory.Role;
+import com.hrsystem.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * RoleDirectoryCache の単体テスト。
+ * 1クエリの結果から役割別・部署別の通知先が組み立てられることを検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class RoleDirectoryCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private RoleDirectoryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RoleDirectoryCache(userRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("役割別・部署別に通知先IDをまとめる")
+    void get_groupsByRoleAndDepartment() {
+        when(userRepository.findRoleEntries(1L)).thenReturn(List.of(
+                new Object[]{1L, null, 0},
+                new Object[]{2L, 10L, 1},
+                new Object[]{3L, 10L, 2},
+                new Object[]{4L, 20L, 2},
+                new Object[]{5L, 10L, 2}));
+
+        RoleDirectory directory = cache.get(1L);
+
+        assertThat(directory.usersIn(Role.SYSTEM_ADMIN)).containsExactly(1L);
+        assertThat(directory.directorsAndAdmins()).containsExactly(1L, 2L);
+        assertThat(directory.managersOf(10L)).containsExactly(3L, 5L);
+        assertThat(directory.managersOf(20L)).containsExactly(4L);
+        assertThat(directory.managersOf(30L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("キャッシュ済みなら再クエリせず、無効化後に読み直す")
+    void get_cachesUntilInvalidated() {
+        when(userRepository.findRoleEntries(1L)).thenReturn(List.<Object[]>of(new Object[]{2L, 10L, 1}));
+
+        cache.get(1L);
+        cache.get(1L);
+        verify(userRepository, times(1)).findRoleEntries(1L);
+
+        cache.invalidateTenant(1L);
+        cache.get(1L);
+        verify(userRepository, times(2)).findRoleEntries(1L);
+    }
+}
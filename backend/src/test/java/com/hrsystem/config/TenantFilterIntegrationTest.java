@@ -0,0 +1,175 @@
+package com.hrsystem.config;
+
+import com.hrsystem.cache.CacheInvalidationBus;
+import com.hrsystem.domain.model.Evaluation;
+import com.hrsystem.domain.model.TenantFilter;
+import com.hrsystem.domain.model.User;
+import com.hrsystem.security.TenantContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * TenantAwareJpaTransactionManager と tenantFilter（domain.model の package-info）の結合テスト。
+ * ローカルの PostgreSQL（Testcontainers）にマイグレーションを適用し、同じ名前のユーザー・評価を持つ2テナントで
+ * トランザクション内の JPQL と関連をたどる読み込みが他テナントの行を返さないこと、
+ * テナントコンテキストがない場合はフィルタを有効化しないことを検証する。Docker がない環境ではスキップする。
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TenantFilterIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final String NAME = "フィルタ 確認";
+
+    private static EntityManagerFactory entityManagerFactory;
+    private static TransactionTemplate transactionTemplate;
+    private static Long tenantA;
+    private static Long tenantB;
+
+    @BeforeAll
+    static void setUp() {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        tenantA = createTenant(jdbcTemplate, "filter-a");
+        tenantB = createTenant(jdbcTemplate, "filter-b");
+
+        entityManagerFactory = entityManagerFactory(dataSource);
+        transactionTemplate = new TransactionTemplate(new TenantAwareJpaTransactionManager(entityManagerFactory));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+    }
+
+    @AfterEach
+    void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("テナントのトランザクションでは JPQL が他テナントの行を返さない")
+    void jpql_excludesOtherTenant() {
+        TenantContext.setTenantId(tenantA);
+
+        List<User> users = inTransaction(em -> {
+            assertThat(em.unwrap(Session.class).getEnabledFilter(TenantFilter.NAME)).isNotNull();
+            return em.createQuery("SELECT u FROM User u WHERE u.name = :name", User.class)
+                    .setParameter("name", NAME).getResultList();
+        });
+
+        assertThat(users).singleElement().satisfies(u -> assertThat(u.getTenant().getId()).isEqualTo(tenantA));
+    }
+
+    @Test
+    @DisplayName("関連をたどる読み込み（JOIN FETCH・関連のパス）も他テナントの行を返さない")
+    void associations_excludeOtherTenant() {
+        TenantContext.setTenantId(tenantB);
+
+        List<String> loaded = inTransaction(em -> {
+            List<Evaluation> evaluations = em.createQuery(
+                            "SELECT e FROM Evaluation e JOIN FETCH e.user u JOIN FETCH e.department " +
+                            "WHERE u.name = :name", Evaluation.class)
+                    .setParameter("name", NAME).getResultList();
+            // 遅延読み込みの関連もトランザクション内で辿る
+            return evaluations.stream()
+                    .map(e -> e.getDepartment().getName() + "/" + e.getFiscalYear().getTenant().getId())
+                    .toList();
+        });
+        List<String> departments = inTransaction(em -> em.createQuery(
+                        "SELECT e.department.name FROM Evaluation e WHERE e.user.name = :name", String.class)
+                .setParameter("name", NAME).getResultList());
+
+        assertThat(loaded).containsExactly("filter-b の部署/" + tenantB);
+        assertThat(departments).containsExactly("filter-b の部署");
+    }
+
+    @Test
+    @DisplayName("テナントコンテキストがない場合はフィルタを有効化せず、全テナントの行を返す")
+    void withoutTenantContext_filterDisabled() {
+        List<User> users = inTransaction(em -> {
+            assertThat(em.unwrap(Session.class).getEnabledFilter(TenantFilter.NAME)).isNull();
+            return em.createQuery("SELECT u FROM User u WHERE u.name = :name ORDER BY u.id", User.class)
+                    .setParameter("name", NAME).getResultList();
+        });
+
+        assertThat(users).extracting(u -> u.getTenant().getId()).containsExactly(tenantA, tenantB);
+    }
+
+    // ===== ヘルパー =====
+
+    private static <T> T inTransaction(Function<EntityManager, T> work) {
+        return transactionTemplate.execute(status ->
+                work.apply(EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory)));
+    }
+
+    /** テナントと、同じ名前のユーザー・部署名・評価の組を作る。 */
+    private static Long createTenant(JdbcTemplate jdbcTemplate, String subdomain) {
+        Long tenantId = jdbcTemplate.queryForObject(
+                "INSERT INTO tenants (name, subdomain) VALUES (?, ?) RETURNING id", Long.class, subdomain, subdomain);
+        Long departmentId = jdbcTemplate.queryForObject(
+                "INSERT INTO departments (tenant_id, name) VALUES (?, ?) RETURNING id", Long.class,
+                tenantId, subdomain + " の部署");
+        Long userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (tenant_id, department_id, name, email, password) " +
+                "VALUES (?, ?, ?, 'filter@example.com', 'x') RETURNING id", Long.class, tenantId, departmentId, NAME);
+        Long fiscalYearId = jdbcTemplate.queryForObject(
+                "INSERT INTO fiscal_years (tenant_id, year, is_current) VALUES (?, 2026, TRUE) RETURNING id",
+                Long.class, tenantId);
+        jdbcTemplate.update(
+                "INSERT INTO evaluations (tenant_id, user_id, fiscal_year_id, period, department_id) " +
+                "VALUES (?, ?, ?, 'SUMMER', ?)", tenantId, userId, fiscalYearId, departmentId);
+        return tenantId;
+    }
+
+    /** アプリと同じ命名規則で、エンティティリスナーは Spring の Bean として生成する。 */
+    private static EntityManagerFactory entityManagerFactory(DriverManagerDataSource dataSource) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("cacheInvalidationBus", mock(CacheInvalidationBus.class));
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.hrsystem.domain.model");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.getJpaPropertyMap().put(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                CamelCaseToUnderscoresNamingStrategy.class.getName());
+        factory.getJpaPropertyMap().put(AvailableSettings.IMPLICIT_NAMING_STRATEGY,
+                SpringImplicitNamingStrategy.class.getName());
+        factory.getJpaPropertyMap().put(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beanFactory));
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+}
@@ -0,0 +1,68 @@
+package com.hrsystem.datasource;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * ReadYourWritesFilter の単体テスト。
+ * 成功した更新系リクエストにだけ、本文の書き込み前に Cookie を付与することを検証する。
+ */
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter =
+            new ReadYourWritesFilter(new ReadYourWritesTracker(Duration.ofSeconds(5)));
+
+    @Test
+    @DisplayName("更新系リクエストの成功時は本文を書き込む前に Cookie を付与する")
+    void marksBeforeBodyIsWritten() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/evaluations/1/submit"), response,
+                (req, res) -> {
+                    res.getWriter().write("{}");
+                    // 本文を書き始めた時点で付与済み
+                    assertThat(((HttpServletResponse) res).getHeader("Set-Cookie"))
+                            .startsWith(ReadYourWritesTracker.COOKIE_NAME + "=");
+                    res.flushBuffer();
+                });
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getCookie(ReadYourWritesTracker.COOKIE_NAME)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("本文の無い更新系リクエストも付与する")
+    void marksEmptyResponse() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/goals/1"), response,
+                (req, res) -> ((HttpServletResponse) res).setStatus(204));
+
+        assertThat(response.getCookie(ReadYourWritesTracker.COOKIE_NAME)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("失敗した更新と読み取りには付与しない")
+    void skipsFailuresAndReads() throws Exception {
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/evaluations/1/submit"), failed,
+                (req, res) -> {
+                    ((HttpServletResponse) res).setStatus(409);
+                    res.getWriter().write("{}");
+                });
+
+        MockHttpServletResponse read = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/evaluations"), read,
+                (req, res) -> res.getWriter().write("[]"));
+
+        assertThat(failed.getCookie(ReadYourWritesTracker.COOKIE_NAME)).isNull();
+        assertThat(read.getCookie(ReadYourWritesTracker.COOKIE_NAME)).isNull();
+    }
+}
@@ -0,0 +1,107 @@
+package com.hrsystem.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ReplicaRoutingDataSource の単体テスト。
+ * 遅延による除外・プライマリへのフォールバック・更新直後の Cookie による固定を検証する。
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("遅延が許容範囲内のレプリカから読む")
+    void select_healthyReplica() throws SQLException {
+        DataSource replica = replicaWithLag(100);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), tracker, 2000);
+
+        routing.checkLag();
+
+        assertThat(routing.select()).isSameAs(replica);
+    }
+
+    @Test
+    @DisplayName("遅延超過・接続不可のレプリカは除外し、全滅ならプライマリ")
+    void select_fallsBackToPrimary() throws SQLException {
+        DataSource lagging = replicaWithLag(10_000);
+        DataSource down = mock(DataSource.class);
+        when(down.getConnection()).thenThrow(new SQLException("down"));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(lagging, down), tracker, 2000);
+
+        routing.checkLag();
+
+        assertThat(routing.select()).isSameAs(primary);
+        assertThat(routing.status()).extracting(ReplicaRoutingDataSource.ReplicaStatus::healthy)
+                .containsExactly(false, false);
+    }
+
+    @Test
+    @DisplayName("更新直後の Cookie を持つリクエストはプライマリに固定")
+    void select_stickyAfterWrite() throws SQLException {
+        DataSource replica = replicaWithLag(0);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), tracker, 2000);
+        routing.checkLag();
+
+        // 更新したノードとは別のノードでも、Cookie だけで判定できる
+        MockHttpServletResponse written = new MockHttpServletResponse();
+        tracker.markWrite(written);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/evaluations");
+        request.setCookies(written.getCookie(ReadYourWritesTracker.COOKIE_NAME));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertThat(routing.select()).isSameAs(primary);
+    }
+
+    @Test
+    @DisplayName("固定期間を過ぎた Cookie はレプリカから読む")
+    void select_expiredMarkerUsesReplica() throws SQLException {
+        DataSource replica = replicaWithLag(0);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), tracker, 2000);
+        routing.checkLag();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/evaluations");
+        request.setCookies(new Cookie(ReadYourWritesTracker.COOKIE_NAME,
+                Long.toString(System.currentTimeMillis() - 60_000)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertThat(routing.select()).isSameAs(replica);
+    }
+
+    private DataSource replicaWithLag(long lagMillis) throws SQLException {
+        DataSource ds = mock(DataSource.class);
+        Connection conn = mock(Connection.class);
+        Statement st = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(ds.getConnection()).thenReturn(conn);
+        when(conn.createStatement()).thenReturn(st);
+        when(st.executeQuery(anyString())).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getLong(1)).thenReturn(lagMillis);
+        return ds;
+    }
+}
@@ -152,10 +152,10 @@ class DomainModelTest {
                 .winterSelfOpen(false).winterEvalOpen(true)
                 .build();
 
-        assertThat(fy.isSelfEvaluationOpen("SUMMER")).isTrue();
-        assertThat(fy.isSelfEvaluationOpen("WINTER")).isFalse();
-        assertThat(fy.isEvaluationOpen("SUMMER")).isFalse();
-        assertThat(fy.isEvaluationOpen("WINTER")).isTrue();
+        assertThat(fy.isSelfEvaluationOpen(EvaluationPeriod.SUMMER)).isTrue();
+        assertThat(fy.isSelfEvaluationOpen(EvaluationPeriod.WINTER)).isFalse();
+        assertThat(fy.isEvaluationOpen(EvaluationPeriod.SUMMER)).isFalse();
+        assertThat(fy.isEvaluationOpen(EvaluationPeriod.WINTER)).isTrue();
     }
 
     private Evaluation eval(EvaluationStatus status) {
@@ -0,0 +1,46 @@
+package com.hrsystem.domain;
+
+import com.hrsystem.domain.model.enums.Grade;
+import com.hrsystem.domain.model.enums.GradeConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Grade とコード変換の単体テスト。
+ */
+class GradeTest {
+
+    @Test
+    @DisplayName("表示名・定数名から変換し、不正な値は拒否する")
+    void of() {
+        assertThat(Grade.of("A+")).isEqualTo(Grade.A_PLUS);
+        assertThat(Grade.of("A_PLUS")).isEqualTo(Grade.A_PLUS);
+        assertThat(Grade.of(" SS ")).isEqualTo(Grade.SS);
+        assertThat(Grade.parse("")).isNull();
+        assertThatThrownBy(() -> Grade.of("B+")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("コードは上位ほど大きく、範囲比較できる")
+    void codeOrder() {
+        assertThat(Grade.SS.getCode()).isGreaterThan(Grade.S.getCode());
+        assertThat(Grade.A_PLUS.isAtLeast(Grade.A)).isTrue();
+        assertThat(Grade.B.isAtLeast(Grade.A)).isFalse();
+        for (Grade g : Grade.values()) {
+            assertThat(Grade.fromCode(g.getCode())).isEqualTo(g);
+        }
+        assertThat(Grade.fromCode(0)).isNull();
+    }
+
+    @Test
+    @DisplayName("JPA コンバータは SMALLINT のコードと相互に変換する")
+    void converter() {
+        GradeConverter converter = new GradeConverter();
+        assertThat(converter.convertToDatabaseColumn(Grade.A_PLUS)).isEqualTo((short) 5);
+        assertThat(converter.convertToEntityAttribute((short) 5)).isEqualTo(Grade.A_PLUS);
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+}
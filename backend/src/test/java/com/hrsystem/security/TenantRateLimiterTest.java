@@ -0,0 +1,69 @@
+package com.hrsystem.security;
+
+import com.hrsystem.domain.model.enums.TenantPlan;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TenantRateLimiter の単体テスト。
+ * 時計を差し替えてバースト・補充・同時実行数・テナント間の独立性を検証する。
+ */
+class TenantRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final TenantRateLimiter limiter = new TenantRateLimiter(true, now::get);
+
+    @Test
+    @DisplayName("バースト分までは即時許可し、超えたら Retry-After 付きで拒否")
+    void burstThenRateLimited() {
+        // FREE: 5 req/s, バースト 20
+        for (int i = 0; i < 20; i++) {
+            TenantRateLimiter.Permit p = limiter.tryAcquire(1L, TenantPlan.FREE);
+            assertThat(p.allowed()).isTrue();
+            p.release().run();
+        }
+
+        TenantRateLimiter.Permit rejected = limiter.tryAcquire(1L, TenantPlan.FREE);
+        assertThat(rejected.decision()).isEqualTo(TenantRateLimiter.Decision.RATE_LIMITED);
+        assertThat(rejected.retryAfterMillis()).isBetween(1L, 200L);
+
+        // 200ms 経過で1件分補充される
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        assertThat(limiter.tryAcquire(1L, TenantPlan.FREE).allowed()).isTrue();
+        assertThat(limiter.stats(1L).rateLimited()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("同時実行数の上限を超えたら拒否し、解放後は再び許可")
+    void concurrencyLimit() {
+        // FREE: 同時実行 4
+        TenantRateLimiter.Permit[] held = new TenantRateLimiter.Permit[4];
+        for (int i = 0; i < 4; i++) {
+            held[i] = limiter.tryAcquire(1L, TenantPlan.FREE);
+            assertThat(held[i].allowed()).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire(1L, TenantPlan.FREE).decision())
+                .isEqualTo(TenantRateLimiter.Decision.CONCURRENCY_LIMITED);
+
+        held[0].release().run();
+        assertThat(limiter.tryAcquire(1L, TenantPlan.FREE).allowed()).isTrue();
+        assertThat(limiter.stats(1L).inFlight()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("他テナントの流量は影響しない")
+    void tenantsAreIndependent() {
+        for (int i = 0; i < 25; i++) {
+            limiter.tryAcquire(1L, TenantPlan.FREE).release().run();
+        }
+
+        assertThat(limiter.tryAcquire(1L, TenantPlan.FREE).allowed()).isFalse();
+        assertThat(limiter.tryAcquire(2L, TenantPlan.FREE).allowed()).isTrue();
+    }
+}
@@ -0,0 +1,71 @@
+package com.hrsystem.security;
+
+import com.hrsystem.domain.model.Tenant;
+import com.hrsystem.domain.repository.TenantRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * TenantResolver の単体テスト。
+ * ホスト名からのサブドメイン抽出と、解決結果のキャッシュ・無効化を検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class TenantResolverTest {
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    private TenantResolver resolver(String baseDomain) {
+        return new TenantResolver(tenantRepository, baseDomain, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("base-domain 配下の1階層のサブドメインのみ取り出す")
+    void subdomainOf() {
+        TenantResolver resolver = resolver("hr.example.com");
+
+        assertThat(resolver.subdomainOf("Acme.HR.example.com")).contains("acme");
+        assertThat(resolver.subdomainOf("hr.example.com")).isEmpty();
+        assertThat(resolver.subdomainOf("a.b.hr.example.com")).isEmpty();
+        assertThat(resolver.subdomainOf("acme.evil-hr.example.com")).isEmpty();
+        assertThat(resolver.subdomainOf("localhost")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("base-domain 未設定では解決しない")
+    void disabledWithoutBaseDomain() {
+        TenantResolver resolver = resolver("");
+
+        assertThat(resolver.isEnabled()).isFalse();
+        assertThat(resolver.subdomainOf("acme.hr.example.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("解決結果（存在しないサブドメインを含む）をキャッシュし、無効化で再読み込みする")
+    void resolve_cachedUntilInvalidated() {
+        TenantResolver resolver = resolver("hr.example.com");
+        when(tenantRepository.findBySubdomain("acme"))
+                .thenReturn(Optional.of(Tenant.builder().id(7L).subdomain("acme").build()));
+        when(tenantRepository.findBySubdomain("unknown")).thenReturn(Optional.empty());
+
+        assertThat(resolver.resolve("acme")).contains(7L);
+        assertThat(resolver.resolve("acme")).contains(7L);
+        assertThat(resolver.resolve("unknown")).isEmpty();
+        assertThat(resolver.resolve("unknown")).isEmpty();
+        verify(tenantRepository, times(1)).findBySubdomain("acme");
+        verify(tenantRepository, times(1)).findBySubdomain("unknown");
+
+        resolver.invalidateTenant(7L);
+        resolver.resolve("acme");
+        verify(tenantRepository, times(2)).findBySubdomain("acme");
+    }
+}
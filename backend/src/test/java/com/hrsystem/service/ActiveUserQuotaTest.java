@@ -0,0 +1,103 @@
+package com.hrsystem.service;
+
+import com.hrsystem.domain.model.enums.TenantPlan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ActiveUserQuota の単体テスト。
+ * 上限の確認を DB の条件付き UPDATE で行うこと、突き合わせはテナント行をロックしてから数えることを検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class ActiveUserQuotaTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private SchedulerLeader schedulerLeader;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ActiveUserQuota quota;
+
+    @BeforeEach
+    void setUp() {
+        quota = new ActiveUserQuota(jdbcTemplate, schedulerLeader, transactionManager);
+    }
+
+    @Test
+    @DisplayName("上限を超えない場合だけ加算する条件付き UPDATE で予約する")
+    void reserve_conditionalUpdate() {
+        when(jdbcTemplate.update(contains("active_users + ? <= ?"), eq(3), eq(1L), eq(3), eq(10))).thenReturn(1);
+
+        // FREE: 上限 10 名
+        quota.reserve(1L, TenantPlan.FREE, 3);
+
+        verify(jdbcTemplate).update(contains("active_users + ? <= ?"), eq(3), eq(1L), eq(3), eq(10));
+    }
+
+    @Test
+    @DisplayName("上限に達している場合（UPDATE が0件）は予約を拒否する")
+    void reserve_overLimit() {
+        when(jdbcTemplate.update(anyString(), eq(1), eq(1L), eq(1), eq(10))).thenReturn(0);
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(1L))).thenReturn(List.of(10));
+
+        assertThatThrownBy(() -> quota.reserve(1L, TenantPlan.FREE, 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("上限")
+                .hasMessageContaining("現在 10名");
+    }
+
+    @Test
+    @DisplayName("無効化は呼び出し元のトランザクションで減算する")
+    void released_decrements() {
+        quota.released(1L, 2);
+
+        verify(jdbcTemplate).update(contains("GREATEST(active_users - ?, 0)"), eq(2), eq(1L));
+    }
+
+    @Test
+    @DisplayName("突き合わせはテナント行をロックしてから数え、ずれていれば補正する")
+    void reconcile_locksThenCorrects() {
+        when(jdbcTemplate.queryForList(contains("FOR UPDATE"), eq(Integer.class), eq(1L))).thenReturn(List.of(5));
+        when(jdbcTemplate.queryForObject(contains("FROM users"), eq(Integer.class), eq(1L))).thenReturn(8);
+
+        quota.reconcile(1L);
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).queryForList(contains("FOR UPDATE"), eq(Integer.class), eq(1L));
+        order.verify(jdbcTemplate).queryForObject(contains("FROM users"), eq(Integer.class), eq(1L));
+        order.verify(jdbcTemplate).update(contains("SET active_users = ?"), eq(8), eq(1L));
+    }
+
+    @Test
+    @DisplayName("件数が一致していれば更新しない")
+    void reconcile_noChange() {
+        when(jdbcTemplate.queryForList(contains("FOR UPDATE"), eq(Integer.class), eq(1L))).thenReturn(List.of(5));
+        when(jdbcTemplate.queryForObject(contains("FROM users"), eq(Integer.class), eq(1L))).thenReturn(5);
+
+        quota.reconcile(1L);
+
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("リーダーでないノードは突き合わせない")
+    void reconcile_skipsWhenNotLeader() {
+        when(schedulerLeader.isLeader()).thenReturn(false);
+
+        quota.reconcile();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
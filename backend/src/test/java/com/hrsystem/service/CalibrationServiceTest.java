@@ -0,0 +1,202 @@
+package com.hrsystem.service;
+
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.domain.model.FiscalYear;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.Grade;
+import com.hrsystem.domain.repository.FiscalYearRepository;
+import com.hrsystem.service.CalibrationService.Adjustment;
+import com.hrsystem.service.CalibrationService.GradeLimit;
+import com.hrsystem.service.CalibrationService.GroupResult;
+import com.hrsystem.service.CalibrationService.Row;
+import com.hrsystem.service.CalibrationService.Scope;
+import com.hrsystem.service.CalibrationService.Target;
+import com.hrsystem.service.CalibrationService.Violation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * CalibrationService の単体テスト。
+ * 上限超過分を下位へ送る計算と、計算後に変更された評価・調整案と異なる調整の反映拒否を検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class CalibrationServiceTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private FiscalYearRepository fiscalYearRepository;
+    @Mock private ReferenceDataCache referenceDataCache;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CalibrationService service;
+
+    private final Target target = new Target(100L, EvaluationPeriod.SUMMER, Scope.TENANT,
+            List.of(new GradeLimit(Grade.S, 50)), null);
+
+    private static Row row(long id, Grade manager, Grade director) {
+        return new Row(id, 10, manager, manager, director);
+    }
+
+    @Test
+    @DisplayName("上限を超えた分を管理者評価の低い順に1段階下げ、下の評価でも超えればさらに下げる")
+    void calibrate_cascades() {
+        List<Row> rows = List.of(
+                row(1, Grade.S, Grade.S), row(2, Grade.A, Grade.S), row(3, Grade.A_PLUS, Grade.S),
+                row(4, Grade.A_PLUS, Grade.A_PLUS), row(5, Grade.A, Grade.A_PLUS),
+                row(6, Grade.A, Grade.A), row(7, Grade.A, Grade.A), row(8, Grade.A, Grade.A),
+                row(9, Grade.A, Grade.A), row(10, Grade.A, Grade.A));
+
+        GroupResult result = CalibrationService.calibrate(10L, "営業部", rows,
+                Map.of(Grade.S, 10, Grade.A_PLUS, 20));
+
+        assertThat(result.violations()).containsExactly(new Violation(Grade.S, 3, 1));
+        assertThat(result.adjustments()).containsExactly(
+                new Adjustment(2L, Grade.S, Grade.A_PLUS),
+                new Adjustment(3L, Grade.S, Grade.A_PLUS),
+                new Adjustment(4L, Grade.A_PLUS, Grade.A),
+                new Adjustment(5L, Grade.A_PLUS, Grade.A));
+        assertThat(result.before()).containsEntry(Grade.S, 3).containsEntry(Grade.A_PLUS, 2).containsEntry(Grade.A, 5);
+        assertThat(result.after()).containsEntry(Grade.S, 1).containsEntry(Grade.A_PLUS, 2).containsEntry(Grade.A, 7);
+    }
+
+    @Test
+    @DisplayName("上限件数は切り捨てで、少人数の部署では上位評価が0件になる")
+    void calibrate_smallGroup() {
+        List<Row> rows = List.of(row(1, Grade.S, Grade.S), row(2, Grade.S, Grade.S), row(3, Grade.B, Grade.B));
+
+        GroupResult result = CalibrationService.calibrate(10L, "総務部", rows, Map.of(Grade.S, 10));
+
+        assertThat(result.violations()).containsExactly(new Violation(Grade.S, 2, 0));
+        assertThat(result.adjustments()).extracting(Adjustment::to).containsOnly(Grade.A_PLUS);
+        assertThat(result.adjustments()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("上限内であれば調整しない")
+    void calibrate_withinLimits() {
+        List<Row> rows = List.of(row(1, Grade.S, Grade.S), row(2, Grade.A, Grade.A));
+
+        GroupResult result = CalibrationService.calibrate(null, null, rows, Map.of(Grade.S, 50));
+
+        assertThat(result.violations()).isEmpty();
+        assertThat(result.adjustments()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("計算後に役員評価が変わった評価を含む場合は反映しない")
+    void apply_rejectsStaleProposal() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(1L);
+        when(rs.getString("status")).thenReturn("DIRECTOR_EVALUATED");
+        when(rs.getShort(anyString())).thenReturn((short) Grade.A.getCode());
+        doAnswer(inv -> {
+            inv.getArgument(2, RowCallbackHandler.class).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+        assertThatThrownBy(() -> service.apply(1L, 900L, target, List.of(new Adjustment(1L, Grade.S, Grade.A_PLUS))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("再計算");
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("同じ評価の調整が重複している場合はエラー")
+    void apply_rejectsDuplicates() {
+        assertThatThrownBy(() -> service.apply(1L, 900L, target, List.of(
+                new Adjustment(1L, Grade.S, Grade.A_PLUS), new Adjustment(1L, Grade.S, Grade.A))))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("期を指定した場合は評価期間の列型にキャストして絞り込む")
+    @SuppressWarnings("unchecked")
+    void propose_filtersByPeriod() {
+        when(fiscalYearRepository.findByIdAndTenantId(100L, 1L)).thenReturn(Optional.of(new FiscalYear()));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(1L), eq(100L), eq("SUMMER")))
+                .thenReturn(List.of(new Row(1, 10, Grade.S, Grade.S, Grade.S), new Row(2, 10, Grade.A, Grade.A, Grade.S)));
+
+        CalibrationService.Proposal proposal = service.propose(1L, target);
+
+        assertThat(proposal.total()).isEqualTo(2);
+        assertThat(proposal.adjustmentCount()).isEqualTo(1);
+        verify(jdbcTemplate).query(contains("period = CAST(? AS evaluation_period)"), any(RowMapper.class),
+                eq(1L), eq(100L), eq("SUMMER"));
+    }
+
+    @Test
+    @DisplayName("役員評価より下げない調整は反映しない")
+    void apply_rejectsNonDowngrade() {
+        assertThatThrownBy(() -> service.apply(1L, 900L, target, List.of(new Adjustment(1L, Grade.A, Grade.S))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("下げる");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("再計算した調整案と異なる送り先の調整は反映しない")
+    @SuppressWarnings("unchecked")
+    void apply_rejectsAdjustmentOutsideProposal() throws Exception {
+        stubLockedAsDirectorEvaluatedS();
+        when(fiscalYearRepository.findByIdAndTenantId(100L, 1L)).thenReturn(Optional.of(new FiscalYear()));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(1L), eq(100L), eq("SUMMER")))
+                .thenReturn(List.of(new Row(1, 10, Grade.A, Grade.A, Grade.S), new Row(2, 10, Grade.S, Grade.S, Grade.S)));
+
+        // 調整案は S → A+ のため、S → B は受け付けない
+        assertThatThrownBy(() -> service.apply(1L, 900L, target, List.of(new Adjustment(1L, Grade.S, Grade.B))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("調整案と一致しない");
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("調整案どおりの調整は一括反映し、履歴用のイベントを発行する")
+    @SuppressWarnings("unchecked")
+    void apply_appliesProposedAdjustment() throws Exception {
+        stubLockedAsDirectorEvaluatedS();
+        when(fiscalYearRepository.findByIdAndTenantId(100L, 1L)).thenReturn(Optional.of(new FiscalYear()));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(1L), eq(100L), eq("SUMMER")))
+                .thenReturn(List.of(new Row(1, 10, Grade.A, Grade.A, Grade.S), new Row(2, 10, Grade.S, Grade.S, Grade.S)));
+
+        CalibrationService.ApplyResult result =
+                service.apply(1L, 900L, target, List.of(new Adjustment(1L, Grade.S, Grade.A_PLUS)));
+
+        assertThat(result.applied()).isEqualTo(1);
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Adjustment> list) -> list.size() == 1),
+                eq(500), any());
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof EvaluationTransitionEvent t
+                && t.directorGrade() == Grade.A_PLUS && t.actorId().equals(900L)));
+    }
+
+    private void stubLockedAsDirectorEvaluatedS() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(1L);
+        when(rs.getString("status")).thenReturn("DIRECTOR_EVALUATED");
+        when(rs.getShort(anyString())).thenReturn((short) Grade.S.getCode());
+        doAnswer(inv -> {
+            inv.getArgument(2, RowCallbackHandler.class).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+    }
+}
@@ -0,0 +1,35 @@
+package com.hrsystem.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * CsvRecordReader の単体テスト。
+ */
+class CsvRecordReaderTest {
+
+    @Test
+    @DisplayName("クォート内のカンマ・改行・ダブルクォートを読み、BOM を読み飛ばす")
+    void next_quoted() throws Exception {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "\uFEFFa,\"b,c\",\"d\"\"e\"\r\n\"複数\n行\",x\n"));
+
+        assertThat(reader.next()).containsExactly("a", "b,c", "d\"e");
+        assertThat(reader.recordLine()).isEqualTo(1);
+        assertThat(reader.next()).containsExactly("複数\n行", "x");
+        assertThat(reader.recordLine()).isEqualTo(2);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("クォートが閉じられていない場合はエラー")
+    void next_unterminated() {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,\"b\n"));
+
+        assertThatThrownBy(reader::next).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,125 @@
+package com.hrsystem.service;
+
+import com.hrsystem.cache.RoleDirectory;
+import com.hrsystem.cache.RoleDirectoryCache;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.repository.NotificationBatchRepository;
+import com.hrsystem.domain.repository.ReminderLogRepository;
+import com.hrsystem.service.DeadlineReminderService.Action;
+import com.hrsystem.service.DeadlineReminderService.DueYear;
+import com.hrsystem.service.DeadlineReminderService.PendingRow;
+import com.hrsystem.service.DeadlineReminderService.Reminder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * DeadlineReminderService の単体テスト。
+ * 評価のステータスごとの送信先・ユーザー単位の集約・同日の重複防止を検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class DeadlineReminderServiceTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private RoleDirectoryCache roleDirectoryCache;
+    @Mock private ReminderLogRepository reminderLogRepository;
+    @Mock private NotificationBatchRepository notificationBatchRepository;
+    @Mock private SchedulerLeader schedulerLeader;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private DeadlineReminderService service;
+
+    private final LocalDate today = LocalDate.of(2025, 9, 24);
+    private final DueYear year = new DueYear(1L, 5L,
+            Map.of(EvaluationPeriod.SUMMER, LocalDate.of(2025, 9, 30)),
+            EnumSet.of(EvaluationPeriod.SUMMER), EnumSet.of(EvaluationPeriod.SUMMER));
+    private final RoleDirectory directory = new RoleDirectory(
+            Map.of(RoleDirectory.Role.DIRECTOR, List.of(900L)),
+            Map.of(10L, List.of(800L)));
+
+    private final List<PendingRow> rows = List.of(
+            new PendingRow(EvaluationPeriod.SUMMER, EvaluationStatus.NOT_STARTED, 1L, 100L, 10L),
+            new PendingRow(EvaluationPeriod.SUMMER, EvaluationStatus.SELF_SUBMITTED, 2L, 100L, 10L),
+            new PendingRow(EvaluationPeriod.SUMMER, EvaluationStatus.SELF_SUBMITTED, 3L, 100L, 10L),
+            new PendingRow(EvaluationPeriod.SUMMER, EvaluationStatus.SELF_SUBMITTED, 4L, null, 10L),
+            new PendingRow(EvaluationPeriod.SUMMER, EvaluationStatus.EVALUATOR_SUBMITTED, 5L, 100L, 10L),
+            new PendingRow(EvaluationPeriod.SUMMER, EvaluationStatus.MANAGER_APPROVED, 6L, 100L, 10L),
+            new PendingRow(EvaluationPeriod.WINTER, EvaluationStatus.NOT_STARTED, 7L, 100L, 10L));
+
+    @BeforeEach
+    void setUp() {
+        service = new DeadlineReminderService(jdbcTemplate, roleDirectoryCache, reminderLogRepository,
+                notificationBatchRepository, schedulerLeader, transactionManager, 7, 3, 90, "Asia/Tokyo");
+    }
+
+    @Test
+    @DisplayName("ステータスから次に対応する人を決め、ユーザーごとに件数をまとめる")
+    void collect_groupsByUser() {
+        Map<Long, Reminder> reminders = DeadlineReminderService.collect(year, rows, directory);
+
+        // 評価者未割り当て（4）と期限の近くない冬季（7）は送らない
+        assertThat(reminders).containsOnlyKeys(1L, 100L, 800L, 900L);
+        assertThat(reminders.get(1L).counts()).containsExactly(entry(Action.SELF, 1));
+        assertThat(reminders.get(100L).counts()).containsExactly(entry(Action.EVALUATE, 2));
+        assertThat(reminders.get(800L).counts()).containsExactly(entry(Action.APPROVE, 1));
+        assertThat(reminders.get(900L).counts()).containsExactly(entry(Action.DIRECT, 1));
+        assertThat(DeadlineReminderService.message(reminders.get(100L))).contains("評価者評価 2件");
+    }
+
+    @Test
+    @DisplayName("自己評価の受付が閉じている期は本人に送らない")
+    void collect_skipsClosedSelfEvaluation() {
+        DueYear closed = new DueYear(1L, 5L, year.deadlines(),
+                EnumSet.noneOf(EvaluationPeriod.class), EnumSet.of(EvaluationPeriod.SUMMER));
+
+        assertThat(DeadlineReminderService.collect(closed, rows, directory)).doesNotContainKey(1L);
+    }
+
+    @Test
+    @DisplayName("その日すでに送ったユーザーには送らない")
+    @SuppressWarnings("unchecked")
+    void remind_sendsOnlyClaimedUsers() {
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenReturn(rows);
+        when(roleDirectoryCache.get(1L)).thenReturn(directory);
+        when(reminderLogRepository.claim(eq(1L), eq(today), anyCollection())).thenReturn(Set.of(100L));
+        when(notificationBatchRepository.insertAll(anyList())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        int sent = service.remind(year, today);
+
+        assertThat(sent).isEqualTo(1);
+        verify(reminderLogRepository).claim(eq(1L), eq(today),
+                argThat(ids -> Set.copyOf(ids).equals(Set.of(1L, 100L, 800L, 900L))));
+        verify(notificationBatchRepository).insertAll(argThat(list ->
+                list.size() == 1 && list.get(0).userId().equals(100L)
+                        && list.get(0).title().equals("評価期限（9月30日）まであと6日です")));
+    }
+
+    @Test
+    @DisplayName("リーダーでないノードは何もしない")
+    void run_skipsWhenNotLeader() {
+        when(schedulerLeader.isLeader()).thenReturn(false);
+
+        service.run();
+
+        verifyNoInteractions(jdbcTemplate, reminderLogRepository, notificationBatchRepository);
+    }
+}
@@ -0,0 +1,136 @@
+package com.hrsystem.service;
+
+import com.hrsystem.service.DraftService.DraftType;
+import com.hrsystem.service.DraftService.DraftView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * DraftService の単体テスト。
+ * 下書きの合体・上限到達時の書き出し・書き出し失敗時の保持と、
+ * 書き出しの UPDATE が提出済み・受付期間外の対象を除外し version を上げないことを検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class DraftServiceTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private DraftService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DraftService(jdbcTemplate, 2, 100, 10);
+    }
+
+    @Test
+    @DisplayName("同じ対象への保存は最新の内容に合体し、1件だけ書き出す")
+    @SuppressWarnings("unchecked")
+    void save_coalescesToLatest() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+        service.save(1L, 100L, DraftType.SUMMER_SELF_ASSESSMENT, 10L, "途中");
+        service.save(1L, 100L, DraftType.SUMMER_SELF_ASSESSMENT, 10L, "完成");
+
+        service.flushAll();
+
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), args.capture());
+        assertThat(args.getValue()).hasSize(1);
+        assertThat(args.getValue().get(0)).containsExactly("完成", 10L, 1L, 100L);
+        assertThat(service.list(100L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("自己評価の書き出しは未提出・受付中の場合だけ更新し、目標の version は上げない")
+    void flush_selfAssessmentGuardedByStatusAndWindow() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{0});
+        service.save(1L, 100L, DraftType.SUMMER_SELF_ASSESSMENT, 10L, "夏");
+        service.save(1L, 100L, DraftType.WINTER_SELF_ASSESSMENT, 10L, "冬");
+
+        service.flushAll();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(sql.capture(), anyList());
+        assertThat(sql.getAllValues()).allSatisfy(s -> {
+            assertThat(s).contains("e.status = 'NOT_STARTED'");
+            assertThat(s).doesNotContain("version");
+        });
+        assertThat(sql.getAllValues()).anySatisfy(s -> assertThat(s).contains("f.summer_self_open"));
+        assertThat(sql.getAllValues()).anySatisfy(s -> assertThat(s).contains("f.winter_self_open"));
+        // 更新されなかった（提出済み・期間外の）下書きも残さない
+        assertThat(service.list(100L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("評価者コメントの書き出しは評価待ち・評価の受付中の場合だけ更新する")
+    void flush_evaluatorCommentGuardedByStatusAndWindow() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+        service.save(1L, 200L, DraftType.EVALUATOR_COMMENT, 50L, "コメント");
+
+        service.flushAll();
+
+        verify(jdbcTemplate).batchUpdate(argThat((String s) -> s.contains("e.status = 'SELF_SUBMITTED'")
+                && s.contains("summer_eval_open") && s.contains("winter_eval_open")), anyList());
+    }
+
+    @Test
+    @DisplayName("書き出しに失敗した下書きは残して次回に再試行する")
+    void flush_keepsDraftsOnFailure() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[]{1});
+        service.save(1L, 100L, DraftType.SUMMER_SELF_ASSESSMENT, 10L, "途中");
+
+        service.flushAll();
+        assertThat(service.list(100L)).extracting(DraftView::text).containsExactly("途中");
+
+        service.flushAll();
+        assertThat(service.list(100L)).isEmpty();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("ユーザーあたりの上限に達したら、新しい対象を保存する前にそのユーザーの分を書き出す")
+    void save_flushesUserAtPerUserLimit() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+        service.save(1L, 100L, DraftType.SUMMER_SELF_ASSESSMENT, 10L, "a");
+        service.save(1L, 100L, DraftType.SUMMER_SELF_ASSESSMENT, 11L, "b");
+        verifyNoInteractions(jdbcTemplate);
+
+        service.save(1L, 100L, DraftType.SUMMER_SELF_ASSESSMENT, 12L, "c");
+
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> list) -> list.size() == 2));
+        assertThat(service.list(100L)).extracting(DraftView::targetId).containsExactly(12L);
+    }
+
+    @Test
+    @DisplayName("文字数の上限を超える下書きは保存しない")
+    void save_rejectsTooLongText() {
+        assertThatThrownBy(() -> service.save(1L, 100L, DraftType.SUMMER_SELF_ASSESSMENT, 10L, "12345678901"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(service.list(100L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("破棄した下書きは書き出さない")
+    void discard_dropsWithoutWriting() {
+        service.save(1L, 200L, DraftType.EVALUATOR_COMMENT, 50L, "コメント");
+
+        service.discard(200L, DraftType.EVALUATOR_COMMENT, 50L);
+        service.flushAll();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,41 @@
+package com.hrsystem.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * EvaluationExportService の CSV 書式の単体テスト。
+ */
+class EvaluationExportServiceTest {
+
+    @Test
+    @DisplayName("カンマ・改行・ダブルクォートを含む値はクォートする")
+    void escape_quotes() {
+        assertThat(EvaluationExportService.escape("普通")).isEqualTo("普通");
+        assertThat(EvaluationExportService.escape("A,B")).isEqualTo("\"A,B\"");
+        assertThat(EvaluationExportService.escape("1行目\n2行目")).isEqualTo("\"1行目\n2行目\"");
+        assertThat(EvaluationExportService.escape("\"良好\"")).isEqualTo("\"\"\"良好\"\"\"");
+        assertThat(EvaluationExportService.escape(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("数式として解釈される値は先頭に ' を付ける")
+    void escape_formula() {
+        assertThat(EvaluationExportService.escape("=SUM(A1)")).isEqualTo("'=SUM(A1)");
+        assertThat(EvaluationExportService.escape("-1")).isEqualTo("'-1");
+        assertThat(EvaluationExportService.escape("@cmd,x")).isEqualTo("\"'@cmd,x\"");
+    }
+
+    @Test
+    @DisplayName("1レコードを CRLF 区切りで書き出す")
+    void writeRecord() throws Exception {
+        StringWriter out = new StringWriter();
+        EvaluationExportService.writeRecord(out, Arrays.asList("1", null, "A,B"));
+        assertThat(out.toString()).isEqualTo("1,,\"A,B\"\r\n");
+    }
+}
@@ -0,0 +1,180 @@
+package com.hrsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.Grade;
+import com.hrsystem.domain.repository.EvaluationEventRepository;
+import com.hrsystem.domain.repository.EvaluationEventRepository.EvaluationKey;
+import com.hrsystem.domain.repository.EvaluationEventRepository.Snapshot;
+import com.hrsystem.domain.repository.EvaluationEventRepository.StoredEvent;
+import com.hrsystem.service.EvaluationTimelineService.Timeline;
+import com.hrsystem.service.EvaluationTimelineService.TimelineEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * EvaluationTimelineService の単体テスト。
+ * 遷移の履歴をトランザクションごとにまとめて登録すること、スナップショットと以降の履歴から差し戻し前の評価値を含む全履歴を
+ * 組み立てること、存在しない評価は見つからない扱いにすることを検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class EvaluationTimelineServiceTest {
+
+    @Mock private EvaluationEventRepository eventRepository;
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final LocalDateTime t0 = LocalDateTime.of(2026, 7, 1, 9, 0);
+
+    private EvaluationTimelineService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EvaluationTimelineService(eventRepository, jdbcTemplate, objectMapper,
+                2, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("トランザクション内の遷移は溜めておき、コミット直前に1回のバッチで登録する")
+    void onTransition_batchesPerTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.onTransition(transition(EvaluationStatus.NOT_STARTED, EvaluationStatus.SELF_SUBMITTED,
+                    1L, null, null));
+            service.onTransition(transition(EvaluationStatus.EVALUATOR_SUBMITTED, EvaluationStatus.SELF_SUBMITTED,
+                    3L, null, "見直してください"));
+            verifyNoInteractions(eventRepository);
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertThat(synchronizations).hasSize(1);
+            synchronizations.forEach(s -> s.beforeCommit(false));
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ArgumentCaptor<List<EvaluationEventRepository.NewEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(eventRepository).insertAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+        assertThat(captor.getValue().get(1)).satisfies(e -> {
+            assertThat(e.evaluationId()).isEqualTo(10L);
+            assertThat(e.actorId()).isEqualTo(3L);
+            assertThat(e.reason()).isEqualTo("見直してください");
+            assertThat(e.occurredAt()).isEqualTo(t0);
+        });
+        assertThat(TransactionSynchronizationManager.getResource(service)).isNull();
+    }
+
+    @Test
+    @DisplayName("履歴を登録できない場合は例外を伝え、遷移をロールバックさせる")
+    void onTransition_propagatesFailure() {
+        doThrow(new DataAccessResourceFailureException("down")).when(eventRepository).insertAll(anyList());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.onTransition(transition(EvaluationStatus.NOT_STARTED, EvaluationStatus.SELF_SUBMITTED,
+                    1L, null, null));
+            TransactionSynchronization pending = TransactionSynchronizationManager.getSynchronizations().get(0);
+
+            assertThatThrownBy(() -> pending.beforeCommit(false))
+                    .isInstanceOf(DataAccessResourceFailureException.class);
+            pending.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(TransactionSynchronizationManager.getResource(service)).isNull();
+    }
+
+    @Test
+    @DisplayName("トランザクション外の遷移はその場で登録する")
+    void onTransition_withoutTransaction() {
+        service.onTransition(transition(EvaluationStatus.NOT_STARTED, EvaluationStatus.SELF_SUBMITTED,
+                1L, null, null));
+
+        verify(eventRepository).insertAll(argThat(rows -> rows.size() == 1));
+    }
+
+    @Test
+    @DisplayName("履歴が無く、テナントの評価でもない場合は見つからない扱いにする")
+    void timeline_unknownEvaluation() {
+        when(eventRepository.findSnapshot(1L, 99L)).thenReturn(Optional.empty());
+        when(eventRepository.findAfter(1L, 99L, 0L)).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(1L), eq(99L))).thenReturn(0);
+
+        assertThatThrownBy(() -> service.timeline(1L, 99L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("評価が見つかりません");
+    }
+
+    @Test
+    @DisplayName("履歴がまだ無い評価は空の履歴を返す")
+    void timeline_emptyForExistingEvaluation() {
+        when(eventRepository.findSnapshot(1L, 10L)).thenReturn(Optional.empty());
+        when(eventRepository.findAfter(1L, 10L, 0L)).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(1L), eq(10L))).thenReturn(1);
+
+        assertThat(service.timeline(1L, 10L).entries()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("スナップショットと以降の履歴を発生順に並べ、差し戻し前の評価値も残る")
+    void timeline_mergesSnapshotAndTail() throws Exception {
+        TimelineEntry evaluated = TimelineEntry.of(stored(1L, EvaluationStatus.SELF_SUBMITTED,
+                EvaluationStatus.EVALUATOR_SUBMITTED, Grade.A, t0.plusDays(1)));
+        when(eventRepository.findSnapshot(1L, 10L)).thenReturn(Optional.of(
+                new Snapshot(1L, 1, objectMapper.writeValueAsString(List.of(evaluated)))));
+        when(eventRepository.findAfter(1L, 10L, 1L)).thenReturn(List.of(
+                stored(2L, EvaluationStatus.EVALUATOR_SUBMITTED, EvaluationStatus.SELF_SUBMITTED, null, t0.plusDays(2))));
+
+        Timeline timeline = service.timeline(1L, 10L);
+
+        assertThat(timeline.entries()).extracting(TimelineEntry::eventId).containsExactly(1L, 2L);
+        assertThat(timeline.entries().get(0).evaluatorGrade()).isEqualTo(Grade.A);
+        assertThat(timeline.entries().get(1).evaluatorGrade()).isNull();
+    }
+
+    @Test
+    @DisplayName("スナップショットを以降の履歴まで含めて作り直す")
+    void compactOne_extendsSnapshot() throws Exception {
+        when(eventRepository.findSnapshot(1L, 10L)).thenReturn(Optional.empty());
+        when(eventRepository.findSettledAfter(eq(1L), eq(10L), eq(0L), any())).thenReturn(List.of(
+                stored(5L, EvaluationStatus.SELF_SUBMITTED, EvaluationStatus.EVALUATOR_SUBMITTED, Grade.B, t0.plusDays(1)),
+                stored(4L, EvaluationStatus.NOT_STARTED, EvaluationStatus.SELF_SUBMITTED, null, t0)));
+
+        assertThat(service.compactOne(new EvaluationKey(1L, 10L))).isTrue();
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(eventRepository).saveSnapshot(eq(1L), eq(10L), eq(5L), eq(2), json.capture());
+        assertThat(json.getValue()).contains("\"evaluatorGrade\":\"B\"");
+        assertThat(json.getValue().indexOf("\"eventId\":4")).isLessThan(json.getValue().indexOf("\"eventId\":5"));
+    }
+
+    private EvaluationTransitionEvent transition(EvaluationStatus from, EvaluationStatus to,
+                                                 Long actorId, String comment, String reason) {
+        return new EvaluationTransitionEvent(1L, 10L, from, to, null, null, null, 2L, 20L,
+                actorId, comment, reason, t0);
+    }
+
+    private static StoredEvent stored(long id, EvaluationStatus from, EvaluationStatus to,
+                                      Grade evaluatorGrade, LocalDateTime at) {
+        return new StoredEvent(id, from, to, null, evaluatorGrade, null, null, null, null, at);
+    }
+}
@@ -1,8 +1,14 @@
 package com.hrsystem.service;
 
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.cache.RoleDirectory;
+import com.hrsystem.cache.RoleDirectoryCache;
+import com.hrsystem.cache.TenantReferenceData.OpenWindows;
 import com.hrsystem.domain.model.*;
 import com.hrsystem.domain.model.enums.EvaluationPeriod;
 import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.EvaluationWindow;
+import com.hrsystem.domain.model.enums.Grade;
 import com.hrsystem.domain.model.enums.TenantPlan;
 import com.hrsystem.domain.repository.*;
 import com.hrsystem.security.TenantContext;
@@ -10,9 +16,12 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,6 +45,18 @@ class EvaluationWorkflowServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private DraftService draftService;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private RoleDirectoryCache roleDirectoryCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private Tenant tenant;
     private Department department;
     private Position staffPosition;
@@ -93,23 +114,59 @@ class EvaluationWorkflowServiceTest {
     @DisplayName("自己評価提出: NOT_STARTED → SELF_SUBMITTED")
     void submitSelfEvaluation_success() {
         Evaluation eval = createEvaluation(EvaluationStatus.NOT_STARTED);
-        when(evaluationRepository.findById(1L)).thenReturn(Optional.of(eval));
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
         when(evaluationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
         Evaluation result = service.submitSelfEvaluation(1L, staffUser.getId());
 
         assertThat(result.getStatus()).isEqualTo(EvaluationStatus.SELF_SUBMITTED);
+        verify(draftService).flushUser(staffUser.getId());
         verify(notificationRepository).save(argThat(n ->
                 n.getUser().getId().equals(evaluatorUser.getId()) &&
                 n.getType().equals("self_submitted")
         ));
     }
 
+    @Test
+    @DisplayName("自己評価提出: 評価者が無効化されている場合は役員・管理者に再割り当てを促す")
+    void submitSelfEvaluation_inactiveEvaluatorNotifiesDirectors() {
+        Evaluation eval = createEvaluation(EvaluationStatus.NOT_STARTED);
+        evaluatorUser.setIsActive(false);
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
+        when(evaluationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        when(roleDirectoryCache.get(1L)).thenReturn(directory());
+        when(userRepository.getReferenceById(directorUser.getId())).thenReturn(directorUser);
+
+        Evaluation result = service.submitSelfEvaluation(1L, staffUser.getId());
+
+        assertThat(result.getStatus()).isEqualTo(EvaluationStatus.SELF_SUBMITTED);
+        verify(notificationRepository).save(argThat(n ->
+                n.getUser().getId().equals(directorUser.getId()) &&
+                n.getType().equals("evaluator_missing")
+        ));
+        verify(notificationRepository, never()).save(argThat(n -> n.getType().equals("self_submitted")));
+    }
+
+    @Test
+    @DisplayName("自己評価提出: 評価者が未割り当ての場合も役員・管理者に再割り当てを促す")
+    void submitSelfEvaluation_noEvaluatorNotifiesDirectors() {
+        Evaluation eval = createEvaluation(EvaluationStatus.NOT_STARTED);
+        eval.setEvaluator(null);
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
+        when(evaluationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        when(roleDirectoryCache.get(1L)).thenReturn(directory());
+        when(userRepository.getReferenceById(directorUser.getId())).thenReturn(directorUser);
+
+        service.submitSelfEvaluation(1L, staffUser.getId());
+
+        verify(notificationRepository).save(argThat(n -> n.getType().equals("evaluator_missing")));
+    }
+
     @Test
     @DisplayName("自己評価提出: 既に提出済みの場合は例外")
     void submitSelfEvaluation_alreadySubmitted() {
         Evaluation eval = createEvaluation(EvaluationStatus.SELF_SUBMITTED);
-        when(evaluationRepository.findById(1L)).thenReturn(Optional.of(eval));
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
 
         assertThatThrownBy(() -> service.submitSelfEvaluation(1L, staffUser.getId()))
                 .isInstanceOf(IllegalStateException.class)
@@ -120,13 +177,56 @@ class EvaluationWorkflowServiceTest {
     @DisplayName("自己評価提出: 他人の評価に対しては例外")
     void submitSelfEvaluation_wrongUser() {
         Evaluation eval = createEvaluation(EvaluationStatus.NOT_STARTED);
-        when(evaluationRepository.findById(1L)).thenReturn(Optional.of(eval));
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
 
         assertThatThrownBy(() -> service.submitSelfEvaluation(1L, 999L))
                 .isInstanceOf(SecurityException.class)
                 .hasMessageContaining("この評価の対象者ではありません");
     }
 
+    @Test
+    @DisplayName("自己評価提出: 他テナントの評価IDは存在しない扱い")
+    void submitSelfEvaluation_otherTenant() {
+        when(evaluationRepository.findByIdAndTenantId(99L, 1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.submitSelfEvaluation(99L, staffUser.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("評価が見つかりません");
+        verify(evaluationRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("自己評価提出: 現年度の自己評価の受付期間外は例外")
+    void submitSelfEvaluation_windowClosed() {
+        Evaluation eval = createEvaluation(EvaluationStatus.NOT_STARTED);
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
+        when(referenceDataCache.openWindows(1L)).thenReturn(Optional.of(
+                new OpenWindows(fiscalYear.getId(), 2026, Set.of(EvaluationWindow.WINTER_SELF))));
+
+        assertThatThrownBy(() -> service.submitSelfEvaluation(1L, staffUser.getId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("受付期間外");
+        verify(evaluationRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("評価者評価: 過年度の評価は年度の受付フラグで判定する")
+    void submitEvaluatorEvaluation_pastYearUsesFiscalYearFlags() {
+        FiscalYear pastYear = FiscalYear.builder().id(2L).tenant(tenant).year(2025).summerEvalOpen(true).build();
+        Evaluation eval = createEvaluation(EvaluationStatus.SELF_SUBMITTED);
+        eval.setFiscalYear(pastYear);
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
+        when(referenceDataCache.openWindows(1L)).thenReturn(Optional.of(
+                new OpenWindows(fiscalYear.getId(), 2026, Set.of())));
+        when(userRepository.findByIdAndTenantId(evaluatorUser.getId(), 1L)).thenReturn(Optional.of(evaluatorUser));
+        when(evaluationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        when(roleDirectoryCache.get(1L)).thenReturn(RoleDirectory.EMPTY);
+
+        Evaluation result = service.submitEvaluatorEvaluation(1L, evaluatorUser.getId(), Grade.A, "良好");
+
+        assertThat(result.getStatus()).isEqualTo(EvaluationStatus.EVALUATOR_SUBMITTED);
+    }
+
     // ================================================================
     // 評価者による評価送信（通常フロー）
     // ================================================================
@@ -135,19 +235,43 @@ class EvaluationWorkflowServiceTest {
     @DisplayName("評価者評価: SELF_SUBMITTED → EVALUATOR_SUBMITTED（通常フロー）")
     void submitEvaluatorEvaluation_normalFlow() {
         Evaluation eval = createEvaluation(EvaluationStatus.SELF_SUBMITTED);
-        when(evaluationRepository.findById(1L)).thenReturn(Optional.of(eval));
-        when(userRepository.findById(evaluatorUser.getId())).thenReturn(Optional.of(evaluatorUser));
-        when(userRepository.findEvaluatorCandidates(1L, 1L)).thenReturn(List.of(managerUser));
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
+        when(userRepository.findByIdAndTenantId(evaluatorUser.getId(), 1L)).thenReturn(Optional.of(evaluatorUser));
+        when(roleDirectoryCache.get(1L)).thenReturn(directory());
+        when(userRepository.getReferenceById(managerUser.getId())).thenReturn(managerUser);
         when(evaluationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-        Evaluation result = service.submitEvaluatorEvaluation(1L, evaluatorUser.getId(), "A", "よく頑張りました");
+        Evaluation result = service.submitEvaluatorEvaluation(1L, evaluatorUser.getId(), Grade.A, "よく頑張りました");
 
         assertThat(result.getStatus()).isEqualTo(EvaluationStatus.EVALUATOR_SUBMITTED);
-        assertThat(result.getEvaluatorGrade()).isEqualTo("A");
+        assertThat(result.getEvaluatorGrade()).isEqualTo(Grade.A);
         assertThat(result.getEvaluatorComment()).isEqualTo("よく頑張りました");
         assertThat(result.getEvaluatedAt()).isNotNull();
     }
 
+    @Test
+    @DisplayName("評価者評価: 評価者が未割り当ての場合は例外")
+    void submitEvaluatorEvaluation_noEvaluator() {
+        Evaluation eval = createEvaluation(EvaluationStatus.SELF_SUBMITTED);
+        eval.setEvaluator(null);
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
+
+        assertThatThrownBy(() -> service.submitEvaluatorEvaluation(1L, evaluatorUser.getId(), Grade.A, "良好"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("評価者が割り当てられていません");
+        verify(evaluationRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("評価者評価: 割り当てられた評価者以外は例外")
+    void submitEvaluatorEvaluation_wrongEvaluator() {
+        Evaluation eval = createEvaluation(EvaluationStatus.SELF_SUBMITTED);
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
+
+        assertThatThrownBy(() -> service.submitEvaluatorEvaluation(1L, managerUser.getId(), Grade.A, "良好"))
+                .isInstanceOf(SecurityException.class);
+    }
+
     // ================================================================
     // 評価者が理事長の場合（スキップ）
     // ================================================================
@@ -157,14 +281,15 @@ class EvaluationWorkflowServiceTest {
     void submitEvaluatorEvaluation_directorAsEvaluator() {
         Evaluation eval = createEvaluation(EvaluationStatus.SELF_SUBMITTED);
         eval.setEvaluator(directorUser);
-        when(evaluationRepository.findById(1L)).thenReturn(Optional.of(eval));
-        when(userRepository.findById(directorUser.getId())).thenReturn(Optional.of(directorUser));
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
+        when(userRepository.findByIdAndTenantId(directorUser.getId(), 1L)).thenReturn(Optional.of(directorUser));
+        when(referenceDataCache.isDirectorOrAdmin(directorUser)).thenReturn(true);
         when(evaluationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-        Evaluation result = service.submitEvaluatorEvaluation(1L, directorUser.getId(), "S", "素晴らしい");
+        Evaluation result = service.submitEvaluatorEvaluation(1L, directorUser.getId(), Grade.S, "素晴らしい");
 
         assertThat(result.getStatus()).isEqualTo(EvaluationStatus.DIRECTOR_EVALUATED);
-        assertThat(result.getDirectorGrade()).isEqualTo("S");
+        assertThat(result.getDirectorGrade()).isEqualTo(Grade.S);
         assertThat(result.getDirector()).isEqualTo(directorUser);
     }
 
@@ -176,15 +301,16 @@ class EvaluationWorkflowServiceTest {
     @DisplayName("管理者承認: EVALUATOR_SUBMITTED → MANAGER_APPROVED")
     void approveByManager_success() {
         Evaluation eval = createEvaluation(EvaluationStatus.EVALUATOR_SUBMITTED);
-        when(evaluationRepository.findById(1L)).thenReturn(Optional.of(eval));
-        when(userRepository.findById(managerUser.getId())).thenReturn(Optional.of(managerUser));
-        when(userRepository.findDirectorsAndAdmins(1L)).thenReturn(List.of(directorUser));
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
+        when(userRepository.findByIdAndTenantId(managerUser.getId(), 1L)).thenReturn(Optional.of(managerUser));
+        when(roleDirectoryCache.get(1L)).thenReturn(directory());
+        when(userRepository.getReferenceById(directorUser.getId())).thenReturn(directorUser);
         when(evaluationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-        Evaluation result = service.approveByManager(1L, managerUser.getId(), "A", "承認します");
+        Evaluation result = service.approveByManager(1L, managerUser.getId(), Grade.A, "承認します");
 
         assertThat(result.getStatus()).isEqualTo(EvaluationStatus.MANAGER_APPROVED);
-        assertThat(result.getManagerGrade()).isEqualTo("A");
+        assertThat(result.getManagerGrade()).isEqualTo(Grade.A);
         assertThat(result.getManagerApprovedAt()).isNotNull();
         verify(notificationRepository).save(argThat(n ->
                 n.getUser().getId().equals(directorUser.getId())
@@ -199,10 +325,10 @@ class EvaluationWorkflowServiceTest {
     @DisplayName("管理者差し戻し: EVALUATOR_SUBMITTED → SELF_SUBMITTED")
     void rejectByManager_success() {
         Evaluation eval = createEvaluation(EvaluationStatus.EVALUATOR_SUBMITTED);
-        when(evaluationRepository.findById(1L)).thenReturn(Optional.of(eval));
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
         when(evaluationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-        Evaluation result = service.rejectByManager(1L, "評価内容を見直してください");
+        Evaluation result = service.rejectByManager(1L, managerUser.getId(), "評価内容を見直してください");
 
         assertThat(result.getStatus()).isEqualTo(EvaluationStatus.SELF_SUBMITTED);
         assertThat(result.getManager()).isNull();
@@ -217,14 +343,14 @@ class EvaluationWorkflowServiceTest {
     @DisplayName("役員評価: MANAGER_APPROVED → DIRECTOR_EVALUATED")
     void submitDirectorEvaluation_success() {
         Evaluation eval = createEvaluation(EvaluationStatus.MANAGER_APPROVED);
-        when(evaluationRepository.findById(1L)).thenReturn(Optional.of(eval));
-        when(userRepository.findById(directorUser.getId())).thenReturn(Optional.of(directorUser));
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
+        when(userRepository.findByIdAndTenantId(directorUser.getId(), 1L)).thenReturn(Optional.of(directorUser));
         when(evaluationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-        Evaluation result = service.submitDirectorEvaluation(1L, directorUser.getId(), "A+", "優秀です");
+        Evaluation result = service.submitDirectorEvaluation(1L, directorUser.getId(), Grade.A_PLUS, "優秀です");
 
         assertThat(result.getStatus()).isEqualTo(EvaluationStatus.DIRECTOR_EVALUATED);
-        assertThat(result.getDirectorGrade()).isEqualTo("A+");
+        assertThat(result.getDirectorGrade()).isEqualTo(Grade.A_PLUS);
         assertThat(result.getDirectorEvaluatedAt()).isNotNull();
     }
 
@@ -237,12 +363,13 @@ class EvaluationWorkflowServiceTest {
     void rejectByDirector_normalStaff() {
         Evaluation eval = createEvaluation(EvaluationStatus.MANAGER_APPROVED);
         eval.setManager(managerUser);
-        eval.setManagerGrade("A");
-        when(evaluationRepository.findById(1L)).thenReturn(Optional.of(eval));
-        when(userRepository.findEvaluatorCandidates(1L, 1L)).thenReturn(List.of(managerUser));
+        eval.setManagerGrade(Grade.A);
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
+        when(roleDirectoryCache.get(1L)).thenReturn(directory());
+        when(userRepository.getReferenceById(managerUser.getId())).thenReturn(managerUser);
         when(evaluationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-        Evaluation result = service.rejectByDirector(1L, "再確認をお願いします");
+        Evaluation result = service.rejectByDirector(1L, directorUser.getId(), "再確認をお願いします");
 
         assertThat(result.getStatus()).isEqualTo(EvaluationStatus.EVALUATOR_SUBMITTED);
         assertThat(result.getDirector()).isNull();
@@ -259,12 +386,13 @@ class EvaluationWorkflowServiceTest {
         Evaluation eval = createEvaluation(EvaluationStatus.MANAGER_APPROVED);
         // 被評価者を管理者（code=2）に変更
         eval.setUser(managerUser);
-        eval.setEvaluatorGrade("B");
+        eval.setEvaluatorGrade(Grade.B);
         eval.setEvaluatorComment("コメント");
-        when(evaluationRepository.findById(1L)).thenReturn(Optional.of(eval));
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
+        when(referenceDataCache.isSeniorStaff(managerUser)).thenReturn(true);
         when(evaluationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-        Evaluation result = service.rejectByDirector(1L, "見直し");
+        Evaluation result = service.rejectByDirector(1L, directorUser.getId(), "見直し");
 
         assertThat(result.getStatus()).isEqualTo(EvaluationStatus.SELF_SUBMITTED);
         assertThat(result.getEvaluatorGrade()).isNull();
@@ -280,11 +408,11 @@ class EvaluationWorkflowServiceTest {
     @DisplayName("最終確定: DIRECTOR_EVALUATED → FINALIZED + 本人通知")
     void finalizeEvaluation_success() {
         Evaluation eval = createEvaluation(EvaluationStatus.DIRECTOR_EVALUATED);
-        eval.setDirectorGrade("A");
-        when(evaluationRepository.findById(1L)).thenReturn(Optional.of(eval));
+        eval.setDirectorGrade(Grade.A);
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
         when(evaluationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-        Evaluation result = service.finalizeEvaluation(1L);
+        Evaluation result = service.finalizeEvaluation(1L, directorUser.getId());
 
         assertThat(result.getStatus()).isEqualTo(EvaluationStatus.FINALIZED);
         assertThat(result.getFinalizedAt()).isNotNull();
@@ -298,9 +426,9 @@ class EvaluationWorkflowServiceTest {
     @DisplayName("最終確定: 確定済みの場合は例外")
     void finalizeEvaluation_alreadyFinalized() {
         Evaluation eval = createEvaluation(EvaluationStatus.FINALIZED);
-        when(evaluationRepository.findById(1L)).thenReturn(Optional.of(eval));
+        when(evaluationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(eval));
 
-        assertThatThrownBy(() -> service.finalizeEvaluation(1L))
+        assertThatThrownBy(() -> service.finalizeEvaluation(1L, directorUser.getId()))
                 .isInstanceOf(IllegalStateException.class);
     }
 
@@ -308,6 +436,13 @@ class EvaluationWorkflowServiceTest {
     // ヘルパー
     // ================================================================
 
+    private RoleDirectory directory() {
+        return new RoleDirectory(
+                Map.of(RoleDirectory.Role.DIRECTOR, List.of(directorUser.getId()),
+                        RoleDirectory.Role.MANAGER, List.of(managerUser.getId())),
+                Map.of(department.getId(), List.of(managerUser.getId())));
+    }
+
     private Evaluation createEvaluation(EvaluationStatus status) {
         return Evaluation.builder()
                 .id(1L)
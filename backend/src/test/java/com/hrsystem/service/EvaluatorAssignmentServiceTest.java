@@ -0,0 +1,156 @@
+package com.hrsystem.service;
+
+import com.hrsystem.cache.CacheInvalidationBus;
+import com.hrsystem.domain.model.*;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.repository.EvaluationRepository;
+import com.hrsystem.domain.repository.UserRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * EvaluatorAssignmentService の単体テスト。
+ * 直近上位職への割り当て、上限件数による分散、役員へのフォールバックを検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class EvaluatorAssignmentServiceTest {
+
+    @Mock
+    private EvaluationRepository evaluationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private EvaluatorAssignmentService service;
+
+    private Tenant tenant;
+    private Department devDepartment;
+    private Department salesDepartment;
+    private Position directorPosition;
+    private Position sectionChiefPosition;
+    private Position leaderPosition;
+    private Position staffPosition;
+    private User director;
+    private User sectionChief;
+    private User leader;
+
+    @BeforeEach
+    void setUp() {
+        service = new EvaluatorAssignmentService(evaluationRepository, userRepository, invalidationBus, 15);
+
+        tenant = Tenant.builder().id(1L).name("テスト会社").subdomain("test").build();
+        devDepartment = Department.builder().id(1L).tenant(tenant).name("開発部").build();
+        salesDepartment = Department.builder().id(2L).tenant(tenant).name("営業部").build();
+
+        directorPosition = Position.builder().id(2L).code(1).name("役員").sortOrder(1).canEvaluate(true).build();
+        sectionChiefPosition = Position.builder().id(4L).code(3).name("課長").sortOrder(3).canEvaluate(true).build();
+        leaderPosition = Position.builder().id(5L).code(4).name("主任").sortOrder(4).canEvaluate(true).build();
+        staffPosition = Position.builder().id(6L).code(5).name("一般").sortOrder(5).build();
+
+        director = user(10L, "田中 社長", null, directorPosition);
+        sectionChief = user(11L, "山田 太郎", devDepartment, sectionChiefPosition);
+        leader = user(12L, "佐藤 花子", devDepartment, leaderPosition);
+
+        when(userRepository.findAllEvaluatorCandidates(1L))
+                .thenReturn(List.of(director, sectionChief, leader));
+        lenient().when(evaluationRepository.assignEvaluator(eq(1L), anyLong(), anyList()))
+                .thenAnswer(i -> ((List<?>) i.getArgument(2)).size());
+    }
+
+    @Test
+    @DisplayName("一般職員は同じ部署の直近上位職（主任）に割り当てられる")
+    void assignsClosestSuperiorInDepartment() {
+        Evaluation e = evaluation(100L, user(1L, "鈴木 一郎", devDepartment, staffPosition));
+        stubTargets(List.of(e), List.of());
+
+        var report = service.assignAll(1L, 1L, EvaluationPeriod.SUMMER, null);
+
+        assertThat(report.assignedCount()).isEqualTo(1);
+        verify(evaluationRepository).assignEvaluator(1L, leader.getId(), List.of(100L));
+    }
+
+    @Test
+    @DisplayName("上限件数に達した評価者は飛ばして次の上位職に割り当てる")
+    void respectsCapacity() {
+        Evaluation e1 = evaluation(100L, user(1L, "職員A", devDepartment, staffPosition));
+        Evaluation e2 = evaluation(101L, user(2L, "職員B", devDepartment, staffPosition));
+        stubTargets(List.of(e1, e2), List.of());
+
+        var report = service.assignAll(1L, 1L, EvaluationPeriod.SUMMER, 1);
+
+        assertThat(report.assignedCount()).isEqualTo(2);
+        verify(evaluationRepository).assignEvaluator(1L, leader.getId(), List.of(100L));
+        verify(evaluationRepository).assignEvaluator(1L, sectionChief.getId(), List.of(101L));
+    }
+
+    @Test
+    @DisplayName("既存の割り当て件数も負荷として考慮する")
+    void countsExistingLoad() {
+        Evaluation e = evaluation(100L, user(1L, "鈴木 一郎", devDepartment, staffPosition));
+        stubTargets(List.of(e), List.<Object[]>of(new Object[]{leader.getId(), 3L}));
+
+        service.assignAll(1L, 1L, EvaluationPeriod.SUMMER, 3);
+
+        verify(evaluationRepository).assignEvaluator(1L, sectionChief.getId(), List.of(100L));
+    }
+
+    @Test
+    @DisplayName("部署内に上位職がいなければ役員に割り当てる")
+    void fallsBackToDirectors() {
+        Evaluation e = evaluation(100L, user(1L, "営業 次郎", salesDepartment, staffPosition));
+        stubTargets(List.of(e), List.of());
+
+        service.assignAll(1L, 1L, EvaluationPeriod.SUMMER, null);
+
+        verify(evaluationRepository).assignEvaluator(1L, director.getId(), List.of(100L));
+    }
+
+    @Test
+    @DisplayName("候補がいない評価はレポートの未割り当てに載る")
+    void reportsUnassigned() {
+        Evaluation e = evaluation(100L, director);
+        e.setPosition(directorPosition);
+        stubTargets(List.of(e), List.of());
+
+        var report = service.assignAll(1L, 1L, EvaluationPeriod.SUMMER, null);
+
+        assertThat(report.assignedCount()).isZero();
+        assertThat(report.unassigned()).extracting(EvaluatorAssignmentService.UnassignedItem::evaluationId)
+                .containsExactly(100L);
+        verify(evaluationRepository, never()).assignEvaluator(anyLong(), anyLong(), anyList());
+    }
+
+    // ================================================================
+    // ヘルパー
+    // ================================================================
+
+    private void stubTargets(List<Evaluation> targets, List<Object[]> load) {
+        when(evaluationRepository.findUnassigned(1L, 1L, EvaluationPeriod.SUMMER, EvaluationStatus.FINALIZED))
+                .thenReturn(targets);
+        when(evaluationRepository.countAssignedByEvaluator(1L, 1L, EvaluationPeriod.SUMMER))
+                .thenReturn(load);
+    }
+
+    private User user(Long id, String name, Department department, Position position) {
+        return User.builder().id(id).tenant(tenant).department(department).position(position)
+                .name(name).email(id + "@test.com").password("hashed").build();
+    }
+
+    private Evaluation evaluation(Long id, User user) {
+        return Evaluation.builder().id(id).tenant(tenant).user(user)
+                .department(user.getDepartment()).position(user.getPosition())
+                .period(EvaluationPeriod.SUMMER).status(EvaluationStatus.NOT_STARTED).build();
+    }
+}
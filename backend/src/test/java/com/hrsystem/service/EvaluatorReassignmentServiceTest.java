@@ -0,0 +1,163 @@
+package com.hrsystem.service;
+
+import com.hrsystem.analytics.WorkflowSlaService;
+import com.hrsystem.cache.CacheInvalidationBus;
+import com.hrsystem.domain.model.*;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.repository.EvaluationRepository;
+import com.hrsystem.domain.repository.NotificationBatchRepository;
+import com.hrsystem.domain.repository.UserRepository;
+import com.hrsystem.service.EvaluatorReassignmentService.Reassignment;
+import com.hrsystem.service.EvaluatorReassignmentService.ReassignmentRules;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * EvaluatorReassignmentService の単体テスト。
+ * 評価者不在の評価の再割り当て、評価者ごとの更新・通知の集約、試算モード、入力の検証を検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class EvaluatorReassignmentServiceTest {
+
+    private static final Set<EvaluationStatus> DEFAULT_STATUSES =
+            EnumSet.of(EvaluationStatus.NOT_STARTED, EvaluationStatus.SELF_SUBMITTED);
+    private static final List<String> OPEN_STATUS_NAMES = List.of("NOT_STARTED", "SELF_SUBMITTED");
+
+    @Mock
+    private EvaluationRepository evaluationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private NotificationBatchRepository notificationBatchRepository;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private EvaluatorReassignmentService service;
+
+    private Tenant tenant;
+    private Department devDepartment;
+    private Position staffPosition;
+    private User director;
+    private User leader;
+    private User retired;
+
+    @BeforeEach
+    void setUp() {
+        service = new EvaluatorReassignmentService(evaluationRepository, userRepository,
+                notificationBatchRepository, invalidationBus, 15);
+
+        tenant = Tenant.builder().id(1L).name("テスト会社").subdomain("test").build();
+        devDepartment = Department.builder().id(1L).tenant(tenant).name("開発部").build();
+        Position directorPosition = Position.builder().id(2L).code(1).name("役員").sortOrder(1).canEvaluate(true).build();
+        Position leaderPosition = Position.builder().id(5L).code(4).name("主任").sortOrder(4).canEvaluate(true).build();
+        staffPosition = Position.builder().id(6L).code(5).name("一般").sortOrder(5).build();
+
+        director = user(10L, "田中 社長", null, directorPosition);
+        leader = user(12L, "佐藤 花子", devDepartment, leaderPosition);
+        retired = user(13L, "退職 三郎", devDepartment, leaderPosition);
+        retired.setIsActive(false);
+
+        lenient().when(userRepository.findAllEvaluatorCandidates(1L)).thenReturn(List.of(director, leader));
+        lenient().when(evaluationRepository.countOpenByEvaluator(eq(1L), anyCollection())).thenReturn(List.of());
+        lenient().when(evaluationRepository.reassignEvaluator(eq(1L), anyLong(), anyList(), anyCollection(), anyBoolean()))
+                .thenAnswer(i -> ((List<?>) i.getArgument(2)).size());
+    }
+
+    @Test
+    @DisplayName("評価者不在の評価を新しい評価者ごとにまとめて更新し、通知も評価者ごとに1件にする")
+    void reassignsAndNotifiesPerEvaluator() {
+        Evaluation e1 = evaluation(100L, user(1L, "職員A", devDepartment, staffPosition), retired);
+        Evaluation e2 = evaluation(101L, user(2L, "職員B", devDepartment, staffPosition), null);
+        when(evaluationRepository.findWithOrphanedEvaluator(1L, DEFAULT_STATUSES, false)).thenReturn(List.of(e1, e2));
+        when(notificationBatchRepository.insertAll(anyList())).thenAnswer(i -> ((List<?>) i.getArgument(0)).size());
+
+        var report = service.reassignOrphaned(1L, new ReassignmentRules(null, false, null, true, false));
+
+        assertThat(report.reassignedCount()).isEqualTo(2);
+        assertThat(report.reassignments()).containsExactly(
+                new Reassignment(100L, 13L, 12L), new Reassignment(101L, null, 12L));
+        verify(evaluationRepository).reassignEvaluator(1L, 12L, List.of(100L, 101L), OPEN_STATUS_NAMES, false);
+        verify(notificationBatchRepository).insertAll(argThat(list -> list.size() == 1
+                && list.get(0).userId().equals(12L) && list.get(0).link().equals("/evaluator")));
+        verify(invalidationBus).invalidate(WorkloadMonitor.NAME, 1L);
+        verify(invalidationBus).invalidate(WorkflowSlaService.NAME, 1L);
+    }
+
+    @Test
+    @DisplayName("上限件数に達したら役員に回し、候補がいない評価は未解決として返す")
+    void respectsCapacityAndReportsUnresolved() {
+        Evaluation e1 = evaluation(100L, user(1L, "職員A", devDepartment, staffPosition), retired);
+        Evaluation e2 = evaluation(101L, user(2L, "職員B", devDepartment, staffPosition), retired);
+        Evaluation e3 = evaluation(102L, user(3L, "職員C", devDepartment, staffPosition), retired);
+        when(evaluationRepository.findWithOrphanedEvaluator(1L, DEFAULT_STATUSES, false))
+                .thenReturn(List.of(e1, e2, e3));
+
+        var report = service.reassignOrphaned(1L, new ReassignmentRules(null, false, 1, false, false));
+
+        verify(evaluationRepository).reassignEvaluator(1L, 12L, List.of(100L), OPEN_STATUS_NAMES, false);
+        verify(evaluationRepository).reassignEvaluator(1L, 10L, List.of(101L), OPEN_STATUS_NAMES, false);
+        assertThat(report.unresolvedEvaluationIds()).containsExactly(102L);
+        verifyNoInteractions(notificationBatchRepository);
+    }
+
+    @Test
+    @DisplayName("試算モードでは割り当て案だけを返し、更新・通知・無効化をしない")
+    void dryRunDoesNotWrite() {
+        Evaluation e1 = evaluation(100L, user(1L, "職員A", devDepartment, staffPosition), retired);
+        when(evaluationRepository.findWithOrphanedEvaluator(1L, DEFAULT_STATUSES, true)).thenReturn(List.of(e1));
+
+        var report = service.reassignOrphaned(1L, new ReassignmentRules(null, true, null, true, true));
+
+        assertThat(report.dryRun()).isTrue();
+        assertThat(report.reassignedCount()).isEqualTo(1);
+        verify(evaluationRepository, never()).reassignEvaluator(anyLong(), anyLong(), anyList(), anyCollection(), anyBoolean());
+        verifyNoInteractions(notificationBatchRepository, invalidationBus);
+    }
+
+    @Test
+    @DisplayName("確定済みを対象に含めることはできない")
+    void rejectsFinalized() {
+        assertThatThrownBy(() -> service.reassignOrphaned(1L, new ReassignmentRules(
+                Set.of(EvaluationStatus.FINALIZED), false, null, false, false)))
+                .isInstanceOf(IllegalStateException.class);
+        verify(evaluationRepository, never()).findWithOrphanedEvaluator(anyLong(), anyCollection(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("評価者あたりの上限件数は1以上でなければならない")
+    void rejectsNonPositiveCap() {
+        assertThatThrownBy(() -> service.reassignOrphaned(1L, new ReassignmentRules(null, false, 0, false, false)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("1以上");
+        verify(evaluationRepository, never()).findWithOrphanedEvaluator(anyLong(), anyCollection(), anyBoolean());
+    }
+
+    // ================================================================
+    // ヘルパー
+    // ================================================================
+
+    private User user(Long id, String name, Department department, Position position) {
+        return User.builder().id(id).tenant(tenant).department(department).position(position)
+                .name(name).email(id + "@test.com").password("hashed").build();
+    }
+
+    private Evaluation evaluation(Long id, User user, User evaluator) {
+        return Evaluation.builder().id(id).tenant(tenant).user(user).evaluator(evaluator)
+                .department(user.getDepartment()).position(user.getPosition())
+                .period(EvaluationPeriod.SUMMER).status(EvaluationStatus.NOT_STARTED).build();
+    }
+}
@@ -0,0 +1,177 @@
+package com.hrsystem.service;
+
+import com.hrsystem.analytics.GradeAnalyticsService;
+import com.hrsystem.cache.CacheInvalidationBus;
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.domain.model.enums.EvaluationPeriod;
+import com.hrsystem.service.FiscalYearRolloverService.RolloverOptions;
+import com.hrsystem.service.FiscalYearRolloverService.RolloverReport;
+import com.hrsystem.service.FiscalYearRolloverService.StepTiming;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.mockito.stubbing.Answer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * FiscalYearRolloverService の単体テスト。
+ * ユーザーID範囲ごとに別トランザクションでカーソルと一緒にコミットすること、
+ * 中断した切り替えをカーソルの続きから再開すること、現年度の切り替えは最後に行うことを検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class FiscalYearRolloverServiceTest {
+
+    private static final Long TENANT = 1L;
+    private static final Long FROM_YEAR_ID = 10L;
+    private static final Long TO_YEAR_ID = 20L;
+    private static final Long ROLLOVER_ID = 5L;
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private TransactionStatus status;
+    @Mock private CacheInvalidationBus invalidationBus;
+
+    private FiscalYearRolloverService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new FiscalYearRolloverService(jdbcTemplate, transactionTemplate, invalidationBus, 100);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.getArgument(0, TransactionCallback.class).doInTransaction(status));
+
+        ResultSet current = mock(ResultSet.class, withSettings().strictness(Strictness.LENIENT));
+        when(current.getLong("id")).thenReturn(FROM_YEAR_ID);
+        when(current.getInt("year")).thenReturn(2026);
+        lenient().when(jdbcTemplate.queryForObject(contains("FOR UPDATE"), any(RowMapper.class), eq(TENANT)))
+                .thenAnswer(inv -> inv.getArgument(1, RowMapper.class).mapRow(current, 0));
+        lenient().when(jdbcTemplate.query(contains("completed_at IS NULL"), any(RowMapper.class), eq(TENANT)))
+                .thenReturn(List.of());
+        lenient().when(jdbcTemplate.queryForObject(contains("COUNT(*) FROM fiscal_years"), eq(Integer.class),
+                eq(TENANT), eq(2027))).thenReturn(0);
+        lenient().when(jdbcTemplate.queryForObject(contains("INSERT INTO fiscal_years"), eq(Long.class), any(), any()))
+                .thenReturn(TO_YEAR_ID);
+        lenient().when(jdbcTemplate.queryForObject(contains("INSERT INTO fiscal_year_rollovers"), eq(Long.class),
+                any(), any(), any(), any(), any())).thenReturn(ROLLOVER_ID);
+        lenient().when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+    }
+
+    @Test
+    @DisplayName("範囲ごとに別トランザクションでカーソルを進め、全範囲の後に現年度を切り替えてキャッシュを破棄する")
+    void rollover_commitsEachChunkSeparately() {
+        stubGoalUppers(100L);
+        stubUserUppers(100L, 200L);
+
+        RolloverReport report = service.rollover(TENANT, new RolloverOptions(true, EvaluationPeriod.SUMMER, false));
+
+        // 開始 1 + 目標 2（最後は範囲なし）+ 評価 3 + 切り替え 1
+        verify(transactionTemplate, times(7)).execute(any());
+        verify(status, never()).setRollbackOnly();
+        assertThat(report.steps()).extracting(StepTiming::step, StepTiming::chunks).containsExactly(
+                tuple("create_fiscal_year", 1), tuple("copy_goals", 1),
+                tuple("create_evaluations", 2), tuple("switch_current_year", 1));
+        assertThat(report.newFiscalYearId()).isEqualTo(TO_YEAR_ID);
+        assertThat(report.resumed()).isFalse();
+
+        InOrder order = inOrder(jdbcTemplate, invalidationBus);
+        order.verify(jdbcTemplate).update(contains("goals_cursor = ?"), eq(100L), eq(ROLLOVER_ID), eq(0L));
+        order.verify(jdbcTemplate).update(contains("evaluations_cursor = ?"), eq(100L), eq(ROLLOVER_ID), eq(0L));
+        order.verify(jdbcTemplate).update(contains("evaluations_cursor = ?"), eq(200L), eq(ROLLOVER_ID), eq(100L));
+        order.verify(jdbcTemplate).update(contains("SET is_current"), eq(TO_YEAR_ID), eq(TENANT), eq(TO_YEAR_ID));
+        order.verify(jdbcTemplate).update(contains("SET completed_at"), eq(ROLLOVER_ID));
+        order.verify(invalidationBus).invalidate(ReferenceDataCache.NAME, TENANT);
+        order.verify(invalidationBus).invalidate(GradeAnalyticsService.NAME, TENANT);
+    }
+
+    @Test
+    @DisplayName("中断した切り替えは翌年度を作り直さず、開始時の引数とカーソルの続きから再開する")
+    void rollover_resumesFromCursor() throws Exception {
+        ResultSet running = mock(ResultSet.class);
+        when(running.getLong("id")).thenReturn(ROLLOVER_ID);
+        when(running.getLong("from_fiscal_year_id")).thenReturn(FROM_YEAR_ID);
+        when(running.getInt("from_year")).thenReturn(2026);
+        when(running.getLong("to_fiscal_year_id")).thenReturn(TO_YEAR_ID);
+        when(running.getInt("to_year")).thenReturn(2027);
+        when(running.getString("period")).thenReturn("WINTER");
+        when(running.getBoolean("copy_goals")).thenReturn(false);
+        when(running.getLong("goals_cursor")).thenReturn(0L);
+        when(running.getLong("evaluations_cursor")).thenReturn(300L);
+        when(jdbcTemplate.query(contains("completed_at IS NULL"), any(RowMapper.class), eq(TENANT)))
+                .thenAnswer(inv -> List.of(inv.getArgument(1, RowMapper.class).mapRow(running, 0)));
+        stubUserUppers(400L);
+
+        RolloverReport report = service.rollover(TENANT, new RolloverOptions(true, EvaluationPeriod.SUMMER, false));
+
+        assertThat(report.resumed()).isTrue();
+        assertThat(report.steps()).extracting(StepTiming::step)
+                .containsExactly("create_fiscal_year", "create_evaluations", "switch_current_year");
+        verify(jdbcTemplate, never()).queryForObject(contains("INSERT INTO fiscal_years"), eq(Long.class), any(), any());
+        verify(jdbcTemplate, never()).update(contains("INSERT INTO goals"), any(Object[].class));
+        verify(jdbcTemplate).queryForObject(contains("SELECT MAX(id)"), eq(Long.class), eq(TENANT), eq(300L), eq(100));
+        verify(jdbcTemplate).update(contains("INSERT INTO evaluations"),
+                eq(TO_YEAR_ID), eq("WINTER"), eq(FROM_YEAR_ID), eq(TENANT), eq(300L), eq(400L));
+        verify(jdbcTemplate).update(contains("evaluations_cursor = ?"), eq(400L), eq(ROLLOVER_ID), eq(300L));
+    }
+
+    @Test
+    @DisplayName("別の実行が先にカーソルを進めていたら、その範囲を失敗させて現年度は切り替えない")
+    void rollover_failsWhenCursorMovedConcurrently() {
+        stubGoalUppers(100L);
+        when(jdbcTemplate.update(contains("goals_cursor = ?"), any(Object[].class))).thenReturn(0);
+
+        assertThatThrownBy(() -> service.rollover(TENANT,
+                new RolloverOptions(true, EvaluationPeriod.SUMMER, false)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("別の処理");
+
+        verify(jdbcTemplate, never()).update(contains("SET is_current"), any(Object[].class));
+        verify(invalidationBus, never()).invalidate(any(), any());
+    }
+
+    @Test
+    @DisplayName("dryRun は全体を1トランザクションでロールバックし、キャッシュを破棄しない")
+    void rollover_dryRunRollsBack() {
+        stubUserUppers(100L);
+
+        RolloverReport report = service.rollover(TENANT, new RolloverOptions(false, EvaluationPeriod.SUMMER, true));
+
+        verify(status).setRollbackOnly();
+        assertThat(report.dryRun()).isTrue();
+        assertThat(report.newFiscalYearId()).isNull();
+        verify(invalidationBus, never()).invalidate(any(), any());
+    }
+
+    // ===== Helpers =====
+
+    /** 範囲の上限を順に返し、使い切ったら null（範囲なし）を返す。 */
+    private void stubGoalUppers(Long... uppers) {
+        when(jdbcTemplate.queryForObject(contains("SELECT MAX(user_id)"), eq(Long.class),
+                any(), any(), any(), any())).thenAnswer(sequence(uppers));
+    }
+
+    private void stubUserUppers(Long... uppers) {
+        when(jdbcTemplate.queryForObject(contains("SELECT MAX(id)"), eq(Long.class),
+                any(), any(), any())).thenAnswer(sequence(uppers));
+    }
+
+    private static Answer<Long> sequence(Long... uppers) {
+        Iterator<Long> it = List.of(uppers).iterator();
+        return inv -> it.hasNext() ? it.next() : null;
+    }
+}
@@ -0,0 +1,144 @@
+package com.hrsystem.service;
+
+import com.hrsystem.domain.model.*;
+import com.hrsystem.domain.repository.FiscalYearRepository;
+import com.hrsystem.domain.repository.GoalBatchRepository;
+import com.hrsystem.domain.repository.GoalBatchRepository.NewGoal;
+import com.hrsystem.domain.repository.GoalRepository;
+import com.hrsystem.service.GoalService.GoalInput;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * GoalService の単体テスト。
+ * 目標リストの差分保存（最小限の INSERT / UPDATE / DELETE）と楽観ロックを検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class GoalServiceTest {
+
+    @InjectMocks
+    private GoalService service;
+
+    @Mock
+    private GoalRepository goalRepository;
+
+    @Mock
+    private GoalBatchRepository goalBatchRepository;
+
+    @Mock
+    private FiscalYearRepository fiscalYearRepository;
+
+    private FiscalYear fiscalYear;
+    private Goal first;
+    private Goal second;
+
+    @BeforeEach
+    void setUp() {
+        Tenant tenant = Tenant.builder().id(1L).name("テスト会社").subdomain("test").build();
+        fiscalYear = FiscalYear.builder().id(1L).tenant(tenant).year(2026).goalSettingOpen(true).build();
+        first = Goal.builder().id(10L).version(0L).goalText("売上目標").sortOrder(0).build();
+        second = Goal.builder().id(11L).version(2L).goalText("資格取得").sortOrder(1).build();
+
+        when(fiscalYearRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(fiscalYear));
+        lenient().when(goalRepository.findByTenantIdAndUserIdAndFiscalYearIdOrderBySortOrder(1L, 1L, 1L))
+                .thenReturn(List.of(first, second));
+    }
+
+    @Test
+    @DisplayName("変更のない目標は更新せず、変更した目標だけを更新する")
+    void updatesOnlyChangedGoals() {
+        var result = service.saveGoals(1L, 1L, 1L, List.of(
+                new GoalInput(10L, 0L, "売上目標", 0),
+                new GoalInput(11L, 2L, "資格を2つ取得", 1)));
+
+        assertThat(result.updated()).isEqualTo(1);
+        assertThat(result.unchanged()).isEqualTo(1);
+        assertThat(result.inserted()).isZero();
+        assertThat(result.deleted()).isZero();
+        assertThat(second.getGoalText()).isEqualTo("資格を2つ取得");
+        verify(goalRepository).deleteAll(List.of());
+        verify(goalBatchRepository).insertAll(List.of());
+    }
+
+    @Test
+    @DisplayName("送信されなかった目標だけを削除する")
+    void deletesRemovedGoals() {
+        var result = service.saveGoals(1L, 1L, 1L, List.of(
+                new GoalInput(10L, 0L, "売上目標", 0)));
+
+        assertThat(result.deleted()).isEqualTo(1);
+        verify(goalRepository).deleteAll(List.of(second));
+    }
+
+    @Test
+    @DisplayName("id の無い目標は同じ並び順の削除予定行を再利用し、元の目標の自己評価は消す")
+    void reusesRowAtSameSortOrder() {
+        second.setSummerSelfAssessment("資格試験に合格した");
+        second.setWinterSelfAssessment("上位資格の勉強を始めた");
+
+        var result = service.saveGoals(1L, 1L, 1L, List.of(
+                new GoalInput(10L, 0L, "売上目標", 0),
+                new GoalInput(null, null, "後輩の育成", 1)));
+
+        assertThat(result.inserted()).isZero();
+        assertThat(result.deleted()).isZero();
+        assertThat(result.updated()).isEqualTo(1);
+        assertThat(second.getGoalText()).isEqualTo("後輩の育成");
+        assertThat(second.getSummerSelfAssessment()).isNull();
+        assertThat(second.getWinterSelfAssessment()).isNull();
+    }
+
+    @Test
+    @DisplayName("新しい並び位置の目標は削除・更新のフラッシュ後に JDBC バッチで INSERT する")
+    void insertsNewGoals() {
+        var result = service.saveGoals(1L, 1L, 1L, List.of(
+                new GoalInput(10L, 0L, "売上目標", 0),
+                new GoalInput(11L, 2L, "資格取得", 1),
+                new GoalInput(null, null, "後輩の育成", 2)));
+
+        assertThat(result.inserted()).isEqualTo(1);
+        var order = inOrder(goalRepository, goalBatchRepository);
+        order.verify(goalRepository).flush();
+        order.verify(goalBatchRepository).insertAll(List.of(new NewGoal(1L, 1L, 1L, "後輩の育成", 2)));
+        verify(goalRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("バージョンが古い場合は楽観ロック例外")
+    void staleVersionConflicts() {
+        assertThatThrownBy(() -> service.saveGoals(1L, 1L, 1L, List.of(
+                new GoalInput(11L, 1L, "資格取得", 1))))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(goalRepository, never()).flush();
+    }
+
+    @Test
+    @DisplayName("保存済みの目標に version が無い場合は楽観ロックを省略せず拒否する")
+    void rejectsMissingVersion() {
+        assertThatThrownBy(() -> service.saveGoals(1L, 1L, 1L, List.of(
+                new GoalInput(11L, null, "資格取得", 1))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("version");
+        verify(goalRepository, never()).flush();
+    }
+
+    @Test
+    @DisplayName("目標設定の受付期間外は保存できない")
+    void rejectsWhenGoalSettingClosed() {
+        fiscalYear.setGoalSettingOpen(false);
+
+        assertThatThrownBy(() -> service.saveGoals(1L, 1L, 1L, List.of()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("目標設定の受付期間外です");
+    }
+}
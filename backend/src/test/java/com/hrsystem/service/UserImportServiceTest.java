@@ -0,0 +1,134 @@
+package com.hrsystem.service;
+
+import com.hrsystem.cache.CacheInvalidationBus;
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.cache.RoleDirectoryCache;
+import com.hrsystem.cache.TenantReferenceData;
+import com.hrsystem.cache.TenantReferenceData.DepartmentRef;
+import com.hrsystem.cache.TenantReferenceData.PositionRef;
+import com.hrsystem.cache.TenantReferenceData.TenantRef;
+import com.hrsystem.domain.model.enums.TenantPlan;
+import com.hrsystem.domain.repository.UserBatchRepository;
+import com.hrsystem.domain.repository.UserBatchRepository.NewUser;
+import com.hrsystem.service.UserImportService.ImportReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * UserImportService の単体テスト。
+ * 行単位の検証・エラー報告・重複確認・一括登録を検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    private static final String HEADER = "氏名,フリガナ,メールアドレス,パスワード,部署,役職,評価者\n";
+
+    @Mock private UserBatchRepository userBatchRepository;
+    @Mock private ReferenceDataCache referenceDataCache;
+    @Mock private ActiveUserQuota activeUserQuota;
+    @Mock private CacheInvalidationBus invalidationBus;
+    @Mock private PasswordEncoder passwordEncoder;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private UserImportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserImportService(userBatchRepository, referenceDataCache, activeUserQuota,
+                invalidationBus, passwordEncoder, transactionManager, 2, 100);
+        when(referenceDataCache.get(1L)).thenReturn(new TenantReferenceData(
+                new TenantRef(1L, "テスト法人", "test", TenantPlan.STARTER, true),
+                Map.of(20L, new PositionRef(20L, 3, "一般", 3, false, false, false)),
+                Map.of(10L, new DepartmentRef(10L, "介護部", true)),
+                null));
+        when(activeUserQuota.usage(1L, TenantPlan.STARTER)).thenReturn(new ActiveUserQuota.Usage(5, 50));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("不正な行はエラーとして報告し、残りの行を登録する")
+    void importCsv_partialErrors() throws Exception {
+        String csv = HEADER
+                + "山田 太郎,ヤマダ タロウ,yamada@example.com,password1,介護部,一般,○\n"
+                + "佐藤 花子,,not-an-email,password2,介護部,一般,\n"
+                + "鈴木 一郎,,suzuki@example.com,password3,存在しない部署,一般,\n"
+                + "\"高橋, 次郎\",,takahashi@example.com,password4,,,0\n"
+                + "重複,,yamada@example.com,password5,,,\n";
+        when(userBatchRepository.findExistingEmails(eq(1L), anyCollection())).thenReturn(Set.of());
+        when(passwordEncoder.encode(anyString())).thenAnswer(inv -> "hash:" + inv.getArgument(0));
+        when(userBatchRepository.insertAll(anyList())).thenReturn(new boolean[]{true, true});
+
+        ImportReport report = service.importCsv(1L, stream(csv), false);
+
+        assertThat(report.totalRows()).isEqualTo(5);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.errors()).extracting(UserImportService.RowError::line).containsExactly(3, 4, 6);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NewUser>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userBatchRepository).insertAll(captor.capture());
+        assertThat(captor.getValue()).extracting(NewUser::name).containsExactly("山田 太郎", "高橋, 次郎");
+        assertThat(captor.getValue().get(0).departmentId()).isEqualTo(10L);
+        assertThat(captor.getValue().get(0).canEvaluate()).isTrue();
+        assertThat(captor.getValue().get(0).passwordHash()).isEqualTo("hash:password1");
+
+        verify(activeUserQuota).reserve(1L, TenantPlan.STARTER, 2);
+        verify(invalidationBus).invalidate(RoleDirectoryCache.NAME, 1L);
+    }
+
+    @Test
+    @DisplayName("登録済みのメールアドレスは事前確認でエラーにする")
+    void importCsv_existingEmail() throws Exception {
+        String csv = HEADER + "山田 太郎,,yamada@example.com,password1,,,\n";
+        when(userBatchRepository.findExistingEmails(eq(1L), anyCollection())).thenReturn(Set.of("yamada@example.com"));
+
+        ImportReport report = service.importCsv(1L, stream(csv), false);
+
+        assertThat(report.imported()).isZero();
+        assertThat(report.errors()).singleElement()
+                .satisfies(e -> assertThat(e.message()).contains("既に登録"));
+        verify(userBatchRepository, never()).insertAll(anyList());
+        verifyNoInteractions(passwordEncoder);
+    }
+
+    @Test
+    @DisplayName("プランの上限を超える場合は全体を取り込まない")
+    void importCsv_overQuota() {
+        when(activeUserQuota.usage(1L, TenantPlan.STARTER)).thenReturn(new ActiveUserQuota.Usage(49, 50));
+        when(userBatchRepository.findExistingEmails(eq(1L), anyCollection())).thenReturn(Set.of());
+        String csv = HEADER
+                + "A,,a@example.com,password1,,,\n"
+                + "B,,b@example.com,password2,,,\n";
+
+        assertThatThrownBy(() -> service.importCsv(1L, stream(csv), false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("上限");
+        verify(userBatchRepository, never()).insertAll(anyList());
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,240 @@
+package com.hrsystem.service;
+
+import com.hrsystem.cache.ReferenceDataCache;
+import com.hrsystem.cache.RoleDirectory;
+import com.hrsystem.cache.RoleDirectoryCache;
+import com.hrsystem.cache.TenantReferenceData;
+import com.hrsystem.cache.TenantReferenceData.DepartmentRef;
+import com.hrsystem.cache.TenantReferenceData.TenantRef;
+import com.hrsystem.domain.model.enums.EvaluationStatus;
+import com.hrsystem.domain.model.enums.TenantPlan;
+import com.hrsystem.domain.repository.NotificationBatchRepository;
+import com.hrsystem.domain.repository.TenantRepository;
+import com.hrsystem.domain.repository.WorkloadAlertRepository;
+import com.hrsystem.domain.repository.WorkloadAlertRepository.AlertKey;
+import com.hrsystem.service.WorkloadMonitor.QueueStats;
+import com.hrsystem.service.WorkloadMonitor.QueueType;
+import com.hrsystem.service.WorkloadMonitor.WorkloadView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * WorkloadMonitor の単体テスト。
+ * 読み込みを JDBC のモックで置き換え、待ち行列の順位付け・遷移の反映・閾値超過の通知と、
+ * 滞留開始日時に遷移日時を使うこと・通知済みの記録をリーダー交代後も引き継ぐことを検証する。
+ */
+@ExtendWith(MockitoExtension.class)
+class WorkloadMonitorTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private TenantRepository tenantRepository;
+    @Mock private ReferenceDataCache referenceDataCache;
+    @Mock private RoleDirectoryCache roleDirectoryCache;
+    @Mock private NotificationBatchRepository notificationBatchRepository;
+    @Mock private SchedulerLeader schedulerLeader;
+    @Mock private WorkloadAlertRepository workloadAlertRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private WorkloadMonitor monitor;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    // [id, status, evaluatorId, departmentId, waitingSince, evaluatorName]
+    private final List<Object[]> rows = List.of(
+            new Object[]{1L, "SELF_SUBMITTED", 100L, 10L, now.minusDays(10), "佐藤"},
+            new Object[]{2L, "SELF_SUBMITTED", 100L, 10L, now.minusDays(1), "佐藤"},
+            new Object[]{3L, "SELF_SUBMITTED", 100L, 10L, now.minusDays(1), "佐藤"},
+            new Object[]{4L, "SELF_SUBMITTED", 100L, 10L, now.minusDays(1), "佐藤"},
+            new Object[]{5L, "SELF_SUBMITTED", 200L, 11L, now.minusDays(2), "鈴木"},
+            new Object[]{6L, "EVALUATOR_SUBMITTED", 200L, 11L, now.minusDays(3), "鈴木"});
+
+    @BeforeEach
+    void setUp() throws Exception {
+        monitor = newMonitor();
+
+        List<ResultSet> resultSets = new ArrayList<>();
+        for (Object[] r : rows) {
+            resultSets.add(resultSet(r));
+        }
+        lenient().doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            for (ResultSet rs : resultSets) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(1L));
+        lenient().when(referenceDataCache.get(1L)).thenReturn(new TenantReferenceData(
+                new TenantRef(1L, "テスト法人", "test", TenantPlan.STARTER, true),
+                Map.of(),
+                Map.of(10L, new DepartmentRef(10L, "介護部", true), 11L, new DepartmentRef(11L, "看護部", true)),
+                null));
+    }
+
+    @Test
+    @DisplayName("件数の多い待ち行列を先頭に並べ、同じ種類の中央値に対する倍率を付ける")
+    void view_ranksBottlenecks() {
+        WorkloadView view = monitor.view(1L, 10);
+
+        assertThat(view.totalPending()).isEqualTo(6);
+        QueueStats top = view.bottlenecks().get(0);
+        assertThat(top.type()).isEqualTo(QueueType.EVALUATOR);
+        assertThat(top.ownerId()).isEqualTo(100L);
+        assertThat(top.label()).isEqualTo("佐藤");
+        assertThat(top.depth()).isEqualTo(4);
+        assertThat(top.ratioToMedian()).isEqualTo(1.6);
+        assertThat(top.oldestAgeHours()).isGreaterThanOrEqualTo(240);
+        // 最古が10日前のため滞留期間の閾値（7日）を超えている
+        assertThat(view.alerts()).extracting(QueueStats::ownerId).containsExactly(100L);
+        assertThat(view.departments()).first().satisfies(d -> {
+            assertThat(d.label()).isEqualTo("介護部");
+            assertThat(d.depth()).isEqualTo(4);
+        });
+    }
+
+    @Test
+    @DisplayName("遷移をコミット後に反映し、移った評価は元の待ち行列から外れる")
+    void onTransition_movesItem() {
+        monitor.view(1L, 10);
+
+        monitor.onTransition(new EvaluationTransitionEvent(1L, 1L,
+                EvaluationStatus.SELF_SUBMITTED, EvaluationStatus.EVALUATOR_SUBMITTED,
+                null, null, null, 100L, 10L, null, null, null, null));
+        WorkloadView view = monitor.view(1L, 10);
+
+        assertThat(view.bottlenecks())
+                .filteredOn(q -> q.type() == QueueType.EVALUATOR && q.ownerId() == 100L)
+                .singleElement().satisfies(q -> {
+                    assertThat(q.depth()).isEqualTo(3);
+                    assertThat(q.alert()).isFalse();
+                });
+        assertThat(view.bottlenecks())
+                .filteredOn(q -> q.type() == QueueType.MANAGER && q.ownerId() == 10L)
+                .singleElement().extracting(QueueStats::depth).isEqualTo(1);
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), eq(1L));
+    }
+
+    @Test
+    @DisplayName("滞留開始日時は更新日時ではなく、現在のステータスへ遷移した日時から読み込む")
+    void load_usesTransitionTime() {
+        monitor.view(1L, 10);
+
+        verify(jdbcTemplate).query(argThat((String sql) -> sql.contains("evaluation_events")
+                && sql.contains("x.to_status = e.status") && sql.contains("e.evaluated_at")
+                && sql.contains("AS waiting_since")), any(RowCallbackHandler.class), eq(1L));
+    }
+
+    @Test
+    @DisplayName("閾値を超えた待ち行列は役員・管理者に1回だけ通知する")
+    void checkThresholds_notifiesOnce() {
+        when(schedulerLeader.isLeader()).thenReturn(true);
+        when(tenantRepository.findActiveIds()).thenReturn(List.of(1L));
+        when(roleDirectoryCache.get(1L)).thenReturn(new RoleDirectory(
+                Map.of(RoleDirectory.Role.DIRECTOR, List.of(900L)), Map.of()));
+        Set<AlertKey> recorded = stubAlertTable();
+
+        monitor.checkThresholds();
+        monitor.checkThresholds();
+
+        verify(notificationBatchRepository, times(1)).insertAll(argThat(list ->
+                list.size() == 1 && list.get(0).userId().equals(900L)
+                        && list.get(0).message().contains("佐藤")));
+        assertThat(recorded).containsExactly(new AlertKey("EVALUATOR", 100L));
+    }
+
+    @Test
+    @DisplayName("リーダーが別ノードに替わっても、通知済みの待ち行列は再通知しない")
+    void checkThresholds_survivesLeaderChange() {
+        when(schedulerLeader.isLeader()).thenReturn(true);
+        when(tenantRepository.findActiveIds()).thenReturn(List.of(1L));
+        when(roleDirectoryCache.get(1L)).thenReturn(new RoleDirectory(
+                Map.of(RoleDirectory.Role.DIRECTOR, List.of(900L)), Map.of()));
+        stubAlertTable();
+
+        monitor.checkThresholds();
+        // 別ノード（メモリ上の状態を持たない新しいインスタンス）がリーダーになった
+        newMonitor().checkThresholds();
+
+        verify(notificationBatchRepository, times(1)).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("リーダーでないノードは閾値を確認しない")
+    void checkThresholds_skipsWhenNotLeader() {
+        when(schedulerLeader.isLeader()).thenReturn(false);
+
+        monitor.checkThresholds();
+
+        verifyNoInteractions(tenantRepository, notificationBatchRepository);
+    }
+
+    @Test
+    @DisplayName("ステータスごとの待ち行列の振り分け")
+    void queueKey() {
+        assertThat(WorkloadMonitor.queueKey(EvaluationStatus.SELF_SUBMITTED, null, 10L))
+                .isEqualTo(new WorkloadMonitor.QueueKey(QueueType.EVALUATOR, 0));
+        assertThat(WorkloadMonitor.queueKey(EvaluationStatus.EVALUATOR_SUBMITTED, 100L, 10L))
+                .isEqualTo(new WorkloadMonitor.QueueKey(QueueType.MANAGER, 10));
+        assertThat(WorkloadMonitor.queueKey(EvaluationStatus.FINALIZED, 100L, 10L)).isNull();
+    }
+
+    private WorkloadMonitor newMonitor() {
+        return new WorkloadMonitor(jdbcTemplate, tenantRepository, referenceDataCache, roleDirectoryCache,
+                notificationBatchRepository, schedulerLeader, workloadAlertRepository, transactionManager,
+                10, Duration.ofMinutes(10), 30, Duration.ofDays(7), true);
+    }
+
+    /** workload_alerts を Set で模す（claim は未記録のものだけ返し、clearExcept は keep 以外を消す）。 */
+    @SuppressWarnings("unchecked")
+    private Set<AlertKey> stubAlertTable() {
+        Set<AlertKey> table = new HashSet<>();
+        when(workloadAlertRepository.claim(eq(1L), anyCollection())).thenAnswer(inv -> {
+            Set<AlertKey> claimed = new HashSet<>();
+            for (AlertKey key : (Collection<AlertKey>) inv.getArgument(1)) {
+                if (table.add(key)) {
+                    claimed.add(key);
+                }
+            }
+            return claimed;
+        });
+        when(workloadAlertRepository.clearExcept(eq(1L), anyCollection())).thenAnswer(inv -> {
+            Collection<AlertKey> keep = inv.getArgument(1);
+            int before = table.size();
+            table.retainAll(keep);
+            return before - table.size();
+        });
+        return table;
+    }
+
+    private static ResultSet resultSet(Object[] r) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        lenient().when(rs.getLong("id")).thenReturn((Long) r[0]);
+        lenient().when(rs.getString("status")).thenReturn((String) r[1]);
+        lenient().when(rs.getLong("evaluator_id")).thenReturn((Long) r[2]);
+        lenient().when(rs.getLong("department_id")).thenReturn((Long) r[3]);
+        lenient().when(rs.getTimestamp("waiting_since")).thenReturn(Timestamp.valueOf((LocalDateTime) r[4]));
+        lenient().when(rs.getString("evaluator_name")).thenReturn((String) r[5]);
+        return rs;
+    }
+}
@@ -0,0 +1,140 @@
+-- evaluations_partitioning.sql
+-- テナント規模が偏った状態での評価テーブル検索のベンチマーク（psql 用）
+--
+-- 使い方（マイグレーション適用済みの検証用 DB で実行する。本番 DB では実行しないこと）:
+--   psql -d hr_bench -v big_users=25000 -v small_tenants=300 -f evaluations_partitioning.sql
+--
+-- 大規模テナント1社（big_users 人 × 10年度 × 2期）と小規模テナント small_tenants 社（各20人）を作成し、
+-- 小規模テナントのダッシュボード系クエリを EXPLAIN (ANALYZE, BUFFERS) で計測する。
+-- V4 時点のスキーマ（単一ヒープ・tenant_id 非先頭インデックス）で同じスクリプトを流すと比較できる
+-- （isolate_evaluation_tenant が無いスキーマでは専用パーティションへの分離を飛ばす）。
+
+\set ON_ERROR_STOP on
+\if :{?big_users}
+\else
+  \set big_users 25000
+\endif
+\if :{?small_tenants}
+\else
+  \set small_tenants 300
+\endif
+\timing on
+
+BEGIN;
+
+-- ============================================================
+-- データ生成
+-- ============================================================
+INSERT INTO tenants (name, subdomain, plan)
+SELECT 'bench-big', 'bench-big', 'ENTERPRISE'
+UNION ALL
+SELECT 'bench-small-' || g, 'bench-small-' || g, 'FREE' FROM generate_series(1, :small_tenants) g;
+
+CREATE TEMP TABLE bench_tenants AS
+SELECT id, (plan = 'ENTERPRISE') AS big FROM tenants WHERE subdomain LIKE 'bench-%';
+
+INSERT INTO positions (tenant_id, code, name, sort_order, can_evaluate)
+SELECT id, 5, '一般', 5, FALSE FROM bench_tenants
+UNION ALL
+SELECT id, 2, '部門長', 2, TRUE FROM bench_tenants;
+
+INSERT INTO departments (tenant_id, name)
+SELECT t.id, '部署' || d FROM bench_tenants t, generate_series(1, 10) d;
+
+INSERT INTO users (tenant_id, department_id, position_id, name, email, password, can_evaluate)
+SELECT t.id,
+       (SELECT MIN(d.id) FROM departments d WHERE d.tenant_id = t.id) + (g % 10),
+       (SELECT p.id FROM positions p WHERE p.tenant_id = t.id AND p.code = CASE WHEN g % 20 = 0 THEN 2 ELSE 5 END),
+       'user' || g, 'user' || g || '@bench.example', 'x', g % 20 = 0
+FROM bench_tenants t
+CROSS JOIN LATERAL generate_series(1, CASE WHEN t.big THEN :big_users ELSE 20 END) g;
+
+INSERT INTO fiscal_years (tenant_id, year, is_current)
+SELECT t.id, y, y = 2026 FROM bench_tenants t, generate_series(2017, 2026) y;
+
+-- 評価者は同じ部署の部門長、状態は年度が古いほど確定済み
+INSERT INTO evaluations (tenant_id, user_id, fiscal_year_id, period, department_id, position_id, evaluator_id, status)
+SELECT u.tenant_id, u.id, f.id, p.period::evaluation_period, u.department_id, u.position_id,
+       (SELECT m.id FROM users m WHERE m.tenant_id = u.tenant_id AND m.department_id = u.department_id
+          AND m.can_evaluate ORDER BY m.id LIMIT 1),
+       (CASE WHEN f.year < 2026 THEN 'FINALIZED'
+             ELSE (ARRAY['NOT_STARTED','SELF_SUBMITTED','EVALUATOR_SUBMITTED','MANAGER_APPROVED'])[1 + (u.id % 4)]
+        END)::evaluation_status
+FROM users u
+JOIN bench_tenants t ON t.id = u.tenant_id
+JOIN fiscal_years f ON f.tenant_id = u.tenant_id
+CROSS JOIN (VALUES ('SUMMER'), ('WINTER')) p(period);
+
+COMMIT;
+
+ANALYZE evaluations;
+
+-- 大規模テナントを専用パーティションへ分離（関数がある V5 以降のみ）
+SELECT to_regprocedure('isolate_evaluation_tenant(bigint)') IS NOT NULL AS partitioned \gset
+\if :partitioned
+SELECT isolate_evaluation_tenant(id) FROM tenants WHERE subdomain = 'bench-big';
+ANALYZE evaluations;
+\else
+\echo 'isolate_evaluation_tenant が無いため、専用パーティションへの分離を飛ばします'
+\endif
+
+-- パーティションごとの行数
+SELECT tableoid::regclass AS partition, COUNT(*) AS rows
+FROM evaluations GROUP BY 1 ORDER BY 2 DESC LIMIT 5;
+
+-- ============================================================
+-- 計測（小規模テナントの代表1社と大規模テナント）
+-- ============================================================
+SELECT id AS small_tenant FROM tenants WHERE subdomain = 'bench-small-1' \gset
+SELECT id AS big_tenant FROM tenants WHERE subdomain = 'bench-big' \gset
+SELECT evaluator_id AS small_evaluator, department_id AS small_department
+FROM evaluations WHERE tenant_id = :small_tenant AND evaluator_id IS NOT NULL LIMIT 1 \gset
+
+-- ダッシュボード: 評価待ち件数（countPendingForEvaluator）
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM evaluations
+WHERE tenant_id = :small_tenant AND evaluator_id = :small_evaluator AND status = 'SELF_SUBMITTED';
+
+-- ダッシュボード: 部署の確認待ち件数（countPendingForDepartment）
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM evaluations
+WHERE tenant_id = :small_tenant AND department_id = :small_department AND status = 'EVALUATOR_SUBMITTED';
+
+-- ダッシュボード: 役員評価待ち件数（countByTenantAndStatus）
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM evaluations WHERE tenant_id = :small_tenant AND status = 'MANAGER_APPROVED';
+
+-- 大規模テナント側の同じクエリ（他テナントの行を読まないことを確認）
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM evaluations WHERE tenant_id = :big_tenant AND status = 'MANAGER_APPROVED';
+
+-- 自分の評価一覧（findByTenantIdAndUserIdOrderByFiscalYearDesc）
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT e.* FROM evaluations e JOIN fiscal_years f ON f.id = e.fiscal_year_id
+WHERE e.tenant_id = :small_tenant AND e.user_id = :small_evaluator
+ORDER BY f.year DESC;
+
+-- エンティティ更新（Evaluation の @PartitionKey により Hibernate が発行する UPDATE）
+-- JDBC のプリペアドステートメントと同じく汎用プランで実行し、実行時のパーティション除外
+-- （Subplans Removed）で対象テナントのパーティションだけを読むことを確認する。
+-- 比較として tenant_id を含まない UPDATE（@PartitionKey なし）も計測する。
+SELECT id AS small_evaluation FROM evaluations WHERE tenant_id = :small_tenant LIMIT 1 \gset
+SET plan_cache_mode = force_generic_plan;
+PREPARE update_evaluation(timestamp, bigint, bigint) AS
+UPDATE evaluations SET updated_at = $1 WHERE id = $2 AND tenant_id = $3;
+PREPARE update_evaluation_by_id(timestamp, bigint) AS
+UPDATE evaluations SET updated_at = $1 WHERE id = $2;
+
+SAVEPOINT entity_update;
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE update_evaluation(NOW()::timestamp, :small_evaluation, :small_tenant);
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE update_evaluation_by_id(NOW()::timestamp, :small_evaluation);
+ROLLBACK TO SAVEPOINT entity_update;
+
+DEALLOCATE update_evaluation;
+DEALLOCATE update_evaluation_by_id;
+RESET plan_cache_mode;
+
+-- ============================================================
+-- 後片付け
+-- ============================================================
+DELETE FROM tenants WHERE subdomain LIKE 'bench-%';
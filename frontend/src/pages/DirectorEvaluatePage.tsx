@@ -134,7 +134,7 @@ export default function DirectorEvaluatePage() {
               label="評価グレード *"
               value={grade}
               onChange={(e) => setGrade(e.target.value)}
-              placeholder="例: S, A+, A, B+, B, C"
+              placeholder="例: SS, S, A+, A, B, C, D"
             />
           </div>
 